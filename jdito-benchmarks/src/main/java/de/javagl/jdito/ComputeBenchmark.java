@@ -0,0 +1,169 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link JDito#compute(ReadableDoubleArray)}, for different
+ * numbers of points, point distributions, and input types.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+@State(Scope.Thread)
+public class ComputeBenchmark
+{
+    /**
+     * The input types
+     */
+    public enum InputType
+    {
+        /**
+         * A plain <code>double[]</code> array
+         */
+        ARRAY,
+
+        /**
+         * A {@link ReadableDoubleArray} that is implemented by the caller,
+         * wrapping a <code>double[]</code> array
+         */
+        ADAPTER,
+
+        /**
+         * A {@link ReadableDoubleArray} that is created from a direct
+         * <code>DoubleBuffer</code>
+         */
+        BUFFER,
+    }
+
+    /**
+     * The number of points
+     */
+    @Param({ "8", "1000", "100000", "1000000", "50000000" })
+    public int numPoints;
+
+    /**
+     * The point distribution
+     */
+    @Param
+    public PointDistribution distribution;
+
+    /**
+     * The input type
+     */
+    @Param
+    public InputType inputType;
+
+    /**
+     * The points, as an array
+     */
+    private double points[];
+
+    /**
+     * The points, as a {@link ReadableDoubleArray}
+     */
+    private ReadableDoubleArray readableDoubleArray;
+
+    /**
+     * Create the input data
+     */
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        double data[] = distribution.create(numPoints, 0);
+        points = null;
+        readableDoubleArray = null;
+        switch (inputType)
+        {
+            case ARRAY:
+                points = data;
+                break;
+            case ADAPTER:
+                readableDoubleArray = new ArrayAdapter(data);
+                break;
+            default:
+                DoubleBuffer buffer = ByteBuffer
+                    .allocateDirect(data.length * Double.BYTES)
+                    .order(ByteOrder.nativeOrder()).asDoubleBuffer();
+                buffer.put(data);
+                buffer.flip();
+                readableDoubleArray = DoubleArrays.fromBuffer(buffer);
+                break;
+        }
+    }
+
+    /**
+     * Compute the oriented bounding box
+     * 
+     * @return The box
+     */
+    @Benchmark
+    public OrientedBoundingBox compute()
+    {
+        if (points != null)
+        {
+            return JDito.compute(points);
+        }
+        return JDito.compute(readableDoubleArray);
+    }
+
+    /**
+     * A {@link ReadableDoubleArray} that wraps a <code>double[]</code> array,
+     * as it may be implemented by a caller of the library
+     */
+    private static class ArrayAdapter implements ReadableDoubleArray
+    {
+        /**
+         * The array
+         */
+        private final double array[];
+
+        /**
+         * Creates a new instance
+         * 
+         * @param array The array
+         */
+        ArrayAdapter(double array[])
+        {
+            this.array = array;
+        }
+
+        @Override
+        public double get(int index)
+        {
+            return array[index];
+        }
+
+        @Override
+        public int length()
+        {
+            return array.length;
+        }
+    }
+}
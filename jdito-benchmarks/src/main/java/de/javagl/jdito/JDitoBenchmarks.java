@@ -0,0 +1,60 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The entry point for running the benchmarks.
+ * 
+ * This accepts the same command line arguments as the JMH runner, and
+ * always adds the GC profiler, so that the allocation rates are reported
+ * together with the throughput. For example, the following runs the
+ * compute benchmark for one million points with all distributions and
+ * input types:
+ * <pre><code>
+ * java -jar benchmarks.jar ComputeBenchmark -p numPoints=1000000
+ * </code></pre>
+ */
+public class JDitoBenchmarks
+{
+    /**
+     * The entry point
+     * 
+     * @param args The JMH command line arguments
+     * @throws CommandLineOptionException If the arguments are invalid
+     * @throws RunnerException If the benchmarks cannot be run
+     */
+    public static void main(String[] args)
+        throws CommandLineOptionException, RunnerException
+    {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+            .parent(commandLineOptions)
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private JDitoBenchmarks()
+    {
+        // Private constructor to prevent instantiation
+    }
+
+}
@@ -0,0 +1,106 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the individual passes over the points that are performed
+ * during the computation of an oriented bounding box.
+ * 
+ * This class is in the same package as the library, in order to access the
+ * package-private classes and methods.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+@State(Scope.Thread)
+public class KernelBenchmark
+{
+    /**
+     * The number of points
+     */
+    @Param({ "8", "1000", "100000", "1000000", "50000000" })
+    public int numPoints;
+
+    /**
+     * The point distribution
+     */
+    @Param({ "RANDOM_BOX" })
+    public PointDistribution distribution;
+
+    /**
+     * The positions
+     */
+    private Attribute positions;
+
+    /**
+     * The direction for the projection
+     */
+    private final ReadableDoubleArray direction =
+        DoubleArrays.fromArray(new double[] { 0.48, 0.6, 0.64 });
+
+    /**
+     * The minimum and maximum projection
+     */
+    private final WritableDoubleArray minmax = DoubleArrays.create(2);
+
+    /**
+     * Create the input data
+     */
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        double data[] = distribution.create(numPoints, 0);
+        positions = new Attribute();
+        positions.data = DoubleArrays.fromArray(data);
+        positions.size = 3;
+        positions.offsetIdx = 0;
+        positions.strideIdx = 3;
+    }
+
+    /**
+     * Find the extremal points along the 7 initial directions
+     * 
+     * @return The extremal points
+     */
+    @Benchmark
+    public ExtremalPoints extremalPoints()
+    {
+        return new ExtremalPoints(positions);
+    }
+
+    /**
+     * Find the extremal projections along a single direction
+     * 
+     * @return The minimum and maximum projection
+     */
+    @Benchmark
+    public ReadableDoubleArray extremalProjsOneDir()
+    {
+        Dito._findExtremalProjs_OneDir(positions, direction, minmax);
+        return minmax;
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+import java.util.Random;
+
+/**
+ * Distributions of points for the benchmarks.
+ * 
+ * The distributions are chosen so that they exercise the different branches
+ * of the computation: The general case (random box, sphere shell, clustered),
+ * the case of planar point sets, and the case of collinear point sets. Point
+ * sets with fewer than 14 points cover the case where the extremal points
+ * are not unique. All distributions except for the sphere shell are rotated,
+ * so that the resulting boxes are not axis-aligned.
+ */
+public enum PointDistribution
+{
+    /**
+     * Points that are uniformly distributed in a box with different extents
+     */
+    RANDOM_BOX,
+
+    /**
+     * Points that are uniformly distributed on the surface of a sphere
+     */
+    SPHERE_SHELL,
+
+    /**
+     * Points that are uniformly distributed in a rectangle
+     */
+    PLANAR,
+
+    /**
+     * Points that are uniformly distributed on a line segment
+     */
+    COLLINEAR,
+
+    /**
+     * Points that are normally distributed around several cluster centers
+     */
+    CLUSTERED;
+
+    /**
+     * The number of clusters for {@link #CLUSTERED}
+     */
+    private static final int NUM_CLUSTERS = 8;
+
+    /**
+     * Create the given number of points with this distribution, as an array
+     * that stores the x, y, and z-coordinates of the points consecutively
+     * 
+     * @param numPoints The number of points
+     * @param seed The random seed
+     * @return The points
+     */
+    public double[] create(int numPoints, long seed)
+    {
+        Random random = new Random(seed);
+        double centers[] = new double[NUM_CLUSTERS * 3];
+        for (int i = 0; i < centers.length; i++)
+        {
+            centers[i] = random.nextDouble() * 20.0 - 10.0;
+        }
+        double points[] = new double[numPoints * 3];
+        double p[] = new double[3];
+        for (int i = 0; i < numPoints; i++)
+        {
+            switch (this)
+            {
+                case RANDOM_BOX:
+                    p[0] = (random.nextDouble() - 0.5) * 4.0;
+                    p[1] = (random.nextDouble() - 0.5) * 2.0;
+                    p[2] = (random.nextDouble() - 0.5) * 1.0;
+                    break;
+                case SPHERE_SHELL:
+                {
+                    double z = random.nextDouble() * 2.0 - 1.0;
+                    double a = random.nextDouble() * 2.0 * Math.PI;
+                    double r = Math.sqrt(1.0 - z * z);
+                    p[0] = r * Math.cos(a);
+                    p[1] = r * Math.sin(a);
+                    p[2] = z;
+                    break;
+                }
+                case PLANAR:
+                    p[0] = (random.nextDouble() - 0.5) * 4.0;
+                    p[1] = (random.nextDouble() - 0.5) * 2.0;
+                    p[2] = 0.0;
+                    break;
+                case COLLINEAR:
+                    p[0] = (random.nextDouble() - 0.5) * 4.0;
+                    p[1] = 0.0;
+                    p[2] = 0.0;
+                    break;
+                default:
+                {
+                    int c = random.nextInt(NUM_CLUSTERS) * 3;
+                    p[0] = centers[c + 0] + random.nextGaussian() * 0.5;
+                    p[1] = centers[c + 1] + random.nextGaussian() * 0.5;
+                    p[2] = centers[c + 2] + random.nextGaussian() * 0.5;
+                    break;
+                }
+            }
+            if (this != SPHERE_SHELL)
+            {
+                rotate(p);
+            }
+            points[i * 3 + 0] = p[0];
+            points[i * 3 + 1] = p[1];
+            points[i * 3 + 2] = p[2];
+        }
+        return points;
+    }
+
+    /**
+     * Rotate the given point with a fixed rotation that is not aligned with
+     * any coordinate axis
+     * 
+     * @param p The point
+     */
+    private static void rotate(double p[])
+    {
+        // Rotation about the z-axis, followed by a rotation about the x-axis
+        double ca = Math.cos(0.5);
+        double sa = Math.sin(0.5);
+        double cb = Math.cos(0.8);
+        double sb = Math.sin(0.8);
+        double x = ca * p[0] - sa * p[1];
+        double y = sa * p[0] + ca * p[1];
+        double z = p[2];
+        p[0] = x;
+        p[1] = cb * y - sb * z;
+        p[2] = sb * y + cb * z;
+    }
+}
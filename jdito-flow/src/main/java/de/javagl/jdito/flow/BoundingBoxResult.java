@@ -0,0 +1,63 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.flow;
+
+import de.javagl.jdito.OrientedBoundingBox;
+
+/**
+ * The result of a {@link JDitoProcessor}, consisting of an input item and
+ * the oriented bounding box of its points
+ * 
+ * @param <T> The type of the input items
+ */
+public class BoundingBoxResult<T>
+{
+    /**
+     * The input item
+     */
+    private final T item;
+
+    /**
+     * The bounding box
+     */
+    private final OrientedBoundingBox box;
+
+    /**
+     * Creates a new instance
+     * 
+     * @param item The input item
+     * @param box The bounding box
+     */
+    BoundingBoxResult(T item, OrientedBoundingBox box)
+    {
+        this.item = item;
+        this.box = box;
+    }
+
+    /**
+     * Returns the input item
+     * 
+     * @return The input item
+     */
+    public T getItem()
+    {
+        return item;
+    }
+
+    /**
+     * Returns the oriented bounding box of the points of the input item
+     * 
+     * @return The bounding box
+     */
+    public OrientedBoundingBox getBox()
+    {
+        return box;
+    }
+}
@@ -0,0 +1,519 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.flow;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+
+import de.javagl.jdito.JDito;
+import de.javagl.jdito.JDitoOptions;
+import de.javagl.jdito.OrientedBoundingBox;
+import de.javagl.jdito.ReadableDoubleArray;
+
+/**
+ * A <code>Flow.Processor</code> that computes the oriented bounding boxes
+ * for the points of the items that it receives, and publishes them as
+ * {@link BoundingBoxResult} objects.
+ * 
+ * The points of an item are obtained with a function that is given in the
+ * constructor. This may, for example, return a view on the position buffer
+ * of a mesh. The boxes are computed in parallel, on the given executor.
+ * The threads of the executor re-use their internal state for all items
+ * that they process.
+ * 
+ * The processor honors the demand of its subscriber: It requests at most
+ * the given buffer size of items from its upstream publisher that have not
+ * been published yet. New items are only requested when results have been
+ * published to the subscriber. The results may either be published in the
+ * order in which the items have been received, or in the order in which
+ * their computation finished. In the latter case, small items do not have
+ * to wait for large items that have been received before them.
+ * 
+ * When the computation for an item fails, then the upstream subscription
+ * is cancelled, and the error is passed to the subscriber. Errors of the
+ * upstream publisher are passed to the subscriber immediately, and
+ * results that have not been published yet are discarded. The completion
+ * of the upstream publisher is passed on after all results have been
+ * published.
+ * 
+ * The processor supports a single subscriber.
+ * 
+ * @param <T> The type of the input items
+ */
+public class JDitoProcessor<T>
+    implements Flow.Processor<T, BoundingBoxResult<T>>
+{
+    /**
+     * The executor for the computations
+     */
+    private final Executor executor;
+
+    /**
+     * The maximum number of items that have been requested from upstream
+     * and not been published yet
+     */
+    private final int bufferSize;
+
+    /**
+     * Whether the results are published in the order of the items
+     */
+    private final boolean ordered;
+
+    /**
+     * The function that provides the points of an item
+     */
+    private final Function<? super T, ? extends ReadableDoubleArray>
+        pointsFunction;
+
+    /**
+     * The options for the computations
+     */
+    private final JDitoOptions options;
+
+    /**
+     * The upstream subscription
+     */
+    private Flow.Subscription upstream;
+
+    /**
+     * The downstream subscriber
+     */
+    private Flow.Subscriber<? super BoundingBoxResult<T>> downstream;
+
+    /**
+     * The number of results that have been requested by the subscriber and
+     * not been published yet
+     */
+    private long demand;
+
+    /**
+     * The sequence number of the next item that is received
+     */
+    private long nextReceived;
+
+    /**
+     * The number of results that have been published. If the results are
+     * ordered, then this is the sequence number of the next result.
+     */
+    private long publishedCount;
+
+    /**
+     * The results that have been computed and not been published yet, if
+     * the results are ordered, by sequence number
+     */
+    private final Map<Long, BoundingBoxResult<T>> orderedResults =
+        new HashMap<Long, BoundingBoxResult<T>>();
+
+    /**
+     * The results that have been computed and not been published yet, if
+     * the results are not ordered
+     */
+    private final Queue<BoundingBoxResult<T>> unorderedResults =
+        new ArrayDeque<BoundingBoxResult<T>>();
+
+    /**
+     * Whether the upstream publisher has completed
+     */
+    private boolean upstreamCompleted;
+
+    /**
+     * The error that has to be passed to the subscriber
+     */
+    private Throwable error;
+
+    /**
+     * Whether a terminal signal has been passed to the subscriber, or the
+     * subscriber has cancelled the subscription
+     */
+    private boolean terminated;
+
+    /**
+     * Whether results are currently being published
+     */
+    private boolean draining;
+
+    /**
+     * Whether the state changed while results were being published
+     */
+    private boolean missed;
+
+    /**
+     * Creates a new instance
+     * 
+     * @param executor The executor for the computations
+     * @param bufferSize The maximum number of items that are requested from
+     * upstream and not published yet
+     * @param ordered Whether the results should be published in the order
+     * in which the items have been received
+     * @param pointsFunction The function that provides the points of an
+     * item
+     * @param options The {@link JDitoOptions} for the computations
+     * @throws IllegalArgumentException If the buffer size is not positive
+     */
+    public JDitoProcessor(Executor executor, int bufferSize, boolean ordered,
+        Function<? super T, ? extends ReadableDoubleArray> pointsFunction,
+        JDitoOptions options)
+    {
+        if (bufferSize <= 0)
+        {
+            throw new IllegalArgumentException(
+                "The buffer size must be positive, but is " + bufferSize);
+        }
+        this.executor = Objects.requireNonNull(executor);
+        this.bufferSize = bufferSize;
+        this.ordered = ordered;
+        this.pointsFunction = Objects.requireNonNull(pointsFunction);
+        this.options = Objects.requireNonNull(options);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super BoundingBoxResult<T>>
+        subscriber)
+    {
+        Objects.requireNonNull(subscriber);
+        boolean accepted;
+        synchronized (this)
+        {
+            accepted = downstream == null;
+            if (accepted)
+            {
+                downstream = subscriber;
+            }
+        }
+        if (!accepted)
+        {
+            subscriber.onSubscribe(new Flow.Subscription()
+            {
+                @Override
+                public void request(long n)
+                {
+                    // Nothing to do
+                }
+
+                @Override
+                public void cancel()
+                {
+                    // Nothing to do
+                }
+            });
+            subscriber.onError(new IllegalStateException(
+                "The processor already has a subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(new Flow.Subscription()
+        {
+            @Override
+            public void request(long n)
+            {
+                requestResults(n);
+            }
+
+            @Override
+            public void cancel()
+            {
+                cancelResults();
+            }
+        });
+        drain();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription)
+    {
+        boolean accepted;
+        synchronized (this)
+        {
+            accepted = upstream == null && !terminated;
+            if (accepted)
+            {
+                upstream = subscription;
+            }
+        }
+        if (!accepted)
+        {
+            subscription.cancel();
+            return;
+        }
+        subscription.request(bufferSize);
+    }
+
+    @Override
+    public void onNext(T item)
+    {
+        long sequenceNumber;
+        synchronized (this)
+        {
+            if (terminated || error != null)
+            {
+                return;
+            }
+            sequenceNumber = nextReceived;
+            nextReceived++;
+        }
+        try
+        {
+            executor.execute(() -> compute(item, sequenceNumber));
+        }
+        catch (RuntimeException e)
+        {
+            fail(e);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable)
+    {
+        synchronized (this)
+        {
+            if (error == null)
+            {
+                error = throwable;
+            }
+        }
+        drain();
+    }
+
+    @Override
+    public void onComplete()
+    {
+        synchronized (this)
+        {
+            upstreamCompleted = true;
+        }
+        drain();
+    }
+
+    /**
+     * Compute the result for the given item, and publish it when possible
+     * 
+     * @param item The item
+     * @param sequenceNumber The sequence number of the item
+     */
+    private void compute(T item, long sequenceNumber)
+    {
+        BoundingBoxResult<T> result;
+        try
+        {
+            ReadableDoubleArray points = pointsFunction.apply(item);
+            OrientedBoundingBox box = JDito.compute(points, options);
+            result = new BoundingBoxResult<T>(item, box);
+        }
+        catch (RuntimeException | Error e)
+        {
+            fail(e);
+            return;
+        }
+        synchronized (this)
+        {
+            if (terminated)
+            {
+                return;
+            }
+            if (ordered)
+            {
+                orderedResults.put(sequenceNumber, result);
+            }
+            else
+            {
+                unorderedResults.add(result);
+            }
+        }
+        drain();
+    }
+
+    /**
+     * Cancel the upstream subscription, and pass the given error to the
+     * subscriber
+     * 
+     * @param throwable The error
+     */
+    private void fail(Throwable throwable)
+    {
+        Flow.Subscription subscription;
+        synchronized (this)
+        {
+            if (error != null)
+            {
+                return;
+            }
+            error = throwable;
+            subscription = upstream;
+        }
+        if (subscription != null)
+        {
+            subscription.cancel();
+        }
+        drain();
+    }
+
+    /**
+     * Called when the subscriber requests the given number of results
+     * 
+     * @param n The number of results
+     */
+    private void requestResults(long n)
+    {
+        if (n <= 0)
+        {
+            fail(new IllegalArgumentException(
+                "The number of requested results must be positive, "
+                    + "but is " + n));
+            return;
+        }
+        synchronized (this)
+        {
+            demand += n;
+            if (demand < 0)
+            {
+                demand = Long.MAX_VALUE;
+            }
+        }
+        drain();
+    }
+
+    /**
+     * Called when the subscriber cancels the subscription
+     */
+    private void cancelResults()
+    {
+        Flow.Subscription subscription;
+        synchronized (this)
+        {
+            if (terminated)
+            {
+                return;
+            }
+            terminated = true;
+            orderedResults.clear();
+            unorderedResults.clear();
+            subscription = upstream;
+        }
+        if (subscription != null)
+        {
+            subscription.cancel();
+        }
+    }
+
+    /**
+     * Returns the next result that may be published, or <code>null</code>
+     * if there is none. This must be called while holding the lock.
+     * 
+     * @return The next result
+     */
+    private BoundingBoxResult<T> pollResult()
+    {
+        if (ordered)
+        {
+            return orderedResults.remove(publishedCount);
+        }
+        return unorderedResults.poll();
+    }
+
+    /**
+     * Publish all results for which there is demand, request new items from
+     * upstream, and pass terminal signals to the subscriber.
+     * 
+     * Only one thread at a time publishes the results. Other threads that
+     * call this method while the results are published only mark that the
+     * state has changed, so that the publishing thread checks the state
+     * again.
+     */
+    private void drain()
+    {
+        synchronized (this)
+        {
+            if (draining)
+            {
+                missed = true;
+                return;
+            }
+            draining = true;
+        }
+        while (true)
+        {
+            Flow.Subscriber<? super BoundingBoxResult<T>> subscriber;
+            BoundingBoxResult<T> result = null;
+            Throwable terminalError = null;
+            boolean complete = false;
+            Flow.Subscription subscription = null;
+            synchronized (this)
+            {
+                subscriber = downstream;
+                if (terminated || subscriber == null)
+                {
+                    draining = false;
+                    return;
+                }
+                if (error != null)
+                {
+                    terminated = true;
+                    terminalError = error;
+                    orderedResults.clear();
+                    unorderedResults.clear();
+                }
+                else
+                {
+                    if (demand > 0)
+                    {
+                        result = pollResult();
+                    }
+                    if (result != null)
+                    {
+                        demand--;
+                        publishedCount++;
+                        if (!upstreamCompleted)
+                        {
+                            subscription = upstream;
+                        }
+                    }
+                    else if (upstreamCompleted
+                        && publishedCount == nextReceived)
+                    {
+                        terminated = true;
+                        complete = true;
+                    }
+                    else if (!missed)
+                    {
+                        draining = false;
+                        return;
+                    }
+                    else
+                    {
+                        missed = false;
+                        continue;
+                    }
+                }
+            }
+            if (terminalError != null)
+            {
+                subscriber.onError(terminalError);
+                return;
+            }
+            if (complete)
+            {
+                subscriber.onComplete();
+                return;
+            }
+            subscriber.onNext(result);
+
+            // Each published result makes room for one more item
+            if (subscription != null)
+            {
+                subscription.request(1);
+            }
+        }
+    }
+}
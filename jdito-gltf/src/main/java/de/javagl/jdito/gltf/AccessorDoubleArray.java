@@ -0,0 +1,130 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.gltf;
+
+import java.nio.ByteBuffer;
+
+import de.javagl.jdito.ReadableDoubleArray;
+
+/**
+ * Implementation of a {@link ReadableDoubleArray} that provides the
+ * components of the elements of a glTF accessor, reading them directly
+ * from the buffer that contains the accessor data.
+ */
+class AccessorDoubleArray implements ReadableDoubleArray
+{
+    /**
+     * The buffer, in little-endian byte order
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The byte offset of the first element in the buffer
+     */
+    private final int byteOffset;
+
+    /**
+     * The byte stride between elements
+     */
+    private final int byteStride;
+
+    /**
+     * The number of components per element
+     */
+    private final int numComponents;
+
+    /**
+     * The component type
+     */
+    private final int componentType;
+
+    /**
+     * The size of one component, in bytes
+     */
+    private final int componentSize;
+
+    /**
+     * Whether the components are normalized
+     */
+    private final boolean normalized;
+
+    /**
+     * The number of elements
+     */
+    private final int count;
+
+    /**
+     * Creates a new instance
+     * 
+     * @param buffer The buffer, in little-endian byte order
+     * @param byteOffset The byte offset of the first element in the buffer
+     * @param byteStride The byte stride between elements
+     * @param numComponents The number of components per element
+     * @param componentType The component type
+     * @param normalized Whether the components are normalized
+     * @param count The number of elements
+     */
+    AccessorDoubleArray(ByteBuffer buffer, int byteOffset, int byteStride,
+        int numComponents, int componentType, boolean normalized, int count)
+    {
+        this.buffer = buffer;
+        this.byteOffset = byteOffset;
+        this.byteStride = byteStride;
+        this.numComponents = numComponents;
+        this.componentType = componentType;
+        this.componentSize = GltfConstants.componentSize(componentType);
+        this.normalized = normalized;
+        this.count = count;
+    }
+
+    @Override
+    public double get(int index)
+    {
+        int element = index / numComponents;
+        int component = index - element * numComponents;
+        int i = byteOffset + element * byteStride + component * componentSize;
+        switch (componentType)
+        {
+            case GltfConstants.FLOAT:
+                return buffer.getFloat(i);
+            case GltfConstants.BYTE:
+            {
+                byte b = buffer.get(i);
+                return normalized ? Math.max(b / 127.0, -1.0) : b;
+            }
+            case GltfConstants.UNSIGNED_BYTE:
+            {
+                int b = buffer.get(i) & 0xFF;
+                return normalized ? b / 255.0 : b;
+            }
+            case GltfConstants.SHORT:
+            {
+                short s = buffer.getShort(i);
+                return normalized ? Math.max(s / 32767.0, -1.0) : s;
+            }
+            case GltfConstants.UNSIGNED_SHORT:
+            {
+                int s = buffer.getShort(i) & 0xFFFF;
+                return normalized ? s / 65535.0 : s;
+            }
+            default:
+            {
+                long u = buffer.getInt(i) & 0xFFFFFFFFL;
+                return normalized ? u / 4294967295.0 : u;
+            }
+        }
+    }
+
+    @Override
+    public int length()
+    {
+        return count * numComponents;
+    }
+}
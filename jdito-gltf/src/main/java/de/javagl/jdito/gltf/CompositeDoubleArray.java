@@ -0,0 +1,84 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.gltf;
+
+import java.util.Arrays;
+import java.util.List;
+
+import de.javagl.jdito.ReadableDoubleArray;
+
+/**
+ * Implementation of a {@link ReadableDoubleArray} that is the concatenation
+ * of several other {@link ReadableDoubleArray} instances
+ */
+class CompositeDoubleArray implements ReadableDoubleArray
+{
+    /**
+     * The arrays
+     */
+    private final ReadableDoubleArray arrays[];
+
+    /**
+     * The index of the first element of each array, with an additional
+     * element that contains the total length
+     */
+    private final int starts[];
+
+    /**
+     * Creates a new instance
+     * 
+     * @param arrayList The arrays
+     * @throws IllegalArgumentException If the total length is larger than
+     * <code>Integer.MAX_VALUE</code>
+     */
+    CompositeDoubleArray(List<? extends ReadableDoubleArray> arrayList)
+    {
+        int n = arrayList.size();
+        this.arrays = arrayList.toArray(new ReadableDoubleArray[n]);
+        this.starts = new int[n + 1];
+        long total = 0;
+        for (int i = 0; i < n; i++)
+        {
+            starts[i] = (int) total;
+            total += arrays[i].length();
+            if (total > Integer.MAX_VALUE)
+            {
+                throw new IllegalArgumentException(
+                    "The total length exceeds the maximum array length");
+            }
+        }
+        starts[n] = (int) total;
+    }
+
+    @Override
+    public double get(int index)
+    {
+        int a = Arrays.binarySearch(starts, index);
+        if (a < 0)
+        {
+            a = -a - 2;
+        }
+        else
+        {
+            // Skip empty arrays
+            while (starts[a + 1] == index)
+            {
+                a++;
+            }
+        }
+        return arrays[a].get(index - starts[a]);
+    }
+
+    @Override
+    public int length()
+    {
+        return starts[arrays.length];
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.gltf;
+
+/**
+ * Constants from the glTF specification
+ */
+class GltfConstants
+{
+    /**
+     * The component type for signed bytes
+     */
+    static final int BYTE = 5120;
+
+    /**
+     * The component type for unsigned bytes
+     */
+    static final int UNSIGNED_BYTE = 5121;
+
+    /**
+     * The component type for signed shorts
+     */
+    static final int SHORT = 5122;
+
+    /**
+     * The component type for unsigned shorts
+     */
+    static final int UNSIGNED_SHORT = 5123;
+
+    /**
+     * The component type for unsigned ints
+     */
+    static final int UNSIGNED_INT = 5125;
+
+    /**
+     * The component type for floats
+     */
+    static final int FLOAT = 5126;
+
+    /**
+     * Returns the size of the given component type, in bytes
+     * 
+     * @param componentType The component type
+     * @return The size
+     * @throws IllegalArgumentException If the component type is invalid
+     */
+    static int componentSize(int componentType)
+    {
+        switch (componentType)
+        {
+            case BYTE:
+            case UNSIGNED_BYTE:
+                return 1;
+            case SHORT:
+            case UNSIGNED_SHORT:
+                return 2;
+            case UNSIGNED_INT:
+            case FLOAT:
+                return 4;
+            default:
+                throw new IllegalArgumentException(
+                    "Invalid component type: " + componentType);
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private GltfConstants()
+    {
+        // Private constructor to prevent instantiation
+    }
+
+}
@@ -0,0 +1,878 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.gltf;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import de.javagl.jdito.DoubleArrays;
+import de.javagl.jdito.ReadableDoubleArray;
+
+/**
+ * The parts of a glTF 2.0 asset that are required for computing bounding
+ * boxes: The meshes with their primitives, the nodes with their transforms,
+ * and the buffers.
+ * 
+ * Binary glTF (GLB) files and external buffer files are memory-mapped, and
+ * the positions of the mesh primitives are read directly from the mapped
+ * memory. Only the values of sparse accessors are copied into arrays.
+ */
+public class GltfModel
+{
+    /**
+     * The magic number at the start of a GLB file, <code>"glTF"</code>
+     */
+    private static final int GLB_MAGIC = 0x46546C67;
+
+    /**
+     * The chunk type of the JSON chunk of a GLB file
+     */
+    private static final int CHUNK_TYPE_JSON = 0x4E4F534A;
+
+    /**
+     * The chunk type of the binary chunk of a GLB file
+     */
+    private static final int CHUNK_TYPE_BIN = 0x004E4942;
+
+    /**
+     * The glTF JSON
+     */
+    private final Map<String, Object> gltf;
+
+    /**
+     * The buffers, in little-endian byte order
+     */
+    private final List<ByteBuffer> buffers;
+
+    /**
+     * The global transforms of the nodes, as 4x4 matrices in column-major
+     * order
+     */
+    private final double globalTransforms[][];
+
+    /**
+     * Read the glTF asset from the given file. This may be a GLB file or a
+     * JSON-based glTF file, which may refer to external buffers via
+     * relative URIs, or contain buffers as data URIs.
+     * 
+     * @param path The path of the file
+     * @return The {@link GltfModel}
+     * @throws IOException If the file cannot be read or is not a valid
+     * glTF 2.0 asset
+     */
+    public static GltfModel read(Path path) throws IOException
+    {
+        try (FileChannel channel =
+            FileChannel.open(path, StandardOpenOption.READ))
+        {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+            {
+                throw new IOException("File is too large: " + size);
+            }
+            ByteBuffer data = channel.map(MapMode.READ_ONLY, 0, size)
+                .order(ByteOrder.LITTLE_ENDIAN);
+            if (size >= 4 && data.getInt(0) == GLB_MAGIC)
+            {
+                return readGlb(data, path);
+            }
+            byte bytes[] = new byte[(int) size];
+            data.get(bytes);
+            String json = new String(bytes, StandardCharsets.UTF_8);
+            return new GltfModel(parseJson(json), null, path);
+        }
+    }
+
+    /**
+     * Read the glTF asset from the given GLB data
+     * 
+     * @param data The data
+     * @param path The path of the file, for resolving external buffers
+     * @return The {@link GltfModel}
+     * @throws IOException If the data is not valid
+     */
+    private static GltfModel readGlb(ByteBuffer data, Path path)
+        throws IOException
+    {
+        if (data.capacity() < 20)
+        {
+            throw new IOException("Invalid GLB header");
+        }
+        int version = data.getInt(4);
+        if (version != 2)
+        {
+            throw new IOException("Unsupported GLB version: " + version);
+        }
+        long length = data.getInt(8) & 0xFFFFFFFFL;
+        if (length > data.capacity())
+        {
+            throw new IOException("The GLB length is " + length
+                + ", but the file only has " + data.capacity() + " bytes");
+        }
+        String json = null;
+        ByteBuffer bin = null;
+        long position = 12;
+        while (position + 8 <= length)
+        {
+            long chunkLength = data.getInt((int) position) & 0xFFFFFFFFL;
+            int chunkType = data.getInt((int) position + 4);
+            long chunkStart = position + 8;
+            if (chunkStart + chunkLength > length)
+            {
+                throw new IOException("Invalid GLB chunk length");
+            }
+            ByteBuffer chunk = slice(data, chunkStart, chunkLength);
+            if (chunkType == CHUNK_TYPE_JSON && json == null)
+            {
+                byte bytes[] = new byte[(int) chunkLength];
+                chunk.get(bytes);
+                json = new String(bytes, StandardCharsets.UTF_8);
+            }
+            else if (chunkType == CHUNK_TYPE_BIN && bin == null)
+            {
+                bin = chunk;
+            }
+            position = chunkStart + chunkLength;
+        }
+        if (json == null)
+        {
+            throw new IOException("The GLB does not contain a JSON chunk");
+        }
+        return new GltfModel(parseJson(json), bin, path);
+    }
+
+    /**
+     * Creates a new instance
+     * 
+     * @param gltf The glTF JSON
+     * @param bin The binary chunk of a GLB file, or <code>null</code>
+     * @param path The path of the file, for resolving external buffers
+     * @throws IOException If the asset is not valid
+     */
+    private GltfModel(Map<String, Object> gltf, ByteBuffer bin, Path path)
+        throws IOException
+    {
+        this.gltf = gltf;
+        this.buffers = new ArrayList<ByteBuffer>();
+        List<Object> bufferList = getList(gltf, "buffers");
+        for (int i = 0; i < bufferList.size(); i++)
+        {
+            Map<String, Object> buffer = asMap(bufferList.get(i), "buffer");
+            Object uri = buffer.get("uri");
+            if (uri == null)
+            {
+                if (i != 0 || bin == null)
+                {
+                    throw new IOException("Buffer " + i + " has no URI");
+                }
+                buffers.add(bin);
+            }
+            else
+            {
+                buffers.add(readBuffer(String.valueOf(uri), path));
+            }
+        }
+        this.globalTransforms = computeGlobalTransforms();
+    }
+
+    /**
+     * Returns the number of meshes
+     * 
+     * @return The number of meshes
+     */
+    public int getMeshCount()
+    {
+        return getList(gltf, "meshes").size();
+    }
+
+    /**
+     * Returns the number of primitives of the given mesh
+     * 
+     * @param mesh The mesh index
+     * @return The number of primitives
+     * @throws IndexOutOfBoundsException If the index is out of bounds
+     */
+    public int getPrimitiveCount(int mesh)
+    {
+        return getList(getMesh(mesh), "primitives").size();
+    }
+
+    /**
+     * Returns the number of nodes
+     * 
+     * @return The number of nodes
+     */
+    public int getNodeCount()
+    {
+        return globalTransforms.length;
+    }
+
+    /**
+     * Returns the index of the mesh of the given node, or -1 if the node
+     * does not have a mesh
+     * 
+     * @param node The node index
+     * @return The mesh index
+     * @throws IndexOutOfBoundsException If the index is out of bounds
+     */
+    public int getNodeMesh(int node)
+    {
+        Map<String, Object> n = getNode(node);
+        Object mesh = n.get("mesh");
+        if (mesh instanceof Number)
+        {
+            return ((Number) mesh).intValue();
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the global transform of the given node, as a 4x4 matrix in
+     * column-major order. This is the product of the local transforms of
+     * all nodes on the path from the root node to the given node.
+     * 
+     * @param node The node index
+     * @return The global transform
+     * @throws IndexOutOfBoundsException If the index is out of bounds
+     */
+    public double[] getGlobalTransform(int node)
+    {
+        return globalTransforms[node].clone();
+    }
+
+    /**
+     * Returns the positions of the given primitive of the given mesh, or
+     * <code>null</code> if the primitive does not have a
+     * <code>POSITION</code> attribute.
+     * 
+     * @param mesh The mesh index
+     * @param primitive The primitive index
+     * @return The positions
+     * @throws IOException If the accessor of the positions is not valid
+     * @throws IndexOutOfBoundsException If an index is out of bounds
+     */
+    ReadableDoubleArray getPositions(int mesh, int primitive)
+        throws IOException
+    {
+        List<Object> primitives = getList(getMesh(mesh), "primitives");
+        Map<String, Object> p =
+            asMap(primitives.get(primitive), "primitive");
+        Map<String, Object> attributes = getMap(p, "attributes");
+        Object accessor = attributes.get("POSITION");
+        if (accessor == null)
+        {
+            return null;
+        }
+        return createPositions(asInt(accessor, "POSITION"));
+    }
+
+    /**
+     * Create the {@link ReadableDoubleArray} for the given accessor, which
+     * must be a <code>VEC3</code> accessor
+     * 
+     * @param accessorIndex The accessor index
+     * @return The {@link ReadableDoubleArray}
+     * @throws IOException If the accessor is not valid
+     */
+    private ReadableDoubleArray createPositions(int accessorIndex)
+        throws IOException
+    {
+        Map<String, Object> accessor = asMap(
+            getElement(gltf, "accessors", accessorIndex), "accessor");
+        String type = String.valueOf(accessor.get("type"));
+        if (!type.equals("VEC3"))
+        {
+            throw new IOException("Accessor " + accessorIndex
+                + " has type " + type + ", expected VEC3");
+        }
+        int componentType = getInt(accessor, "componentType", -1);
+        boolean normalized = Boolean.TRUE.equals(accessor.get("normalized"));
+        int count = getInt(accessor, "count", 0);
+        ReadableDoubleArray base = null;
+        if (accessor.containsKey("bufferView"))
+        {
+            base = createElements(getInt(accessor, "bufferView", -1),
+                getInt(accessor, "byteOffset", 0), componentType,
+                normalized, count, 3);
+        }
+        Object sparse = accessor.get("sparse");
+        if (sparse == null)
+        {
+            if (base == null)
+            {
+                return DoubleArrays.fromArray(new double[count * 3]);
+            }
+            return base;
+        }
+        return applySparse(asMap(sparse, "sparse"), base, componentType,
+            normalized, count);
+    }
+
+    /**
+     * Create a {@link ReadableDoubleArray} containing the values of the
+     * given accessor, with the sparse substitution applied
+     * 
+     * @param sparse The sparse object of the accessor
+     * @param base The values of the accessor without the substitution, or
+     * <code>null</code> if the accessor does not have a buffer view
+     * @param componentType The component type
+     * @param normalized Whether the components are normalized
+     * @param count The number of elements of the accessor
+     * @return The {@link ReadableDoubleArray}
+     * @throws IOException If the sparse accessor is not valid
+     */
+    private ReadableDoubleArray applySparse(Map<String, Object> sparse,
+        ReadableDoubleArray base, int componentType, boolean normalized,
+        int count) throws IOException
+    {
+        double result[] = new double[count * 3];
+        if (base != null)
+        {
+            for (int i = 0; i < result.length; i++)
+            {
+                result[i] = base.get(i);
+            }
+        }
+        int sparseCount = getInt(sparse, "count", 0);
+        Map<String, Object> indices = getMap(sparse, "indices");
+        Map<String, Object> values = getMap(sparse, "values");
+        int indexComponentType = getInt(indices, "componentType", -1);
+        if (indexComponentType != GltfConstants.UNSIGNED_BYTE
+            && indexComponentType != GltfConstants.UNSIGNED_SHORT
+            && indexComponentType != GltfConstants.UNSIGNED_INT)
+        {
+            throw new IOException(
+                "Invalid sparse index component type: " + indexComponentType);
+        }
+        ReadableDoubleArray sparseIndices = createElements(
+            getInt(indices, "bufferView", -1),
+            getInt(indices, "byteOffset", 0), indexComponentType, false,
+            sparseCount, 1);
+        ReadableDoubleArray sparseValues = createElements(
+            getInt(values, "bufferView", -1),
+            getInt(values, "byteOffset", 0), componentType, normalized,
+            sparseCount, 3);
+        for (int i = 0; i < sparseCount; i++)
+        {
+            long index = (long) sparseIndices.get(i);
+            if (index >= count)
+            {
+                throw new IOException("Sparse index " + index
+                    + " is not smaller than the accessor count " + count);
+            }
+            int target = (int) index * 3;
+            result[target + 0] = sparseValues.get(i * 3 + 0);
+            result[target + 1] = sparseValues.get(i * 3 + 1);
+            result[target + 2] = sparseValues.get(i * 3 + 2);
+        }
+        return DoubleArrays.fromArray(result);
+    }
+
+    /**
+     * Create a {@link ReadableDoubleArray} for the elements with the given
+     * number of components that are stored in the given buffer view.
+     * 
+     * For elements with a single component, the byte stride of the buffer
+     * view is ignored, as required for sparse indices.
+     * 
+     * @param bufferViewIndex The buffer view index
+     * @param byteOffset The byte offset relative to the buffer view
+     * @param componentType The component type
+     * @param normalized Whether the components are normalized
+     * @param count The number of elements
+     * @param numComponents The number of components, 1 or 3
+     * @return The {@link ReadableDoubleArray}
+     * @throws IOException If the elements are not contained in the buffer
+     * view, or the buffer view is not contained in its buffer
+     */
+    private ReadableDoubleArray createElements(int bufferViewIndex,
+        int byteOffset, int componentType, boolean normalized, int count,
+        int numComponents) throws IOException
+    {
+        Map<String, Object> bufferView = asMap(
+            getElement(gltf, "bufferViews", bufferViewIndex), "bufferView");
+        int bufferIndex = getInt(bufferView, "buffer", -1);
+        if (bufferIndex < 0 || bufferIndex >= buffers.size())
+        {
+            throw new IOException("Invalid buffer index: " + bufferIndex);
+        }
+        ByteBuffer buffer = buffers.get(bufferIndex);
+        long viewOffset = getLong(bufferView, "byteOffset", 0);
+        long viewLength = getLong(bufferView, "byteLength", 0);
+        if (viewOffset < 0 || viewLength < 0
+            || viewOffset + viewLength > buffer.capacity())
+        {
+            throw new IOException("Buffer view " + bufferViewIndex
+                + " is not contained in buffer " + bufferIndex);
+        }
+        int componentSize;
+        try
+        {
+            componentSize = GltfConstants.componentSize(componentType);
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new IOException(e.getMessage(), e);
+        }
+        int elementSize = numComponents * componentSize;
+        int byteStride = elementSize;
+        if (numComponents > 1)
+        {
+            byteStride = getInt(bufferView, "byteStride", elementSize);
+        }
+        if (count < 0 || byteOffset < 0 || byteStride < elementSize)
+        {
+            throw new IOException("Invalid accessor layout in buffer view "
+                + bufferViewIndex);
+        }
+        if (count > 0 && byteOffset + (long) (count - 1) * byteStride
+            + elementSize > viewLength)
+        {
+            throw new IOException("The accessor data is not contained in "
+                + "buffer view " + bufferViewIndex);
+        }
+        return new AccessorDoubleArray(buffer,
+            (int) (viewOffset + byteOffset), byteStride, numComponents,
+            componentType, normalized, count);
+    }
+
+    /**
+     * Compute the global transforms of all nodes
+     * 
+     * @return The global transforms
+     * @throws IOException If the node hierarchy is not valid
+     */
+    private double[][] computeGlobalTransforms() throws IOException
+    {
+        List<Object> nodes = getList(gltf, "nodes");
+        int n = nodes.size();
+        int parents[] = new int[n];
+        Arrays.fill(parents, -1);
+        for (int i = 0; i < n; i++)
+        {
+            Map<String, Object> node = asMap(nodes.get(i), "node");
+            for (Object child : getList(node, "children"))
+            {
+                int c = asInt(child, "child");
+                if (c < 0 || c >= n || parents[c] != -1 || c == i)
+                {
+                    throw new IOException("Invalid child " + c
+                        + " of node " + i);
+                }
+                parents[c] = i;
+            }
+        }
+        double result[][] = new double[n][];
+        for (int i = 0; i < n; i++)
+        {
+            computeGlobalTransform(i, parents, result, 0);
+        }
+        return result;
+    }
+
+    /**
+     * Compute the global transform of the given node, if it was not
+     * computed yet
+     * 
+     * @param node The node index
+     * @param parents The parent index of each node
+     * @param result The array that stores the global transforms
+     * @param depth The recursion depth
+     * @throws IOException If the node hierarchy contains a cycle
+     */
+    private void computeGlobalTransform(int node, int parents[],
+        double result[][], int depth) throws IOException
+    {
+        if (result[node] != null)
+        {
+            return;
+        }
+        if (depth > parents.length)
+        {
+            throw new IOException("The node hierarchy contains a cycle");
+        }
+        double local[] = computeLocalTransform(getNode(node));
+        int parent = parents[node];
+        if (parent == -1)
+        {
+            result[node] = local;
+            return;
+        }
+        computeGlobalTransform(parent, parents, result, depth + 1);
+        result[node] = mul(result[parent], local);
+    }
+
+    /**
+     * Compute the local transform of the given node, from its
+     * <code>matrix</code>, or from its <code>translation</code>,
+     * <code>rotation</code> and <code>scale</code>
+     * 
+     * @param node The node
+     * @return The local transform
+     * @throws IOException If the transform is not valid
+     */
+    private static double[] computeLocalTransform(Map<String, Object> node)
+        throws IOException
+    {
+        Object matrix = node.get("matrix");
+        if (matrix != null)
+        {
+            return toDoubles(matrix, 16, null);
+        }
+        double t[] = toDoubles(node.get("translation"), 3,
+            new double[] { 0.0, 0.0, 0.0 });
+        double r[] = toDoubles(node.get("rotation"), 4,
+            new double[] { 0.0, 0.0, 0.0, 1.0 });
+        double s[] = toDoubles(node.get("scale"), 3,
+            new double[] { 1.0, 1.0, 1.0 });
+        double x = r[0];
+        double y = r[1];
+        double z = r[2];
+        double w = r[3];
+        double m[] = new double[16];
+        m[0] = (1 - 2 * (y * y + z * z)) * s[0];
+        m[1] = (2 * (x * y + z * w)) * s[0];
+        m[2] = (2 * (x * z - y * w)) * s[0];
+        m[4] = (2 * (x * y - z * w)) * s[1];
+        m[5] = (1 - 2 * (x * x + z * z)) * s[1];
+        m[6] = (2 * (y * z + x * w)) * s[1];
+        m[8] = (2 * (x * z + y * w)) * s[2];
+        m[9] = (2 * (y * z - x * w)) * s[2];
+        m[10] = (1 - 2 * (x * x + y * y)) * s[2];
+        m[12] = t[0];
+        m[13] = t[1];
+        m[14] = t[2];
+        m[15] = 1.0;
+        return m;
+    }
+
+    /**
+     * Multiply the given 4x4 matrices, which are given in column-major order
+     * 
+     * @param a The first matrix
+     * @param b The second matrix
+     * @return The product
+     */
+    private static double[] mul(double a[], double b[])
+    {
+        double result[] = new double[16];
+        for (int c = 0; c < 4; c++)
+        {
+            for (int r = 0; r < 4; r++)
+            {
+                double sum = 0.0;
+                for (int k = 0; k < 4; k++)
+                {
+                    sum += a[k * 4 + r] * b[c * 4 + k];
+                }
+                result[c * 4 + r] = sum;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Read the buffer with the given URI
+     * 
+     * @param uri The URI
+     * @param path The path of the glTF file
+     * @return The buffer
+     * @throws IOException If the buffer cannot be read
+     */
+    private static ByteBuffer readBuffer(String uri, Path path)
+        throws IOException
+    {
+        if (uri.startsWith("data:"))
+        {
+            int comma = uri.indexOf(',');
+            if (comma < 0 || !uri.substring(0, comma).endsWith(";base64"))
+            {
+                throw new IOException("Unsupported data URI");
+            }
+            byte bytes[] =
+                Base64.getDecoder().decode(uri.substring(comma + 1));
+            return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        String relativePath = uri;
+        try
+        {
+            relativePath = URI.create(uri).getPath();
+        }
+        catch (IllegalArgumentException e)
+        {
+            // Use the URI as a path, assuming that it is not encoded
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        Path bufferPath = parent.resolve(relativePath);
+        try (FileChannel channel =
+            FileChannel.open(bufferPath, StandardOpenOption.READ))
+        {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+            {
+                throw new IOException("Buffer is too large: " + bufferPath);
+            }
+            return channel.map(MapMode.READ_ONLY, 0, size)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /**
+     * Returns a slice of the given buffer, in little-endian byte order
+     * 
+     * @param data The buffer
+     * @param offset The offset
+     * @param length The length
+     * @return The slice
+     */
+    private static ByteBuffer slice(ByteBuffer data, long offset, long length)
+    {
+        ByteBuffer d = data.duplicate();
+        d.position((int) offset);
+        d.limit((int) (offset + length));
+        return d.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Parse the given glTF JSON
+     * 
+     * @param json The JSON string
+     * @return The JSON object
+     * @throws IOException If the JSON is not valid
+     */
+    private static Map<String, Object> parseJson(String json)
+        throws IOException
+    {
+        Map<String, Object> gltf = asMap(JsonParser.parse(json), "glTF");
+        Map<String, Object> asset = getMap(gltf, "asset");
+        String version = String.valueOf(asset.get("version"));
+        if (!version.startsWith("2."))
+        {
+            throw new IOException("Unsupported glTF version: " + version);
+        }
+        return gltf;
+    }
+
+    /**
+     * Returns the mesh with the given index
+     * 
+     * @param mesh The mesh index
+     * @return The mesh
+     * @throws IndexOutOfBoundsException If the index is out of bounds
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> getMesh(int mesh)
+    {
+        return (Map<String, Object>) getList(gltf, "meshes").get(mesh);
+    }
+
+    /**
+     * Returns the node with the given index
+     * 
+     * @param node The node index
+     * @return The node
+     * @throws IndexOutOfBoundsException If the index is out of bounds
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> getNode(int node)
+    {
+        return (Map<String, Object>) getList(gltf, "nodes").get(node);
+    }
+
+    /**
+     * Returns the element with the given index from the array with the
+     * given name in the given object
+     * 
+     * @param object The object
+     * @param name The name of the array
+     * @param index The index
+     * @return The element
+     * @throws IOException If the index is out of bounds
+     */
+    private static Object getElement(Map<String, Object> object, String name,
+        int index) throws IOException
+    {
+        List<Object> list = getList(object, name);
+        if (index < 0 || index >= list.size())
+        {
+            throw new IOException("Invalid index in " + name + ": " + index);
+        }
+        return list.get(index);
+    }
+
+    /**
+     * Returns the array with the given name from the given object, or an
+     * empty list if the object does not contain an array with this name
+     * 
+     * @param object The object
+     * @param name The name
+     * @return The list
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Object> getList(Map<String, Object> object,
+        String name)
+    {
+        Object value = object.get(name);
+        if (value instanceof List<?>)
+        {
+            return (List<Object>) value;
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Returns the object with the given name from the given object
+     * 
+     * @param object The object
+     * @param name The name
+     * @return The object
+     * @throws IOException If the object does not contain an object with
+     * the given name
+     */
+    private static Map<String, Object> getMap(Map<String, Object> object,
+        String name) throws IOException
+    {
+        return asMap(object.get(name), name);
+    }
+
+    /**
+     * Returns the given value as an object
+     * 
+     * @param value The value
+     * @param name The name of the value, for error messages
+     * @return The object
+     * @throws IOException If the value is not an object
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object value, String name)
+        throws IOException
+    {
+        if (value instanceof Map<?, ?>)
+        {
+            return (Map<String, Object>) value;
+        }
+        throw new IOException("Expected an object for " + name);
+    }
+
+    /**
+     * Returns the integer with the given name from the given object
+     * 
+     * @param object The object
+     * @param name The name
+     * @param defaultValue The value to return if the object does not
+     * contain the property
+     * @return The value
+     * @throws IOException If the value is not an integer
+     */
+    private static int getInt(Map<String, Object> object, String name,
+        int defaultValue) throws IOException
+    {
+        long value = getLong(object, name, defaultValue);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)
+        {
+            throw new IOException("Value of " + name + " is too large");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Returns the integer with the given name from the given object
+     * 
+     * @param object The object
+     * @param name The name
+     * @param defaultValue The value to return if the object does not
+     * contain the property
+     * @return The value
+     * @throws IOException If the value is not an integer
+     */
+    private static long getLong(Map<String, Object> object, String name,
+        long defaultValue) throws IOException
+    {
+        Object value = object.get(name);
+        if (value == null)
+        {
+            return defaultValue;
+        }
+        if (value instanceof Number)
+        {
+            double d = ((Number) value).doubleValue();
+            long result = (long) d;
+            if (result == d)
+            {
+                return result;
+            }
+        }
+        throw new IOException("Expected an integer for " + name);
+    }
+
+    /**
+     * Returns the given value as an integer
+     * 
+     * @param value The value
+     * @param name The name of the value, for error messages
+     * @return The integer
+     * @throws IOException If the value is not an integer
+     */
+    private static int asInt(Object value, String name) throws IOException
+    {
+        return getInt(Collections.singletonMap(name, value), name, -1);
+    }
+
+    /**
+     * Returns the given value as an array of the given length
+     * 
+     * @param value The value
+     * @param length The expected length
+     * @param defaultValue The value to return if the given value is
+     * <code>null</code>
+     * @return The array
+     * @throws IOException If the value is not an array of numbers with the
+     * given length, or it is <code>null</code> and no default value was
+     * given
+     */
+    private static double[] toDoubles(Object value, int length,
+        double defaultValue[]) throws IOException
+    {
+        if (value == null && defaultValue != null)
+        {
+            return defaultValue;
+        }
+        if (!(value instanceof List<?>) || ((List<?>) value).size() != length)
+        {
+            throw new IOException("Expected an array of length " + length);
+        }
+        List<?> list = (List<?>) value;
+        double result[] = new double[length];
+        for (int i = 0; i < length; i++)
+        {
+            Object element = list.get(i);
+            if (!(element instanceof Number))
+            {
+                throw new IOException("Expected a number, found " + element);
+            }
+            result[i] = ((Number) element).doubleValue();
+        }
+        return result;
+    }
+}
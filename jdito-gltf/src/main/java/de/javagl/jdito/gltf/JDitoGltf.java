@@ -0,0 +1,209 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.gltf;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import de.javagl.jdito.JDito;
+import de.javagl.jdito.JDitoOptions;
+import de.javagl.jdito.OrientedBoundingBox;
+import de.javagl.jdito.ReadableDoubleArray;
+
+/**
+ * Methods for computing oriented bounding boxes for the elements of a
+ * {@link GltfModel}.
+ * 
+ * The boxes are computed from the <code>POSITION</code> attributes of the
+ * mesh primitives, which are read directly from the buffers of the model.
+ * Morph targets and skinning are not taken into account. The individual
+ * boxes are computed in parallel, using the threads of the common
+ * fork-join pool.
+ */
+public class JDitoGltf
+{
+    /**
+     * Compute the oriented bounding box for each primitive of each mesh of
+     * the given model.
+     * 
+     * The element <code>[m][p]</code> of the result is the box for the
+     * primitive <code>p</code> of mesh <code>m</code>, in the coordinate
+     * system of the mesh. It is <code>null</code> if the primitive does not
+     * have any positions.
+     * 
+     * @param model The {@link GltfModel}
+     * @param options The {@link JDitoOptions}
+     * @return The boxes
+     * @throws IOException If the positions of a primitive are not valid
+     */
+    public static OrientedBoundingBox[][] computePrimitiveBoxes(
+        GltfModel model, JDitoOptions options) throws IOException
+    {
+        List<ReadableDoubleArray> inputs = new ArrayList<ReadableDoubleArray>();
+        int meshCount = model.getMeshCount();
+        for (int m = 0; m < meshCount; m++)
+        {
+            int primitiveCount = model.getPrimitiveCount(m);
+            for (int p = 0; p < primitiveCount; p++)
+            {
+                inputs.add(model.getPositions(m, p));
+            }
+        }
+        OrientedBoundingBox boxes[] = computeAll(inputs, options);
+        OrientedBoundingBox result[][] = new OrientedBoundingBox[meshCount][];
+        int index = 0;
+        for (int m = 0; m < meshCount; m++)
+        {
+            int primitiveCount = model.getPrimitiveCount(m);
+            result[m] = new OrientedBoundingBox[primitiveCount];
+            System.arraycopy(boxes, index, result[m], 0, primitiveCount);
+            index += primitiveCount;
+        }
+        return result;
+    }
+
+    /**
+     * Compute the oriented bounding box for each mesh of the given model.
+     * 
+     * Element <code>m</code> of the result is the box that encloses all
+     * primitives of mesh <code>m</code>, in the coordinate system of the
+     * mesh. It is <code>null</code> if the mesh does not have any positions.
+     * 
+     * @param model The {@link GltfModel}
+     * @param options The {@link JDitoOptions}
+     * @return The boxes
+     * @throws IOException If the positions of a primitive are not valid
+     */
+    public static OrientedBoundingBox[] computeMeshBoxes(GltfModel model,
+        JDitoOptions options) throws IOException
+    {
+        List<ReadableDoubleArray> inputs = new ArrayList<ReadableDoubleArray>();
+        int meshCount = model.getMeshCount();
+        for (int m = 0; m < meshCount; m++)
+        {
+            inputs.add(getMeshPositions(model, m, null));
+        }
+        return computeAll(inputs, options);
+    }
+
+    /**
+     * Compute the oriented bounding box for the mesh of each node of the
+     * given model, with the global transform of the node applied.
+     * 
+     * Element <code>n</code> of the result is the box that encloses all
+     * primitives of the mesh of node <code>n</code>, after they have been
+     * transformed with {@link GltfModel#getGlobalTransform(int)}. Since
+     * these transforms may contain non-uniform scaling, the box is computed
+     * from the transformed positions, and not by transforming the box of the
+     * mesh. The element is <code>null</code> if the node does not have a
+     * mesh, or the mesh does not have any positions.
+     * 
+     * @param model The {@link GltfModel}
+     * @param options The {@link JDitoOptions}
+     * @return The boxes
+     * @throws IOException If the positions of a primitive are not valid
+     */
+    public static OrientedBoundingBox[] computeNodeBoxes(GltfModel model,
+        JDitoOptions options) throws IOException
+    {
+        List<ReadableDoubleArray> inputs = new ArrayList<ReadableDoubleArray>();
+        int nodeCount = model.getNodeCount();
+        for (int n = 0; n < nodeCount; n++)
+        {
+            int mesh = model.getNodeMesh(n);
+            if (mesh < 0)
+            {
+                inputs.add(null);
+            }
+            else
+            {
+                double transform[] = model.getGlobalTransform(n);
+                inputs.add(getMeshPositions(model, mesh, transform));
+            }
+        }
+        return computeAll(inputs, options);
+    }
+
+    /**
+     * Returns the positions of all primitives of the given mesh, or
+     * <code>null</code> if the mesh does not have any positions
+     * 
+     * @param model The {@link GltfModel}
+     * @param mesh The mesh index
+     * @param transform The optional transform that should be applied to the
+     * positions, as a 4x4 matrix in column-major order
+     * @return The positions
+     * @throws IOException If the positions of a primitive are not valid
+     */
+    private static ReadableDoubleArray getMeshPositions(GltfModel model,
+        int mesh, double transform[]) throws IOException
+    {
+        List<ReadableDoubleArray> parts = new ArrayList<ReadableDoubleArray>();
+        int primitiveCount = model.getPrimitiveCount(mesh);
+        for (int p = 0; p < primitiveCount; p++)
+        {
+            ReadableDoubleArray positions = model.getPositions(mesh, p);
+            if (positions != null && positions.length() > 0)
+            {
+                if (transform != null)
+                {
+                    positions =
+                        new TransformedDoubleArray(positions, transform);
+                }
+                parts.add(positions);
+            }
+        }
+        if (parts.isEmpty())
+        {
+            return null;
+        }
+        if (parts.size() == 1)
+        {
+            return parts.get(0);
+        }
+        return new CompositeDoubleArray(parts);
+    }
+
+    /**
+     * Compute the oriented bounding boxes for the given inputs, in parallel.
+     * 
+     * The result for inputs that are <code>null</code> or empty is
+     * <code>null</code>.
+     * 
+     * @param inputs The inputs
+     * @param options The {@link JDitoOptions}
+     * @return The boxes
+     */
+    private static OrientedBoundingBox[] computeAll(
+        List<ReadableDoubleArray> inputs, JDitoOptions options)
+    {
+        OrientedBoundingBox result[] = new OrientedBoundingBox[inputs.size()];
+        IntStream.range(0, result.length).parallel().forEach(i ->
+        {
+            ReadableDoubleArray input = inputs.get(i);
+            if (input != null && input.length() > 0)
+            {
+                result[i] = JDito.compute(input, options);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private JDitoGltf()
+    {
+        // Private constructor to prevent instantiation
+    }
+
+}
@@ -0,0 +1,348 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.gltf;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A minimal JSON parser.
+ * 
+ * Objects are parsed into <code>Map&lt;String, Object&gt;</code> instances,
+ * arrays into <code>List&lt;Object&gt;</code> instances, numbers into
+ * <code>Double</code> objects, and the remaining values into
+ * <code>String</code>, <code>Boolean</code> or <code>null</code>.
+ */
+class JsonParser
+{
+    /**
+     * The input
+     */
+    private final String input;
+
+    /**
+     * The current position in the input
+     */
+    private int position;
+
+    /**
+     * Parse the given JSON string
+     * 
+     * @param input The input
+     * @return The parsed value
+     * @throws IOException If the input is not valid JSON
+     */
+    static Object parse(String input) throws IOException
+    {
+        JsonParser parser = new JsonParser(input);
+        Object result = parser.parseValue();
+        parser.skipWhitespace();
+        if (parser.position != input.length())
+        {
+            throw parser.error("Unexpected content after the JSON value");
+        }
+        return result;
+    }
+
+    /**
+     * Private constructor
+     * 
+     * @param input The input
+     */
+    private JsonParser(String input)
+    {
+        this.input = input;
+    }
+
+    /**
+     * Parse the value at the current position
+     * 
+     * @return The value
+     * @throws IOException If the input is not valid JSON
+     */
+    private Object parseValue() throws IOException
+    {
+        skipWhitespace();
+        if (position >= input.length())
+        {
+            throw error("Unexpected end of input");
+        }
+        char c = input.charAt(position);
+        switch (c)
+        {
+            case '{':
+                return parseObject();
+            case '[':
+                return parseArray();
+            case '"':
+                return parseString();
+            case 't':
+                expect("true");
+                return Boolean.TRUE;
+            case 'f':
+                expect("false");
+                return Boolean.FALSE;
+            case 'n':
+                expect("null");
+                return null;
+            default:
+                return parseNumber();
+        }
+    }
+
+    /**
+     * Parse the object at the current position
+     * 
+     * @return The object
+     * @throws IOException If the input is not valid JSON
+     */
+    private Map<String, Object> parseObject() throws IOException
+    {
+        Map<String, Object> result = new LinkedHashMap<String, Object>();
+        position++;
+        skipWhitespace();
+        if (peek() == '}')
+        {
+            position++;
+            return result;
+        }
+        while (true)
+        {
+            skipWhitespace();
+            if (peek() != '"')
+            {
+                throw error("Expected a property name");
+            }
+            String key = parseString();
+            skipWhitespace();
+            expect(":");
+            result.put(key, parseValue());
+            skipWhitespace();
+            char c = next();
+            if (c == '}')
+            {
+                return result;
+            }
+            if (c != ',')
+            {
+                throw error("Expected ',' or '}'");
+            }
+        }
+    }
+
+    /**
+     * Parse the array at the current position
+     * 
+     * @return The array
+     * @throws IOException If the input is not valid JSON
+     */
+    private List<Object> parseArray() throws IOException
+    {
+        List<Object> result = new ArrayList<Object>();
+        position++;
+        skipWhitespace();
+        if (peek() == ']')
+        {
+            position++;
+            return result;
+        }
+        while (true)
+        {
+            result.add(parseValue());
+            skipWhitespace();
+            char c = next();
+            if (c == ']')
+            {
+                return result;
+            }
+            if (c != ',')
+            {
+                throw error("Expected ',' or ']'");
+            }
+        }
+    }
+
+    /**
+     * Parse the string at the current position
+     * 
+     * @return The string
+     * @throws IOException If the input is not valid JSON
+     */
+    private String parseString() throws IOException
+    {
+        position++;
+        StringBuilder sb = new StringBuilder();
+        while (true)
+        {
+            char c = next();
+            if (c == '"')
+            {
+                return sb.toString();
+            }
+            if (c != '\\')
+            {
+                sb.append(c);
+                continue;
+            }
+            char e = next();
+            switch (e)
+            {
+                case '"':
+                case '\\':
+                case '/':
+                    sb.append(e);
+                    break;
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'u':
+                    if (position + 4 > input.length())
+                    {
+                        throw error("Invalid unicode escape");
+                    }
+                    try
+                    {
+                        String hex = input.substring(position, position + 4);
+                        sb.append((char) Integer.parseInt(hex, 16));
+                    }
+                    catch (NumberFormatException ex)
+                    {
+                        throw error("Invalid unicode escape");
+                    }
+                    position += 4;
+                    break;
+                default:
+                    throw error("Invalid escape sequence");
+            }
+        }
+    }
+
+    /**
+     * Parse the number at the current position
+     * 
+     * @return The number
+     * @throws IOException If the input is not valid JSON
+     */
+    private Double parseNumber() throws IOException
+    {
+        int start = position;
+        while (position < input.length())
+        {
+            char c = input.charAt(position);
+            if ((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.'
+                || c == 'e' || c == 'E')
+            {
+                position++;
+            }
+            else
+            {
+                break;
+            }
+        }
+        if (start == position)
+        {
+            throw error("Unexpected character");
+        }
+        try
+        {
+            return Double.valueOf(input.substring(start, position));
+        }
+        catch (NumberFormatException e)
+        {
+            throw error("Invalid number");
+        }
+    }
+
+    /**
+     * Make sure that the input at the current position is the given
+     * string, and skip it
+     * 
+     * @param s The expected string
+     * @throws IOException If the input does not match
+     */
+    private void expect(String s) throws IOException
+    {
+        if (!input.startsWith(s, position))
+        {
+            throw error("Expected '" + s + "'");
+        }
+        position += s.length();
+    }
+
+    /**
+     * Returns the character at the current position, without consuming it
+     * 
+     * @return The character
+     * @throws IOException If the end of the input was reached
+     */
+    private char peek() throws IOException
+    {
+        if (position >= input.length())
+        {
+            throw error("Unexpected end of input");
+        }
+        return input.charAt(position);
+    }
+
+    /**
+     * Returns the character at the current position, and consumes it
+     * 
+     * @return The character
+     * @throws IOException If the end of the input was reached
+     */
+    private char next() throws IOException
+    {
+        char c = peek();
+        position++;
+        return c;
+    }
+
+    /**
+     * Skip all whitespace at the current position
+     */
+    private void skipWhitespace()
+    {
+        while (position < input.length())
+        {
+            char c = input.charAt(position);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r')
+            {
+                break;
+            }
+            position++;
+        }
+    }
+
+    /**
+     * Creates an exception with the given message and the current position
+     * 
+     * @param message The message
+     * @return The exception
+     */
+    private IOException error(String message)
+    {
+        return new IOException(message + " at position " + position);
+    }
+}
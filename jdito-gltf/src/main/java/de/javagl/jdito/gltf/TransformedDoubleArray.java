@@ -0,0 +1,61 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.gltf;
+
+import de.javagl.jdito.ReadableDoubleArray;
+
+/**
+ * Implementation of a {@link ReadableDoubleArray} that provides the points
+ * of another {@link ReadableDoubleArray}, transformed with an affine
+ * transform
+ */
+class TransformedDoubleArray implements ReadableDoubleArray
+{
+    /**
+     * The points
+     */
+    private final ReadableDoubleArray points;
+
+    /**
+     * The 4x4 matrix, in column-major order
+     */
+    private final double m[];
+
+    /**
+     * Creates a new instance
+     * 
+     * @param points The points
+     * @param matrix The affine transform, as a 4x4 matrix in column-major
+     * order. A reference to this array will be stored.
+     */
+    TransformedDoubleArray(ReadableDoubleArray points, double matrix[])
+    {
+        this.points = points;
+        this.m = matrix;
+    }
+
+    @Override
+    public double get(int index)
+    {
+        int point = index / 3;
+        int c = index - point * 3;
+        int i = point * 3;
+        double x = points.get(i + 0);
+        double y = points.get(i + 1);
+        double z = points.get(i + 2);
+        return m[c] * x + m[4 + c] * y + m[8 + c] * z + m[12 + c];
+    }
+
+    @Override
+    public int length()
+    {
+        return points.length();
+    }
+}
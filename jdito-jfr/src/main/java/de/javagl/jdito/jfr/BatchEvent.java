@@ -0,0 +1,78 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * An event for the computation of the oriented bounding boxes of multiple
+ * segments of points
+ */
+@Name("de.javagl.jdito.Batch")
+@Label("OBB Batch Computation")
+@Category("JDito")
+@Description("The computation of the oriented bounding boxes of multiple "
+    + "segments of points")
+@StackTrace(false)
+class BatchEvent extends Event
+{
+    /**
+     * The type of the input
+     */
+    @Label("Input Type")
+    @Description("The type of the input: readable or large")
+    String inputType;
+
+    /**
+     * The computation mode
+     */
+    @Label("Mode")
+    @Description("The options that have been enabled for the computation")
+    String mode;
+
+    /**
+     * Whether the segments have been processed in parallel
+     */
+    @Label("Parallel")
+    boolean parallel;
+
+    /**
+     * The number of segments
+     */
+    @Label("Segment Count")
+    int segmentCount;
+
+    /**
+     * The total number of points
+     */
+    @Label("Point Count")
+    @Description("The total number of points in all segments")
+    long pointCount;
+
+    /**
+     * The total number of passes
+     */
+    @Label("Passes")
+    @Description("The total number of passes over the points of all segments")
+    long passes;
+
+    /**
+     * The number of partial results
+     */
+    @Label("Partial Results")
+    @Description("The number of segments for which the computation was "
+        + "stopped early")
+    int partialResults;
+}
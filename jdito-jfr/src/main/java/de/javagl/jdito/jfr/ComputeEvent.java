@@ -0,0 +1,122 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Percentage;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * An event for the computation of a single oriented bounding box
+ */
+@Name("de.javagl.jdito.Compute")
+@Label("OBB Computation")
+@Category("JDito")
+@Description("The computation of a single oriented bounding box")
+@StackTrace(false)
+class ComputeEvent extends Event
+{
+    /**
+     * The type of the input
+     */
+    @Label("Input Type")
+    @Description("The type of the input: array, readable, large, or chunked")
+    String inputType;
+
+    /**
+     * The computation mode
+     */
+    @Label("Mode")
+    @Description("The options that have been enabled for the computation")
+    String mode;
+
+    /**
+     * The number of points
+     */
+    @Label("Point Count")
+    long pointCount;
+
+    /**
+     * The number of passes over the points
+     */
+    @Label("Passes")
+    @Description("The number of passes over the input points")
+    int passes;
+
+    /**
+     * The branch that determined the result
+     */
+    @Label("Branch")
+    @Description("The branch of the computation that determined the result")
+    String branch;
+
+    /**
+     * The number of candidate orientations
+     */
+    @Label("Candidates")
+    int candidates;
+
+    /**
+     * The number of candidate orientations that have been evaluated
+     */
+    @Label("Evaluated Candidates")
+    @Description("The number of candidates that required a pass over "
+        + "the points")
+    int evaluatedCandidates;
+
+    /**
+     * The time for the extremal points scan
+     */
+    @Label("Extremal Points Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long extremalPointsDuration;
+
+    /**
+     * The time for the axis search
+     */
+    @Label("Axis Search Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long axisSearchDuration;
+
+    /**
+     * The time for the final dimensions pass
+     */
+    @Label("Dimensions Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long dimensionsDuration;
+
+    /**
+     * The quality of the result
+     */
+    @Label("Quality")
+    @Description("Half of the surface area of the resulting box")
+    double quality;
+
+    /**
+     * The quality gain over the axis-aligned bounding box
+     */
+    @Label("Quality Gain")
+    @Description("The relative improvement of the surface area over the "
+        + "axis-aligned bounding box")
+    @Percentage
+    double qualityGain;
+
+    /**
+     * Whether the result is partial
+     */
+    @Label("Partial")
+    @Description("Whether the computation was stopped early")
+    boolean partial;
+}
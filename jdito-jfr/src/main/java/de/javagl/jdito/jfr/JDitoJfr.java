@@ -0,0 +1,485 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.jfr;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import de.javagl.jdito.JDito;
+import de.javagl.jdito.JDitoListener;
+import de.javagl.jdito.JDitoOptions;
+import de.javagl.jdito.JDitoStatistics;
+import de.javagl.jdito.LargeDoubleArray;
+import de.javagl.jdito.OrientedBoundingBox;
+import de.javagl.jdito.PointChunkSource;
+import de.javagl.jdito.ReadableDoubleArray;
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Methods for computing oriented bounding boxes with {@link JDito}, and
+ * emitting JDK Flight Recorder events for the computations.
+ * 
+ * The methods of this class are the same as the corresponding methods in
+ * {@link JDito}, and return the same results. They emit the following
+ * events, all of which are in the <code>JDito</code> category:
+ * <ul>
+ *   <li>
+ *     <code>de.javagl.jdito.Compute</code> for each computation of a single
+ *     box. It contains the point count, the input type, the mode (that is,
+ *     the options that have been enabled), the number of passes over the
+ *     points, the branch that determined the result, the durations of the
+ *     phases of the computation, and the quality of the result compared to
+ *     the axis-aligned bounding box.
+ *   </li>
+ *   <li>
+ *     <code>de.javagl.jdito.Batch</code> for each computation of the boxes
+ *     of multiple segments. It contains the number of segments and points,
+ *     and the total number of passes.
+ *   </li>
+ *   <li>
+ *     <code>de.javagl.jdito.Throughput</code>, which is emitted periodically
+ *     (by default, once per second), and contains the number of boxes and
+ *     points that have been computed with the methods of this class since
+ *     the previous event.
+ *   </li>
+ * </ul>
+ * When the events are not enabled in the current recording, then the
+ * computations are performed without collecting any statistics. The only
+ * remaining overhead is the update of the counters for the throughput.
+ * The points of a {@link PointChunkSource} are only counted when the
+ * computation event is enabled, because their number is not known in
+ * advance.
+ */
+public class JDitoJfr
+{
+    /**
+     * The total number of computed boxes
+     */
+    private static final LongAdder computations = new LongAdder();
+
+    /**
+     * The total number of points for which boxes have been computed
+     */
+    private static final LongAdder points = new LongAdder();
+
+    /**
+     * The number of computed boxes when the last throughput event was
+     * emitted
+     */
+    private static long previousComputations;
+
+    /**
+     * The number of points when the last throughput event was emitted
+     */
+    private static long previousPoints;
+
+    /**
+     * The time stamp when the last throughput event was emitted
+     */
+    private static long previousNanos = System.nanoTime();
+
+    static
+    {
+        FlightRecorder.register(ComputeEvent.class);
+        FlightRecorder.register(BatchEvent.class);
+        FlightRecorder.register(ThroughputEvent.class);
+        FlightRecorder.addPeriodicEvent(ThroughputEvent.class,
+            JDitoJfr::emitThroughput);
+    }
+
+    /**
+     * Make sure that the events of this class are registered.
+     * 
+     * The events are registered when this class is initialized, which
+     * happens when any of its methods is called for the first time. This
+     * method may be called at startup, so that the events are known to
+     * recordings that are started before the first computation.
+     */
+    public static void register()
+    {
+        // The events are registered in the static initializer
+    }
+
+    /**
+     * Compute the oriented bounding box for the given points, using the
+     * given options, and emit the events for the computation.
+     * 
+     * See {@link JDito#compute(double[], JDitoOptions)}.
+     * 
+     * @param points The points
+     * @param options The {@link JDitoOptions}
+     * @return The oriented bounding box
+     */
+    public static OrientedBoundingBox compute(double points[],
+        JDitoOptions options)
+    {
+        return compute("array", points.length / 3, options,
+            o -> JDito.compute(points, o));
+    }
+
+    /**
+     * Compute the oriented bounding box for the given points, using the
+     * given options, and emit the events for the computation.
+     * 
+     * See {@link JDito#compute(ReadableDoubleArray, JDitoOptions)}.
+     * 
+     * @param points The points
+     * @param options The {@link JDitoOptions}
+     * @return The oriented bounding box
+     */
+    public static OrientedBoundingBox compute(ReadableDoubleArray points,
+        JDitoOptions options)
+    {
+        return compute("readable", points.length() / 3, options,
+            o -> JDito.compute(points, o));
+    }
+
+    /**
+     * Compute the oriented bounding box for the given points, using the
+     * given options, and emit the events for the computation.
+     * 
+     * See {@link JDito#compute(LargeDoubleArray, JDitoOptions)}.
+     * 
+     * @param points The points
+     * @param options The {@link JDitoOptions}
+     * @return The oriented bounding box
+     */
+    public static OrientedBoundingBox compute(LargeDoubleArray points,
+        JDitoOptions options)
+    {
+        return compute("large", points.length() / 3, options,
+            o -> JDito.compute(points, o));
+    }
+
+    /**
+     * Compute the oriented bounding box for the points of the given source,
+     * using the given options, and emit the events for the computation.
+     * 
+     * See {@link JDito#compute(PointChunkSource, JDitoOptions)}.
+     * 
+     * @param source The {@link PointChunkSource}
+     * @param options The {@link JDitoOptions}
+     * @return The oriented bounding box
+     */
+    public static OrientedBoundingBox compute(PointChunkSource source,
+        JDitoOptions options)
+    {
+        return compute("chunked", -1, options,
+            o -> JDito.compute(source, o));
+    }
+
+    /**
+     * Compute the oriented bounding boxes for the given segments of the
+     * given points, and emit the events for the computation.
+     * 
+     * See {@link JDito#computeSegments(ReadableDoubleArray, int[], int[],
+     * JDitoOptions, double[])}.
+     * 
+     * @param points The points
+     * @param offsets The offsets of the segments, in number of points
+     * @param counts The numbers of points in the segments
+     * @param options The {@link JDitoOptions}
+     * @param result The array that will store the results
+     * @throws IllegalArgumentException If the arrays do not have matching
+     * lengths, or a segment is not contained in the points
+     */
+    public static void computeSegments(ReadableDoubleArray points,
+        int offsets[], int counts[], JDitoOptions options, double result[])
+    {
+        computeSegments("readable", false, counts, options,
+            o -> JDito.computeSegments(points, offsets, counts, o, result));
+    }
+
+    /**
+     * Compute the oriented bounding boxes for the given segments of the
+     * given points, in parallel, and emit the events for the computation.
+     * 
+     * See {@link JDito#computeSegmentsParallel(ReadableDoubleArray, int[],
+     * int[], JDitoOptions, double[])}.
+     * 
+     * @param points The points
+     * @param offsets The offsets of the segments, in number of points
+     * @param counts The numbers of points in the segments
+     * @param options The {@link JDitoOptions}
+     * @param result The array that will store the results
+     * @throws IllegalArgumentException If the arrays do not have matching
+     * lengths, or a segment is not contained in the points
+     */
+    public static void computeSegmentsParallel(ReadableDoubleArray points,
+        int offsets[], int counts[], JDitoOptions options, double result[])
+    {
+        computeSegments("readable", true, counts, options,
+            o -> JDito.computeSegmentsParallel(
+                points, offsets, counts, o, result));
+    }
+
+    /**
+     * Compute the oriented bounding boxes for the given segments of the
+     * given points, and emit the events for the computation.
+     * 
+     * See {@link JDito#computeSegments(LargeDoubleArray, long[], int[],
+     * JDitoOptions, double[])}.
+     * 
+     * @param points The points
+     * @param offsets The offsets of the segments, in number of points
+     * @param counts The numbers of points in the segments
+     * @param options The {@link JDitoOptions}
+     * @param result The array that will store the results
+     * @throws IllegalArgumentException If the arrays do not have matching
+     * lengths, or a segment is not contained in the points
+     */
+    public static void computeSegments(LargeDoubleArray points,
+        long offsets[], int counts[], JDitoOptions options, double result[])
+    {
+        computeSegments("large", false, counts, options,
+            o -> JDito.computeSegments(points, offsets, counts, o, result));
+    }
+
+    /**
+     * Compute the oriented bounding boxes for the given segments of the
+     * given points, in parallel, and emit the events for the computation.
+     * 
+     * See {@link JDito#computeSegmentsParallel(LargeDoubleArray, long[],
+     * int[], JDitoOptions, double[])}.
+     * 
+     * @param points The points
+     * @param offsets The offsets of the segments, in number of points
+     * @param counts The numbers of points in the segments
+     * @param options The {@link JDitoOptions}
+     * @param result The array that will store the results
+     * @throws IllegalArgumentException If the arrays do not have matching
+     * lengths, or a segment is not contained in the points
+     */
+    public static void computeSegmentsParallel(LargeDoubleArray points,
+        long offsets[], int counts[], JDitoOptions options, double result[])
+    {
+        computeSegments("large", true, counts, options,
+            o -> JDito.computeSegmentsParallel(
+                points, offsets, counts, o, result));
+    }
+
+    /**
+     * Perform the given computation of a single box, and emit the
+     * computation event if it is enabled.
+     * 
+     * @param inputType The input type
+     * @param pointCount The number of points, or -1 if it is not known
+     * @param options The options
+     * @param computation The computation, which receives the options that
+     * should be used
+     * @return The result of the computation
+     */
+    private static OrientedBoundingBox compute(String inputType,
+        long pointCount, JDitoOptions options,
+        Function<JDitoOptions, OrientedBoundingBox> computation)
+    {
+        ComputeEvent event = new ComputeEvent();
+        if (!event.isEnabled() && pointCount >= 0)
+        {
+            OrientedBoundingBox box = computation.apply(options);
+            count(1, pointCount);
+            return box;
+        }
+
+        // Collect the statistics with a listener that passes them on to
+        // the listener of the given options, if there is one. This is
+        // also done when the event is disabled but the number of points
+        // is not known, so that the throughput event can count them.
+        JDitoStatistics collected[] = new JDitoStatistics[1];
+        JDitoListener listener = options.getListener();
+        JDitoOptions instrumentedOptions = new JDitoOptions(options);
+        instrumentedOptions.setListener(statistics ->
+        {
+            collected[0] = statistics;
+            if (listener != null)
+            {
+                listener.computationFinished(statistics);
+            }
+        });
+        event.begin();
+        OrientedBoundingBox box = computation.apply(instrumentedOptions);
+        event.end();
+
+        JDitoStatistics statistics = collected[0];
+        count(1, pointCount >= 0 ? pointCount : statistics.getPointCount());
+        if (event.shouldCommit())
+        {
+            event.inputType = inputType;
+            event.mode = createModeName(options);
+            event.pointCount = statistics.getPointCount();
+            event.passes = statistics.getPassCount();
+            event.branch = String.valueOf(statistics.getBranch());
+            event.candidates = statistics.getCandidateCount();
+            event.evaluatedCandidates =
+                statistics.getEvaluatedCandidateCount();
+            event.extremalPointsDuration =
+                statistics.getExtremalPointsNanos();
+            event.axisSearchDuration = statistics.getAxisSearchNanos();
+            event.dimensionsDuration = statistics.getDimensionsNanos();
+            event.quality = statistics.getQuality();
+            event.qualityGain = statistics.getQualityGain();
+            event.partial = box.partial;
+            event.commit();
+        }
+        return box;
+    }
+
+    /**
+     * Perform the given computation of the boxes of multiple segments, and
+     * emit the batch event if it is enabled.
+     * 
+     * @param inputType The input type
+     * @param parallel Whether the computation is parallel
+     * @param counts The numbers of points in the segments
+     * @param options The options
+     * @param computation The computation, which receives the options that
+     * should be used
+     */
+    private static void computeSegments(String inputType, boolean parallel,
+        int counts[], JDitoOptions options, Consumer<JDitoOptions> computation)
+    {
+        BatchEvent event = new BatchEvent();
+        if (!event.isEnabled())
+        {
+            computation.accept(options);
+            count(counts.length, sum(counts));
+            return;
+        }
+
+        // The listener may be called concurrently for parallel computations
+        LongAdder passes = new LongAdder();
+        LongAdder partialResults = new LongAdder();
+        JDitoListener listener = options.getListener();
+        JDitoOptions instrumentedOptions = new JDitoOptions(options);
+        instrumentedOptions.setListener(statistics ->
+        {
+            passes.add(statistics.getPassCount());
+            if (statistics.getBranch() == JDitoStatistics.Branch.PARTIAL)
+            {
+                partialResults.increment();
+            }
+            if (listener != null)
+            {
+                listener.computationFinished(statistics);
+            }
+        });
+        event.begin();
+        computation.accept(instrumentedOptions);
+        event.end();
+
+        long pointCount = sum(counts);
+        count(counts.length, pointCount);
+        if (event.shouldCommit())
+        {
+            event.inputType = inputType;
+            event.mode = createModeName(options);
+            event.parallel = parallel;
+            event.segmentCount = counts.length;
+            event.pointCount = pointCount;
+            event.passes = passes.sum();
+            event.partialResults = partialResults.intValue();
+            event.commit();
+        }
+    }
+
+    /**
+     * Add the given numbers to the counters for the throughput event
+     * 
+     * @param computationCount The number of computed boxes
+     * @param pointCount The number of points
+     */
+    private static void count(long computationCount, long pointCount)
+    {
+        computations.add(computationCount);
+        points.add(pointCount);
+    }
+
+    /**
+     * Emit the throughput event. This is called periodically by the flight
+     * recorder, and never concurrently.
+     */
+    private static void emitThroughput()
+    {
+        long nanos = System.nanoTime();
+        long currentComputations = computations.sum();
+        long currentPoints = points.sum();
+        double seconds = (nanos - previousNanos) * 1e-9;
+
+        ThroughputEvent event = new ThroughputEvent();
+        event.computations = currentComputations - previousComputations;
+        event.points = currentPoints - previousPoints;
+        if (seconds > 0.0)
+        {
+            event.computationsPerSecond = event.computations / seconds;
+            event.pointsPerSecond = event.points / seconds;
+        }
+        event.commit();
+
+        previousNanos = nanos;
+        previousComputations = currentComputations;
+        previousPoints = currentPoints;
+    }
+
+    /**
+     * Returns the sum of the given values
+     * 
+     * @param values The values
+     * @return The sum
+     */
+    private static long sum(int values[])
+    {
+        long sum = 0;
+        for (int value : values)
+        {
+            sum += value;
+        }
+        return sum;
+    }
+
+    /**
+     * Creates the name of the computation mode for the given options. This
+     * consists of the names of the options that have been enabled, or
+     * <code>"default"</code>.
+     * 
+     * @param options The options
+     * @return The mode name
+     */
+    private static String createModeName(JDitoOptions options)
+    {
+        StringBuilder sb = new StringBuilder();
+        if (options.isPrefilterEnabled())
+        {
+            sb.append("-prefilter");
+        }
+        if (options.getRefinementIterations() > 0)
+        {
+            sb.append("-refinement");
+        }
+        if (options.getWarmStartBox() != null)
+        {
+            sb.append("-warm-start");
+        }
+        if (sb.length() == 0)
+        {
+            return "default";
+        }
+        return sb.substring(1);
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private JDitoJfr()
+    {
+        // Private constructor to prevent instantiation
+    }
+
+}
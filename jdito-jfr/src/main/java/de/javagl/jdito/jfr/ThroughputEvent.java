@@ -0,0 +1,58 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+
+/**
+ * A periodic event that summarizes the computations that have been performed
+ * since the previous event
+ */
+@Name("de.javagl.jdito.Throughput")
+@Label("OBB Throughput")
+@Category("JDito")
+@Description("The computations that have been performed since the previous "
+    + "throughput event")
+@StackTrace(false)
+@Period("1 s")
+class ThroughputEvent extends Event
+{
+    /**
+     * The number of computations
+     */
+    @Label("Computations")
+    @Description("The number of boxes that have been computed")
+    long computations;
+
+    /**
+     * The number of points
+     */
+    @Label("Points")
+    @Description("The number of points for which boxes have been computed")
+    long points;
+
+    /**
+     * The number of computations per second
+     */
+    @Label("Computations per Second")
+    double computationsPerSecond;
+
+    /**
+     * The number of points per second
+     */
+    @Label("Points per Second")
+    double pointsPerSecond;
+}
@@ -0,0 +1,150 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.tools;
+
+import java.nio.ByteOrder;
+
+/**
+ * Methods for parsing command line arguments
+ */
+class Arguments
+{
+    /**
+     * Apply the given option to the given {@link PointFileFormat}, if it is
+     * one of the options that describe the format of point files.
+     * 
+     * The options are <code>--type float32|float64</code>,
+     * <code>--header &lt;bytes&gt;</code>, <code>--stride &lt;bytes&gt;</code>
+     * and <code>--order little|big</code>.
+     * 
+     * @param format The {@link PointFileFormat}
+     * @param option The option
+     * @param value The value
+     * @return Whether the option was a point file format option
+     * @throws IllegalArgumentException If the value is invalid
+     */
+    static boolean applyFormatOption(PointFileFormat format, String option,
+        String value)
+    {
+        switch (option)
+        {
+            case "--type":
+                format.setComponentType(parseComponentType(value));
+                return true;
+            case "--header":
+                format.setHeaderSize(parseLong(option, value));
+                return true;
+            case "--stride":
+                format.setStride(parseInt(option, value));
+                return true;
+            case "--order":
+                format.setByteOrder(parseByteOrder(value));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Parse the given component type
+     * 
+     * @param value The value
+     * @return The component type
+     * @throws IllegalArgumentException If the value is invalid
+     */
+    static PointFileFormat.ComponentType parseComponentType(String value)
+    {
+        switch (value)
+        {
+            case "float32":
+                return PointFileFormat.ComponentType.FLOAT32;
+            case "float64":
+                return PointFileFormat.ComponentType.FLOAT64;
+            default:
+                throw new IllegalArgumentException(
+                    "Invalid component type: " + value);
+        }
+    }
+
+    /**
+     * Parse the given byte order
+     * 
+     * @param value The value
+     * @return The byte order
+     * @throws IllegalArgumentException If the value is invalid
+     */
+    static ByteOrder parseByteOrder(String value)
+    {
+        switch (value)
+        {
+            case "little":
+                return ByteOrder.LITTLE_ENDIAN;
+            case "big":
+                return ByteOrder.BIG_ENDIAN;
+            default:
+                throw new IllegalArgumentException(
+                    "Invalid byte order: " + value);
+        }
+    }
+
+    /**
+     * Parse the given value as a non-negative <code>long</code>
+     * 
+     * @param option The option
+     * @param value The value
+     * @return The parsed value
+     * @throws IllegalArgumentException If the value is invalid
+     */
+    static long parseLong(String option, String value)
+    {
+        try
+        {
+            long result = Long.parseLong(value);
+            if (result >= 0)
+            {
+                return result;
+            }
+        }
+        catch (NumberFormatException e)
+        {
+            // Handled below
+        }
+        throw new IllegalArgumentException(
+            "Invalid value for " + option + ": " + value);
+    }
+
+    /**
+     * Parse the given value as a non-negative <code>int</code>
+     * 
+     * @param option The option
+     * @param value The value
+     * @return The parsed value
+     * @throws IllegalArgumentException If the value is invalid
+     */
+    static int parseInt(String option, String value)
+    {
+        long result = parseLong(option, value);
+        if (result > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException(
+                "Invalid value for " + option + ": " + value);
+        }
+        return (int) result;
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private Arguments()
+    {
+        // Private constructor to prevent instantiation
+    }
+
+}
@@ -0,0 +1,238 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.tools;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Procedurally generated point sets for the evaluation.
+ * 
+ * The shapes cover the general case as well as the degenerate cases of
+ * planar and collinear point sets. Each point set is rotated with a random
+ * rotation that is derived from the seed, so that the results do not
+ * depend on the alignment with the coordinate axes.
+ */
+enum CorpusShape
+{
+    /**
+     * Points uniformly distributed in a box with different extents
+     */
+    BOX,
+
+    /**
+     * Points uniformly distributed on the surface of a unit sphere
+     */
+    SPHERE_SHELL,
+
+    /**
+     * Points normally distributed with different standard deviations
+     */
+    ELLIPSOID,
+
+    /**
+     * Points on the surface of a long, thin cylinder
+     */
+    CYLINDER,
+
+    /**
+     * Points on the surface of a torus
+     */
+    TORUS,
+
+    /**
+     * Points uniformly distributed in a rectangle
+     */
+    PLANAR,
+
+    /**
+     * Points uniformly distributed on a line segment
+     */
+    COLLINEAR,
+
+    /**
+     * Points normally distributed around several cluster centers
+     */
+    CLUSTERED,
+
+    /**
+     * Points uniformly distributed in a cube, with a few far outliers
+     */
+    OUTLIERS;
+
+    /**
+     * Returns the name of this shape, as it is used on the command line
+     * and in the output
+     * 
+     * @return The name
+     */
+    String getName()
+    {
+        return name().toLowerCase(Locale.ENGLISH).replace('_', '-');
+    }
+
+    /**
+     * Returns the shape with the given name
+     * 
+     * @param name The name
+     * @return The shape
+     * @throws IllegalArgumentException If there is no shape with the
+     * given name
+     */
+    static CorpusShape fromName(String name)
+    {
+        for (CorpusShape shape : values())
+        {
+            if (shape.getName().equals(name))
+            {
+                return shape;
+            }
+        }
+        throw new IllegalArgumentException("Unknown shape: " + name);
+    }
+
+    /**
+     * Create the given number of points with this shape
+     * 
+     * @param numPoints The number of points
+     * @param seed The random seed
+     * @return The points
+     */
+    double[] create(int numPoints, long seed)
+    {
+        Random random = new Random(seed);
+        double centers[] = new double[8 * 3];
+        for (int i = 0; i < centers.length; i++)
+        {
+            centers[i] = random.nextDouble() * 20.0 - 10.0;
+        }
+        double rotation[] = randomRotation(random);
+        double points[] = new double[numPoints * 3];
+        double p[] = new double[3];
+        for (int i = 0; i < numPoints; i++)
+        {
+            createPoint(random, centers, i, numPoints, p);
+            for (int r = 0; r < 3; r++)
+            {
+                points[i * 3 + r] = rotation[r * 3 + 0] * p[0]
+                    + rotation[r * 3 + 1] * p[1] + rotation[r * 3 + 2] * p[2];
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Create a single point of this shape
+     * 
+     * @param random The random number generator
+     * @param centers The cluster centers
+     * @param index The index of the point
+     * @param numPoints The total number of points
+     * @param p The point
+     */
+    private void createPoint(Random random, double centers[], int index,
+        int numPoints, double p[])
+    {
+        switch (this)
+        {
+            case BOX:
+                p[0] = (random.nextDouble() - 0.5) * 4.0;
+                p[1] = (random.nextDouble() - 0.5) * 2.0;
+                p[2] = (random.nextDouble() - 0.5) * 1.0;
+                break;
+            case SPHERE_SHELL:
+            {
+                double z = random.nextDouble() * 2.0 - 1.0;
+                double a = random.nextDouble() * 2.0 * Math.PI;
+                double r = Math.sqrt(1.0 - z * z);
+                p[0] = r * Math.cos(a);
+                p[1] = r * Math.sin(a);
+                p[2] = z;
+                break;
+            }
+            case ELLIPSOID:
+                p[0] = random.nextGaussian() * 3.0;
+                p[1] = random.nextGaussian() * 1.5;
+                p[2] = random.nextGaussian() * 0.5;
+                break;
+            case CYLINDER:
+            {
+                double a = random.nextDouble() * 2.0 * Math.PI;
+                p[0] = (random.nextDouble() - 0.5) * 10.0;
+                p[1] = 0.5 * Math.cos(a);
+                p[2] = 0.5 * Math.sin(a);
+                break;
+            }
+            case TORUS:
+            {
+                double a = random.nextDouble() * 2.0 * Math.PI;
+                double b = random.nextDouble() * 2.0 * Math.PI;
+                double r = 2.0 + 0.5 * Math.cos(b);
+                p[0] = r * Math.cos(a);
+                p[1] = r * Math.sin(a);
+                p[2] = 0.5 * Math.sin(b);
+                break;
+            }
+            case PLANAR:
+                p[0] = (random.nextDouble() - 0.5) * 4.0;
+                p[1] = (random.nextDouble() - 0.5) * 2.0;
+                p[2] = 0.0;
+                break;
+            case COLLINEAR:
+                p[0] = (random.nextDouble() - 0.5) * 4.0;
+                p[1] = 0.0;
+                p[2] = 0.0;
+                break;
+            case CLUSTERED:
+            {
+                int c = random.nextInt(centers.length / 3) * 3;
+                p[0] = centers[c + 0] + random.nextGaussian() * 0.5;
+                p[1] = centers[c + 1] + random.nextGaussian() * 0.5;
+                p[2] = centers[c + 2] + random.nextGaussian() * 0.5;
+                break;
+            }
+            default:
+            {
+                double s = index % 1000 == 999 ? 10.0 : 1.0;
+                p[0] = (random.nextDouble() - 0.5) * s;
+                p[1] = (random.nextDouble() - 0.5) * s;
+                p[2] = (random.nextDouble() - 0.5) * s;
+                break;
+            }
+        }
+    }
+
+    /**
+     * Create a uniformly distributed random rotation matrix, in row-major
+     * order
+     * 
+     * @param random The random number generator
+     * @return The rotation matrix
+     */
+    static double[] randomRotation(Random random)
+    {
+        // Shoemake's method for uniformly distributed unit quaternions
+        double u0 = random.nextDouble();
+        double u1 = random.nextDouble() * 2.0 * Math.PI;
+        double u2 = random.nextDouble() * 2.0 * Math.PI;
+        double a = Math.sqrt(1.0 - u0);
+        double b = Math.sqrt(u0);
+        double x = a * Math.sin(u1);
+        double y = a * Math.cos(u1);
+        double z = b * Math.sin(u2);
+        double w = b * Math.cos(u2);
+        return new double[]
+        {
+            1 - 2 * (y * y + z * z), 2 * (x * y - z * w), 2 * (x * z + y * w),
+            2 * (x * y + z * w), 1 - 2 * (x * x + z * z), 2 * (y * z - x * w),
+            2 * (x * z - y * w), 2 * (y * z + x * w), 1 - 2 * (x * x + y * y)
+        };
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.tools;
+
+import de.javagl.jdito.ReadableDoubleArray;
+
+/**
+ * Implementation of a {@link ReadableDoubleArray} that counts the number
+ * of accesses to the elements of a <code>double[]</code> array.
+ * 
+ * This is used for determining the number of passes over the data. It is
+ * not thread-safe.
+ */
+class CountingDoubleArray implements ReadableDoubleArray
+{
+    /**
+     * The array
+     */
+    private final double array[];
+
+    /**
+     * The number of accesses
+     */
+    private long count;
+
+    /**
+     * Creates a new instance
+     * 
+     * @param array The array
+     */
+    CountingDoubleArray(double array[])
+    {
+        this.array = array;
+    }
+
+    @Override
+    public double get(int index)
+    {
+        count++;
+        return array[index];
+    }
+
+    @Override
+    public int length()
+    {
+        return array.length;
+    }
+
+    /**
+     * Returns the number of accesses to the elements
+     * 
+     * @return The number of accesses
+     */
+    long getCount()
+    {
+        return count;
+    }
+}
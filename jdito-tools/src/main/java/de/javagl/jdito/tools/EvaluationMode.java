@@ -0,0 +1,113 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.tools;
+
+import java.util.Locale;
+
+import de.javagl.jdito.JDito;
+import de.javagl.jdito.JDitoOptions;
+import de.javagl.jdito.OrientedBoundingBox;
+import de.javagl.jdito.OrientedBoundingBoxAccumulator;
+import de.javagl.jdito.ReadableDoubleArray;
+
+/**
+ * The computation modes that are compared in the evaluation
+ */
+enum EvaluationMode
+{
+    /**
+     * The default computation
+     */
+    DEFAULT,
+
+    /**
+     * The computation with the hull prefilter
+     */
+    PREFILTER,
+
+    /**
+     * The computation with the local refinement
+     */
+    REFINEMENT,
+
+    /**
+     * The computation with the hull prefilter and the local refinement
+     */
+    PREFILTER_REFINEMENT,
+
+    /**
+     * The single-pass computation with an
+     * {@link OrientedBoundingBoxAccumulator}
+     */
+    SINGLE_PASS;
+
+    /**
+     * The number of refinement iterations for the modes with refinement
+     */
+    private static final int REFINEMENT_ITERATIONS = 16;
+
+    /**
+     * Returns the name of this mode, as it is used on the command line and
+     * in the output
+     * 
+     * @return The name
+     */
+    String getName()
+    {
+        return name().toLowerCase(Locale.ENGLISH).replace('_', '-');
+    }
+
+    /**
+     * Returns the mode with the given name
+     * 
+     * @param name The name
+     * @return The mode
+     * @throws IllegalArgumentException If there is no mode with the given
+     * name
+     */
+    static EvaluationMode fromName(String name)
+    {
+        for (EvaluationMode mode : values())
+        {
+            if (mode.getName().equals(name))
+            {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown mode: " + name);
+    }
+
+    /**
+     * Compute the oriented bounding box for the given points with this mode
+     * 
+     * @param points The points
+     * @return The box
+     */
+    OrientedBoundingBox compute(ReadableDoubleArray points)
+    {
+        if (this == SINGLE_PASS)
+        {
+            OrientedBoundingBoxAccumulator accumulator =
+                new OrientedBoundingBoxAccumulator();
+            accumulator.add(points);
+            return accumulator.build();
+        }
+        JDitoOptions options = new JDitoOptions();
+        if (this == PREFILTER || this == PREFILTER_REFINEMENT)
+        {
+            options.setPrefilterEnabled(true);
+        }
+        if (this == REFINEMENT || this == PREFILTER_REFINEMENT)
+        {
+            options.setRefinementIterations(REFINEMENT_ITERATIONS);
+        }
+        return JDito.compute(points, options);
+    }
+}
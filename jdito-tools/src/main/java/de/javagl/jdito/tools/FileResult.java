@@ -0,0 +1,56 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.tools;
+
+import de.javagl.jdito.OrientedBoundingBox;
+
+/**
+ * The result of computing the oriented bounding box for a single file
+ */
+class FileResult
+{
+    /**
+     * The name of the file
+     */
+    final String name;
+
+    /**
+     * The number of points in the file
+     */
+    final long pointCount;
+
+    /**
+     * The box, or <code>null</code> if the computation failed
+     */
+    final OrientedBoundingBox box;
+
+    /**
+     * The error message, or <code>null</code> if the computation succeeded
+     */
+    final String error;
+
+    /**
+     * Creates a new instance
+     * 
+     * @param name The name of the file
+     * @param pointCount The number of points in the file
+     * @param box The box, or <code>null</code> if the computation failed
+     * @param error The error message, or <code>null</code> if the computation
+     * succeeded
+     */
+    FileResult(String name, long pointCount, OrientedBoundingBox box,
+        String error)
+    {
+        this.name = name;
+        this.pointCount = pointCount;
+        this.box = box;
+        this.error = error;
+    }
+}
@@ -0,0 +1,368 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.tools;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import de.javagl.jdito.JDito;
+import de.javagl.jdito.JDitoOptions;
+import de.javagl.jdito.LargeDoubleArray;
+import de.javagl.jdito.OrientedBoundingBox;
+
+/**
+ * A command line tool for computing the oriented bounding boxes of the
+ * points in many binary files.
+ * 
+ * The files are memory-mapped (see {@link PointFiles}) and processed in
+ * parallel. The results are written as JSON or in a binary format, in the
+ * order of the input files. Run the tool without arguments for a list of
+ * the available options.
+ */
+public class JDitoBatch
+{
+    /**
+     * The usage string
+     */
+    private static final String USAGE = String.join("\n",
+        "Usage: JDitoBatch [options] <file or directory>...",
+        "",
+        "Computes the oriented bounding box for the points in each file.",
+        "For directories, all regular files in the directory are processed.",
+        "",
+        "Options:",
+        "  --type float32|float64  The component type (default: float32)",
+        "  --header <bytes>        The size of the header (default: 0)",
+        "  --stride <bytes>        The stride of the points (default: packed)",
+        "  --order little|big      The byte order (default: little)",
+        "  --format json|binary    The output format (default: json)",
+        "  --output <file>         The output file (default: standard output)",
+        "  --threads <n>           The number of threads (default: number of",
+        "                          available processors)",
+        "  --prefilter             Enable the hull prefilter",
+        "",
+        "The binary format contains 104 bytes per file, in little-endian",
+        "order: The point count as a 64-bit integer, followed by the center",
+        "(3) and the half-axes (9) as 64-bit floating point values. For files",
+        "that could not be processed, the point count is -1. Files that",
+        "do not contain any points receive a box where all values are 0.");
+
+    /**
+     * The entry point
+     * 
+     * @param args The command line arguments
+     */
+    public static void main(String[] args)
+    {
+        int exitCode;
+        try
+        {
+            exitCode = run(args);
+        }
+        catch (IllegalArgumentException e)
+        {
+            System.err.println(e.getMessage());
+            System.err.println();
+            System.err.println(USAGE);
+            exitCode = 2;
+        }
+        catch (IOException e)
+        {
+            System.err.println("Error: " + e.getMessage());
+            exitCode = 1;
+        }
+        System.exit(exitCode);
+    }
+
+    /**
+     * Run the tool with the given command line arguments
+     * 
+     * @param args The command line arguments
+     * @return The exit code: 0 if all files have been processed, and 1 if
+     * there have been errors
+     * @throws IllegalArgumentException If the arguments are invalid
+     * @throws IOException If an IO error occurs while listing the input
+     * files or writing the output
+     */
+    static int run(String args[]) throws IOException
+    {
+        PointFileFormat format = new PointFileFormat();
+        JDitoOptions options = new JDitoOptions();
+        String outputFormat = "json";
+        String outputFile = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<Path> inputs = new ArrayList<Path>();
+        for (int i = 0; i < args.length; i++)
+        {
+            String arg = args[i];
+            if (!arg.startsWith("--"))
+            {
+                inputs.add(Paths.get(arg));
+            }
+            else if (arg.equals("--prefilter"))
+            {
+                options.setPrefilterEnabled(true);
+            }
+            else
+            {
+                if (i + 1 >= args.length)
+                {
+                    throw new IllegalArgumentException(
+                        "Missing value for " + arg);
+                }
+                i++;
+                String value = args[i];
+                if (Arguments.applyFormatOption(format, arg, value))
+                {
+                    continue;
+                }
+                switch (arg)
+                {
+                    case "--format":
+                        if (!value.equals("json") && !value.equals("binary"))
+                        {
+                            throw new IllegalArgumentException(
+                                "Invalid output format: " + value);
+                        }
+                        outputFormat = value;
+                        break;
+                    case "--output":
+                        outputFile = value;
+                        break;
+                    case "--threads":
+                        threads = Arguments.parseInt(arg, value);
+                        if (threads < 1)
+                        {
+                            throw new IllegalArgumentException(
+                                "Invalid number of threads: " + value);
+                        }
+                        break;
+                    default:
+                        throw new IllegalArgumentException(
+                            "Unknown option: " + arg);
+                }
+            }
+        }
+        if (inputs.isEmpty())
+        {
+            throw new IllegalArgumentException("No input files");
+        }
+        List<Path> files = collectFiles(inputs);
+        List<FileResult> results = process(files, format, options, threads);
+
+        if (outputFile == null)
+        {
+            // Do not close System.out, only flush it
+            OutputStream os = new BufferedOutputStream(System.out);
+            writeResults(results, outputFormat, os);
+            os.flush();
+        }
+        else
+        {
+            try (OutputStream os = new BufferedOutputStream(
+                Files.newOutputStream(Paths.get(outputFile))))
+            {
+                writeResults(results, outputFormat, os);
+            }
+        }
+        int exitCode = 0;
+        for (FileResult result : results)
+        {
+            if (result.error != null)
+            {
+                System.err.println(result.name + ": " + result.error);
+                exitCode = 1;
+            }
+        }
+        return exitCode;
+    }
+
+    /**
+     * Write the given results to the given stream, in the given format.
+     * The stream is flushed, but not closed.
+     * 
+     * @param results The results
+     * @param outputFormat The output format, "json" or "binary"
+     * @param os The output stream
+     * @throws IOException If an IO error occurs
+     */
+    private static void writeResults(List<FileResult> results,
+        String outputFormat, OutputStream os) throws IOException
+    {
+        if (outputFormat.equals("json"))
+        {
+            Writer writer = new OutputStreamWriter(os, StandardCharsets.UTF_8);
+            ResultWriters.writeJson(results, writer);
+        }
+        else
+        {
+            ResultWriters.writeBinary(results, os);
+        }
+    }
+
+    /**
+     * Compute the oriented bounding boxes for the points in the given files,
+     * using the given number of threads, and return the results in the
+     * order of the files.
+     * 
+     * @param files The files
+     * @param format The {@link PointFileFormat}
+     * @param options The {@link JDitoOptions}
+     * @param threads The number of threads
+     * @return The results
+     */
+    static List<FileResult> process(List<Path> files, PointFileFormat format,
+        JDitoOptions options, int threads)
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try
+        {
+            List<Future<FileResult>> futures =
+                new ArrayList<Future<FileResult>>();
+            for (Path file : files)
+            {
+                futures.add(
+                    executor.submit(() -> process(file, format, options)));
+            }
+            List<FileResult> results = new ArrayList<FileResult>();
+            for (int i = 0; i < futures.size(); i++)
+            {
+                results.add(join(futures.get(i), files.get(i)));
+            }
+            return results;
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Compute the oriented bounding box for the points in the given file
+     * 
+     * @param file The file
+     * @param format The {@link PointFileFormat}
+     * @param options The {@link JDitoOptions}
+     * @return The result
+     */
+    private static FileResult process(Path file, PointFileFormat format,
+        JDitoOptions options)
+    {
+        String name = file.toString();
+        try
+        {
+            LargeDoubleArray points = PointFiles.map(file, format);
+            long pointCount = points.length() / 3;
+            if (pointCount == 0)
+            {
+                // Empty files receive an all-zero box, as in
+                // JDito#computeSegments
+                OrientedBoundingBox box = new OrientedBoundingBox();
+                box.center = new double[3];
+                box.halfAxes = new double[9];
+                return new FileResult(name, 0, box, null);
+            }
+            OrientedBoundingBox box = JDito.compute(points, options);
+            return new FileResult(name, pointCount, box, null);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            return new FileResult(name, -1, null, String.valueOf(e));
+        }
+    }
+
+    /**
+     * Wait for the given future and return its result
+     * 
+     * @param future The future
+     * @param file The file that the future is processing
+     * @return The result
+     */
+    private static FileResult join(Future<FileResult> future, Path file)
+    {
+        try
+        {
+            return future.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            return new FileResult(file.toString(), -1, null,
+                "Interrupted");
+        }
+        catch (ExecutionException e)
+        {
+            return new FileResult(file.toString(), -1, null,
+                String.valueOf(e.getCause()));
+        }
+    }
+
+    /**
+     * Collect the files from the given inputs. Regular files are added
+     * directly. For directories, all regular files in the directory are
+     * added, sorted by name.
+     * 
+     * @param inputs The inputs
+     * @return The files
+     * @throws IOException If a directory cannot be listed
+     */
+    private static List<Path> collectFiles(List<Path> inputs)
+        throws IOException
+    {
+        List<Path> files = new ArrayList<Path>();
+        for (Path input : inputs)
+        {
+            if (!Files.isDirectory(input))
+            {
+                files.add(input);
+                continue;
+            }
+            List<Path> directoryFiles = new ArrayList<Path>();
+            try (DirectoryStream<Path> stream =
+                Files.newDirectoryStream(input))
+            {
+                for (Path path : stream)
+                {
+                    if (Files.isRegularFile(path))
+                    {
+                        directoryFiles.add(path);
+                    }
+                }
+            }
+            Collections.sort(directoryFiles);
+            files.addAll(directoryFiles);
+        }
+        return files;
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private JDitoBatch()
+    {
+        // Private constructor to prevent instantiation
+    }
+
+}
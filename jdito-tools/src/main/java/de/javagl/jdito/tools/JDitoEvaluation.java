@@ -0,0 +1,516 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.tools;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.javagl.jdito.DoubleArrays;
+import de.javagl.jdito.LargeDoubleArray;
+import de.javagl.jdito.OrientedBoundingBox;
+
+/**
+ * A command line tool for evaluating the speed and the quality of the
+ * different computation modes.
+ * 
+ * The modes are run on a corpus of procedurally generated shapes and on
+ * user-supplied point files. For each combination of a data set and a mode,
+ * the tool reports the time per point, the number of passes over the data,
+ * and the volume and surface area of the box, relative to the axis-aligned
+ * bounding box and to a box that is computed with a slow, exhaustive
+ * search. The results are written as JSON or CSV, so that they can be
+ * compared between releases. Run the tool with <code>--help</code> for a
+ * list of the available options.
+ */
+public class JDitoEvaluation
+{
+    /**
+     * The usage string
+     */
+    private static final String USAGE = String.join("\n",
+        "Usage: JDitoEvaluation [options] [point file...]",
+        "",
+        "Evaluates the computation modes on procedurally generated shapes",
+        "and on the given point files.",
+        "",
+        "Options:",
+        "  --shapes <names>        Comma-separated shape names, 'all' or",
+        "                          'none' (default: all). The shapes are:",
+        "                          " + shapeNames(),
+        "  --points <n>            The number of points of the generated",
+        "                          shapes (default: 100000)",
+        "  --seed <n>              The random seed (default: 0)",
+        "  --modes <names>         Comma-separated mode names or 'all'",
+        "                          (default: all). The modes are:",
+        "                          " + modeNames(),
+        "  --warmup <n>            The number of warmup runs (default: 3)",
+        "  --repetitions <n>       The number of timed runs (default: 5)",
+        "  --format json|csv       The output format (default: json)",
+        "  --output <file>         The output file (default: standard output)",
+        "",
+        "The format of the point files is given with the same options as for",
+        "JDitoBatch: --type, --header, --stride and --order.",
+        "",
+        "For each data set and mode, the output contains the median time per",
+        "point, the number of passes over the data (the number of coordinate",
+        "reads divided by the number of coordinates), and the ratios of the",
+        "volume and surface area of the box to those of the axis-aligned box",
+        "and of the reference box. Ratios that are undefined, for example,",
+        "for the volume of planar point sets, are null (JSON) or empty (CSV).");
+
+    /**
+     * The factor for the diagonal of the axis-aligned bounding box (raised
+     * to the respective power) below which volumes and surface areas are
+     * considered to be zero
+     */
+    private static final double RELATIVE_EPSILON = 1e-12;
+
+    /**
+     * The entry point
+     * 
+     * @param args The command line arguments
+     */
+    public static void main(String[] args)
+    {
+        int exitCode = 0;
+        try
+        {
+            run(args);
+        }
+        catch (IllegalArgumentException e)
+        {
+            System.err.println(e.getMessage());
+            System.err.println();
+            System.err.println(USAGE);
+            exitCode = 2;
+        }
+        catch (IOException e)
+        {
+            System.err.println("Error: " + e.getMessage());
+            exitCode = 1;
+        }
+        System.exit(exitCode);
+    }
+
+    /**
+     * Run the tool with the given command line arguments
+     * 
+     * @param args The command line arguments
+     * @throws IllegalArgumentException If the arguments are invalid
+     * @throws IOException If an IO error occurs
+     */
+    static void run(String args[]) throws IOException
+    {
+        PointFileFormat format = new PointFileFormat();
+        List<CorpusShape> shapes = Arrays.asList(CorpusShape.values());
+        List<EvaluationMode> modes = Arrays.asList(EvaluationMode.values());
+        int numPoints = 100000;
+        long seed = 0;
+        int warmup = 3;
+        int repetitions = 5;
+        String outputFormat = "json";
+        String outputFile = null;
+        List<Path> files = new ArrayList<Path>();
+        for (int i = 0; i < args.length; i++)
+        {
+            String arg = args[i];
+            if (arg.equals("--help"))
+            {
+                System.out.println(USAGE);
+                return;
+            }
+            if (!arg.startsWith("--"))
+            {
+                files.add(Paths.get(arg));
+                continue;
+            }
+            if (i + 1 >= args.length)
+            {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+            i++;
+            String value = args[i];
+            if (Arguments.applyFormatOption(format, arg, value))
+            {
+                continue;
+            }
+            switch (arg)
+            {
+                case "--shapes":
+                    shapes = parseShapes(value);
+                    break;
+                case "--points":
+                    numPoints = Arguments.parseInt(arg, value);
+                    break;
+                case "--seed":
+                    seed = Arguments.parseLong(arg, value);
+                    break;
+                case "--modes":
+                    modes = parseModes(value);
+                    break;
+                case "--warmup":
+                    warmup = Arguments.parseInt(arg, value);
+                    break;
+                case "--repetitions":
+                    repetitions = Math.max(1, Arguments.parseInt(arg, value));
+                    break;
+                case "--format":
+                    if (!value.equals("json") && !value.equals("csv"))
+                    {
+                        throw new IllegalArgumentException(
+                            "Invalid output format: " + value);
+                    }
+                    outputFormat = value;
+                    break;
+                case "--output":
+                    outputFile = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException(
+                        "Unknown option: " + arg);
+            }
+        }
+        if (numPoints < 1 && !shapes.isEmpty())
+        {
+            throw new IllegalArgumentException(
+                "The number of points must be positive");
+        }
+
+        List<Map<String, Object>> records =
+            new ArrayList<Map<String, Object>>();
+        for (CorpusShape shape : shapes)
+        {
+            double points[] = shape.create(numPoints, seed);
+            evaluate(shape.getName(), points, modes, warmup, repetitions,
+                records);
+        }
+        for (Path file : files)
+        {
+            double points[] = readPoints(file, format);
+            evaluate(file.toString(), points, modes, warmup, repetitions,
+                records);
+        }
+
+        OutputStream outputStream = outputFile == null ? System.out
+            : Files.newOutputStream(Paths.get(outputFile));
+        try (OutputStream os = new BufferedOutputStream(outputStream))
+        {
+            Writer writer = new OutputStreamWriter(os, StandardCharsets.UTF_8);
+            if (outputFormat.equals("json"))
+            {
+                ResultWriters.writeRecordsJson(records, writer);
+            }
+            else
+            {
+                ResultWriters.writeRecordsCsv(records, writer);
+            }
+        }
+    }
+
+    /**
+     * Evaluate the given modes on the given points, and add one record for
+     * each mode to the given list
+     * 
+     * @param name The name of the data set
+     * @param points The points
+     * @param modes The modes
+     * @param warmup The number of warmup runs
+     * @param repetitions The number of timed runs
+     * @param records The records
+     */
+    private static void evaluate(String name, double points[],
+        List<EvaluationMode> modes, int warmup, int repetitions,
+        List<Map<String, Object>> records)
+    {
+        int n = points.length / 3;
+        if (n == 0)
+        {
+            System.err.println("Skipping " + name + ": no points");
+            return;
+        }
+        List<OrientedBoundingBox> boxes = new ArrayList<OrientedBoundingBox>();
+        long medianNanos[] = new long[modes.size()];
+        double passes[] = new double[modes.size()];
+        for (int m = 0; m < modes.size(); m++)
+        {
+            EvaluationMode mode = modes.get(m);
+            for (int i = 0; i < warmup; i++)
+            {
+                mode.compute(DoubleArrays.fromArray(points));
+            }
+            long nanos[] = new long[repetitions];
+            OrientedBoundingBox box = null;
+            for (int i = 0; i < repetitions; i++)
+            {
+                long before = System.nanoTime();
+                box = mode.compute(DoubleArrays.fromArray(points));
+                nanos[i] = System.nanoTime() - before;
+            }
+            Arrays.sort(nanos);
+            medianNanos[m] = nanos[repetitions / 2];
+            boxes.add(box);
+
+            CountingDoubleArray counting = new CountingDoubleArray(points);
+            mode.compute(counting);
+            passes[m] = (double) counting.getCount() / points.length;
+        }
+
+        double aabbLengths[] = computeAabbLengths(points);
+        double diagonal = Math.sqrt(aabbLengths[0] * aabbLengths[0]
+            + aabbLengths[1] * aabbLengths[1]
+            + aabbLengths[2] * aabbLengths[2]);
+        double minVolume = RELATIVE_EPSILON * diagonal * diagonal * diagonal;
+        double minSurface = RELATIVE_EPSILON * diagonal * diagonal;
+
+        // The boxes of all modes enclose all points, so the reference is
+        // the smallest of these boxes and the result of the slow search
+        OrientedBoundingBox reference = ReferenceObb.compute(points, boxes);
+        double referenceLengths[] = computeLengths(reference);
+        for (OrientedBoundingBox box : boxes)
+        {
+            double lengths[] = computeLengths(box);
+            if (surface(lengths) < surface(referenceLengths))
+            {
+                referenceLengths = lengths;
+            }
+        }
+
+        for (int m = 0; m < modes.size(); m++)
+        {
+            double lengths[] = computeLengths(boxes.get(m));
+            Map<String, Object> record = new LinkedHashMap<String, Object>();
+            record.put("dataSet", name);
+            record.put("pointCount", n);
+            record.put("mode", modes.get(m).getName());
+            record.put("nanosPerPoint", (double) medianNanos[m] / n);
+            record.put("passes", passes[m]);
+            record.put("volume", volume(lengths));
+            record.put("surface", surface(lengths));
+            record.put("volumeToAabb", ratio(volume(lengths),
+                volume(aabbLengths), minVolume));
+            record.put("surfaceToAabb", ratio(surface(lengths),
+                surface(aabbLengths), minSurface));
+            record.put("volumeToReference", ratio(volume(lengths),
+                volume(referenceLengths), minVolume));
+            record.put("surfaceToReference", ratio(surface(lengths),
+                surface(referenceLengths), minSurface));
+            records.add(record);
+        }
+    }
+
+    /**
+     * Read all points of the given file into an array
+     * 
+     * @param file The file
+     * @param format The {@link PointFileFormat}
+     * @return The points
+     * @throws IOException If the file cannot be read, or contains too many
+     * points
+     */
+    private static double[] readPoints(Path file, PointFileFormat format)
+        throws IOException
+    {
+        LargeDoubleArray data = PointFiles.map(file, format);
+        if (data.length() > Integer.MAX_VALUE - 8)
+        {
+            throw new IOException("Too many points for the evaluation: "
+                + file);
+        }
+        double points[] = new double[(int) data.length()];
+        for (int i = 0; i < points.length; i++)
+        {
+            points[i] = data.get(i);
+        }
+        return points;
+    }
+
+    /**
+     * Compute the edge lengths of the axis-aligned bounding box of the given
+     * points
+     * 
+     * @param points The points
+     * @return The edge lengths
+     */
+    private static double[] computeAabbLengths(double points[])
+    {
+        double lengths[] = new double[3];
+        for (int k = 0; k < 3; k++)
+        {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = k; i < points.length; i += 3)
+            {
+                min = Math.min(min, points[i]);
+                max = Math.max(max, points[i]);
+            }
+            lengths[k] = max - min;
+        }
+        return lengths;
+    }
+
+    /**
+     * Compute the edge lengths of the given box
+     * 
+     * @param box The box
+     * @return The edge lengths
+     */
+    private static double[] computeLengths(OrientedBoundingBox box)
+    {
+        double h[] = box.halfAxes;
+        double lengths[] = new double[3];
+        for (int k = 0; k < 3; k++)
+        {
+            int o = k * 3;
+            lengths[k] = 2.0 * Math.sqrt(
+                h[o] * h[o] + h[o + 1] * h[o + 1] + h[o + 2] * h[o + 2]);
+        }
+        return lengths;
+    }
+
+    /**
+     * Returns the ratio of the given values, or NaN if the denominator is
+     * not larger than the given minimum
+     * 
+     * @param numerator The numerator
+     * @param denominator The denominator
+     * @param minDenominator The minimum denominator
+     * @return The ratio
+     */
+    private static double ratio(double numerator, double denominator,
+        double minDenominator)
+    {
+        if (denominator <= minDenominator)
+        {
+            return Double.NaN;
+        }
+        return numerator / denominator;
+    }
+
+    /**
+     * Returns the volume of a box with the given edge lengths
+     * 
+     * @param lengths The edge lengths
+     * @return The volume
+     */
+    private static double volume(double lengths[])
+    {
+        return lengths[0] * lengths[1] * lengths[2];
+    }
+
+    /**
+     * Returns the surface area of a box with the given edge lengths
+     * 
+     * @param lengths The edge lengths
+     * @return The surface area
+     */
+    private static double surface(double lengths[])
+    {
+        return 2.0 * (lengths[0] * lengths[1] + lengths[0] * lengths[2]
+            + lengths[1] * lengths[2]);
+    }
+
+    /**
+     * Parse the given list of shapes
+     * 
+     * @param value The comma-separated names, 'all' or 'none'
+     * @return The shapes
+     * @throws IllegalArgumentException If a name is invalid
+     */
+    private static List<CorpusShape> parseShapes(String value)
+    {
+        if (value.equals("all"))
+        {
+            return Arrays.asList(CorpusShape.values());
+        }
+        List<CorpusShape> result = new ArrayList<CorpusShape>();
+        if (value.equals("none"))
+        {
+            return result;
+        }
+        for (String name : value.split(","))
+        {
+            result.add(CorpusShape.fromName(name.trim()));
+        }
+        return result;
+    }
+
+    /**
+     * Parse the given list of modes
+     * 
+     * @param value The comma-separated names, or 'all'
+     * @return The modes
+     * @throws IllegalArgumentException If a name is invalid
+     */
+    private static List<EvaluationMode> parseModes(String value)
+    {
+        if (value.equals("all"))
+        {
+            return Arrays.asList(EvaluationMode.values());
+        }
+        EnumSet<EvaluationMode> result = EnumSet.noneOf(EvaluationMode.class);
+        for (String name : value.split(","))
+        {
+            result.add(EvaluationMode.fromName(name.trim()));
+        }
+        return new ArrayList<EvaluationMode>(result);
+    }
+
+    /**
+     * Returns a comma-separated list of the names of all shapes
+     * 
+     * @return The names
+     */
+    private static String shapeNames()
+    {
+        List<String> names = new ArrayList<String>();
+        for (CorpusShape shape : CorpusShape.values())
+        {
+            names.add(shape.getName());
+        }
+        return String.join(", ", names);
+    }
+
+    /**
+     * Returns a comma-separated list of the names of all modes
+     * 
+     * @return The names
+     */
+    private static String modeNames()
+    {
+        List<String> names = new ArrayList<String>();
+        for (EvaluationMode mode : EvaluationMode.values())
+        {
+            names.add(mode.getName());
+        }
+        return String.join(", ", names);
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private JDitoEvaluation()
+    {
+        // Private constructor to prevent instantiation
+    }
+
+}
@@ -0,0 +1,268 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.tools;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A long-running process that computes oriented bounding boxes for
+ * requests that it receives in a binary format.
+ * 
+ * This is intended for tools that are not written in Java, and that would
+ * otherwise have to start a new JVM for each computation. The requests
+ * are read from the standard input, or from connections to a local
+ * socket, and processed concurrently. The responses are written to the
+ * standard output or to the respective connection, in the order in which
+ * the computations finish. Run the tool with <code>--help</code> for a
+ * description of the options and the protocol.
+ */
+public class JDitoServer
+{
+    /**
+     * The usage string
+     */
+    private static final String USAGE = String.join("\n",
+        "Usage: JDitoServer [options]",
+        "",
+        "Computes oriented bounding boxes for binary requests that are read",
+        "from the standard input, or from connections to a local socket.",
+        "",
+        "Options:",
+        "  --port <n>              Listen on the given port of the loopback",
+        "                          address instead of using the standard",
+        "                          input and output. For port 0, a free port",
+        "                          is chosen. The port is printed to the",
+        "                          standard error stream.",
+        "  --threads <n>           The number of threads (default: number of",
+        "                          available processors)",
+        "  --pending <n>           The maximum number of pending requests per",
+        "                          connection (default: 4 * threads)",
+        "  --max-points <n>        The maximum number of points in a request",
+        "                          (default: 16777216)",
+        "",
+        "All values are in little-endian order. Each request consists of",
+        "  int32   The length of the remaining request, in bytes",
+        "  int64   A request ID that is returned in the response",
+        "  int32   Flags: 1 = float32 coordinates (otherwise float64),",
+        "          2 = enable the hull prefilter",
+        "  int32   The number of refinement iterations (usually 0)",
+        "  int64   The timeout in nanoseconds, or 0 for no timeout",
+        "  ...     The x, y, z coordinates of the points",
+        "Each response consists of",
+        "  int32   The length of the remaining response, in bytes",
+        "  int64   The request ID",
+        "  int32   Status: 0 = OK, 1 = partial result due to the timeout,",
+        "          2 = error",
+        "  ...     For status 0 and 1, the center (3) and the half-axes (9)",
+        "          as float64 values. For status 2, the UTF-8 encoded error",
+        "          message.",
+        "Requests that do not contain any points receive a box where all",
+        "values are 0. The responses may be in a different order than the",
+        "requests. The process exits at the end of the standard input.");
+
+    /**
+     * The default maximum number of points in a request
+     */
+    private static final int DEFAULT_MAX_POINTS = 1 << 24;
+
+    /**
+     * The entry point
+     * 
+     * @param args The command line arguments
+     */
+    public static void main(String[] args)
+    {
+        int exitCode;
+        try
+        {
+            exitCode = run(args);
+        }
+        catch (IllegalArgumentException e)
+        {
+            System.err.println(e.getMessage());
+            System.err.println();
+            System.err.println(USAGE);
+            exitCode = 2;
+        }
+        catch (IOException e)
+        {
+            System.err.println("Error: " + e.getMessage());
+            exitCode = 1;
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            exitCode = 1;
+        }
+        System.exit(exitCode);
+    }
+
+    /**
+     * Run the tool with the given command line arguments
+     * 
+     * @param args The command line arguments
+     * @return The exit code
+     * @throws IllegalArgumentException If the arguments are invalid
+     * @throws IOException If an IO error occurs
+     * @throws InterruptedException If the thread is interrupted
+     */
+    static int run(String args[]) throws IOException, InterruptedException
+    {
+        int port = -1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int pending = -1;
+        int maxPoints = DEFAULT_MAX_POINTS;
+        for (int i = 0; i < args.length; i++)
+        {
+            String arg = args[i];
+            if (arg.equals("--help"))
+            {
+                System.err.println(USAGE);
+                return 0;
+            }
+            if (i + 1 >= args.length)
+            {
+                throw new IllegalArgumentException(
+                    "Missing value for " + arg);
+            }
+            i++;
+            String value = args[i];
+            switch (arg)
+            {
+                case "--port":
+                    port = Arguments.parseInt(arg, value);
+                    if (port > 65535)
+                    {
+                        throw new IllegalArgumentException(
+                            "Invalid port: " + value);
+                    }
+                    break;
+                case "--threads":
+                    threads = Arguments.parseInt(arg, value);
+                    if (threads < 1)
+                    {
+                        throw new IllegalArgumentException(
+                            "Invalid number of threads: " + value);
+                    }
+                    break;
+                case "--pending":
+                    pending = Arguments.parseInt(arg, value);
+                    if (pending < 1)
+                    {
+                        throw new IllegalArgumentException(
+                            "Invalid number of pending requests: " + value);
+                    }
+                    break;
+                case "--max-points":
+                    maxPoints = Arguments.parseInt(arg, value);
+                    if (maxPoints < 1 || maxPoints > (Integer.MAX_VALUE
+                        - ServerConnection.REQUEST_HEADER_SIZE) / 24)
+                    {
+                        throw new IllegalArgumentException(
+                            "Invalid maximum number of points: " + value);
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException(
+                        "Unknown option: " + arg);
+            }
+        }
+        if (pending < 0)
+        {
+            pending = 4 * threads;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try
+        {
+            if (port < 0)
+            {
+                ServerConnection connection = new ServerConnection(
+                    new BufferedInputStream(System.in),
+                    new BufferedOutputStream(System.out), executor, pending,
+                    maxPoints);
+                connection.serve();
+                return 0;
+            }
+            serve(port, executor, pending, maxPoints);
+            return 0;
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Accept connections on the given port of the loopback address, and
+     * serve each connection in its own thread, until the process is
+     * terminated
+     * 
+     * @param port The port
+     * @param executor The executor for the computations
+     * @param pending The maximum number of pending requests per connection
+     * @param maxPoints The maximum number of points in a request
+     * @throws IOException If the server socket cannot be created
+     */
+    private static void serve(int port, ExecutorService executor,
+        int pending, int maxPoints) throws IOException
+    {
+        InetAddress address = InetAddress.getLoopbackAddress();
+        try (ServerSocket serverSocket = new ServerSocket(port, 50, address))
+        {
+            System.err.println("Listening on port "
+                + serverSocket.getLocalPort());
+            while (true)
+            {
+                Socket socket = serverSocket.accept();
+                Thread thread = new Thread(
+                    () -> serve(socket, executor, pending, maxPoints));
+                thread.setDaemon(true);
+                thread.start();
+            }
+        }
+    }
+
+    /**
+     * Serve the given connection until it is closed
+     * 
+     * @param socket The socket of the connection
+     * @param executor The executor for the computations
+     * @param pending The maximum number of pending requests
+     * @param maxPoints The maximum number of points in a request
+     */
+    private static void serve(Socket socket, ExecutorService executor,
+        int pending, int maxPoints)
+    {
+        try (Socket s = socket)
+        {
+            s.setTcpNoDelay(true);
+            ServerConnection connection = new ServerConnection(
+                new BufferedInputStream(s.getInputStream()),
+                new BufferedOutputStream(s.getOutputStream()), executor,
+                pending, maxPoints);
+            connection.serve();
+        }
+        catch (IOException e)
+        {
+            System.err.println("Connection error: " + e.getMessage());
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.tools;
+
+import java.nio.ByteBuffer;
+
+import de.javagl.jdito.LargeDoubleArray;
+
+/**
+ * Implementation of a {@link LargeDoubleArray} that provides the coordinates
+ * of the points that are stored in a sequence of (memory-mapped) byte
+ * buffers, with an arbitrary stride and component type.
+ * 
+ * Each buffer contains the same number of points, except for the last one,
+ * and no point is split between two buffers. The byte order of the buffers
+ * must already have been set.
+ */
+class MappedPointArray implements LargeDoubleArray
+{
+    /**
+     * The buffers
+     */
+    private final ByteBuffer buffers[];
+
+    /**
+     * The number of points in each buffer, except for the last one
+     */
+    private final long pointsPerBuffer;
+
+    /**
+     * The number of points
+     */
+    private final long pointCount;
+
+    /**
+     * The stride, in bytes
+     */
+    private final int stride;
+
+    /**
+     * Whether the components are 32-bit floating point values. Otherwise,
+     * they are 64-bit floating point values.
+     */
+    private final boolean float32;
+
+    /**
+     * Creates a new instance
+     * 
+     * @param buffers The buffers
+     * @param pointsPerBuffer The number of points in each buffer, except for
+     * the last one
+     * @param pointCount The total number of points
+     * @param format The {@link PointFileFormat}
+     */
+    MappedPointArray(ByteBuffer buffers[], long pointsPerBuffer,
+        long pointCount, PointFileFormat format)
+    {
+        this.buffers = buffers;
+        this.pointsPerBuffer = pointsPerBuffer;
+        this.pointCount = pointCount;
+        this.stride = format.getStride();
+        this.float32 = format.getComponentType()
+            == PointFileFormat.ComponentType.FLOAT32;
+    }
+
+    @Override
+    public double get(long index)
+    {
+        long point = index / 3;
+        int component = (int) (index - point * 3);
+        int b = (int) (point / pointsPerBuffer);
+        int byteIndex = (int) (point - b * pointsPerBuffer) * stride;
+        if (float32)
+        {
+            return buffers[b].getFloat(byteIndex + component * 4);
+        }
+        return buffers[b].getDouble(byteIndex + component * 8);
+    }
+
+    @Override
+    public long length()
+    {
+        return pointCount * 3;
+    }
+}
@@ -0,0 +1,263 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.tools;
+
+import java.nio.ByteOrder;
+
+/**
+ * A description of the layout of a binary file that contains points.
+ * 
+ * The file starts with a header of {@link #getHeaderSize()} bytes that is
+ * ignored. It is followed by the points, where the first point starts
+ * directly after the header, and each following point starts
+ * {@link #getStride()} bytes after the previous one. Each point consists of
+ * three consecutive components (x, y, z) of the {@link #getComponentType()},
+ * stored in the {@link #getByteOrder()}. The padding after the last point
+ * may be omitted. Other sizes are not valid (see {@link #isValidFileSize}).
+ * 
+ * A default-constructed instance describes a file without a header that
+ * contains tightly packed, little-endian 32-bit floating point values.
+ */
+public class PointFileFormat
+{
+    /**
+     * The type of the components of the points
+     */
+    public enum ComponentType
+    {
+        /**
+         * 32-bit floating point values
+         */
+        FLOAT32(4),
+
+        /**
+         * 64-bit floating point values
+         */
+        FLOAT64(8);
+
+        /**
+         * The size of one component, in bytes
+         */
+        private final int size;
+
+        /**
+         * Creates a new instance
+         * 
+         * @param size The size of one component, in bytes
+         */
+        private ComponentType(int size)
+        {
+            this.size = size;
+        }
+
+        /**
+         * Returns the size of one component, in bytes
+         * 
+         * @return The size
+         */
+        public int getSize()
+        {
+            return size;
+        }
+    }
+
+    /**
+     * The component type
+     */
+    private ComponentType componentType = ComponentType.FLOAT32;
+
+    /**
+     * The size of the header, in bytes
+     */
+    private long headerSize;
+
+    /**
+     * The stride, in bytes. If this is 0, then the points are tightly packed.
+     */
+    private int stride;
+
+    /**
+     * The byte order
+     */
+    private ByteOrder byteOrder = ByteOrder.LITTLE_ENDIAN;
+
+    /**
+     * Creates a new instance with the default format
+     */
+    public PointFileFormat()
+    {
+        // Default constructor
+    }
+
+    /**
+     * Returns the component type
+     * 
+     * @return The component type
+     */
+    public ComponentType getComponentType()
+    {
+        return componentType;
+    }
+
+    /**
+     * Set the component type
+     * 
+     * @param componentType The component type
+     * @throws NullPointerException If the given type is <code>null</code>
+     */
+    public void setComponentType(ComponentType componentType)
+    {
+        if (componentType == null)
+        {
+            throw new NullPointerException("The componentType is null");
+        }
+        this.componentType = componentType;
+    }
+
+    /**
+     * Returns the size of the header, in bytes
+     * 
+     * @return The header size
+     */
+    public long getHeaderSize()
+    {
+        return headerSize;
+    }
+
+    /**
+     * Set the size of the header, in bytes
+     * 
+     * @param headerSize The header size
+     * @throws IllegalArgumentException If the size is negative
+     */
+    public void setHeaderSize(long headerSize)
+    {
+        if (headerSize < 0)
+        {
+            throw new IllegalArgumentException(
+                "The header size may not be negative, but is " + headerSize);
+        }
+        this.headerSize = headerSize;
+    }
+
+    /**
+     * Returns the stride, in bytes. This is the distance between the start
+     * of one point and the start of the next point. If no stride was set,
+     * then this is the size of one point.
+     * 
+     * @return The stride
+     */
+    public int getStride()
+    {
+        if (stride == 0)
+        {
+            return getPointSize();
+        }
+        return stride;
+    }
+
+    /**
+     * Set the stride, in bytes.
+     * 
+     * If the given stride is 0, then the points are assumed to be tightly
+     * packed, meaning that the stride will be the size of one point.
+     * Otherwise, the stride must not be smaller than the size of one point
+     * when the format is used for reading a file.
+     * 
+     * @param stride The stride
+     * @throws IllegalArgumentException If the stride is negative
+     */
+    public void setStride(int stride)
+    {
+        if (stride < 0)
+        {
+            throw new IllegalArgumentException(
+                "The stride may not be negative, but is " + stride);
+        }
+        this.stride = stride;
+    }
+
+    /**
+     * Returns the byte order
+     * 
+     * @return The byte order
+     */
+    public ByteOrder getByteOrder()
+    {
+        return byteOrder;
+    }
+
+    /**
+     * Set the byte order
+     * 
+     * @param byteOrder The byte order
+     * @throws NullPointerException If the given order is <code>null</code>
+     */
+    public void setByteOrder(ByteOrder byteOrder)
+    {
+        if (byteOrder == null)
+        {
+            throw new NullPointerException("The byteOrder is null");
+        }
+        this.byteOrder = byteOrder;
+    }
+
+    /**
+     * Returns the size of a single point, in bytes
+     * 
+     * @return The point size
+     */
+    public int getPointSize()
+    {
+        return 3 * componentType.getSize();
+    }
+
+    /**
+     * Returns whether the given file size is valid for this format.
+     * 
+     * This is the case when the file consists of the header, followed by
+     * any number of points. The last point may either be followed by the
+     * padding of the stride, or not.
+     * 
+     * @param fileSize The file size, in bytes
+     * @return Whether the file size is valid
+     */
+    public boolean isValidFileSize(long fileSize)
+    {
+        long available = fileSize - headerSize;
+        if (available == 0)
+        {
+            return true;
+        }
+        if (available < getPointSize())
+        {
+            return false;
+        }
+        long stride = getStride();
+        return available % stride == 0
+            || (available - getPointSize()) % stride == 0;
+    }
+
+    /**
+     * Returns the number of complete points in a file with the given size
+     * 
+     * @param fileSize The file size, in bytes
+     * @return The number of points
+     */
+    public long computePointCount(long fileSize)
+    {
+        long available = fileSize - headerSize;
+        if (available < getPointSize())
+        {
+            return 0;
+        }
+        return (available - getPointSize()) / getStride() + 1;
+    }
+}
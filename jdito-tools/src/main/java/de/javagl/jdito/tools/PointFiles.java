@@ -0,0 +1,165 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.tools;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.javagl.jdito.DoubleArrays;
+import de.javagl.jdito.JDito;
+import de.javagl.jdito.JDitoOptions;
+import de.javagl.jdito.LargeDoubleArray;
+import de.javagl.jdito.OrientedBoundingBox;
+
+/**
+ * Methods for accessing the points that are stored in binary files, as
+ * described by a {@link PointFileFormat}.
+ * 
+ * The files are memory-mapped, and the coordinates are read directly from
+ * the mapped memory, without copying them to the heap. Since a single
+ * mapping cannot be larger than 2 GB, larger files are mapped in several
+ * regions.
+ */
+public class PointFiles
+{
+    /**
+     * The maximum size of one mapped region, in bytes
+     */
+    private static final int MAX_REGION_SIZE = Integer.MAX_VALUE;
+
+    /**
+     * Compute the oriented bounding box for the points in the given file.
+     * 
+     * @param path The path of the file
+     * @param format The {@link PointFileFormat}
+     * @param options The {@link JDitoOptions}
+     * @return The oriented bounding box
+     * @throws IOException If the file cannot be read
+     * @throws IllegalArgumentException If the stride of the given format is
+     * smaller than the size of one point
+     */
+    public static OrientedBoundingBox compute(Path path,
+        PointFileFormat format, JDitoOptions options) throws IOException
+    {
+        LargeDoubleArray points = map(path, format);
+        return JDito.compute(points, options);
+    }
+
+    /**
+     * Memory-map the given file, and return a {@link LargeDoubleArray} that
+     * contains the coordinates of all points in the file.
+     * 
+     * The returned array remains valid after this method returns. The file
+     * is unmapped when the array becomes unreachable.
+     * 
+     * When the file contains tightly packed 64-bit values, then the returned
+     * array is created with {@link DoubleArrays#fromBuffers(List)}, so that
+     * the computation reads the mapped memory through <code>DoubleBuffer</code>
+     * views. Otherwise, each coordinate is read from the mapped bytes with
+     * the respective stride and component type.
+     * 
+     * @param path The path of the file
+     * @param format The {@link PointFileFormat}
+     * @return The {@link LargeDoubleArray}
+     * @throws IOException If the file cannot be read, or its size does not
+     * match the given format (see {@link PointFileFormat#isValidFileSize})
+     * @throws IllegalArgumentException If the stride of the given format is
+     * smaller than the size of one point
+     */
+    public static LargeDoubleArray map(Path path, PointFileFormat format)
+        throws IOException
+    {
+        try (FileChannel channel =
+            FileChannel.open(path, StandardOpenOption.READ))
+        {
+            return map(channel, format, MAX_REGION_SIZE);
+        }
+    }
+
+    /**
+     * Memory-map the given channel, and return a {@link LargeDoubleArray}
+     * that contains the coordinates of all points in the file.
+     * 
+     * @param channel The channel
+     * @param format The {@link PointFileFormat}
+     * @param maxRegionSize The maximum size of one mapped region, in bytes
+     * @return The {@link LargeDoubleArray}
+     * @throws IOException If the file cannot be read, or its size does not
+     * match the given format (see {@link PointFileFormat#isValidFileSize})
+     * @throws IllegalArgumentException If the stride of the given format is
+     * smaller than the size of one point, or larger than the maximum region
+     * size
+     */
+    static LargeDoubleArray map(FileChannel channel, PointFileFormat format,
+        int maxRegionSize) throws IOException
+    {
+        int stride = format.getStride();
+        int pointSize = format.getPointSize();
+        if (stride < pointSize || stride > maxRegionSize)
+        {
+            throw new IllegalArgumentException("The stride must be in ["
+                + pointSize + "," + maxRegionSize + "], but is " + stride);
+        }
+        long fileSize = channel.size();
+        if (!format.isValidFileSize(fileSize))
+        {
+            throw new IOException("The file size of " + fileSize
+                + " bytes does not match a header of "
+                + format.getHeaderSize() + " bytes followed by points with "
+                + "a size of " + pointSize + " bytes and a stride of "
+                + stride + " bytes");
+        }
+        long pointCount = format.computePointCount(fileSize);
+        long pointsPerRegion = maxRegionSize / stride;
+        int regionCount = (int) ((pointCount + pointsPerRegion - 1)
+            / pointsPerRegion);
+        ByteOrder byteOrder = format.getByteOrder();
+        ByteBuffer regions[] = new ByteBuffer[regionCount];
+        for (int r = 0; r < regionCount; r++)
+        {
+            long firstPoint = r * pointsPerRegion;
+            long regionPoints = Math.min(pointsPerRegion,
+                pointCount - firstPoint);
+            long position = format.getHeaderSize() + firstPoint * stride;
+            long size = (regionPoints - 1) * stride + pointSize;
+            regions[r] = channel.map(MapMode.READ_ONLY, position, size)
+                .order(byteOrder);
+        }
+        if (format.getComponentType() == PointFileFormat.ComponentType.FLOAT64
+            && stride == pointSize)
+        {
+            List<DoubleBuffer> buffers = new ArrayList<DoubleBuffer>();
+            for (ByteBuffer region : regions)
+            {
+                buffers.add(region.asDoubleBuffer());
+            }
+            return DoubleArrays.fromBuffers(buffers);
+        }
+        return new MappedPointArray(regions, pointsPerRegion, pointCount,
+            format);
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private PointFiles()
+    {
+        // Private constructor to prevent instantiation
+    }
+
+}
@@ -0,0 +1,440 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.tools;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import de.javagl.jdito.OrientedBoundingBox;
+
+/**
+ * A slow, exhaustive computation of a tight oriented bounding box, which
+ * serves as a reference for the evaluation.
+ * 
+ * The points are first reduced to the points that are extremal along one of
+ * {@link #NUM_DIRECTIONS} directions, which approximate the vertices of the
+ * convex hull. For these points, a large number of random orientations, as
+ * well as the given seed orientations, are evaluated. The best orientations
+ * are then refined with a local search over rotations. The quality measure
+ * is the surface area, as in DiTO. The extents of the final box are
+ * computed from all points, so that the box encloses all points.
+ */
+class ReferenceObb
+{
+    /**
+     * The number of directions for the reduction of the points
+     */
+    private static final int NUM_DIRECTIONS = 1024;
+
+    /**
+     * The number of random orientations
+     */
+    private static final int NUM_ORIENTATIONS = 20000;
+
+    /**
+     * The number of best orientations that are refined
+     */
+    private static final int NUM_REFINED = 8;
+
+    /**
+     * The initial angle for the refinement, in radians
+     */
+    private static final double INITIAL_ANGLE = 0.1;
+
+    /**
+     * The angle at which the refinement stops, in radians
+     */
+    private static final double MIN_ANGLE = 1e-7;
+
+    /**
+     * Compute the reference box for the given points
+     * 
+     * @param points The points
+     * @param seeds Boxes whose orientations are evaluated in addition to
+     * the random orientations
+     * @return The reference box
+     */
+    static OrientedBoundingBox compute(double points[],
+        List<OrientedBoundingBox> seeds)
+    {
+        double hull[] = reduce(points);
+        double bestQualities[] = new double[NUM_REFINED];
+        double bestAxes[][] = new double[NUM_REFINED][];
+        Arrays.fill(bestQualities, Double.POSITIVE_INFINITY);
+
+        double identity[] = { 1, 0, 0, 0, 1, 0, 0, 0, 1 };
+        insert(identity, quality(hull, identity), bestAxes, bestQualities);
+        for (OrientedBoundingBox seed : seeds)
+        {
+            double axes[] = orthonormalAxes(seed.halfAxes);
+            insert(axes, quality(hull, axes), bestAxes, bestQualities);
+        }
+        Random random = new Random(0);
+        for (int i = 0; i < NUM_ORIENTATIONS; i++)
+        {
+            double axes[] = CorpusShape.randomRotation(random);
+            insert(axes, quality(hull, axes), bestAxes, bestQualities);
+        }
+        double best[] = null;
+        double bestQuality = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < NUM_REFINED; i++)
+        {
+            if (bestAxes[i] == null)
+            {
+                continue;
+            }
+            double axes[] = refine(hull, bestAxes[i]);
+            double q = quality(hull, axes);
+            if (q < bestQuality)
+            {
+                bestQuality = q;
+                best = axes;
+            }
+        }
+        return createBox(points, best);
+    }
+
+    /**
+     * Returns the points that are extremal along one of the directions
+     * 
+     * @param points The points
+     * @return The extremal points
+     */
+    private static double[] reduce(double points[])
+    {
+        int n = points.length / 3;
+        double directions[] = new double[NUM_DIRECTIONS * 3];
+        double goldenAngle = Math.PI * (3.0 - Math.sqrt(5.0));
+        for (int d = 0; d < NUM_DIRECTIONS; d++)
+        {
+            // Directions on a hemisphere, because the minimum and maximum
+            // along each direction are both used
+            double z = 1.0 - (d + 0.5) / NUM_DIRECTIONS;
+            double r = Math.sqrt(1.0 - z * z);
+            double phi = d * goldenAngle;
+            directions[d * 3 + 0] = r * Math.cos(phi);
+            directions[d * 3 + 1] = r * Math.sin(phi);
+            directions[d * 3 + 2] = z;
+        }
+        double minValues[] = new double[NUM_DIRECTIONS];
+        double maxValues[] = new double[NUM_DIRECTIONS];
+        int minIndices[] = new int[NUM_DIRECTIONS];
+        int maxIndices[] = new int[NUM_DIRECTIONS];
+        Arrays.fill(minValues, Double.POSITIVE_INFINITY);
+        Arrays.fill(maxValues, Double.NEGATIVE_INFINITY);
+        for (int i = 0; i < n; i++)
+        {
+            double x = points[i * 3 + 0];
+            double y = points[i * 3 + 1];
+            double z = points[i * 3 + 2];
+            for (int d = 0; d < NUM_DIRECTIONS; d++)
+            {
+                double p = x * directions[d * 3 + 0]
+                    + y * directions[d * 3 + 1] + z * directions[d * 3 + 2];
+                if (p < minValues[d])
+                {
+                    minValues[d] = p;
+                    minIndices[d] = i;
+                }
+                if (p > maxValues[d])
+                {
+                    maxValues[d] = p;
+                    maxIndices[d] = i;
+                }
+            }
+        }
+        boolean used[] = new boolean[n];
+        int count = 0;
+        for (int d = 0; d < NUM_DIRECTIONS && n > 0; d++)
+        {
+            count += used[minIndices[d]] ? 0 : 1;
+            used[minIndices[d]] = true;
+            count += used[maxIndices[d]] ? 0 : 1;
+            used[maxIndices[d]] = true;
+        }
+        double result[] = new double[count * 3];
+        int r = 0;
+        for (int i = 0; i < n; i++)
+        {
+            if (used[i])
+            {
+                System.arraycopy(points, i * 3, result, r * 3, 3);
+                r++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Insert the given axes into the given list of best axes, if their
+     * quality is better than the worst quality in the list
+     * 
+     * @param axes The axes
+     * @param quality The quality
+     * @param bestAxes The best axes, sorted by quality
+     * @param bestQualities The best qualities, in ascending order
+     */
+    private static void insert(double axes[], double quality,
+        double bestAxes[][], double bestQualities[])
+    {
+        int i = bestQualities.length - 1;
+        if (!(quality < bestQualities[i]))
+        {
+            return;
+        }
+        while (i > 0 && quality < bestQualities[i - 1])
+        {
+            bestQualities[i] = bestQualities[i - 1];
+            bestAxes[i] = bestAxes[i - 1];
+            i--;
+        }
+        bestQualities[i] = quality;
+        bestAxes[i] = axes;
+    }
+
+    /**
+     * Refine the given axes with a local search over rotations about the
+     * axes
+     * 
+     * @param points The points
+     * @param axes The axes
+     * @return The refined axes
+     */
+    private static double[] refine(double points[], double axes[])
+    {
+        double current[] = axes.clone();
+        double currentQuality = quality(points, current);
+        double angle = INITIAL_ANGLE;
+        while (angle > MIN_ANGLE)
+        {
+            boolean improved = false;
+            for (int k = 0; k < 3; k++)
+            {
+                for (int s = -1; s <= 1; s += 2)
+                {
+                    double candidate[] = rotate(current, k, s * angle);
+                    double q = quality(points, candidate);
+                    if (q < currentQuality)
+                    {
+                        current = candidate;
+                        currentQuality = q;
+                        improved = true;
+                    }
+                }
+            }
+            if (!improved)
+            {
+                angle *= 0.5;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Rotate the given axes about one of the axes
+     * 
+     * @param axes The axes, as rows of a 3x3 matrix
+     * @param k The index of the rotation axis
+     * @param angle The angle, in radians
+     * @return The rotated axes
+     */
+    private static double[] rotate(double axes[], int k, double angle)
+    {
+        int i = (k + 1) % 3;
+        int j = (k + 2) % 3;
+        double c = Math.cos(angle);
+        double s = Math.sin(angle);
+        double result[] = axes.clone();
+        for (int d = 0; d < 3; d++)
+        {
+            double a = axes[i * 3 + d];
+            double b = axes[j * 3 + d];
+            result[i * 3 + d] = c * a + s * b;
+            result[j * 3 + d] = -s * a + c * b;
+        }
+        return result;
+    }
+
+    /**
+     * Compute the quality of the box with the given axes that encloses the
+     * given points. This is half of the surface area of the box.
+     * 
+     * @param points The points
+     * @param axes The axes, as rows of a 3x3 matrix
+     * @return The quality
+     */
+    private static double quality(double points[], double axes[])
+    {
+        double e[] = extents(points, axes, null);
+        return e[0] * e[1] + e[0] * e[2] + e[1] * e[2];
+    }
+
+    /**
+     * Compute the extents of the given points along the given axes
+     * 
+     * @param points The points
+     * @param axes The axes, as rows of a 3x3 matrix
+     * @param mid An optional array that will store the midpoints of the
+     * projections along the axes
+     * @return The extents
+     */
+    private static double[] extents(double points[], double axes[],
+        double mid[])
+    {
+        double min[] = { Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+            Double.POSITIVE_INFINITY };
+        double max[] = { Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY,
+            Double.NEGATIVE_INFINITY };
+        for (int i = 0; i < points.length; i += 3)
+        {
+            for (int k = 0; k < 3; k++)
+            {
+                double p = points[i] * axes[k * 3 + 0]
+                    + points[i + 1] * axes[k * 3 + 1]
+                    + points[i + 2] * axes[k * 3 + 2];
+                min[k] = Math.min(min[k], p);
+                max[k] = Math.max(max[k], p);
+            }
+        }
+        double result[] = new double[3];
+        for (int k = 0; k < 3; k++)
+        {
+            result[k] = max[k] - min[k];
+            if (mid != null)
+            {
+                mid[k] = (min[k] + max[k]) * 0.5;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Create the box with the given axes that encloses the given points
+     * 
+     * @param points The points
+     * @param axes The axes, as rows of a 3x3 matrix
+     * @return The box
+     */
+    private static OrientedBoundingBox createBox(double points[],
+        double axes[])
+    {
+        double mid[] = new double[3];
+        double e[] = extents(points, axes, mid);
+        OrientedBoundingBox box = new OrientedBoundingBox();
+        box.center = new double[3];
+        box.halfAxes = new double[9];
+        for (int k = 0; k < 3; k++)
+        {
+            for (int d = 0; d < 3; d++)
+            {
+                box.center[d] += axes[k * 3 + d] * mid[k];
+                box.halfAxes[k * 3 + d] = axes[k * 3 + d] * e[k] * 0.5;
+            }
+        }
+        return box;
+    }
+
+    /**
+     * Compute orthonormal axes from the given half-axes of a box, which may
+     * be degenerate
+     * 
+     * @param halfAxes The half-axes, as a column-major 3x3 matrix
+     * @return The axes, as rows of a 3x3 matrix
+     */
+    private static double[] orthonormalAxes(double halfAxes[])
+    {
+        // Sort the columns by their length, in descending order
+        Integer order[] = { 0, 1, 2 };
+        double lengths[] = new double[3];
+        for (int c = 0; c < 3; c++)
+        {
+            lengths[c] = length(halfAxes, c * 3);
+        }
+        Arrays.sort(order,
+            (a, b) -> Double.compare(lengths[b], lengths[a]));
+        double u[] = new double[3];
+        double v[] = new double[3];
+        if (!orthonormalize(halfAxes, order[0] * 3, null, u))
+        {
+            u[0] = 1.0;
+        }
+        if (!orthonormalize(halfAxes, order[1] * 3, u, v))
+        {
+            // Any direction that is perpendicular to u
+            double t[] = Math.abs(u[0]) < 0.9 ? new double[] { 1, 0, 0 }
+                : new double[] { 0, 1, 0 };
+            orthonormalize(t, 0, u, v);
+        }
+        double w[] = {
+            u[1] * v[2] - u[2] * v[1],
+            u[2] * v[0] - u[0] * v[2],
+            u[0] * v[1] - u[1] * v[0] };
+        return new double[] { u[0], u[1], u[2], v[0], v[1], v[2], w[0], w[1],
+            w[2] };
+    }
+
+    /**
+     * Remove the component along the given unit vector from the vector at
+     * the given offset of the given array, and normalize the result
+     * 
+     * @param a The array
+     * @param offset The offset of the vector
+     * @param u The unit vector, or <code>null</code>
+     * @param result The array that will store the result
+     * @return Whether the result has a nonzero length
+     */
+    private static boolean orthonormalize(double a[], int offset, double u[],
+        double result[])
+    {
+        double d = 0.0;
+        if (u != null)
+        {
+            d = a[offset] * u[0] + a[offset + 1] * u[1] + a[offset + 2] * u[2];
+        }
+        for (int i = 0; i < 3; i++)
+        {
+            result[i] = a[offset + i] - (u == null ? 0.0 : d * u[i]);
+        }
+        double length = length(result, 0);
+        if (length < 1e-12 * Math.max(1.0, length(a, offset)) || length == 0)
+        {
+            return false;
+        }
+        for (int i = 0; i < 3; i++)
+        {
+            result[i] /= length;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the length of the 3D vector at the given offset of the given
+     * array
+     * 
+     * @param a The array
+     * @param offset The offset
+     * @return The length
+     */
+    private static double length(double a[], int offset)
+    {
+        return Math.sqrt(a[offset] * a[offset] + a[offset + 1] * a[offset + 1]
+            + a[offset + 2] * a[offset + 2]);
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private ReferenceObb()
+    {
+        // Private constructor to prevent instantiation
+    }
+
+}
@@ -0,0 +1,303 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.tools;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Methods for writing {@link FileResult} objects and other records
+ */
+class ResultWriters
+{
+    /**
+     * The size of one result in the binary format, in bytes
+     */
+    static final int BINARY_RESULT_SIZE = 8 + 12 * 8;
+
+    /**
+     * Write the given results as a JSON array.
+     * 
+     * Each element is an object with the properties <code>"file"</code>,
+     * <code>"pointCount"</code>, <code>"center"</code> and
+     * <code>"halfAxes"</code>. For a failed computation, the
+     * <code>"center"</code> and <code>"halfAxes"</code> are omitted, and
+     * the object contains an <code>"error"</code> message instead.
+     * 
+     * @param results The results
+     * @param writer The writer
+     * @throws IOException If an IO error occurs
+     */
+    static void writeJson(List<FileResult> results, Writer writer)
+        throws IOException
+    {
+        writer.write("[");
+        for (int i = 0; i < results.size(); i++)
+        {
+            FileResult result = results.get(i);
+            writer.write(i == 0 ? "\n" : ",\n");
+            writer.write("  {\n");
+            writer.write("    \"file\": " + quote(result.name) + ",\n");
+            writer.write("    \"pointCount\": " + result.pointCount + ",\n");
+            if (result.box != null)
+            {
+                writer.write("    \"center\": "
+                    + toJson(result.box.center) + ",\n");
+                writer.write("    \"halfAxes\": "
+                    + toJson(result.box.halfAxes) + "\n");
+            }
+            else
+            {
+                writer.write("    \"error\": " + quote(result.error) + "\n");
+            }
+            writer.write("  }");
+        }
+        writer.write("\n]\n");
+        writer.flush();
+    }
+
+    /**
+     * Write the given results in a binary format.
+     * 
+     * For each result, this writes {@link #BINARY_RESULT_SIZE} bytes in
+     * little-endian order: The point count as a 64-bit integer, followed by
+     * the 3 elements of the center and the 9 elements of the half-axes as
+     * 64-bit floating point values. For a failed computation, the point
+     * count is -1, and the center and half-axes are NaN.
+     * 
+     * @param results The results
+     * @param outputStream The output stream
+     * @throws IOException If an IO error occurs
+     */
+    static void writeBinary(List<FileResult> results,
+        OutputStream outputStream) throws IOException
+    {
+        ByteBuffer bb = ByteBuffer.allocate(BINARY_RESULT_SIZE);
+        bb.order(ByteOrder.LITTLE_ENDIAN);
+        for (FileResult result : results)
+        {
+            bb.clear();
+            if (result.box != null)
+            {
+                bb.putLong(result.pointCount);
+                for (double d : result.box.center)
+                {
+                    bb.putDouble(d);
+                }
+                for (double d : result.box.halfAxes)
+                {
+                    bb.putDouble(d);
+                }
+            }
+            else
+            {
+                bb.putLong(-1);
+                for (int i = 0; i < 12; i++)
+                {
+                    bb.putDouble(Double.NaN);
+                }
+            }
+            outputStream.write(bb.array(), 0, BINARY_RESULT_SIZE);
+        }
+        outputStream.flush();
+    }
+
+    /**
+     * Write the given records as a JSON array of objects.
+     * 
+     * The values of the records may be strings or numbers. Floating point
+     * values that are NaN or infinite are written as <code>null</code>.
+     * 
+     * @param records The records
+     * @param writer The writer
+     * @throws IOException If an IO error occurs
+     */
+    static void writeRecordsJson(List<Map<String, Object>> records,
+        Writer writer) throws IOException
+    {
+        writer.write("[");
+        for (int i = 0; i < records.size(); i++)
+        {
+            writer.write(i == 0 ? "\n" : ",\n");
+            writer.write("  {");
+            boolean first = true;
+            for (Entry<String, Object> entry : records.get(i).entrySet())
+            {
+                writer.write(first ? "\n" : ",\n");
+                first = false;
+                Object value = entry.getValue();
+                String s = value instanceof String ? quote((String) value)
+                    : toJson(value);
+                writer.write("    " + quote(entry.getKey()) + ": " + s);
+            }
+            writer.write("\n  }");
+        }
+        writer.write("\n]\n");
+        writer.flush();
+    }
+
+    /**
+     * Write the given records as comma-separated values, with a header line
+     * that contains the keys of the first record.
+     * 
+     * All records must have the same keys. Strings are quoted when they
+     * contain commas, quotes or line breaks. Floating point values that are
+     * NaN or infinite are written as empty values.
+     * 
+     * @param records The records
+     * @param writer The writer
+     * @throws IOException If an IO error occurs
+     */
+    static void writeRecordsCsv(List<Map<String, Object>> records,
+        Writer writer) throws IOException
+    {
+        if (!records.isEmpty())
+        {
+            writer.write(String.join(",", records.get(0).keySet()) + "\n");
+        }
+        for (Map<String, Object> record : records)
+        {
+            StringBuilder sb = new StringBuilder();
+            for (Object value : record.values())
+            {
+                if (sb.length() > 0)
+                {
+                    sb.append(",");
+                }
+                if (value instanceof String)
+                {
+                    String s = (String) value;
+                    if (s.indexOf(',') >= 0 || s.indexOf('"') >= 0
+                        || s.indexOf('\r') >= 0 || s.indexOf('\n') >= 0)
+                    {
+                        s = "\"" + s.replace("\"", "\"\"") + "\"";
+                    }
+                    sb.append(s);
+                }
+                else
+                {
+                    String s = toJson(value);
+                    sb.append(s.equals("null") ? "" : s);
+                }
+            }
+            writer.write(sb.append("\n").toString());
+        }
+        writer.flush();
+    }
+
+    /**
+     * Returns a JSON representation of the given number
+     * 
+     * @param value The number
+     * @return The JSON string
+     */
+    private static String toJson(Object value)
+    {
+        if (value instanceof Double)
+        {
+            double d = (Double) value;
+            // JSON does not support NaN or infinity
+            if (Double.isNaN(d) || Double.isInfinite(d))
+            {
+                return "null";
+            }
+        }
+        return String.valueOf(value);
+    }
+
+    /**
+     * Returns a JSON array representation of the given array
+     * 
+     * @param array The array
+     * @return The JSON string
+     */
+    private static String toJson(double array[])
+    {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < array.length; i++)
+        {
+            if (i > 0)
+            {
+                sb.append(", ");
+            }
+            double d = array[i];
+            // JSON does not support NaN or infinity
+            if (Double.isNaN(d) || Double.isInfinite(d))
+            {
+                sb.append("null");
+            }
+            else
+            {
+                sb.append(d);
+            }
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    /**
+     * Returns the given string as a quoted JSON string
+     * 
+     * @param s The string
+     * @return The JSON string
+     */
+    private static String quote(String s)
+    {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < s.length(); i++)
+        {
+            char c = s.charAt(i);
+            switch (c)
+            {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20)
+                    {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    }
+                    else
+                    {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append("\"");
+        return sb.toString();
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private ResultWriters()
+    {
+        // Private constructor to prevent instantiation
+    }
+
+}
@@ -0,0 +1,444 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito.tools;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import de.javagl.jdito.DoubleArrays;
+import de.javagl.jdito.JDito;
+import de.javagl.jdito.JDitoOptions;
+import de.javagl.jdito.OrientedBoundingBox;
+import de.javagl.jdito.ReadableDoubleArray;
+
+/**
+ * A connection of the {@link JDitoServer}, which reads requests from an
+ * input stream and writes the responses to an output stream.
+ * 
+ * The requests are read sequentially, and processed concurrently on an
+ * executor. The responses are written in the order in which the
+ * computations finish. The protocol is described in {@link JDitoServer}.
+ */
+class ServerConnection
+{
+    /**
+     * The size of the header of a request, after the frame length, in
+     * bytes: The request ID, the flags, the number of refinement
+     * iterations, and the timeout
+     */
+    static final int REQUEST_HEADER_SIZE = 8 + 4 + 4 + 8;
+
+    /**
+     * The flag indicating that the coordinates are 32-bit floating point
+     * values
+     */
+    static final int FLAG_FLOAT32 = 1;
+
+    /**
+     * The flag indicating that the hull prefilter should be enabled
+     */
+    static final int FLAG_PREFILTER = 2;
+
+    /**
+     * The status of a successful computation
+     */
+    static final int STATUS_OK = 0;
+
+    /**
+     * The status of a computation that was stopped due to the timeout
+     */
+    static final int STATUS_PARTIAL = 1;
+
+    /**
+     * The status of a request that could not be processed
+     */
+    static final int STATUS_ERROR = 2;
+
+    /**
+     * The input stream
+     */
+    private final InputStream inputStream;
+
+    /**
+     * The output stream
+     */
+    private final OutputStream outputStream;
+
+    /**
+     * The executor for the computations
+     */
+    private final Executor executor;
+
+    /**
+     * The maximum number of points in a request
+     */
+    private final int maxPoints;
+
+    /**
+     * The permits for the requests that are pending
+     */
+    private final Semaphore permits;
+
+    /**
+     * The maximum number of pending requests
+     */
+    private final int maxPending;
+
+    /**
+     * Creates a new instance
+     * 
+     * @param inputStream The input stream
+     * @param outputStream The output stream. This should be buffered. It
+     * is flushed after each response.
+     * @param executor The executor for the computations
+     * @param maxPending The maximum number of pending requests. When this
+     * number is reached, then no further requests are read until one of
+     * the pending requests is finished.
+     * @param maxPoints The maximum number of points in a request
+     */
+    ServerConnection(InputStream inputStream, OutputStream outputStream,
+        Executor executor, int maxPending, int maxPoints)
+    {
+        this.inputStream = inputStream;
+        this.outputStream = outputStream;
+        this.executor = executor;
+        this.maxPending = maxPending;
+        this.maxPoints = maxPoints;
+        this.permits = new Semaphore(maxPending);
+    }
+
+    /**
+     * Read and process requests until the end of the input stream is
+     * reached, and wait until all responses have been written.
+     * 
+     * @throws IOException If an IO error occurs, or the input is not a
+     * valid sequence of requests
+     * @throws InterruptedException If the thread is interrupted while
+     * waiting for pending requests
+     */
+    void serve() throws IOException, InterruptedException
+    {
+        try
+        {
+            while (true)
+            {
+                byte lengthBytes[] = new byte[4];
+                if (!readFully(lengthBytes, true))
+                {
+                    break;
+                }
+                int frameLength = littleEndian(lengthBytes).getInt();
+                if (frameLength < REQUEST_HEADER_SIZE)
+                {
+                    throw new IOException("Invalid request length: "
+                        + frameLength);
+                }
+                byte header[] = new byte[REQUEST_HEADER_SIZE];
+                readFully(header, false);
+                ByteBuffer hb = littleEndian(header);
+                long requestId = hb.getLong();
+                int flags = hb.getInt();
+                int pointSize = (flags & FLAG_FLOAT32) != 0 ? 12 : 24;
+                long dataLength = frameLength - REQUEST_HEADER_SIZE;
+                if (dataLength % pointSize != 0
+                    || dataLength / pointSize > maxPoints)
+                {
+                    skipFully(dataLength);
+                    String message = dataLength % pointSize != 0
+                        ? "The data length " + dataLength
+                            + " is not a multiple of the point size "
+                            + pointSize
+                        : "The request contains " + (dataLength / pointSize)
+                            + " points, but the maximum is " + maxPoints;
+                    permits.acquire();
+                    try
+                    {
+                        writeResponse(createErrorResponse(requestId, message));
+                    }
+                    finally
+                    {
+                        permits.release();
+                    }
+                    continue;
+                }
+                byte data[] = new byte[(int) dataLength];
+                readFully(data, false);
+                submit(hb, requestId, flags, data);
+            }
+        }
+        finally
+        {
+            // Wait until all pending responses have been written
+            permits.acquire(maxPending);
+            permits.release(maxPending);
+        }
+    }
+
+    /**
+     * Submit the computation for the given request to the executor
+     * 
+     * @param hb The header buffer, positioned after the flags
+     * @param requestId The request ID
+     * @param flags The flags
+     * @param data The coordinates
+     * @throws IOException If the response cannot be written
+     * @throws InterruptedException If the thread is interrupted while
+     * waiting for a permit
+     */
+    private void submit(ByteBuffer hb, long requestId, int flags,
+        byte data[]) throws IOException, InterruptedException
+    {
+        int refinementIterations = hb.getInt();
+        long timeoutNanos = hb.getLong();
+        permits.acquire();
+        try
+        {
+            executor.execute(() ->
+            {
+                // The permit is released in any case, so that the reading
+                // thread does not wait for it forever
+                try
+                {
+                    writeResponse(process(requestId, flags,
+                        refinementIterations, timeoutNanos, data));
+                }
+                catch (IOException e)
+                {
+                    // The client has gone away. The reading thread will
+                    // notice this as well.
+                }
+                finally
+                {
+                    permits.release();
+                }
+            });
+        }
+        catch (RejectedExecutionException e)
+        {
+            try
+            {
+                writeResponse(
+                    createErrorResponse(requestId, String.valueOf(e)));
+            }
+            finally
+            {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Process the given request, and return the response.
+     * 
+     * Any error, including an <code>OutOfMemoryError</code> for a large
+     * request, causes an error response.
+     * 
+     * @param requestId The request ID
+     * @param flags The flags
+     * @param refinementIterations The number of refinement iterations
+     * @param timeoutNanos The timeout, in nanoseconds, or 0 for no timeout
+     * @param data The coordinates
+     * @return The response
+     */
+    private static byte[] process(long requestId, int flags,
+        int refinementIterations, long timeoutNanos, byte data[])
+    {
+        try
+        {
+            JDitoOptions options = new JDitoOptions();
+            options.setPrefilterEnabled((flags & FLAG_PREFILTER) != 0);
+            options.setRefinementIterations(refinementIterations);
+            if (timeoutNanos > 0)
+            {
+                options.setTimeout(timeoutNanos, TimeUnit.NANOSECONDS);
+            }
+            ReadableDoubleArray points = createPoints(flags, data);
+            OrientedBoundingBox box;
+            if (points.length() == 0)
+            {
+                // Empty requests receive an all-zero box, as in
+                // JDito#computeSegments
+                box = new OrientedBoundingBox();
+                box.center = new double[3];
+                box.halfAxes = new double[9];
+            }
+            else
+            {
+                box = JDito.compute(points, options);
+            }
+            return createResponse(requestId, box);
+        }
+        catch (Throwable e)
+        {
+            return createErrorResponse(requestId, String.valueOf(e));
+        }
+    }
+
+    /**
+     * Create the points from the given coordinates
+     * 
+     * @param flags The flags
+     * @param data The coordinates
+     * @return The points
+     */
+    private static ReadableDoubleArray createPoints(int flags, byte data[])
+    {
+        ByteBuffer bb = littleEndian(data);
+        if ((flags & FLAG_FLOAT32) == 0)
+        {
+            return DoubleArrays.fromBuffer(bb.asDoubleBuffer());
+        }
+        FloatBuffer fb = bb.asFloatBuffer();
+        double coordinates[] = new double[fb.remaining()];
+        for (int i = 0; i < coordinates.length; i++)
+        {
+            coordinates[i] = fb.get(i);
+        }
+        return DoubleArrays.fromArray(coordinates);
+    }
+
+    /**
+     * Create the response for the given box
+     * 
+     * @param requestId The request ID
+     * @param box The box
+     * @return The response
+     */
+    private static byte[] createResponse(long requestId,
+        OrientedBoundingBox box)
+    {
+        ByteBuffer bb = littleEndian(new byte[4 + 8 + 4 + 12 * 8]);
+        bb.putInt(bb.capacity() - 4);
+        bb.putLong(requestId);
+        bb.putInt(box.partial ? STATUS_PARTIAL : STATUS_OK);
+        for (double d : box.center)
+        {
+            bb.putDouble(d);
+        }
+        for (double d : box.halfAxes)
+        {
+            bb.putDouble(d);
+        }
+        return bb.array();
+    }
+
+    /**
+     * Create the response for a request that could not be processed
+     * 
+     * @param requestId The request ID
+     * @param message The error message
+     * @return The response
+     */
+    private static byte[] createErrorResponse(long requestId, String message)
+    {
+        byte messageBytes[] = message.getBytes(StandardCharsets.UTF_8);
+        int length = 4 + 8 + 4 + messageBytes.length;
+        ByteBuffer bb = littleEndian(new byte[length]);
+        bb.putInt(bb.capacity() - 4);
+        bb.putLong(requestId);
+        bb.putInt(STATUS_ERROR);
+        bb.put(messageBytes);
+        return bb.array();
+    }
+
+    /**
+     * Write the given response, and flush the output stream.
+     * 
+     * The output stream is flushed after each response, so that clients
+     * that keep multiple requests in flight receive each response as soon
+     * as it is available.
+     * 
+     * @param response The response
+     * @throws IOException If an IO error occurs
+     */
+    private void writeResponse(byte response[]) throws IOException
+    {
+        synchronized (outputStream)
+        {
+            outputStream.write(response);
+            outputStream.flush();
+        }
+    }
+
+    /**
+     * Read the given number of bytes from the input stream
+     * 
+     * @param bytes The array that will store the bytes
+     * @param endAllowed Whether the end of the stream is allowed before the
+     * first byte
+     * @return Whether the bytes have been read, or <code>false</code> if the
+     * end of the stream was reached before the first byte
+     * @throws IOException If an IO error occurs, or the end of the stream
+     * is reached after the first byte
+     */
+    private boolean readFully(byte bytes[], boolean endAllowed)
+        throws IOException
+    {
+        int offset = 0;
+        while (offset < bytes.length)
+        {
+            int read = inputStream.read(bytes, offset, bytes.length - offset);
+            if (read < 0)
+            {
+                if (offset == 0 && endAllowed)
+                {
+                    return false;
+                }
+                throw new EOFException("Unexpected end of the request");
+            }
+            offset += read;
+        }
+        return true;
+    }
+
+    /**
+     * Skip the given number of bytes of the input stream
+     * 
+     * @param length The number of bytes
+     * @throws IOException If an IO error occurs, or the end of the stream
+     * is reached
+     */
+    private void skipFully(long length) throws IOException
+    {
+        byte buffer[] = new byte[8192];
+        long remaining = length;
+        while (remaining > 0)
+        {
+            int read = inputStream.read(buffer, 0,
+                (int) Math.min(buffer.length, remaining));
+            if (read < 0)
+            {
+                throw new EOFException("Unexpected end of the request");
+            }
+            remaining -= read;
+        }
+    }
+
+    /**
+     * Wrap the given bytes into a little-endian byte buffer
+     * 
+     * @param bytes The bytes
+     * @return The byte buffer
+     */
+    private static ByteBuffer littleEndian(byte bytes[])
+    {
+        return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
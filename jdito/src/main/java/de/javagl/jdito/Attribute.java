@@ -15,8 +15,11 @@ package de.javagl.jdito;
  * Note: This structure is largely obsolete with the introduction of the
  * {@link ReadableDoubleArray} and {@link WritableDoubleArray} interfaces. It is
  * retained only for consistency with the original implementation.
+ * 
+ * An attribute is also the {@link PositionChunks} that only consist of this
+ * attribute.
  */
-class Attribute
+class Attribute implements PositionChunks
 {
     /** Data uses the data type of the vertex attribute */
     ReadableDoubleArray data;
@@ -29,4 +32,16 @@ class Attribute
 
     /** Stride across data array i.e. not a byte stride */
     int strideIdx;
-}
\ No newline at end of file
+
+    @Override
+    public int getChunkCount()
+    {
+        return 1;
+    }
+
+    @Override
+    public Attribute getChunk(int index)
+    {
+        return this;
+    }
+}
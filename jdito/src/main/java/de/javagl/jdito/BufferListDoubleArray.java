@@ -0,0 +1,120 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Implementation of a {@link LargeDoubleArray} that is backed by a list of
+ * <code>DoubleBuffer</code> instances, which are treated as one contiguous
+ * sequence
+ */
+class BufferListDoubleArray implements LargeDoubleArray
+{
+    /**
+     * The buffers, each with its first element at index 0
+     */
+    private final DoubleBuffer buffers[];
+
+    /**
+     * The index of the first element of each buffer, with an additional
+     * element that contains the total length
+     */
+    private final long starts[];
+
+    /**
+     * Creates a new instance for the elements between the position and the
+     * limit of each of the given buffers. The positions and limits of the
+     * given buffers are not modified.
+     * 
+     * @param bufferList The buffers
+     */
+    BufferListDoubleArray(List<? extends DoubleBuffer> bufferList)
+    {
+        int n = bufferList.size();
+        this.buffers = new DoubleBuffer[n];
+        this.starts = new long[n + 1];
+        for (int i = 0; i < n; i++)
+        {
+            DoubleBuffer buffer = bufferList.get(i).slice();
+            buffers[i] = buffer;
+            starts[i + 1] = starts[i] + buffer.capacity();
+        }
+    }
+
+    @Override
+    public double get(long index)
+    {
+        int b = findBuffer(index);
+        return buffers[b].get((int) (index - starts[b]));
+    }
+
+    @Override
+    public long length()
+    {
+        return starts[buffers.length];
+    }
+
+    /**
+     * Returns the index of the buffer that contains the element with the
+     * given index
+     * 
+     * @param index The element index
+     * @return The buffer index
+     * @throws IndexOutOfBoundsException If the index is negative or not
+     *         smaller than the length of this array
+     */
+    private int findBuffer(long index)
+    {
+        if (index < 0 || index >= length())
+        {
+            throw new IndexOutOfBoundsException("Index " + index
+                + " is out of bounds for length " + length());
+        }
+        int b = Arrays.binarySearch(starts, index);
+        if (b < 0)
+        {
+            return -b - 2;
+        }
+        // Skip empty buffers
+        while (starts[b + 1] == index)
+        {
+            b++;
+        }
+        return b;
+    }
+
+    /**
+     * Returns a {@link ReadableDoubleArray} for the specified range of this
+     * array.
+     * 
+     * If the range is contained in a single buffer, then the result will
+     * directly access this buffer.
+     * 
+     * @param offset The offset
+     * @param length The length
+     * @return The {@link ReadableDoubleArray}
+     */
+    ReadableDoubleArray slice(long offset, int length)
+    {
+        if (length > 0)
+        {
+            int b = findBuffer(offset);
+            if (offset + length <= starts[b + 1])
+            {
+                return new DoubleBufferDoubleArray(buffers[b],
+                    (int) (offset - starts[b]), length);
+            }
+        }
+        return new LargeSliceDoubleArray(this, offset, length);
+    }
+}
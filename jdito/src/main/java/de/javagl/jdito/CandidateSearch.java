@@ -0,0 +1,673 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+import java.util.Arrays;
+
+/**
+ * A class for finding the best one of a set of candidate orientations, using
+ * branch-and-bound.
+ * 
+ * The candidates are collected first. Each candidate either consists of an
+ * edge direction <code>e</code> of a triangle, the normal <code>n</code> of
+ * this triangle, and <code>m = e x n</code>, or is an orientation with a
+ * quality that was computed elsewhere. The candidates are identified by the
+ * order in which they have been added.
+ * 
+ * The extents along the normals of all triangles are computed in a single
+ * pass over the points. The extents of the sample points along the edge
+ * directions are then used to compute a lower bound for the quality of each
+ * candidate, and the candidates are processed in the order of increasing
+ * lower bounds. The extents of each candidate are computed block-wise, and
+ * the computation is stopped as soon as the lower bound that is given by
+ * the partial extents shows that the candidate cannot be the best one.
+ * 
+ * The quality values that are computed are the same as for an exhaustive
+ * search, because the extents are computed with the same operations. When
+ * multiple candidates have the same quality, then the one that was added
+ * first is selected, which is the same result as for evaluating all
+ * candidates in the order in which they have been added.
+ * 
+ * Instances of this class may be re-used, and will retain their storage.
+ */
+class CandidateSearch
+{
+    /**
+     * The number of points that are processed in one block, before the
+     * lower bound of a candidate and the deadline are checked
+     */
+    private static final int BLOCK_SIZE = 1024;
+
+    /**
+     * The x-coordinates of the points of the current block
+     */
+    private final double blockX[] = new double[BLOCK_SIZE];
+
+    /**
+     * The y-coordinates of the points of the current block
+     */
+    private final double blockY[] = new double[BLOCK_SIZE];
+
+    /**
+     * The z-coordinates of the points of the current block
+     */
+    private final double blockZ[] = new double[BLOCK_SIZE];
+
+    /**
+     * The normals of the triangles, as (x,y,z) coordinates
+     */
+    private double normals[] = new double[8 * 3];
+
+    /**
+     * The minimum and maximum projections of the points on the normals
+     */
+    private double normalRanges[] = new double[8 * 2];
+
+    /**
+     * The number of triangles
+     */
+    private int triangleCount;
+
+    /**
+     * The axes of the candidates, as 9 elements for the three axes
+     */
+    private double axes[] = new double[32 * 9];
+
+    /**
+     * The triangle indices of the candidates, or -1 for candidates that
+     * have a fixed quality
+     */
+    private int triangles[] = new int[32];
+
+    /**
+     * The fixed quality values, or the lower bounds of the candidates
+     */
+    private double bounds[] = new double[32];
+
+    /**
+     * The minimum and maximum projections of the sample points on the edge
+     * directions and the third axes of the candidates
+     */
+    private double ranges[] = new double[32 * 4];
+
+    /**
+     * The minimum and maximum projections of all points on the three axes
+     * of the candidates, if they are known
+     */
+    private double extents[] = new double[32 * 6];
+
+    /**
+     * Whether the extents of the candidates are known
+     */
+    private boolean extentsKnown[] = new boolean[32];
+
+    /**
+     * The order in which the candidates are processed
+     */
+    private int order[] = new int[32];
+
+    /**
+     * The number of candidates
+     */
+    private int candidateCount;
+
+    /**
+     * The sample points, as (x,y,z) coordinates
+     */
+    private double samples[] = new double[32 * 3];
+
+    /**
+     * The number of sample points
+     */
+    private int sampleCount;
+
+    /**
+     * The number of candidates that have been evaluated in the last search
+     */
+    private int evaluatedCount;
+
+    /**
+     * Reset this instance, to start with a new set of candidates
+     */
+    void clear()
+    {
+        triangleCount = 0;
+        candidateCount = 0;
+        sampleCount = 0;
+        evaluatedCount = 0;
+    }
+
+    /**
+     * Returns the number of candidates
+     * 
+     * @return The number of candidates
+     */
+    int getCandidateCount()
+    {
+        return candidateCount;
+    }
+
+    /**
+     * Returns the number of candidates that have been evaluated with a pass
+     * over the points in the last search
+     * 
+     * @return The number of evaluated candidates
+     */
+    int getEvaluatedCount()
+    {
+        return evaluatedCount;
+    }
+
+    /**
+     * Add the given sample point.
+     * 
+     * The sample points are used for computing the initial lower bounds of
+     * the candidates. They must be points of the input (or be inside of the
+     * convex hull of the input).
+     * 
+     * @param p The point
+     */
+    void addSample(ReadableDoubleArray p)
+    {
+        if ((sampleCount + 1) * 3 > samples.length)
+        {
+            samples = Arrays.copyOf(samples, samples.length * 2);
+        }
+        samples[sampleCount * 3 + 0] = p.get(0);
+        samples[sampleCount * 3 + 1] = p.get(1);
+        samples[sampleCount * 3 + 2] = p.get(2);
+        sampleCount++;
+    }
+
+    /**
+     * Add a triangle with the given unit normal
+     * 
+     * @param n The normal
+     * @return The index of the triangle
+     */
+    int addTriangle(ReadableDoubleArray n)
+    {
+        if ((triangleCount + 1) * 3 > normals.length)
+        {
+            normals = Arrays.copyOf(normals, normals.length * 2);
+            normalRanges =
+                Arrays.copyOf(normalRanges, normalRanges.length * 2);
+        }
+        normals[triangleCount * 3 + 0] = n.get(0);
+        normals[triangleCount * 3 + 1] = n.get(1);
+        normals[triangleCount * 3 + 2] = n.get(2);
+        triangleCount++;
+        return triangleCount - 1;
+    }
+
+    /**
+     * Add a candidate that consists of the given edge direction, the normal
+     * of the specified triangle, and the given third axis.
+     * 
+     * @param triangle The triangle index
+     * @param e The edge direction
+     * @param m The third axis
+     */
+    void addCandidate(int triangle, ReadableDoubleArray e,
+        ReadableDoubleArray m)
+    {
+        int c = prepareCandidate();
+        int n = triangle * 3;
+        axes[c * 9 + 0] = e.get(0);
+        axes[c * 9 + 1] = e.get(1);
+        axes[c * 9 + 2] = e.get(2);
+        axes[c * 9 + 3] = normals[n + 0];
+        axes[c * 9 + 4] = normals[n + 1];
+        axes[c * 9 + 5] = normals[n + 2];
+        axes[c * 9 + 6] = m.get(0);
+        axes[c * 9 + 7] = m.get(1);
+        axes[c * 9 + 8] = m.get(2);
+        triangles[c] = triangle;
+    }
+
+    /**
+     * Add a candidate with the given axes and a quality that has already
+     * been computed.
+     * 
+     * The minimum and maximum projections of all points on the axes may be
+     * given, if they are known. They are used when the search is stopped
+     * early.
+     * 
+     * @param b0 The first axis
+     * @param b1 The second axis
+     * @param b2 The third axis
+     * @param quality The quality
+     * @param min The optional minimum projections
+     * @param max The optional maximum projections
+     */
+    void addCandidate(ReadableDoubleArray b0, ReadableDoubleArray b1,
+        ReadableDoubleArray b2, double quality, ReadableDoubleArray min,
+        ReadableDoubleArray max)
+    {
+        int c = prepareCandidate();
+        for (int k = 0; k < 3; k++)
+        {
+            axes[c * 9 + 0 + k] = b0.get(k);
+            axes[c * 9 + 3 + k] = b1.get(k);
+            axes[c * 9 + 6 + k] = b2.get(k);
+        }
+        triangles[c] = -1;
+        bounds[c] = quality;
+        if (min != null && max != null)
+        {
+            for (int k = 0; k < 3; k++)
+            {
+                extents[c * 6 + k * 2 + 0] = min.get(k);
+                extents[c * 6 + k * 2 + 1] = max.get(k);
+            }
+            extentsKnown[c] = true;
+        }
+    }
+
+    /**
+     * Make sure that there is space for one more candidate, and return its
+     * index
+     * 
+     * @return The index of the new candidate
+     */
+    private int prepareCandidate()
+    {
+        if (candidateCount == triangles.length)
+        {
+            int newLength = triangles.length * 2;
+            axes = Arrays.copyOf(axes, newLength * 9);
+            triangles = Arrays.copyOf(triangles, newLength);
+            bounds = Arrays.copyOf(bounds, newLength);
+            ranges = Arrays.copyOf(ranges, newLength * 4);
+            extents = Arrays.copyOf(extents, newLength * 6);
+            extentsKnown = Arrays.copyOf(extentsKnown, newLength);
+            order = Arrays.copyOf(order, newLength);
+        }
+        extentsKnown[candidateCount] = false;
+        candidateCount++;
+        return candidateCount - 1;
+    }
+
+    /**
+     * Find the best candidate for the given positions.
+     * 
+     * The given orientation contains the quality of the initial box. A
+     * candidate is only selected when its quality is smaller than this
+     * initial quality. If a candidate is selected, then its axes and quality
+     * are written into the given orientation. If the extents of the selected
+     * candidate are known, then they are written into the orientation as
+     * well.
+     * 
+     * The given deadline is checked regularly while the points are
+     * processed. When it expired, then the best candidate for which the
+     * extents are known is selected, and <code>false</code> is returned.
+     * 
+     * @param positions The positions
+     * @param best The best orientation
+     * @param deadline The deadline
+     * @return Whether the search was completed
+     */
+    boolean search(PositionChunks positions, Orientation best,
+        Deadline deadline)
+    {
+        if (deadline.isExpired())
+        {
+            selectPartial(best);
+            return false;
+        }
+        if (!computeNormalRanges(positions, deadline))
+        {
+            selectPartial(best);
+            return false;
+        }
+        computeLowerBounds();
+        for (int i = 0; i < candidateCount; i++)
+        {
+            order[i] = i;
+        }
+        double b[] = bounds;
+        Sorting.sort(order, 0, candidateCount, (x, y) ->
+        {
+            int c = Double.compare(b[x], b[y]);
+            if (c != 0)
+            {
+                return c;
+            }
+            return Integer.compare(x, y);
+        });
+
+        // The index of the initial box is -1, so that it is preferred over
+        // all candidates with the same quality
+        double bestQuality = best.quality;
+        int bestIndex = -1;
+        for (int i = 0; i < candidateCount; i++)
+        {
+            int c = order[i];
+            if (!isBetter(bounds[c], c, bestQuality, bestIndex))
+            {
+                // All remaining candidates have at least the same bound
+                if (bounds[c] > bestQuality)
+                {
+                    break;
+                }
+                continue;
+            }
+            double quality = bounds[c];
+            if (triangles[c] != -1)
+            {
+                evaluatedCount++;
+                quality =
+                    evaluate(positions, c, bestQuality, bestIndex, deadline);
+                if (Double.isNaN(quality))
+                {
+                    selectPartial(best);
+                    return false;
+                }
+            }
+            if (isBetter(quality, c, bestQuality, bestIndex))
+            {
+                bestQuality = quality;
+                bestIndex = c;
+            }
+        }
+        if (bestIndex != -1)
+        {
+            select(bestIndex, bestQuality, best);
+        }
+        return true;
+    }
+
+    /**
+     * Select the best candidate for which the extents are known, if it is
+     * better than the given orientation
+     * 
+     * @param best The best orientation
+     */
+    private void selectPartial(Orientation best)
+    {
+        double bestQuality = best.quality;
+        int bestIndex = -1;
+        for (int c = 0; c < candidateCount; c++)
+        {
+            if (!extentsKnown[c])
+            {
+                continue;
+            }
+            int o = c * 6;
+            double len0 = extents[o + 1] - extents[o + 0];
+            double len1 = extents[o + 3] - extents[o + 2];
+            double len2 = extents[o + 5] - extents[o + 4];
+            double quality = len0 * len1 + len0 * len2 + len1 * len2;
+            if (isBetter(quality, c, bestQuality, bestIndex))
+            {
+                bestQuality = quality;
+                bestIndex = c;
+            }
+        }
+        if (bestIndex != -1)
+        {
+            select(bestIndex, bestQuality, best);
+        }
+    }
+
+    /**
+     * Write the axes and the quality of the specified candidate, as well as
+     * its extents (if they are known) into the given orientation
+     * 
+     * @param c The candidate index
+     * @param quality The quality
+     * @param best The orientation
+     */
+    private void select(int c, double quality, Orientation best)
+    {
+        for (int k = 0; k < 3; k++)
+        {
+            best.b0.set(k, axes[c * 9 + 0 + k]);
+            best.b1.set(k, axes[c * 9 + 3 + k]);
+            best.b2.set(k, axes[c * 9 + 6 + k]);
+        }
+        best.quality = quality;
+        best.extentsKnown = extentsKnown[c];
+        if (extentsKnown[c])
+        {
+            for (int k = 0; k < 3; k++)
+            {
+                best.min.set(k, extents[c * 6 + k * 2 + 0]);
+                best.max.set(k, extents[c * 6 + k * 2 + 1]);
+            }
+        }
+    }
+
+    /**
+     * Returns whether the candidate with the given quality and index is
+     * better than the current best one
+     * 
+     * @param quality The quality
+     * @param index The candidate index
+     * @param bestQuality The best quality
+     * @param bestIndex The index of the best candidate
+     * @return Whether the candidate is better
+     */
+    private static boolean isBetter(double quality, int index,
+        double bestQuality, int bestIndex)
+    {
+        return quality < bestQuality
+            || (quality == bestQuality && index < bestIndex);
+    }
+
+    /**
+     * Compute the minimum and maximum projections of the given positions on
+     * the normals of all triangles, in a single pass.
+     * 
+     * The points are copied block-wise into local arrays, so that the
+     * projections on each normal can be computed in a tight loop. The
+     * deadline is checked after each block.
+     * 
+     * @param positions The positions
+     * @param deadline The deadline
+     * @return Whether the computation was completed
+     */
+    private boolean computeNormalRanges(PositionChunks positions,
+        Deadline deadline)
+    {
+        int t = triangleCount;
+        for (int k = 0; k < t; k++)
+        {
+            normalRanges[k * 2 + 0] = Double.POSITIVE_INFINITY;
+            normalRanges[k * 2 + 1] = Double.NEGATIVE_INFINITY;
+        }
+        double xs[] = blockX;
+        double ys[] = blockY;
+        double zs[] = blockZ;
+        for (int c = 0; c < positions.getChunkCount(); c++)
+        {
+            Attribute chunk = positions.getChunk(c);
+            ReadableDoubleArray data = chunk.data;
+            int strideIdx = chunk.strideIdx;
+            int i = chunk.offsetIdx;
+            while (i < data.length())
+            {
+                int n = 0;
+                while (n < BLOCK_SIZE && i < data.length())
+                {
+                    xs[n] = data.get(i);
+                    ys[n] = data.get(i + 1);
+                    zs[n] = data.get(i + 2);
+                    n++;
+                    i += strideIdx;
+                }
+                for (int k = 0; k < t; k++)
+                {
+                    double nx = normals[k * 3 + 0];
+                    double ny = normals[k * 3 + 1];
+                    double nz = normals[k * 3 + 2];
+                    double min = normalRanges[k * 2 + 0];
+                    double max = normalRanges[k * 2 + 1];
+                    for (int j = 0; j < n; j++)
+                    {
+                        double proj = xs[j] * nx + ys[j] * ny + zs[j] * nz;
+                        min = Math.min(min, proj);
+                        max = Math.max(max, proj);
+                    }
+                    normalRanges[k * 2 + 0] = min;
+                    normalRanges[k * 2 + 1] = max;
+                }
+                if (deadline.isExpired())
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compute the lower bounds for the qualities of all candidates, from the
+     * extents of the sample points
+     */
+    private void computeLowerBounds()
+    {
+        for (int c = 0; c < candidateCount; c++)
+        {
+            int t = triangles[c];
+            if (t == -1)
+            {
+                continue;
+            }
+            double eMin = Double.POSITIVE_INFINITY;
+            double eMax = Double.NEGATIVE_INFINITY;
+            double mMin = Double.POSITIVE_INFINITY;
+            double mMax = Double.NEGATIVE_INFINITY;
+            for (int s = 0; s < sampleCount; s++)
+            {
+                double x = samples[s * 3 + 0];
+                double y = samples[s * 3 + 1];
+                double z = samples[s * 3 + 2];
+                double pe = x * axes[c * 9 + 0] + y * axes[c * 9 + 1]
+                    + z * axes[c * 9 + 2];
+                double pm = x * axes[c * 9 + 6] + y * axes[c * 9 + 7]
+                    + z * axes[c * 9 + 8];
+                eMin = Math.min(eMin, pe);
+                eMax = Math.max(eMax, pe);
+                mMin = Math.min(mMin, pm);
+                mMax = Math.max(mMax, pm);
+            }
+            ranges[c * 4 + 0] = eMin;
+            ranges[c * 4 + 1] = eMax;
+            ranges[c * 4 + 2] = mMin;
+            ranges[c * 4 + 3] = mMax;
+            bounds[c] = quality(c, eMin, eMax, mMin, mMax);
+        }
+    }
+
+    /**
+     * Compute the quality of the specified candidate for the given extents.
+     * 
+     * When the extents are only computed for a subset of the points, then
+     * the result is a lower bound for the quality. The computation is the
+     * same as in <code>Dito._getQualityValue</code>, with the lengths along
+     * the edge, the normal, and the third axis.
+     * 
+     * @param c The candidate index
+     * @param eMin The minimum projection on the edge direction
+     * @param eMax The maximum projection on the edge direction
+     * @param mMin The minimum projection on the third axis
+     * @param mMax The maximum projection on the third axis
+     * @return The quality
+     */
+    private double quality(int c, double eMin, double eMax, double mMin,
+        double mMax)
+    {
+        int t = triangles[c];
+        double len0 = eMax - eMin;
+        double len1 = normalRanges[t * 2 + 1] - normalRanges[t * 2 + 0];
+        double len2 = mMax - mMin;
+        return len0 * len1 + len0 * len2 + len1 * len2;
+    }
+
+    /**
+     * Compute the quality of the specified candidate, by computing its
+     * extents block-wise.
+     * 
+     * When the quality value of the partial extents after one block shows
+     * that the candidate cannot be better than the current best one, then
+     * the computation is stopped, and this lower bound is returned.
+     * 
+     * @param positions The positions
+     * @param c The candidate index
+     * @param bestQuality The best quality
+     * @param bestIndex The index of the best candidate
+     * @param deadline The deadline, which is checked after each block
+     * @return The quality, or a lower bound for the quality, or
+     * <code>NaN</code> if the deadline expired
+     */
+    private double evaluate(PositionChunks positions, int c,
+        double bestQuality, int bestIndex, Deadline deadline)
+    {
+        double ex = axes[c * 9 + 0];
+        double ey = axes[c * 9 + 1];
+        double ez = axes[c * 9 + 2];
+        double mx = axes[c * 9 + 6];
+        double my = axes[c * 9 + 7];
+        double mz = axes[c * 9 + 8];
+
+        // The sample points are points of the input, so the extents can
+        // start with their extents
+        double eMin = ranges[c * 4 + 0];
+        double eMax = ranges[c * 4 + 1];
+        double mMin = ranges[c * 4 + 2];
+        double mMax = ranges[c * 4 + 3];
+
+        for (int k = 0; k < positions.getChunkCount(); k++)
+        {
+            Attribute chunk = positions.getChunk(k);
+            ReadableDoubleArray data = chunk.data;
+            int strideIdx = chunk.strideIdx;
+            int length = data.length();
+            int blockStride = BLOCK_SIZE * strideIdx;
+            for (int start = chunk.offsetIdx; start < length;
+                start += blockStride)
+            {
+                int end = (int) Math.min(length, (long) start + blockStride);
+                for (int i = start; i < end; i += strideIdx)
+                {
+                    double x = data.get(i);
+                    double y = data.get(i + 1);
+                    double z = data.get(i + 2);
+                    double pe = x * ex + y * ey + z * ez;
+                    double pm = x * mx + y * my + z * mz;
+                    eMin = Math.min(eMin, pe);
+                    eMax = Math.max(eMax, pe);
+                    mMin = Math.min(mMin, pm);
+                    mMax = Math.max(mMax, pm);
+                }
+                double bound = quality(c, eMin, eMax, mMin, mMax);
+                if (!isBetter(bound, c, bestQuality, bestIndex))
+                {
+                    return bound;
+                }
+                if (deadline.isExpired())
+                {
+                    return Double.NaN;
+                }
+            }
+        }
+        int t = triangles[c];
+        int o = c * 6;
+        extents[o + 0] = eMin;
+        extents[o + 1] = eMax;
+        extents[o + 2] = normalRanges[t * 2 + 0];
+        extents[o + 3] = normalRanges[t * 2 + 1];
+        extents[o + 4] = mMin;
+        extents[o + 5] = mMax;
+        extentsKnown[c] = true;
+        return quality(c, eMin, eMax, mMin, mMax);
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+/**
+ * Interface for a function that assigns points to cells, for the
+ * computation of one oriented bounding box per cell with
+ * {@link JDito#computeBinned(ReadableDoubleArray, CellAssignment, IntList)}.
+ * 
+ * Instances for uniform grids and octrees can be created with the
+ * {@link CellAssignments} class.
+ */
+public interface CellAssignment
+{
+    /**
+     * Returns the index of the cell that contains the given point.
+     * 
+     * The result must be the same for all calls with the same point. When
+     * the result is negative, then the point is not assigned to any cell,
+     * and will be ignored.
+     * 
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @param z The z-coordinate
+     * @return The cell index
+     */
+    int getCell(double x, double y, double z);
+}
@@ -0,0 +1,182 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+/**
+ * Methods for creating {@link CellAssignment} instances.
+ */
+public class CellAssignments
+{
+    /**
+     * The maximum depth of an octree, so that the index of each cell fits
+     * into a non-negative <code>int</code> value
+     */
+    public static final int MAX_OCTREE_DEPTH = 10;
+
+    /**
+     * Creates a {@link CellAssignment} for a uniform grid.
+     * 
+     * The grid covers the axis-aligned box between the given minimum and
+     * maximum, with the given number of cells along each axis. The cell
+     * with the coordinates <code>(ix, iy, iz)</code> has the index
+     * <code>ix + nx * (iy + ny * iz)</code>. Points outside of the box are
+     * assigned to the nearest cell at the border of the grid.
+     * 
+     * @param min The minimum of the grid, as a 3-element array
+     * @param max The maximum of the grid, as a 3-element array
+     * @param nx The number of cells along the x-axis
+     * @param ny The number of cells along the y-axis
+     * @param nz The number of cells along the z-axis
+     * @return The {@link CellAssignment}
+     * @throws IllegalArgumentException If any number of cells is not
+     *         positive, or the total number of cells is larger than
+     *         <code>Integer.MAX_VALUE</code>
+     */
+    public static CellAssignment grid(double min[], double max[], int nx,
+        int ny, int nz)
+    {
+        if (nx <= 0 || ny <= 0 || nz <= 0)
+        {
+            throw new IllegalArgumentException("The number of cells must be "
+                + "positive, but is (" + nx + ", " + ny + ", " + nz + ")");
+        }
+        if ((long) nx * ny * nz > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("The total number of cells "
+                + "is too large for (" + nx + ", " + ny + ", " + nz + ")");
+        }
+        double minX = min[0];
+        double minY = min[1];
+        double minZ = min[2];
+        double scaleX = scale(min[0], max[0], nx);
+        double scaleY = scale(min[1], max[1], ny);
+        double scaleZ = scale(min[2], max[2], nz);
+        return (x, y, z) ->
+        {
+            int ix = index(x, minX, scaleX, nx);
+            int iy = index(y, minY, scaleY, ny);
+            int iz = index(z, minZ, scaleZ, nz);
+            return ix + nx * (iy + ny * iz);
+        };
+    }
+
+    /**
+     * Creates a {@link CellAssignment} for the leaf cells of a complete
+     * octree with the given depth.
+     * 
+     * The root of the octree is the axis-aligned box between the given
+     * minimum and maximum. Its leaf cells are the cells of a uniform grid
+     * with <code>2^depth</code> cells along each axis. The index of a cell
+     * is its Morton code, meaning that the bits of the cell coordinates
+     * <code>(ix, iy, iz)</code> are interleaved, with the bits of
+     * <code>ix</code> being the least significant ones. The index of the
+     * parent of a cell is therefore the index of the cell, shifted to the
+     * right by 3 bits. Points outside of the box are assigned to the
+     * nearest cell at the border of the octree.
+     * 
+     * @param min The minimum of the octree, as a 3-element array
+     * @param max The maximum of the octree, as a 3-element array
+     * @param depth The depth of the octree
+     * @return The {@link CellAssignment}
+     * @throws IllegalArgumentException If the depth is negative or larger
+     *         than {@link #MAX_OCTREE_DEPTH}
+     */
+    public static CellAssignment octree(double min[], double max[], int depth)
+    {
+        if (depth < 0 || depth > MAX_OCTREE_DEPTH)
+        {
+            throw new IllegalArgumentException("The depth must be between 0 "
+                + "and " + MAX_OCTREE_DEPTH + ", but is " + depth);
+        }
+        int n = 1 << depth;
+        double minX = min[0];
+        double minY = min[1];
+        double minZ = min[2];
+        double scaleX = scale(min[0], max[0], n);
+        double scaleY = scale(min[1], max[1], n);
+        double scaleZ = scale(min[2], max[2], n);
+        return (x, y, z) ->
+        {
+            int ix = index(x, minX, scaleX, n);
+            int iy = index(y, minY, scaleY, n);
+            int iz = index(z, minZ, scaleZ, n);
+            return spread(ix) | (spread(iy) << 1) | (spread(iz) << 2);
+        };
+    }
+
+    /**
+     * Returns the factor that converts a coordinate relative to the given
+     * minimum into a cell coordinate
+     * 
+     * @param min The minimum
+     * @param max The maximum
+     * @param n The number of cells
+     * @return The scale
+     */
+    private static double scale(double min, double max, int n)
+    {
+        double size = max - min;
+        if (size > 0.0)
+        {
+            return n / size;
+        }
+        return 0.0;
+    }
+
+    /**
+     * Returns the cell coordinate for the given coordinate, clamped to the
+     * valid range
+     * 
+     * @param value The coordinate
+     * @param min The minimum
+     * @param scale The scale
+     * @param n The number of cells
+     * @return The cell coordinate
+     */
+    private static int index(double value, double min, double scale, int n)
+    {
+        double c = (value - min) * scale;
+        if (!(c > 0.0))
+        {
+            return 0;
+        }
+        if (c >= n)
+        {
+            return n - 1;
+        }
+        return (int) c;
+    }
+
+    /**
+     * Spread the lower 10 bits of the given value, so that there are two
+     * zero bits between each of them
+     * 
+     * @param v The value
+     * @return The result
+     */
+    private static int spread(int v)
+    {
+        int x = v & 0x3FF;
+        x = (x | (x << 16)) & 0x030000FF;
+        x = (x | (x << 8)) & 0x0300F00F;
+        x = (x | (x << 4)) & 0x030C30C3;
+        x = (x | (x << 2)) & 0x09249249;
+        return x;
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private CellAssignments()
+    {
+        // Private constructor to prevent instantiation
+    }
+
+}
@@ -0,0 +1,453 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+import java.util.Arrays;
+
+/**
+ * A class for computing one oriented bounding box for each cell of a
+ * {@link CellAssignment}, without copying the points of the cells.
+ * 
+ * In a first pass, the extremal points of each occupied cell along the
+ * seven slab directions of {@link ExtremalPoints} are accumulated. The axes
+ * of the box of each cell are then computed from these 14 points, which can
+ * be done independently for all cells. In a second pass, the extents of
+ * all points of each cell along these axes are computed, so that each box
+ * encloses all points of its cell.
+ * 
+ * The occupied cells are stored in "slots", in the order in which they are
+ * first encountered. The slot of a cell is found with a hash table.
+ * 
+ * Instances of this class may be re-used, and will retain their storage.
+ */
+class CellBinning
+{
+    /**
+     * The number of slab directions
+     */
+    private static final int NUM_DIRECTIONS = 7;
+
+    /**
+     * The number of extremal points for each cell
+     */
+    static final int NUM_POINTS = NUM_DIRECTIONS * 2;
+
+    /**
+     * The initial number of slots
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The hash table keys, which are the cell indices, or -1 for empty
+     * entries
+     */
+    private int tableCells[];
+
+    /**
+     * The hash table values, which are the slot indices
+     */
+    private int tableSlots[];
+
+    /**
+     * The number of slots
+     */
+    private int slotCount;
+
+    /**
+     * The cell index for each slot
+     */
+    private int slotCells[];
+
+    /**
+     * The minimum and maximum projections along the slab directions, with
+     * 14 elements for each slot
+     */
+    private double projections[];
+
+    /**
+     * The extremal points along the slab directions, with 42 elements for
+     * each slot
+     */
+    private double vertices[];
+
+    /**
+     * The unit axes, with 9 elements for each slot
+     */
+    private double axes[];
+
+    /**
+     * The minimum and maximum projections along the axes, with 6 elements
+     * for each slot
+     */
+    private double ranges[];
+
+    /**
+     * The slab projections of the current point
+     */
+    private final double proj[] = new double[NUM_DIRECTIONS];
+
+    /**
+     * Default constructor
+     */
+    CellBinning()
+    {
+        allocate(INITIAL_CAPACITY);
+        tableCells = new int[INITIAL_CAPACITY * 2];
+        tableSlots = new int[INITIAL_CAPACITY * 2];
+    }
+
+    /**
+     * Accumulate the extremal points of all cells of the given positions.
+     * 
+     * This resets all previous results.
+     * 
+     * @param positions The positions
+     * @param cells The {@link CellAssignment}
+     */
+    void accumulate(Attribute positions, CellAssignment cells)
+    {
+        slotCount = 0;
+        Arrays.fill(tableCells, -1);
+
+        ReadableDoubleArray data = positions.data;
+        int offsetIdx = positions.offsetIdx;
+        int strideIdx = positions.strideIdx;
+        int lastCell = -1;
+        int slot = -1;
+        for (int i = offsetIdx; i < data.length(); i += strideIdx)
+        {
+            double x = data.get(i);
+            double y = data.get(i + 1);
+            double z = data.get(i + 2);
+            int cell = cells.getCell(x, y, z);
+            if (cell < 0)
+            {
+                continue;
+            }
+            if (cell != lastCell)
+            {
+                slot = findOrAddSlot(cell);
+                lastCell = cell;
+            }
+            proj[0] = x;
+            proj[1] = y;
+            proj[2] = z;
+            proj[3] = x + y + z;
+            proj[4] = x + y - z;
+            proj[5] = x - y + z;
+            proj[6] = x - y - z;
+            int po = slot * NUM_POINTS;
+            for (int d = 0; d < NUM_DIRECTIONS; d++)
+            {
+                double p = proj[d];
+                if (p < projections[po + d * 2 + 0])
+                {
+                    projections[po + d * 2 + 0] = p;
+                    setVertex(po + d * 2 + 0, x, y, z);
+                }
+                if (p > projections[po + d * 2 + 1])
+                {
+                    projections[po + d * 2 + 1] = p;
+                    setVertex(po + d * 2 + 1, x, y, z);
+                }
+            }
+        }
+    }
+
+    /**
+     * Set the specified extremal point
+     * 
+     * @param index The index of the point
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @param z The z-coordinate
+     */
+    private void setVertex(int index, double x, double y, double z)
+    {
+        vertices[index * 3 + 0] = x;
+        vertices[index * 3 + 1] = y;
+        vertices[index * 3 + 2] = z;
+    }
+
+    /**
+     * Returns the slot for the given cell, adding a new one if the cell
+     * does not have a slot yet
+     * 
+     * @param cell The cell index
+     * @return The slot index
+     */
+    private int findOrAddSlot(int cell)
+    {
+        int mask = tableCells.length - 1;
+        int h = hash(cell) & mask;
+        while (tableCells[h] != -1)
+        {
+            if (tableCells[h] == cell)
+            {
+                return tableSlots[h];
+            }
+            h = (h + 1) & mask;
+        }
+        if (slotCount == slotCells.length)
+        {
+            allocate(slotCount * 2);
+        }
+        int slot = slotCount;
+        slotCount++;
+        slotCells[slot] = cell;
+        int po = slot * NUM_POINTS;
+        for (int d = 0; d < NUM_DIRECTIONS; d++)
+        {
+            projections[po + d * 2 + 0] = Double.POSITIVE_INFINITY;
+            projections[po + d * 2 + 1] = Double.NEGATIVE_INFINITY;
+        }
+        tableCells[h] = cell;
+        tableSlots[h] = slot;
+        if (slotCount * 2 > tableCells.length)
+        {
+            rehash(tableCells.length * 2);
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the slot for the given cell
+     * 
+     * @param cell The cell index
+     * @return The slot index, or -1 if the cell does not have a slot
+     */
+    private int findSlot(int cell)
+    {
+        int mask = tableCells.length - 1;
+        int h = hash(cell) & mask;
+        while (tableCells[h] != -1)
+        {
+            if (tableCells[h] == cell)
+            {
+                return tableSlots[h];
+            }
+            h = (h + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the hash code for the given cell index
+     * 
+     * @param cell The cell index
+     * @return The hash code
+     */
+    private static int hash(int cell)
+    {
+        int h = cell * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Rebuild the hash table with the given size
+     * 
+     * @param size The size, which must be a power of 2
+     */
+    private void rehash(int size)
+    {
+        tableCells = new int[size];
+        tableSlots = new int[size];
+        Arrays.fill(tableCells, -1);
+        int mask = size - 1;
+        for (int slot = 0; slot < slotCount; slot++)
+        {
+            int h = hash(slotCells[slot]) & mask;
+            while (tableCells[h] != -1)
+            {
+                h = (h + 1) & mask;
+            }
+            tableCells[h] = slotCells[slot];
+            tableSlots[h] = slot;
+        }
+    }
+
+    /**
+     * Make sure that the arrays for the slots have the given capacity
+     * 
+     * @param capacity The capacity
+     */
+    private void allocate(int capacity)
+    {
+        if (slotCells == null)
+        {
+            slotCells = new int[capacity];
+            projections = new double[capacity * NUM_POINTS];
+            vertices = new double[capacity * NUM_POINTS * 3];
+            axes = new double[capacity * 9];
+            ranges = new double[capacity * 6];
+            return;
+        }
+        slotCells = Arrays.copyOf(slotCells, capacity);
+        projections = Arrays.copyOf(projections, capacity * NUM_POINTS);
+        vertices = Arrays.copyOf(vertices, capacity * NUM_POINTS * 3);
+        axes = Arrays.copyOf(axes, capacity * 9);
+        ranges = Arrays.copyOf(ranges, capacity * 6);
+    }
+
+    /**
+     * Returns the number of occupied cells
+     * 
+     * @return The number of slots
+     */
+    int getSlotCount()
+    {
+        return slotCount;
+    }
+
+    /**
+     * Returns the cell index of the given slot
+     * 
+     * @param slot The slot
+     * @return The cell index
+     */
+    int getCell(int slot)
+    {
+        return slotCells[slot];
+    }
+
+    /**
+     * Returns the slots, sorted by their cell index
+     * 
+     * @return The sorted slots
+     */
+    int[] getSortedSlots()
+    {
+        int sorted[] = new int[slotCount];
+        for (int slot = 0; slot < slotCount; slot++)
+        {
+            sorted[slot] = slot;
+        }
+        Sorting.sort(sorted, 0, slotCount,
+            (a, b) -> Integer.compare(slotCells[a], slotCells[b]));
+        return sorted;
+    }
+
+    /**
+     * Returns the positions of the extremal points of the given slot. The
+     * returned attribute contains 14 points, some of which may be equal.
+     * 
+     * @param slot The slot
+     * @return The positions
+     */
+    Attribute getExtremalPoints(int slot)
+    {
+        Attribute positions = new Attribute();
+        positions.data = DoubleArrays.create(vertices,
+            slot * NUM_POINTS * 3, NUM_POINTS * 3);
+        positions.size = 3;
+        positions.offsetIdx = 0;
+        positions.strideIdx = 3;
+        return positions;
+    }
+
+    /**
+     * Set the axes of the given slot from the orientation of the given
+     * {@link Obb}.
+     * 
+     * This may be called concurrently for different slots.
+     * 
+     * @param slot The slot
+     * @param obb The {@link Obb}
+     */
+    void setAxes(int slot, Obb obb)
+    {
+        VecEx.axesFrom(obb.quaternion, axes, slot * 9);
+    }
+
+    /**
+     * Compute the extents of all points of each cell along the axes of the
+     * cell.
+     * 
+     * This must be called with the same positions and cell assignment as
+     * {@link #accumulate(Attribute, CellAssignment)}, after the axes of all
+     * slots have been set.
+     * 
+     * @param positions The positions
+     * @param cells The {@link CellAssignment}
+     */
+    void computeExtents(Attribute positions, CellAssignment cells)
+    {
+        for (int slot = 0; slot < slotCount; slot++)
+        {
+            for (int k = 0; k < 3; k++)
+            {
+                ranges[slot * 6 + k * 2 + 0] = Double.POSITIVE_INFINITY;
+                ranges[slot * 6 + k * 2 + 1] = Double.NEGATIVE_INFINITY;
+            }
+        }
+        ReadableDoubleArray data = positions.data;
+        int offsetIdx = positions.offsetIdx;
+        int strideIdx = positions.strideIdx;
+        int lastCell = -1;
+        int slot = -1;
+        for (int i = offsetIdx; i < data.length(); i += strideIdx)
+        {
+            double x = data.get(i);
+            double y = data.get(i + 1);
+            double z = data.get(i + 2);
+            int cell = cells.getCell(x, y, z);
+            if (cell < 0)
+            {
+                continue;
+            }
+            if (cell != lastCell)
+            {
+                slot = findSlot(cell);
+                lastCell = cell;
+            }
+            if (slot < 0)
+            {
+                continue;
+            }
+            int ao = slot * 9;
+            int ro = slot * 6;
+            for (int k = 0; k < 3; k++)
+            {
+                double p = x * axes[ao + k * 3 + 0] + y * axes[ao + k * 3 + 1]
+                    + z * axes[ao + k * 3 + 2];
+                ranges[ro + k * 2 + 0] = Math.min(ranges[ro + k * 2 + 0], p);
+                ranges[ro + k * 2 + 1] = Math.max(ranges[ro + k * 2 + 1], p);
+            }
+        }
+    }
+
+    /**
+     * Write the center and half-axes of the box of the given slot into the
+     * given arrays
+     * 
+     * @param slot The slot
+     * @param center The 3-element array for the center
+     * @param halfAxes The 9-element array for the half-axes
+     */
+    void getBox(int slot, double center[], double halfAxes[])
+    {
+        Arrays.fill(center, 0.0);
+        int ao = slot * 9;
+        int ro = slot * 6;
+        for (int k = 0; k < 3; k++)
+        {
+            double min = ranges[ro + k * 2 + 0];
+            double max = ranges[ro + k * 2 + 1];
+            double mid = (min + max) * 0.5;
+            double half = (max - min) * 0.5;
+            for (int j = 0; j < 3; j++)
+            {
+                double a = axes[ao + k * 3 + j];
+                center[j] += a * mid;
+                halfAxes[k * 3 + j] = a * half;
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of {@link PositionChunks} that obtains the chunks from a
+ * {@link PointChunkSource}.
+ * 
+ * When a chunk is requested, then the next chunk is requested from the
+ * source in a background thread. After the last chunk, the first chunk is
+ * requested, because it will be the first one of the next pass. When
+ * there is only a single chunk, then it is requested only once.
+ * 
+ * The background threads are taken from a shared pool of daemon threads,
+ * which is created when it is first needed. Instances must be closed
+ * after the computation, to wait for the pending request, so that the
+ * source is not accessed after the computation has finished.
+ */
+class ChunkedPositions implements PositionChunks, AutoCloseable
+{
+    /**
+     * Holder for the shared executor for requesting the next chunks, so
+     * that it is only created when it is first used
+     */
+    private static class ExecutorHolder
+    {
+        /**
+         * The counter for the thread names
+         */
+        private static final AtomicInteger threadCounter =
+            new AtomicInteger();
+
+        /**
+         * The executor
+         */
+        private static final ExecutorService executor =
+            Executors.newCachedThreadPool(r ->
+            {
+                Thread thread = new Thread(r,
+                    "JDito-chunk-prefetch-" + threadCounter.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * The source
+     */
+    private final PointChunkSource source;
+
+    /**
+     * The number of chunks
+     */
+    private final int chunkCount;
+
+    /**
+     * The index of the current chunk, or -1
+     */
+    private int currentIndex = -1;
+
+    /**
+     * The current chunk
+     */
+    private Attribute current;
+
+    /**
+     * The index of the chunk that is requested in the background, or -1
+     */
+    private int nextIndex = -1;
+
+    /**
+     * The future for the chunk that is requested in the background
+     */
+    private CompletableFuture<Attribute> next;
+
+    /**
+     * Creates a new instance
+     * 
+     * @param source The source
+     */
+    ChunkedPositions(PointChunkSource source)
+    {
+        this.source = source;
+        this.chunkCount = source.getChunkCount();
+    }
+
+    @Override
+    public int getChunkCount()
+    {
+        return chunkCount;
+    }
+
+    @Override
+    public Attribute getChunk(int index)
+    {
+        if (index == currentIndex)
+        {
+            return current;
+        }
+        Attribute chunk;
+        if (index == nextIndex)
+        {
+            chunk = join(next);
+        }
+        else
+        {
+            // Wait for the pending request, so that the source is never
+            // called concurrently
+            awaitNext();
+            chunk = load(index);
+        }
+        current = chunk;
+        currentIndex = index;
+        next = null;
+        nextIndex = -1;
+        if (chunkCount > 1)
+        {
+            int n = (index + 1) % chunkCount;
+            next = CompletableFuture.supplyAsync(
+                () -> load(n), ExecutorHolder.executor);
+            nextIndex = n;
+        }
+        return chunk;
+    }
+
+    /**
+     * Load the specified chunk from the source
+     * 
+     * @param index The index
+     * @return The chunk
+     */
+    private Attribute load(int index)
+    {
+        PointChunk chunk = source.getChunk(index);
+        Attribute attribute = new Attribute();
+        attribute.data = chunk.getData();
+        attribute.size = 3;
+        attribute.offsetIdx = chunk.getOffset();
+        attribute.strideIdx = chunk.getStride();
+        return attribute;
+    }
+
+    /**
+     * Wait until the chunk that is requested in the background is
+     * available, if there is one. Its result is not needed.
+     */
+    private void awaitNext()
+    {
+        if (next != null)
+        {
+            next.handle((result, t) -> null).join();
+        }
+    }
+
+    /**
+     * Wait for the given future, and return its result. If the computation
+     * caused an exception, it is re-thrown.
+     * 
+     * @param future The future
+     * @return The result
+     */
+    private static Attribute join(CompletableFuture<Attribute> future)
+    {
+        try
+        {
+            return future.join();
+        }
+        catch (CompletionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error)
+            {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        awaitNext();
+        next = null;
+        nextIndex = -1;
+    }
+}
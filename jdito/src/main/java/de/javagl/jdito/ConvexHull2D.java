@@ -0,0 +1,330 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+import java.util.Arrays;
+
+/**
+ * A class for computing the convex hull of a set of 2D points.
+ * 
+ * The hull is computed with Andrew's monotone chain algorithm. In order to
+ * avoid storing and sorting all input points, the points can be passed through
+ * a filter first: The extremal points along eight directions form an octagon,
+ * and points that are strictly inside this octagon can not be vertices of the
+ * convex hull (Akl-Toussaint heuristic). The intended usage is
+ * <pre><code>
+ * hull.clear();
+ * for (each point) hull.include(x, y);
+ * hull.finishFilter();
+ * for (each point) if (!hull.isInterior(x, y)) hull.add(x, y);
+ * hull.compute();
+ * </code></pre>
+ * 
+ * Instances of this class may be re-used, and will retain their storage.
+ */
+class ConvexHull2D
+{
+    /**
+     * The number of filter directions
+     */
+    private static final int NUM_DIRECTIONS = 8;
+
+    /**
+     * The maximum projections of the points along the filter directions
+     */
+    private final double filterProj[] = new double[NUM_DIRECTIONS];
+
+    /**
+     * The points with the maximum projections along the filter directions,
+     * as interleaved (x,y) coordinates, in counterclockwise order
+     */
+    private final double filterPoints[] = new double[NUM_DIRECTIONS * 2];
+
+    /**
+     * The edges of the filter polygon, as (x0, y0, dx, dy) elements
+     */
+    private final double filterEdges[] = new double[NUM_DIRECTIONS * 4];
+
+    /**
+     * The number of edges of the filter polygon
+     */
+    private int filterEdgeCount;
+
+    /**
+     * The points that have been added, as interleaved (x,y) coordinates
+     */
+    private double points[] = new double[64];
+
+    /**
+     * The number of points that have been added
+     */
+    private int count;
+
+    /**
+     * The order of the points, used for sorting
+     */
+    private int order[] = new int[32];
+
+    /**
+     * The vertices of the convex hull, as interleaved (x,y) coordinates, in
+     * counterclockwise order
+     */
+    private double hull[] = new double[64];
+
+    /**
+     * The number of vertices of the convex hull
+     */
+    private int hullSize;
+
+    /**
+     * Reset this instance, to start with a new set of points
+     */
+    void clear()
+    {
+        Arrays.fill(filterProj, Double.NEGATIVE_INFINITY);
+        filterEdgeCount = 0;
+        count = 0;
+        hullSize = 0;
+    }
+
+    /**
+     * Include the given point in the computation of the filter polygon
+     * 
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     */
+    void include(double x, double y)
+    {
+        // The directions are (1,0), (1,1), (0,1), (-1,1), (-1,0), (-1,-1),
+        // (0,-1) and (1,-1), in counterclockwise order
+        updateFilter(0, x, x, y);
+        updateFilter(1, x + y, x, y);
+        updateFilter(2, y, x, y);
+        updateFilter(3, y - x, x, y);
+        updateFilter(4, -x, x, y);
+        updateFilter(5, -x - y, x, y);
+        updateFilter(6, -y, x, y);
+        updateFilter(7, x - y, x, y);
+    }
+
+    /**
+     * Update the filter point for the specified direction
+     * 
+     * @param d The direction index
+     * @param proj The projection of the point on the direction
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     */
+    private void updateFilter(int d, double proj, double x, double y)
+    {
+        if (proj > filterProj[d])
+        {
+            filterProj[d] = proj;
+            filterPoints[d * 2 + 0] = x;
+            filterPoints[d * 2 + 1] = y;
+        }
+    }
+
+    /**
+     * Compute the filter polygon, after all points have been passed to
+     * {@link #include(double, double)}
+     */
+    void finishFilter()
+    {
+        filterEdgeCount = 0;
+        for (int d = 0; d < NUM_DIRECTIONS; d++)
+        {
+            int e = (d + 1) % NUM_DIRECTIONS;
+            double x0 = filterPoints[d * 2 + 0];
+            double y0 = filterPoints[d * 2 + 1];
+            double dx = filterPoints[e * 2 + 0] - x0;
+            double dy = filterPoints[e * 2 + 1] - y0;
+            if (dx != 0.0 || dy != 0.0)
+            {
+                int f = filterEdgeCount * 4;
+                filterEdges[f + 0] = x0;
+                filterEdges[f + 1] = y0;
+                filterEdges[f + 2] = dx;
+                filterEdges[f + 3] = dy;
+                filterEdgeCount++;
+            }
+        }
+        // A polygon with less than three edges has no interior
+        if (filterEdgeCount < 3)
+        {
+            filterEdgeCount = 0;
+        }
+    }
+
+    /**
+     * Returns whether the given point is strictly inside the filter polygon,
+     * meaning that it cannot be a vertex of the convex hull
+     * 
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @return Whether the point is strictly inside the filter polygon
+     */
+    boolean isInterior(double x, double y)
+    {
+        if (filterEdgeCount == 0)
+        {
+            return false;
+        }
+        for (int e = 0; e < filterEdgeCount; e++)
+        {
+            int f = e * 4;
+            double cross = filterEdges[f + 2] * (y - filterEdges[f + 1])
+                - filterEdges[f + 3] * (x - filterEdges[f + 0]);
+            if (cross <= 0.0)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Add the given point to the set of points for which the hull is computed
+     * 
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     */
+    void add(double x, double y)
+    {
+        if (count * 2 == points.length)
+        {
+            points = Arrays.copyOf(points, points.length * 2);
+        }
+        points[count * 2 + 0] = x;
+        points[count * 2 + 1] = y;
+        count++;
+    }
+
+    /**
+     * Compute the convex hull of all points that have been added.
+     * 
+     * The hull will not contain collinear vertices.
+     */
+    void compute()
+    {
+        hullSize = 0;
+        if (count == 0)
+        {
+            return;
+        }
+        if (order.length < count)
+        {
+            order = new int[Math.max(count, order.length * 2)];
+        }
+        for (int i = 0; i < count; i++)
+        {
+            order[i] = i;
+        }
+        double p[] = points;
+        Sorting.sort(order, 0, count, (a, b) ->
+        {
+            int c = Double.compare(p[a * 2], p[b * 2]);
+            if (c != 0)
+            {
+                return c;
+            }
+            return Double.compare(p[a * 2 + 1], p[b * 2 + 1]);
+        });
+        if (hull.length < (count + 1) * 2)
+        {
+            hull = new double[(count + 1) * 2];
+        }
+
+        // Lower hull
+        int k = 0;
+        for (int i = 0; i < count; i++)
+        {
+            int o = order[i];
+            while (k >= 2 && cross(k - 2, k - 1, p, o) <= 0)
+            {
+                k--;
+            }
+            hull[k * 2 + 0] = p[o * 2 + 0];
+            hull[k * 2 + 1] = p[o * 2 + 1];
+            k++;
+        }
+
+        // Upper hull
+        int lower = k + 1;
+        for (int i = count - 2; i >= 0; i--)
+        {
+            int o = order[i];
+            while (k >= lower && cross(k - 2, k - 1, p, o) <= 0)
+            {
+                k--;
+            }
+            hull[k * 2 + 0] = p[o * 2 + 0];
+            hull[k * 2 + 1] = p[o * 2 + 1];
+            k++;
+        }
+
+        // The last point is equal to the first one
+        hullSize = Math.max(1, k - 1);
+        if (hullSize == 2 && hull[0] == hull[2] && hull[1] == hull[3])
+        {
+            hullSize = 1;
+        }
+    }
+
+    /**
+     * Computes the cross product of the vectors from hull vertex a to hull
+     * vertex b and from hull vertex a to the specified point
+     * 
+     * @param a The index of the first hull vertex
+     * @param b The index of the second hull vertex
+     * @param p The points
+     * @param o The index of the point
+     * @return The cross product
+     */
+    private double cross(int a, int b, double p[], int o)
+    {
+        double ax = hull[a * 2 + 0];
+        double ay = hull[a * 2 + 1];
+        return (hull[b * 2 + 0] - ax) * (p[o * 2 + 1] - ay)
+            - (hull[b * 2 + 1] - ay) * (p[o * 2 + 0] - ax);
+    }
+
+    /**
+     * Returns the number of points that have been added
+     * 
+     * @return The number of points
+     */
+    int getPointCount()
+    {
+        return count;
+    }
+
+    /**
+     * Returns the number of vertices of the convex hull
+     * 
+     * @return The number of vertices
+     */
+    int getHullSize()
+    {
+        return hullSize;
+    }
+
+    /**
+     * Returns the array containing the vertices of the convex hull, as
+     * interleaved (x,y) coordinates, in counterclockwise order. Only the
+     * first {@link #getHullSize()} vertices are valid.
+     * 
+     * @return The hull vertices
+     */
+    double[] getHull()
+    {
+        return hull;
+    }
+}
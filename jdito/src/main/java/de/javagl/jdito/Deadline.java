@@ -0,0 +1,104 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * A class for checking whether a computation should be stopped, either
+ * because a timeout has been reached, or because it was cancelled.
+ */
+class Deadline
+{
+    /**
+     * A deadline that never expires
+     */
+    static final Deadline NONE = new Deadline(Long.MAX_VALUE, null);
+
+    /**
+     * The value of <code>System.nanoTime()</code> when this instance was
+     * created
+     */
+    private final long startNanos;
+
+    /**
+     * The timeout, in nanoseconds
+     */
+    private final long timeoutNanos;
+
+    /**
+     * The optional supplier that indicates whether the computation was
+     * cancelled
+     */
+    private final BooleanSupplier cancelled;
+
+    /**
+     * Whether this deadline has been found to be expired
+     */
+    private boolean expired;
+
+    /**
+     * Creates a new instance
+     * 
+     * @param timeoutNanos The timeout, in nanoseconds, starting now. A value
+     * of <code>Long.MAX_VALUE</code> means that there is no timeout.
+     * @param cancelled The optional supplier that indicates whether the
+     * computation was cancelled
+     */
+    Deadline(long timeoutNanos, BooleanSupplier cancelled)
+    {
+        this.startNanos = System.nanoTime();
+        this.timeoutNanos = timeoutNanos;
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * Creates the deadline for the given options
+     * 
+     * @param options The options
+     * @return The deadline
+     */
+    static Deadline of(JDitoOptions options)
+    {
+        long timeoutNanos = options.getTimeoutNanos();
+        BooleanSupplier cancelled = options.getCancellation();
+        if (timeoutNanos == Long.MAX_VALUE && cancelled == null)
+        {
+            return NONE;
+        }
+        return new Deadline(timeoutNanos, cancelled);
+    }
+
+    /**
+     * Returns whether the computation should be stopped.
+     * 
+     * Once this method returned <code>true</code>, it will always return
+     * <code>true</code>.
+     * 
+     * @return Whether the deadline expired
+     */
+    boolean isExpired()
+    {
+        if (expired)
+        {
+            return true;
+        }
+        if (timeoutNanos != Long.MAX_VALUE
+            && System.nanoTime() - startNanos >= timeoutNanos)
+        {
+            expired = true;
+        }
+        else if (cancelled != null && cancelled.getAsBoolean())
+        {
+            expired = true;
+        }
+        return expired;
+    }
+}
@@ -61,4 +61,17 @@ class DefaultDoubleArray implements WritableDoubleArray
     {
         return length;
     }
+
+    /**
+     * Creates a new instance that is backed by the specified slice of the
+     * data of this array
+     * 
+     * @param sliceOffset The offset of the slice in this array
+     * @param sliceLength The length of the slice
+     * @return The slice
+     */
+    DefaultDoubleArray slice(int sliceOffset, int sliceLength)
+    {
+        return new DefaultDoubleArray(data, offset + sliceOffset, sliceLength);
+    }
 }
\ No newline at end of file
@@ -16,25 +16,118 @@ package de.javagl.jdito;
 class Dito
 {
     private static final double epsilon = 0.000001;
+
+    // The thickness of the input, relative to the length of the first edge
+    // of the base triangle, below which the input is considered to be planar
+    private static final double planarEpsilon = 0.001;
+
     private final WritableDoubleArray alMid = DoubleArrays.create(3);
     private final WritableDoubleArray alLen = DoubleArrays.create(3);;
 
+    private final HullPrefilter hullPrefilter = new HullPrefilter();
+    private final CandidateSearch candidates = new CandidateSearch();
+    private final WarmStart warmStart = new WarmStart();
+    private final LocalRefinement refinement = new LocalRefinement();
+
+    void computeOBB(PositionChunks positions, Obb obb)
+    {
+        computeOBB(positions, new JDitoOptions(), obb);
+    }
+
     // Derived from the TypedScript implementation of
     // https://github.com/Esri/dito.ts
     // Derived from the C++ sample implementation of
     // http://www.idt.mdh.se/~tla/publ/FastOBBs.pdf
-    void computeOBB(Attribute positions, Obb obb)
+    void computeOBB(PositionChunks positions, JDitoOptions options, Obb obb)
     {
-        ReadableDoubleArray data = positions.data;
-        int strideIdx = positions.strideIdx;
-        int count = data.length() / strideIdx;
-        if (count <= 0)
+        // The statistics are only collected when there is a listener, so
+        // that the computation does not have any overhead otherwise
+        JDitoListener listener = options.getListener();
+        if (listener == null)
         {
+            _computeOBB(positions, options, obb, null);
             return;
         }
+        JDitoStatistics statistics = new JDitoStatistics();
+        PassCountingPositions countingPositions =
+            new PassCountingPositions(positions);
+        long startNanos = System.nanoTime();
+        _computeOBB(countingPositions, options, obb, statistics);
+        statistics.totalNanos = System.nanoTime() - startNanos;
+        statistics.passCount = countingPositions.getPassCount();
+        if (obb.partial)
+        {
+            statistics.branch = JDitoStatistics.Branch.PARTIAL;
+        }
+        if (statistics.branch != JDitoStatistics.Branch.EMPTY)
+        {
+            Vec.v3scale(bLen, obb.halfSize, 2.0);
+            statistics.quality = _getQualityValue(bLen);
+        }
+        listener.computationFinished(statistics);
+    }
+
+    private void _computeOBB(PositionChunks positions, JDitoOptions options,
+        Obb obb, JDitoStatistics statistics)
+    {
+        // The number of points is only known after the first pass, so an
+        // empty input is detected there
+        obb.partial = false;
+        Deadline deadline = Deadline.of(options);
+
+        // Evaluate the orientation of the previous box, and use the result
+        // if it is not significantly worse than the previous box
+        OrientedBoundingBox warmStartBox = options.getWarmStartBox();
+        if (warmStartBox != null)
+        {
+            warmStart.setSeed(warmStartBox.halfAxes);
+            if (warmStart.evaluate(positions) <= 0)
+            {
+                if (statistics != null)
+                {
+                    statistics.branch = JDitoStatistics.Branch.EMPTY;
+                }
+                return;
+            }
+            double threshold = warmStart.getSeedQuality()
+                * (1.0 + options.getWarmStartTolerance());
+            if (warmStart.getBestQuality() <= threshold)
+            {
+                if (statistics != null)
+                {
+                    statistics.branch = JDitoStatistics.Branch.WARM_START;
+                }
+                Orientation seed = new Orientation();
+                warmStart.getBest(seed, bMin, bMax);
+                Vec.v3subtract(bLen, bMax, bMin);
+                _finalizeOBB(seed.b0, seed.b1, seed.b2, bMin, bMax, bLen, obb);
+                return;
+            }
+            if (deadline.isExpired())
+            {
+                Orientation seed = new Orientation();
+                seed.quality = Double.POSITIVE_INFINITY;
+                _finalizePartialOBB(seed, true, obb);
+                return;
+            }
+        }
 
         // Select seven extremal points along predefined slab directions
         ExtremalPoints extremals = new ExtremalPoints(positions);
+        long count = extremals.count;
+        if (statistics != null)
+        {
+            statistics.extremalPointsNanos = statistics.endPhase();
+            statistics.pointCount = Math.max(0, count);
+        }
+        if (count <= 0)
+        {
+            if (statistics != null)
+            {
+                statistics.branch = JDitoStatistics.Branch.EMPTY;
+            }
+            return;
+        }
 
         // Compute size of AABB (max and min projections of vertices are already
         // computed as slabs 0-2)
@@ -44,16 +137,53 @@ class Dito
         Vec.v3subtract(alLen, extremals.maxProj, extremals.minProj);
 
         double alVal = _getQualityValue(alLen);
+        if (statistics != null)
+        {
+            statistics.aabbQuality = alVal;
+        }
         Orientation best = new Orientation();
         best.quality = alVal;
+        for (int i = 0; i < 3; ++i)
+        {
+            best.min.set(i, extremals.minProj.get(i));
+            best.max.set(i, extremals.maxProj.get(i));
+        }
+        best.extentsKnown = true;
+
+        // The candidate orientations are collected first, and evaluated
+        // with branch-and-bound. The extremal points are used for the
+        // initial lower bounds of the candidates.
+        candidates.clear();
+        for (int i = 0; i < 7; ++i)
+        {
+            candidates.addSample(extremals.minVert[i]);
+            candidates.addSample(extremals.maxVert[i]);
+        }
 
+        // For fewer than 14 points, the search only considers the extremal
+        // points, which do not necessarily include all input points
+        PositionChunks inputPositions = positions;
         if (count < 14)
         {
-            positions = new Attribute();
-            positions.data = DoubleArrays.create(extremals.buffer, 14, 14 * 3);
-            positions.size = 3;
-            positions.offsetIdx = 0;
-            positions.strideIdx = 3;
+            Attribute extremalPositions = new Attribute();
+            extremalPositions.data =
+                DoubleArrays.create(extremals.buffer, 14, 14 * 3);
+            extremalPositions.size = 3;
+            extremalPositions.offsetIdx = 0;
+            extremalPositions.strideIdx = 3;
+            positions = extremalPositions;
+        }
+        else if (options.isPrefilterEnabled())
+        {
+            // Only points on the convex hull can be extremal, so all
+            // further passes can be restricted to these points
+            positions = hullPrefilter.apply(positions);
+        }
+        boolean useWarmStart = warmStartBox != null;
+        if (deadline.isExpired())
+        {
+            _finalizePartialOBB(best, useWarmStart, obb);
+            return;
         }
 
         // Find best OBB axes based on the constructed base triangle
@@ -72,20 +202,99 @@ class Dito
             p1, p2, e0, e1, e2, best, obb))
         {
             case 1:
+                if (statistics != null)
+                {
+                    statistics.axisSearchNanos = statistics.endPhase();
+                    statistics.branch =
+                        JDitoStatistics.Branch.DEGENERATE_POINT;
+                }
                 _finalizeAxisAlignedOBB(alMid, alLen, obb);
                 return;
             case 2:
+                if (statistics != null)
+                {
+                    statistics.axisSearchNanos = statistics.endPhase();
+                    statistics.branch =
+                        JDitoStatistics.Branch.DEGENERATE_LINE;
+                }
                 _finalizeLineAlignedOBB(positions, e0, obb);
+                if (statistics != null)
+                {
+                    statistics.dimensionsNanos = statistics.endPhase();
+                }
                 return;
         }
+        if (deadline.isExpired())
+        {
+            _finalizePartialOBB(best, useWarmStart, obb);
+            return;
+        }
 
         // Find improved OBB axes based on constructed di-tetrahedral shape
         // raised from base triangle
         _findImprovedObbAxesFromUpperAndLowerTetrasOfBaseTriangle(positions, n,
             p0, p1, p2, e0, e1, e2, best, obb);
 
+        // Find the best of all candidate orientations, including the
+        // result of the warm start
+        if (useWarmStart)
+        {
+            Orientation seed = new Orientation();
+            warmStart.getBest(seed, seed.min, seed.max);
+            candidates.addCandidate(seed.b0, seed.b1, seed.b2, seed.quality,
+                seed.min, seed.max);
+        }
+        boolean completed = candidates.search(positions, best, deadline);
+        if (statistics != null)
+        {
+            statistics.candidateCount = candidates.getCandidateCount();
+            statistics.evaluatedCandidateCount =
+                candidates.getEvaluatedCount();
+        }
+        if (!completed)
+        {
+            _finalizePartialOBB(best, useWarmStart, obb);
+            return;
+        }
+
+        // Optionally refine the best orientation with a local search. This
+        // only has to consider the points on the convex hull. The refined
+        // orientation may differ from all candidates, so for fewer than 14
+        // points, it has to be evaluated with all input points.
+        if (options.getRefinementIterations() > 0)
+        {
+            if (count < 14)
+            {
+                positions = inputPositions;
+            }
+            PositionChunks hullPositions = positions;
+            if (!options.isPrefilterEnabled() || count < 14)
+            {
+                hullPositions = hullPrefilter.apply(positions);
+            }
+            refinement.refine(hullPositions, best,
+                options.getRefinementIterations(),
+                options.getRefinementTimeLimitNanos(), deadline);
+        }
+
+        // When the extents of the best orientation are already known, the
+        // last pass can be omitted if the time is up
+        if (best.extentsKnown && deadline.isExpired())
+        {
+            _finalizePartialOBB(best, useWarmStart, obb);
+            return;
+        }
+
         // compute the true obb dimensions by iterating over all vertices
+        if (statistics != null)
+        {
+            statistics.axisSearchNanos = statistics.endPhase();
+        }
         _computeObbDimensions(positions, best.b0, best.b1, best.b2, bMin, bMax);
+        if (statistics != null)
+        {
+            statistics.dimensionsNanos = statistics.endPhase();
+        }
         WritableDoubleArray bLen = DoubleArrays.create(3);
         Vec.v3subtract(bLen, bMax, bMin);
         best.quality = _getQualityValue(bLen);
@@ -94,17 +303,94 @@ class Dito
         if (best.quality < alVal)
         {
             // if so, assign all OBB params
+            if (statistics != null)
+            {
+                statistics.branch = JDitoStatistics.Branch.ORIENTED;
+            }
             _finalizeOBB(best.b0, best.b1, best.b2, bMin, bMax, bLen, obb);
         }
         else
         {
             // otherwise, assign all OBB params using the intial AABB
+            if (statistics != null)
+            {
+                statistics.branch = JDitoStatistics.Branch.AXIS_ALIGNED;
+            }
             _finalizeAxisAlignedOBB(alMid, alLen, obb);
         }
     }
 
+    private final WritableDoubleArray uu = DoubleArrays.create(3);
+    private final WritableDoubleArray uv = DoubleArrays.create(3);
+    private final WritableDoubleArray ub0 = DoubleArrays.create(3);
+    private final WritableDoubleArray ub1 = DoubleArrays.create(3);
+
+    // Compute an OBB whose third axis is the given unit vector. Only the
+    // rotation about this axis is searched, by computing the best rectangle
+    // for the points projected into the plane that is orthogonal to it.
+    void computeUprightOBB(Attribute positions, ReadableDoubleArray up,
+        Obb obb)
+    {
+        ReadableDoubleArray data = positions.data;
+        int strideIdx = positions.strideIdx;
+        int count = data.length() / strideIdx;
+        if (count <= 0)
+        {
+            return;
+        }
+
+        // Build an orthonormal base (uu, uv, up) with uu x uv = up, starting
+        // with the coordinate axis that is least aligned with the up-axis
+        r.set(0, 0.0);
+        r.set(1, 0.0);
+        r.set(2, 0.0);
+        if (Math.abs(up.get(0)) < Math.abs(up.get(1))
+            && Math.abs(up.get(0)) < Math.abs(up.get(2)))
+        {
+            r.set(0, 1.0);
+        }
+        else if (Math.abs(up.get(1)) < Math.abs(up.get(2)))
+        {
+            r.set(1, 1.0);
+        }
+        else
+        {
+            r.set(2, 1.0);
+        }
+        Vec.v3cross(uv, up, r);
+        Vec.v3normalize(uv, uv);
+        Vec.v3cross(uu, uv, up);
+        Vec.v3normalize(uu, uu);
+
+        // The height is the same for all rotations about the up-axis
+        _findExtremalProjs_OneDir(positions, up, minmax);
+        double height = minmax.get(1) - minmax.get(0);
+
+        _computeProjectedHull(positions, uu, uv, hull2D);
+        MinimumRectangle2D.compute(hull2D.getHull(), hull2D.getHullSize(),
+            height, rect);
+
+        // The rectangle directions (rect[0], rect[1]) and (-rect[1], rect[0])
+        // in the base (uu, uv) are b0 and b1 = up x b0
+        ub0.set(0, rect[0] * uu.get(0) + rect[1] * uv.get(0));
+        ub0.set(1, rect[0] * uu.get(1) + rect[1] * uv.get(1));
+        ub0.set(2, rect[0] * uu.get(2) + rect[1] * uv.get(2));
+        Vec.v3normalize(ub0, ub0);
+        Vec.v3cross(ub1, up, ub0);
+        Vec.v3normalize(ub1, ub1);
+
+        bMin.set(0, rect[2]);
+        bMax.set(0, rect[3]);
+        bMin.set(1, rect[4]);
+        bMax.set(1, rect[5]);
+        bMin.set(2, minmax.get(0));
+        bMax.set(2, minmax.get(1));
+        Vec.v3subtract(bLen, bMax, bMin);
+        _finalizeOBB(ub0, ub1, up, bMin, bMax, bLen, obb);
+    }
+
     private int _findBestObbAxesFromBaseTriangle(ExtremalPoints extremals,
-        Attribute positions, WritableDoubleArray n, WritableDoubleArray p0,
+        PositionChunks positions, WritableDoubleArray n, WritableDoubleArray p0,
         WritableDoubleArray p1, WritableDoubleArray p2, WritableDoubleArray e0,
         WritableDoubleArray e1, WritableDoubleArray e2, Orientation best,
         Obb obb)
@@ -145,8 +431,10 @@ class Dito
         Vec.v3cross(n, e1, e0);
         Vec.v3normalize(n, n);
 
-        _findBestObbAxesFromTriangleNormalAndEdgeVectors(positions, n, e0, e1,
-            e2, best);
+        candidates.addSample(p0);
+        candidates.addSample(p1);
+        candidates.addSample(p2);
+        _addObbAxesCandidatesFromTriangleNormalAndEdgeVectors(n, e0, e1, e2);
         return 0; // success
     }
 
@@ -164,7 +452,7 @@ class Dito
     private final WritableDoubleArray n2 = DoubleArrays.create(3);
 
     private void _findImprovedObbAxesFromUpperAndLowerTetrasOfBaseTriangle(
-        Attribute positions, ReadableDoubleArray n, ReadableDoubleArray p0,
+        PositionChunks positions, ReadableDoubleArray n, ReadableDoubleArray p0,
         ReadableDoubleArray p1, ReadableDoubleArray p2, ReadableDoubleArray e0,
         ReadableDoubleArray e1, ReadableDoubleArray e2, Orientation best,
         Obb obb)
@@ -173,10 +461,20 @@ class Dito
         // for tetra constructions
         _findUpperLowerTetraPoints(positions, n, p0, p1, p2, q0, q1);
 
+        // For (nearly) planar inputs, compute the exact minimum-area
+        // rectangle in the plane of the base triangle
+        double thickness = projRange.get(1) - projRange.get(0);
+        double diameter = Math.sqrt(Vec.v3squaredDistance(p0, p1));
+        if (thickness <= planarEpsilon * diameter)
+        {
+            _addObbAxesCandidateInPlane(positions, n, e0, thickness);
+        }
+
         // For each valid point found, search for the best OBB axes based on the
         // 3 arising triangles
         if (!Double.isNaN(q0.get(0)))
         {
+            candidates.addSample(q0);
             Vec.v3subtract(f0, q0, p0);
             Vec.v3normalize(f0, f0);
             Vec.v3subtract(f1, q0, p1);
@@ -191,15 +489,16 @@ class Dito
             Vec.v3cross(n2, f0, e2);
             Vec.v3normalize(n2, n2);
 
-            _findBestObbAxesFromTriangleNormalAndEdgeVectors(positions, n0, e0,
-                f1, f0, best);
-            _findBestObbAxesFromTriangleNormalAndEdgeVectors(positions, n1, e1,
-                f2, f1, best);
-            _findBestObbAxesFromTriangleNormalAndEdgeVectors(positions, n2, e2,
-                f0, f2, best);
+            _addObbAxesCandidatesFromTriangleNormalAndEdgeVectors(n0, e0, f1,
+                f0);
+            _addObbAxesCandidatesFromTriangleNormalAndEdgeVectors(n1, e1, f2,
+                f1);
+            _addObbAxesCandidatesFromTriangleNormalAndEdgeVectors(n2, e2, f0,
+                f2);
         }
         if (!Double.isNaN(q1.get(0)))
         {
+            candidates.addSample(q1);
             Vec.v3subtract(f0, q1, p0);
             Vec.v3normalize(f0, f0);
             Vec.v3subtract(f1, q1, p1);
@@ -214,12 +513,12 @@ class Dito
             Vec.v3cross(n2, f0, e2);
             Vec.v3normalize(n2, n2);
 
-            _findBestObbAxesFromTriangleNormalAndEdgeVectors(positions, n0, e0,
-                f1, f0, best);
-            _findBestObbAxesFromTriangleNormalAndEdgeVectors(positions, n1, e1,
-                f2, f1, best);
-            _findBestObbAxesFromTriangleNormalAndEdgeVectors(positions, n2, e2,
-                f0, f2, best);
+            _addObbAxesCandidatesFromTriangleNormalAndEdgeVectors(n0, e0, f1,
+                f0);
+            _addObbAxesCandidatesFromTriangleNormalAndEdgeVectors(n1, e1, f2,
+                f1);
+            _addObbAxesCandidatesFromTriangleNormalAndEdgeVectors(n2, e2, f0,
+                f2);
         }
     }
 
@@ -246,44 +545,53 @@ class Dito
 
     private final WritableDoubleArray u0 = DoubleArrays.create(3);
 
-    private double _findFurthestPointFromInfiniteEdge(Attribute positions,
+    private double _findFurthestPointFromInfiniteEdge(PositionChunks positions,
         ReadableDoubleArray p0, ReadableDoubleArray e0, WritableDoubleArray p)
     {
-        ReadableDoubleArray data = positions.data;
-        int offsetIdx = positions.offsetIdx;
-        int strideIdx = positions.strideIdx;
-
         double maxDist2 = Double.NEGATIVE_INFINITY;
-        int maxIndex = 0;
-
-        for (int i = offsetIdx; i < data.length(); i += strideIdx)
-        {
-            // inlined _dist2PointInfiniteEdge
-            u0.set(0, data.get(i) - p0.get(0));
-            u0.set(1, data.get(i + 1) - p0.get(1));
-            u0.set(2, data.get(i + 2) - p0.get(2));
-            double t = e0.get(0) * u0.get(0) + e0.get(1) * u0.get(1)
-                + e0.get(2) * u0.get(2);
-            double sqLen_e0 = e0.get(0) * e0.get(0) + e0.get(1) * e0.get(1)
-                + e0.get(2) * e0.get(2);
-            double sqLen_u0 = u0.get(0) * u0.get(0) + u0.get(1) * u0.get(1)
-                + u0.get(2) * u0.get(2);
-            double dist2 = sqLen_u0 - (t * t) / sqLen_e0;
+        double maxX = 0.0;
+        double maxY = 0.0;
+        double maxZ = 0.0;
 
-            if (dist2 > maxDist2)
+        for (int c = 0; c < positions.getChunkCount(); c++)
+        {
+            Attribute chunk = positions.getChunk(c);
+            ReadableDoubleArray data = chunk.data;
+            int offsetIdx = chunk.offsetIdx;
+            int strideIdx = chunk.strideIdx;
+            for (int i = offsetIdx; i < data.length(); i += strideIdx)
             {
-                maxDist2 = dist2;
-                maxIndex = i;
+                // inlined _dist2PointInfiniteEdge
+                u0.set(0, data.get(i) - p0.get(0));
+                u0.set(1, data.get(i + 1) - p0.get(1));
+                u0.set(2, data.get(i + 2) - p0.get(2));
+                double t = e0.get(0) * u0.get(0) + e0.get(1) * u0.get(1)
+                    + e0.get(2) * u0.get(2);
+                double sqLen_e0 = e0.get(0) * e0.get(0)
+                    + e0.get(1) * e0.get(1) + e0.get(2) * e0.get(2);
+                double sqLen_u0 = u0.get(0) * u0.get(0)
+                    + u0.get(1) * u0.get(1) + u0.get(2) * u0.get(2);
+                double dist2 = sqLen_u0 - (t * t) / sqLen_e0;
+
+                if (dist2 > maxDist2)
+                {
+                    maxDist2 = dist2;
+                    maxX = data.get(i);
+                    maxY = data.get(i + 1);
+                    maxZ = data.get(i + 2);
+                }
             }
         }
 
-        Vec.v3copy(p, data, maxIndex);
+        p.set(0, maxX);
+        p.set(1, maxY);
+        p.set(2, maxZ);
         return maxDist2;
     }
 
     private final WritableDoubleArray minmax = DoubleArrays.create(2);
 
-    private void _findUpperLowerTetraPoints(Attribute positions,
+    private void _findUpperLowerTetraPoints(PositionChunks positions,
         ReadableDoubleArray n, ReadableDoubleArray p0, ReadableDoubleArray p1,
         ReadableDoubleArray p2, WritableDoubleArray q0, WritableDoubleArray q1)
     {
@@ -303,13 +611,11 @@ class Dito
     private final WritableDoubleArray m0 = DoubleArrays.create(3);
     private final WritableDoubleArray m1 = DoubleArrays.create(3);
     private final WritableDoubleArray m2 = DoubleArrays.create(3);
-    private final WritableDoubleArray dmax = DoubleArrays.create(3);
-    private final WritableDoubleArray dmin = DoubleArrays.create(3);
-    private final WritableDoubleArray dlen = DoubleArrays.create(3);
-
-    private void _findBestObbAxesFromTriangleNormalAndEdgeVectors(
-        Attribute positions, ReadableDoubleArray n, ReadableDoubleArray e0,
-        ReadableDoubleArray e1, ReadableDoubleArray e2, Orientation best)
+    // Add the candidates for the given triangle normal and edge vectors.
+    // The candidates are evaluated later, in the CandidateSearch.
+    private void _addObbAxesCandidatesFromTriangleNormalAndEdgeVectors(
+        ReadableDoubleArray n, ReadableDoubleArray e0, ReadableDoubleArray e1,
+        ReadableDoubleArray e2)
     {
         if (Vec.v3squaredLength(n) < epsilon)
         {
@@ -321,92 +627,193 @@ class Dito
         Vec.v3cross(m2, e2, n);
 
         // The operands are assumed to be orthogonal and unit normals
-        _findExtremalProjs_OneDir(positions, n, minmax);
-        dmin.set(1, minmax.get(0));
-        dmax.set(1, minmax.get(1));
-        dlen.set(1, dmax.get(1) - dmin.get(1));
-
-        ReadableDoubleArray[] edges = new ReadableDoubleArray[]
-        { e0, e1, e2 };
-        ReadableDoubleArray[] ems = new ReadableDoubleArray[]
-        { m0, m1, m2 };
-
-        for (int i = 0; i < 3; ++i)
-        {
-            _findExtremalProjs_OneDir(positions, edges[i], minmax);
-            dmin.set(0, minmax.get(0));
-            dmax.set(0, minmax.get(1));
-
-            _findExtremalProjs_OneDir(positions, ems[i], minmax);
-            dmin.set(2, minmax.get(0));
-            dmax.set(2, minmax.get(1));
-
-            dlen.set(0, dmax.get(0) - dmin.get(0));
-            dlen.set(2, dmax.get(2) - dmin.get(2));
-            double quality = _getQualityValue(dlen);
-
-            if (quality < best.quality)
-            {
-                Vec.v3copy(best.b0, edges[i]);
-                Vec.v3copy(best.b1, n);
-                Vec.v3copy(best.b2, ems[i]);
-                best.quality = quality;
-            }
-        }
+        int triangle = candidates.addTriangle(n);
+        candidates.addCandidate(triangle, e0, m0);
+        candidates.addCandidate(triangle, e1, m1);
+        candidates.addCandidate(triangle, e2, m2);
     }
 
     private final ReadableDoubleArray point = DoubleArrays.create(3);
 
-    private static void _findExtremalProjs_OneDir(Attribute positions,
+    // Package-private for the kernel benchmarks
+    static void _findExtremalProjs_OneDir(PositionChunks positions,
         ReadableDoubleArray n, WritableDoubleArray minmax)
     {
-        ReadableDoubleArray data = positions.data;
-        int offsetIdx = positions.offsetIdx;
-        int strideIdx = positions.strideIdx;
-
         minmax.set(0, Double.POSITIVE_INFINITY);
         minmax.set(1, Double.NEGATIVE_INFINITY);
 
-        for (int i = offsetIdx; i < data.length(); i += strideIdx)
+        for (int c = 0; c < positions.getChunkCount(); c++)
         {
-            // opt: inline dot product
-            double proj = data.get(i) * n.get(0) + data.get(i + 1) * n.get(1)
-                + data.get(i + 2) * n.get(2);
-            minmax.set(0, Math.min(minmax.get(0), proj));
-            minmax.set(1, Math.max(minmax.get(1), proj));
+            Attribute chunk = positions.getChunk(c);
+            ReadableDoubleArray data = chunk.data;
+            int offsetIdx = chunk.offsetIdx;
+            int strideIdx = chunk.strideIdx;
+            for (int i = offsetIdx; i < data.length(); i += strideIdx)
+            {
+                // opt: inline dot product
+                double proj = data.get(i) * n.get(0)
+                    + data.get(i + 1) * n.get(1) + data.get(i + 2) * n.get(2);
+                minmax.set(0, Math.min(minmax.get(0), proj));
+                minmax.set(1, Math.max(minmax.get(1), proj));
+            }
         }
     }
 
-    private void _findExtremalPoints_OneDir(Attribute positions,
+    private final WritableDoubleArray projRange = DoubleArrays.create(2);
+
+    private void _findExtremalPoints_OneDir(PositionChunks positions,
         ReadableDoubleArray n, WritableDoubleArray minmax,
         WritableDoubleArray minVert, WritableDoubleArray maxVert)
     {
-        ReadableDoubleArray data = positions.data;
-        int offsetIdx = positions.offsetIdx;
-        int strideIdx = positions.strideIdx;
+        // The first point of the first nonempty chunk initializes the
+        // extremal points
+        boolean initialized = false;
+        double projMin = 0.0;
+        double projMax = 0.0;
+        for (int c = 0; c < positions.getChunkCount(); c++)
+        {
+            Attribute chunk = positions.getChunk(c);
+            ReadableDoubleArray data = chunk.data;
+            int offsetIdx = chunk.offsetIdx;
+            int strideIdx = chunk.strideIdx;
+            int start = offsetIdx;
+            if (!initialized && start < data.length())
+            {
+                Vec.v3copy(minVert, data, start);
+                Vec.v3copy(maxVert, minVert);
+
+                minmax.set(0, Vec.v3dot(point, n));
+                minmax.set(1, minmax.get(0));
+
+                // Note: The minmax values start at the projection of the
+                // origin (as in the original implementation), and may
+                // therefore not be the actual range of the projections. This
+                // range is tracked separately.
+                projMin = Vec.v3dot(minVert, n);
+                projMax = projMin;
+                initialized = true;
+                start += strideIdx;
+            }
+            for (int i = start; i < data.length(); i += strideIdx)
+            {
+                double proj = data.get(i) * n.get(0)
+                    + data.get(i + 1) * n.get(1) + data.get(i + 2) * n.get(2);
+                projMin = Math.min(projMin, proj);
+                projMax = Math.max(projMax, proj);
+
+                if (proj < minmax.get(0))
+                {
+                    minmax.set(0, proj);
+                    Vec.v3copy(minVert, data, i);
+                }
+                if (proj > minmax.get(1))
+                {
+                    minmax.set(1, proj);
+                    Vec.v3copy(maxVert, data, i);
+                }
+            }
+        }
+        projRange.set(0, projMin);
+        projRange.set(1, projMax);
+    }
 
-        Vec.v3copy(minVert, data, offsetIdx);
-        Vec.v3copy(maxVert, minVert);
+    private final ConvexHull2D hull2D = new ConvexHull2D();
+    private final double rect[] = new double[6];
+    private final WritableDoubleArray pu = DoubleArrays.create(3);
+    private final WritableDoubleArray pv = DoubleArrays.create(3);
 
-        minmax.set(0, Vec.v3dot(point, n));
-        minmax.set(1, minmax.get(0));
+    // Add the candidate for the best OBB axes for points that are (nearly)
+    // located in the plane with the given normal, using the exact
+    // minimum-area rectangle of the points projected into this plane
+    private void _addObbAxesCandidateInPlane(PositionChunks positions,
+        ReadableDoubleArray n, ReadableDoubleArray e0, double thickness)
+    {
+        // The edge vector is orthogonal to the normal
+        Vec.v3copy(pu, e0);
+        Vec.v3cross(pv, e0, n);
+        Vec.v3normalize(pv, pv);
+
+        _computeProjectedHull(positions, pu, pv, hull2D);
+        double quality = MinimumRectangle2D.compute(hull2D.getHull(),
+            hull2D.getHullSize(), thickness, rect);
+
+        // b0 is the first rectangle side, b2 is b0 x n, as for the
+        // candidates from the triangle edges
+        ub0.set(0, rect[0] * pu.get(0) + rect[1] * pv.get(0));
+        ub0.set(1, rect[0] * pu.get(1) + rect[1] * pv.get(1));
+        ub0.set(2, rect[0] * pu.get(2) + rect[1] * pv.get(2));
+        Vec.v3normalize(ub0, ub0);
+        Vec.v3cross(ub1, ub0, n);
+        Vec.v3normalize(ub1, ub1);
+        candidates.addCandidate(ub0, n, ub1, quality, null, null);
+    }
 
-        for (int i = offsetIdx + strideIdx; i < data.length(); i += strideIdx)
+    // Compute the convex hull of the points projected on the plane that is
+    // spanned by the given unit vectors. The points that are strictly inside
+    // the octagon of the extremal points are discarded in a first pass, so
+    // that only the remaining points have to be stored and sorted.
+    private static void _computeProjectedHull(PositionChunks positions,
+        ReadableDoubleArray u, ReadableDoubleArray v, ConvexHull2D hull)
+    {
+        double u0 = u.get(0);
+        double u1 = u.get(1);
+        double u2 = u.get(2);
+        double v0 = v.get(0);
+        double v1 = v.get(1);
+        double v2 = v.get(2);
+
+        hull.clear();
+        for (int c = 0; c < positions.getChunkCount(); c++)
         {
-            double proj = data.get(i) * n.get(0) + data.get(i + 1) * n.get(1)
-                + data.get(i + 2) * n.get(2);
-
-            if (proj < minmax.get(0))
+            Attribute chunk = positions.getChunk(c);
+            ReadableDoubleArray data = chunk.data;
+            int offsetIdx = chunk.offsetIdx;
+            int strideIdx = chunk.strideIdx;
+            for (int i = offsetIdx; i < data.length(); i += strideIdx)
             {
-                minmax.set(0, proj);
-                Vec.v3copy(minVert, data, i);
+                double x = data.get(i);
+                double y = data.get(i + 1);
+                double z = data.get(i + 2);
+                hull.include(x * u0 + y * u1 + z * u2,
+                    x * v0 + y * v1 + z * v2);
             }
-            if (proj > minmax.get(1))
+        }
+        hull.finishFilter();
+        for (int c = 0; c < positions.getChunkCount(); c++)
+        {
+            Attribute chunk = positions.getChunk(c);
+            ReadableDoubleArray data = chunk.data;
+            int offsetIdx = chunk.offsetIdx;
+            int strideIdx = chunk.strideIdx;
+            for (int i = offsetIdx; i < data.length(); i += strideIdx)
             {
-                minmax.set(1, proj);
-                Vec.v3copy(maxVert, data, i);
+                double x = data.get(i);
+                double y = data.get(i + 1);
+                double z = data.get(i + 2);
+                double px = x * u0 + y * u1 + z * u2;
+                double py = x * v0 + y * v1 + z * v2;
+                if (!hull.isInterior(px, py))
+                {
+                    hull.add(px, py);
+                }
             }
         }
+        hull.compute();
+    }
+
+    // Assign all OBB params from the given orientation, for which the
+    // extents must be known, or from the result of the warm start, if it
+    // is better, and mark the OBB as partial
+    private void _finalizePartialOBB(Orientation best, boolean useWarmStart,
+        Obb obb)
+    {
+        if (useWarmStart && warmStart.getBestQuality() < best.quality)
+        {
+            warmStart.getBest(best, best.min, best.max);
+        }
+        Vec.v3subtract(bLen, best.max, best.min);
+        _finalizeOBB(best.b0, best.b1, best.b2, best.min, best.max, bLen, obb);
+        obb.partial = true;
     }
 
     private static void _finalizeAxisAlignedOBB(ReadableDoubleArray mid,
@@ -429,7 +836,7 @@ class Dito
 
     // This function is only called if the construction of the large base
     // triangle fails
-    private void _finalizeLineAlignedOBB(Attribute positions,
+    private void _finalizeLineAlignedOBB(PositionChunks positions,
         ReadableDoubleArray u, Obb obb)
     {
         // Given u, build any orthonormal base u, v, w
@@ -467,7 +874,7 @@ class Dito
         _finalizeOBB(u, v, w, bMin, bMax, bLen, obb);
     }
 
-    private void _computeObbDimensions(Attribute positions,
+    private void _computeObbDimensions(PositionChunks positions,
         ReadableDoubleArray v0, ReadableDoubleArray v1, ReadableDoubleArray v2,
         WritableDoubleArray min, WritableDoubleArray max)
     {
@@ -9,6 +9,9 @@
  */
 package de.javagl.jdito;
 
+import java.nio.DoubleBuffer;
+import java.util.List;
+
 /**
  * Utility methods related to {@link ReadableDoubleArray} instances.
  */
@@ -25,6 +28,42 @@ public class DoubleArrays
         return create(array);
     }
 
+    /**
+     * Creates a new {@link ReadableDoubleArray} for the elements between the
+     * position and the limit of the given buffer.
+     * 
+     * The returned array is a view on the buffer. Changes of the position or
+     * limit of the buffer do not affect the returned array.
+     * 
+     * @param buffer The buffer
+     * @return The {@link ReadableDoubleArray}
+     */
+    public static ReadableDoubleArray fromBuffer(DoubleBuffer buffer)
+    {
+        DoubleBuffer slice = buffer.slice();
+        return new DoubleBufferDoubleArray(slice, 0, slice.capacity());
+    }
+
+    /**
+     * Creates a new {@link LargeDoubleArray} for the elements between the
+     * positions and limits of the given buffers, which are treated as one
+     * contiguous sequence.
+     * 
+     * This can be used for data that is stored in multiple memory-mapped
+     * files or file regions. The coordinates of a single point may be
+     * distributed over two consecutive buffers. The returned array is a view
+     * on the buffers. Changes of the positions or limits of the buffers, or
+     * of the given list, do not affect the returned array.
+     * 
+     * @param buffers The buffers
+     * @return The {@link LargeDoubleArray}
+     */
+    public static LargeDoubleArray fromBuffers(
+        List<? extends DoubleBuffer> buffers)
+    {
+        return new BufferListDoubleArray(buffers);
+    }
+
     /**
      * Creates a new {@link WritableDoubleArray} with the given length
      * 
@@ -61,6 +100,44 @@ public class DoubleArrays
         return new DefaultDoubleArray(data, offset, length);
     }
 
+    /**
+     * Creates a new {@link ReadableDoubleArray} that is a view on the
+     * specified slice of the given array
+     * 
+     * @param data The array
+     * @param offset The offset
+     * @param length The length
+     * @return The {@link ReadableDoubleArray}
+     */
+    static ReadableDoubleArray slice(ReadableDoubleArray data, int offset,
+        int length)
+    {
+        if (data instanceof DefaultDoubleArray)
+        {
+            return ((DefaultDoubleArray) data).slice(offset, length);
+        }
+        return new SliceDoubleArray(data, offset, length);
+    }
+
+    /**
+     * Creates a new {@link ReadableDoubleArray} that is a view on the
+     * specified slice of the given array
+     * 
+     * @param data The array
+     * @param offset The offset
+     * @param length The length
+     * @return The {@link ReadableDoubleArray}
+     */
+    static ReadableDoubleArray slice(LargeDoubleArray data, long offset,
+        int length)
+    {
+        if (data instanceof BufferListDoubleArray)
+        {
+            return ((BufferListDoubleArray) data).slice(offset, length);
+        }
+        return new LargeSliceDoubleArray(data, offset, length);
+    }
+
     /**
      * Returns a plain double array from the given instance
      * 
@@ -0,0 +1,61 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+import java.nio.DoubleBuffer;
+
+/**
+ * Implementation of a {@link ReadableDoubleArray} that is backed by a
+ * <code>DoubleBuffer</code>
+ */
+class DoubleBufferDoubleArray implements ReadableDoubleArray
+{
+    /**
+     * The backing buffer
+     */
+    private final DoubleBuffer buffer;
+
+    /**
+     * The offset into the buffer
+     */
+    private final int offset;
+
+    /**
+     * The length of this array
+     */
+    private final int length;
+
+    /**
+     * Creates a new instance that is backed by the specified slice of the
+     * given buffer. The indices refer to absolute positions in the buffer.
+     * 
+     * @param buffer The buffer
+     * @param offset The offset
+     * @param length The length
+     */
+    DoubleBufferDoubleArray(DoubleBuffer buffer, int offset, int length)
+    {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public double get(int index)
+    {
+        return buffer.get(index + offset);
+    }
+
+    @Override
+    public int length()
+    {
+        return length;
+    }
+}
@@ -23,7 +23,10 @@ class ExtremalPoints
     final WritableDoubleArray minVert[] = new WritableDoubleArray[numPoints];
     final WritableDoubleArray maxVert[] = new WritableDoubleArray[numPoints];
 
-    ExtremalPoints(Attribute positions)
+    // The number of points
+    final long count;
+
+    ExtremalPoints(PositionChunks positions)
     {
         // setup storage
         int bufferSize = numPoints * (1 + 1 + 3 + 3);
@@ -53,27 +56,46 @@ class ExtremalPoints
             this.minProj.set(i, Double.POSITIVE_INFINITY);
             this.maxProj.set(i, Double.NEGATIVE_INFINITY);
         }
-        int minIndices[] = new int[numPoints];
-        int maxIndices[] = new int[numPoints];
-
-        ReadableDoubleArray data = positions.data;
-        int offsetIdx = positions.offsetIdx;
-        int strideIdx = positions.strideIdx;
-
         // find extremal points
+        long n = 0;
+        for (int c = 0; c < positions.getChunkCount(); c++)
+        {
+            Attribute chunk = positions.getChunk(c);
+            n += findExtremalPoints(chunk);
+        }
+        this.count = n;
+        // Note: Normalization of the extremal projection values can be done
+        // here.
+        // DiTO-14 only needs the extremal vertices, and the extremal
+        // projection values for slab 0-2 (to set the initial AABB).
+        // Since unit normals are used for slab 0-2, no normalization is
+        // needed.
+    }
+
+    // Update the extremal points with the points of the given chunk, and
+    // return the number of points in the chunk. The vertices are copied
+    // when they are found, because the chunk may no longer be available
+    // later.
+    private long findExtremalPoints(Attribute chunk)
+    {
+        ReadableDoubleArray data = chunk.data;
+        int offsetIdx = chunk.offsetIdx;
+        int strideIdx = chunk.strideIdx;
+        long n = 0;
         for (int i = offsetIdx; i < data.length(); i += strideIdx)
         {
+            n++;
             // Slab 0: dir {1, 0, 0}
             double proj = data.get(i);
             if (proj < this.minProj.get(0))
             {
                 this.minProj.set(0, proj);
-                minIndices[0] = i;
+                Vec.v3copy(this.minVert[0], data, i);
             }
             if (proj > this.maxProj.get(0))
             {
                 this.maxProj.set(0, proj);
-                maxIndices[0] = i;
+                Vec.v3copy(this.maxVert[0], data, i);
             }
 
             // Slab 1: dir {0, 1, 0}
@@ -81,12 +103,12 @@ class ExtremalPoints
             if (proj < this.minProj.get(1))
             {
                 this.minProj.set(1, proj);
-                minIndices[1] = i;
+                Vec.v3copy(this.minVert[1], data, i);
             }
             if (proj > this.maxProj.get(1))
             {
                 this.maxProj.set(1, proj);
-                maxIndices[1] = i;
+                Vec.v3copy(this.maxVert[1], data, i);
             }
 
             // Slab 2: dir {0, 0, 1}
@@ -94,12 +116,12 @@ class ExtremalPoints
             if (proj < this.minProj.get(2))
             {
                 this.minProj.set(2, proj);
-                minIndices[2] = i;
+                Vec.v3copy(this.minVert[2], data, i);
             }
             if (proj > this.maxProj.get(2))
             {
                 this.maxProj.set(2, proj);
-                maxIndices[2] = i;
+                Vec.v3copy(this.maxVert[2], data, i);
             }
 
             // Slab 3: dir {1, 1, 1}
@@ -107,12 +129,12 @@ class ExtremalPoints
             if (proj < this.minProj.get(3))
             {
                 this.minProj.set(3, proj);
-                minIndices[3] = i;
+                Vec.v3copy(this.minVert[3], data, i);
             }
             if (proj > this.maxProj.get(3))
             {
                 this.maxProj.set(3, proj);
-                maxIndices[3] = i;
+                Vec.v3copy(this.maxVert[3], data, i);
             }
 
             // Slab 4: dir {1, 1, -1}
@@ -120,12 +142,12 @@ class ExtremalPoints
             if (proj < this.minProj.get(4))
             {
                 this.minProj.set(4, proj);
-                minIndices[4] = i;
+                Vec.v3copy(this.minVert[4], data, i);
             }
             if (proj > this.maxProj.get(4))
             {
                 this.maxProj.set(4, proj);
-                maxIndices[4] = i;
+                Vec.v3copy(this.maxVert[4], data, i);
             }
 
             // Slab 5: dir {1, -1, 1}
@@ -133,12 +155,12 @@ class ExtremalPoints
             if (proj < this.minProj.get(5))
             {
                 this.minProj.set(5, proj);
-                minIndices[5] = i;
+                Vec.v3copy(this.minVert[5], data, i);
             }
             if (proj > this.maxProj.get(5))
             {
                 this.maxProj.set(5, proj);
-                maxIndices[5] = i;
+                Vec.v3copy(this.maxVert[5], data, i);
             }
 
             // Slab 6: dir {1, -1, -1}
@@ -146,27 +168,14 @@ class ExtremalPoints
             if (proj < this.minProj.get(6))
             {
                 this.minProj.set(6, proj);
-                minIndices[6] = i;
+                Vec.v3copy(this.minVert[6], data, i);
             }
             if (proj > this.maxProj.get(6))
             {
                 this.maxProj.set(6, proj);
-                maxIndices[6] = i;
+                Vec.v3copy(this.maxVert[6], data, i);
             }
         }
-
-        for (int i = 0; i < numPoints; ++i)
-        {
-            int index = minIndices[i];
-            Vec.v3copy(this.minVert[i], data, index);
-            index = maxIndices[i];
-            Vec.v3copy(this.maxVert[i], data, index);
-        }
-        // Note: Normalization of the extremal projection values can be done
-        // here.
-        // DiTO-14 only needs the extremal vertices, and the extremal
-        // projection values for slab 0-2 (to set the initial AABB).
-        // Since unit normals are used for slab 0-2, no normalization is
-        // needed.
+        return n;
     }
 }
\ No newline at end of file
@@ -0,0 +1,505 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+import java.util.Arrays;
+
+/**
+ * A class for reducing a set of 3D points to a subset that has the same
+ * convex hull.
+ * 
+ * The extremal points along 13 fixed directions (the vertices of a 26-DOP)
+ * are computed in a first pass. Their convex hull is computed with a brute
+ * force approach, which is cheap for at most 26 points. In a second pass,
+ * all points that are strictly inside of this hull are discarded, because
+ * they cannot be extremal along any direction. The remaining points are
+ * copied into a compact buffer, in their original order.
+ * 
+ * The hull planes are computed and tested relative to the center of the
+ * bounding box of the extremal points, so that their rounding errors only
+ * depend on the size of the point set, and not on its distance to the
+ * origin. The planes are shifted inwards by an upper bound for these
+ * errors, so that points are only discarded when they are guaranteed to be
+ * inside of the convex hull of the input. Additionally, they are shifted
+ * inwards by a bound for the rounding errors of the projections that are
+ * computed in {@link Dito}, which depend on the magnitude of the
+ * coordinates. Otherwise, a point that is inside of the hull could still
+ * be considered as an extremal point there, and the result would differ.
+ * 
+ * Instances of this class may be re-used, and will retain their storage.
+ */
+class HullPrefilter
+{
+    /**
+     * The number of directions
+     */
+    private static final int NUM_DIRECTIONS = 13;
+
+    /**
+     * The directions for which the extremal points are computed
+     */
+    private static final double DIRECTIONS[] =
+    {
+        1, 0, 0,
+        0, 1, 0,
+        0, 0, 1,
+        1, 1, 1,
+        1, 1, -1,
+        1, -1, 1,
+        1, -1, -1,
+        1, 1, 0,
+        1, -1, 0,
+        1, 0, 1,
+        1, 0, -1,
+        0, 1, 1,
+        0, 1, -1,
+    };
+
+    /**
+     * The maximum number of extremal points
+     */
+    private static final int MAX_VERTICES = NUM_DIRECTIONS * 2;
+
+    /**
+     * The relative tolerance for the distance of a point to a plane
+     */
+    private static final double PLANE_EPSILON = 1e-12;
+
+    /**
+     * The factor for the rounding error bound of a plane that is computed
+     * from three points
+     */
+    private static final double ROUNDING_EPSILON = 1e-13;
+
+    /**
+     * The tolerance for the distance of a point to a plane, relative to the
+     * maximum absolute coordinate of the points
+     */
+    private static final double COORDINATE_EPSILON = 1e-14;
+
+    /**
+     * The minimum and maximum projections along the directions
+     */
+    private final double proj[] = new double[MAX_VERTICES];
+
+    /**
+     * The identifiers of the points with the minimum and maximum
+     * projections along the directions, consisting of the chunk index in
+     * the upper and the index in the chunk in the lower 32 bits
+     */
+    private final long ids[] = new long[MAX_VERTICES];
+
+    /**
+     * The points with the minimum and maximum projections along the
+     * directions, as (x,y,z) coordinates
+     */
+    private final double extremalPoints[] = new double[MAX_VERTICES * 3];
+
+    /**
+     * The origin relative to which the planes are computed and tested, as
+     * (x,y,z) coordinates
+     */
+    private final double origin[] = new double[3];
+
+    /**
+     * The distinct extremal points, as (x,y,z) coordinates, relative to the
+     * origin
+     */
+    private final double vertices[] = new double[MAX_VERTICES * 3];
+
+    /**
+     * The number of distinct extremal points
+     */
+    private int vertexCount;
+
+    /**
+     * The planes of the hull, as (nx, ny, nz, d) elements, where a point
+     * <code>p</code> is inside when <code>dot(n, p - origin) &lt; d</code>
+     */
+    private double planes[] = new double[64 * 4];
+
+    /**
+     * For each plane, the bit mask of the extremal points that are located
+     * on the plane
+     */
+    private long planeMasks[] = new long[64];
+
+    /**
+     * The number of planes
+     */
+    private int planeCount;
+
+    /**
+     * The buffer for the remaining points
+     */
+    private double buffer[] = new double[0];
+
+    /**
+     * Reduce the given positions to a subset that has the same convex hull.
+     * 
+     * If no points can be discarded, then the given positions will be
+     * returned. Otherwise, the result will contain all points that are not
+     * strictly inside of the convex hull of the extremal points, in their
+     * original order. The first point will always be contained in the result.
+     * The result is stored in memory, even when the given positions consist
+     * of multiple chunks.
+     * 
+     * The returned positions refer to the internal buffer of this instance,
+     * and is only valid until the next call.
+     * 
+     * @param positions The positions
+     * @return The reduced positions
+     */
+    PositionChunks apply(PositionChunks positions)
+    {
+        long count = findExtremalPoints(positions);
+        if (!computePlanes())
+        {
+            return positions;
+        }
+
+        // The first point is always kept, because the extremal point
+        // search in Dito starts with this point
+        int n = 0;
+        boolean first = true;
+        for (int c = 0; c < positions.getChunkCount(); c++)
+        {
+            Attribute chunk = positions.getChunk(c);
+            ReadableDoubleArray data = chunk.data;
+            int offsetIdx = chunk.offsetIdx;
+            int strideIdx = chunk.strideIdx;
+            for (int i = offsetIdx; i < data.length(); i += strideIdx)
+            {
+                double x = data.get(i);
+                double y = data.get(i + 1);
+                double z = data.get(i + 2);
+                if (first || !isInterior(x, y, z))
+                {
+                    if (buffer.length < (n + 1) * 3)
+                    {
+                        int capacity = (int) Math.min(count,
+                            Math.max(n * 2L, 1024L));
+                        buffer = Arrays.copyOf(buffer, capacity * 3);
+                    }
+                    buffer[n * 3 + 0] = x;
+                    buffer[n * 3 + 1] = y;
+                    buffer[n * 3 + 2] = z;
+                    n++;
+                    first = false;
+                }
+            }
+        }
+        if (n == count)
+        {
+            return positions;
+        }
+        Attribute result = new Attribute();
+        result.data = DoubleArrays.create(buffer, 0, n * 3);
+        result.size = 3;
+        result.offsetIdx = 0;
+        result.strideIdx = 3;
+        return result;
+    }
+
+    /**
+     * Find the distinct extremal points of the given positions along all
+     * directions.
+     * 
+     * The extremal points are identified by their chunk index and their
+     * index in the chunk, and their coordinates are copied when they are
+     * found.
+     * 
+     * @param positions The positions
+     * @return The number of points
+     */
+    private long findExtremalPoints(PositionChunks positions)
+    {
+        for (int d = 0; d < NUM_DIRECTIONS; d++)
+        {
+            proj[d * 2 + 0] = Double.POSITIVE_INFINITY;
+            proj[d * 2 + 1] = Double.NEGATIVE_INFINITY;
+        }
+        Arrays.fill(ids, -1L);
+        long count = 0;
+        for (int c = 0; c < positions.getChunkCount(); c++)
+        {
+            Attribute chunk = positions.getChunk(c);
+            ReadableDoubleArray data = chunk.data;
+            int offsetIdx = chunk.offsetIdx;
+            int strideIdx = chunk.strideIdx;
+            for (int i = offsetIdx; i < data.length(); i += strideIdx)
+            {
+                double x = data.get(i);
+                double y = data.get(i + 1);
+                double z = data.get(i + 2);
+                for (int d = 0; d < NUM_DIRECTIONS; d++)
+                {
+                    double p = x * DIRECTIONS[d * 3 + 0]
+                        + y * DIRECTIONS[d * 3 + 1]
+                        + z * DIRECTIONS[d * 3 + 2];
+                    if (p < proj[d * 2 + 0])
+                    {
+                        proj[d * 2 + 0] = p;
+                        setExtremalPoint(d * 2 + 0, c, i, x, y, z);
+                    }
+                    if (p > proj[d * 2 + 1])
+                    {
+                        proj[d * 2 + 1] = p;
+                        setExtremalPoint(d * 2 + 1, c, i, x, y, z);
+                    }
+                }
+                count++;
+            }
+        }
+
+        for (int j = 0; j < 3; j++)
+        {
+            origin[j] = (proj[j * 2 + 0] + proj[j * 2 + 1]) * 0.5;
+        }
+        vertexCount = 0;
+        for (int k = 0; k < MAX_VERTICES; k++)
+        {
+            long id = ids[k];
+            if (id == -1L)
+            {
+                continue;
+            }
+            boolean duplicate = false;
+            for (int j = 0; j < k; j++)
+            {
+                if (ids[j] == id)
+                {
+                    duplicate = true;
+                    break;
+                }
+            }
+            if (!duplicate)
+            {
+                for (int j = 0; j < 3; j++)
+                {
+                    vertices[vertexCount * 3 + j] =
+                        extremalPoints[k * 3 + j] - origin[j];
+                }
+                vertexCount++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Set the specified extremal point
+     * 
+     * @param k The index of the extremal point
+     * @param c The chunk index
+     * @param i The index in the chunk
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @param z The z-coordinate
+     */
+    private void setExtremalPoint(int k, int c, int i, double x, double y,
+        double z)
+    {
+        ids[k] = ((long) c << 32) | (i & 0xFFFFFFFFL);
+        extremalPoints[k * 3 + 0] = x;
+        extremalPoints[k * 3 + 1] = y;
+        extremalPoints[k * 3 + 2] = z;
+    }
+
+    /**
+     * Compute the planes of the convex hull of the extremal points.
+     * 
+     * Each triple of extremal points defines a plane. When all extremal
+     * points are (within the error bound) on one side of this plane, then it
+     * is a supporting plane of the hull. Accepting too many planes is safe,
+     * because it only causes fewer points to be discarded.
+     * 
+     * @return Whether the hull has an interior
+     */
+    private boolean computePlanes()
+    {
+        planeCount = 0;
+        if (vertexCount < 4)
+        {
+            return false;
+        }
+        double scale = computeScale();
+        if (!(scale > 0.0))
+        {
+            return false;
+        }
+        double scale3 = scale * scale * scale;
+        double baseError =
+            PLANE_EPSILON * scale + COORDINATE_EPSILON * computeMaxAbs();
+        for (int i = 0; i < vertexCount; i++)
+        {
+            for (int j = i + 1; j < vertexCount; j++)
+            {
+                for (int k = j + 1; k < vertexCount; k++)
+                {
+                    computePlane(i, j, k, baseError, scale3);
+                }
+            }
+        }
+        return planeCount >= 4;
+    }
+
+    /**
+     * Compute the length of the diagonal of the bounding box of the extremal
+     * points
+     * 
+     * @return The scale
+     */
+    private double computeScale()
+    {
+        double dx = proj[1] - proj[0];
+        double dy = proj[3] - proj[2];
+        double dz = proj[5] - proj[4];
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    /**
+     * Compute the maximum absolute coordinate of the points
+     * 
+     * @return The maximum absolute coordinate
+     */
+    private double computeMaxAbs()
+    {
+        double maxAbs = 0.0;
+        for (int j = 0; j < 6; j++)
+        {
+            maxAbs = Math.max(maxAbs, Math.abs(proj[j]));
+        }
+        return maxAbs;
+    }
+
+    /**
+     * Compute the plane through the specified extremal points, and add it
+     * to the hull planes if it is a supporting plane
+     * 
+     * @param i The index of the first point
+     * @param j The index of the second point
+     * @param k The index of the third point
+     * @param baseError The error bound that does not depend on the plane
+     * @param scale3 The cube of the scale
+     */
+    private void computePlane(int i, int j, int k, double baseError,
+        double scale3)
+    {
+        double x0 = vertices[i * 3 + 0];
+        double y0 = vertices[i * 3 + 1];
+        double z0 = vertices[i * 3 + 2];
+        double ax = vertices[j * 3 + 0] - x0;
+        double ay = vertices[j * 3 + 1] - y0;
+        double az = vertices[j * 3 + 2] - z0;
+        double bx = vertices[k * 3 + 0] - x0;
+        double by = vertices[k * 3 + 1] - y0;
+        double bz = vertices[k * 3 + 2] - z0;
+        double nx = ay * bz - az * by;
+        double ny = az * bx - ax * bz;
+        double nz = ax * by - ay * bx;
+        double len = Math.sqrt(nx * nx + ny * ny + nz * nz);
+        if (!(len > 0.0))
+        {
+            return;
+        }
+        nx /= len;
+        ny /= len;
+        nz /= len;
+        double d = nx * x0 + ny * y0 + nz * z0;
+
+        // The error of the normal is inversely proportional to the length
+        // of the cross product
+        double error = baseError + ROUNDING_EPSILON * scale3 / len;
+
+        double minDist = Double.POSITIVE_INFINITY;
+        double maxDist = Double.NEGATIVE_INFINITY;
+        long mask = 0;
+        for (int v = 0; v < vertexCount; v++)
+        {
+            double dist = nx * vertices[v * 3 + 0] + ny * vertices[v * 3 + 1]
+                + nz * vertices[v * 3 + 2] - d;
+            minDist = Math.min(minDist, dist);
+            maxDist = Math.max(maxDist, dist);
+            if (Math.abs(dist) <= error)
+            {
+                mask |= 1L << v;
+            }
+        }
+        if (maxDist <= error)
+        {
+            addPlane(nx, ny, nz, d - error, mask);
+        }
+        if (minDist >= -error)
+        {
+            addPlane(-nx, -ny, -nz, -d - error, ~mask);
+        }
+    }
+
+    /**
+     * Add the given plane, unless a plane through the same extremal points
+     * has already been added.
+     * 
+     * The mask of planes with the opposite orientation is stored in inverted
+     * form, so that they are distinguished from the planes with the same
+     * points and the original orientation.
+     * 
+     * @param nx The x-component of the normal
+     * @param ny The y-component of the normal
+     * @param nz The z-component of the normal
+     * @param d The distance
+     * @param mask The mask of the extremal points on the plane
+     */
+    private void addPlane(double nx, double ny, double nz, double d, long mask)
+    {
+        for (int p = 0; p < planeCount; p++)
+        {
+            if (planeMasks[p] == mask)
+            {
+                return;
+            }
+        }
+        if (planeCount == planeMasks.length)
+        {
+            planes = Arrays.copyOf(planes, planes.length * 2);
+            planeMasks = Arrays.copyOf(planeMasks, planeMasks.length * 2);
+        }
+        planes[planeCount * 4 + 0] = nx;
+        planes[planeCount * 4 + 1] = ny;
+        planes[planeCount * 4 + 2] = nz;
+        planes[planeCount * 4 + 3] = d;
+        planeMasks[planeCount] = mask;
+        planeCount++;
+    }
+
+    /**
+     * Returns whether the given point is strictly inside all hull planes
+     * 
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @param z The z-coordinate
+     * @return Whether the point is inside the hull
+     */
+    private boolean isInterior(double x, double y, double z)
+    {
+        double rx = x - origin[0];
+        double ry = y - origin[1];
+        double rz = z - origin[2];
+        for (int p = 0; p < planeCount; p++)
+        {
+            int o = p * 4;
+            if (planes[o] * rx + planes[o + 1] * ry + planes[o + 2] * rz
+                >= planes[o + 3])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+import java.util.Arrays;
+
+/**
+ * A simple, growable list of <code>int</code> values.
+ * 
+ * This is used for returning results (like pairs of indices) without having
+ * to box them into <code>Integer</code> objects. Instances may be re-used by
+ * calling {@link #clear()}, which retains the allocated storage.
+ */
+public class IntList
+{
+    /**
+     * The default initial capacity
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The storage
+     */
+    private int data[];
+
+    /**
+     * The number of elements
+     */
+    private int size;
+
+    /**
+     * Creates a new, empty instance
+     */
+    public IntList()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new, empty instance with the given initial capacity
+     * 
+     * @param capacity The initial capacity
+     * @throws IllegalArgumentException If the capacity is negative
+     */
+    public IntList(int capacity)
+    {
+        if (capacity < 0)
+        {
+            throw new IllegalArgumentException(
+                "The capacity may not be negative, but is " + capacity);
+        }
+        this.data = new int[capacity];
+    }
+
+    /**
+     * Add the given value to this list
+     * 
+     * @param value The value
+     */
+    public void add(int value)
+    {
+        if (size == data.length)
+        {
+            data = Arrays.copyOf(data, Math.max(DEFAULT_CAPACITY, size * 2));
+        }
+        data[size] = value;
+        size++;
+    }
+
+    /**
+     * Returns the value at the given index
+     * 
+     * @param index The index
+     * @return The value
+     * @throws IndexOutOfBoundsException If the index is negative or not
+     *         smaller than the {@link #size()}
+     */
+    public int get(int index)
+    {
+        if (index < 0 || index >= size)
+        {
+            throw new IndexOutOfBoundsException(
+                "Index " + index + " is not in [0," + size + ")");
+        }
+        return data[index];
+    }
+
+    /**
+     * Returns the number of elements in this list
+     * 
+     * @return The size
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Remove all elements from this list
+     */
+    public void clear()
+    {
+        size = 0;
+    }
+
+    /**
+     * Returns a new array containing the elements of this list
+     * 
+     * @return The array
+     */
+    public int[] toArray()
+    {
+        return Arrays.copyOf(data, size);
+    }
+
+    @Override
+    public String toString()
+    {
+        return Arrays.toString(toArray());
+    }
+}
@@ -9,6 +9,9 @@
  */
 package de.javagl.jdito;
 
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
 /**
  * A class for computing the oriented bounding box for a set of 3D points.
  */
@@ -26,6 +29,21 @@ public class JDito
     private static final ThreadLocal<Dito> threadLocalDito =
         ThreadLocal.withInitial(() -> new Dito());
 
+    /**
+     * A thread-local instance of {@link Obb}, for the intermediate results
+     * of the parallel computation of multiple boxes
+     */
+    private static final ThreadLocal<Obb> threadLocalObb =
+        ThreadLocal.withInitial(() -> new Obb());
+
+    /**
+     * The number of elements that are written into the result array for
+     * each segment, in {@link #computeSegments(ReadableDoubleArray, int[],
+     * int[], JDitoOptions, double[])}: 3 for the center, and 9 for the
+     * half-axes
+     */
+    public static final int SEGMENT_RESULT_SIZE = 12;
+
     /**
      * Compute the oriented bounding box for the given points.
      * 
@@ -55,15 +73,598 @@ public class JDito
      */
     public static OrientedBoundingBox compute(ReadableDoubleArray points)
     {
+        return compute(points, new JDitoOptions());
+    }
+
+    /**
+     * Compute the oriented bounding box for the given points, using the
+     * given options.
+     * 
+     * Three consecutive elements of the given array are assumed to represent
+     * the x, y, and z-coordinates of a single point.
+     * 
+     * @param points The points
+     * @param options The {@link JDitoOptions}
+     * @return The oriented bounding box
+     */
+    public static OrientedBoundingBox compute(double[] points,
+        JDitoOptions options)
+    {
+        return compute(DoubleArrays.fromArray(points), options);
+    }
+
+    /**
+     * Compute the oriented bounding box for the given points, using the
+     * given options.
+     * 
+     * Three consecutive elements of the given array are assumed to represent
+     * the x, y, and z-coordinates of a single point.
+     * 
+     * @param points The points
+     * @param options The {@link JDitoOptions}
+     * @return The oriented bounding box
+     */
+    public static OrientedBoundingBox compute(ReadableDoubleArray points,
+        JDitoOptions options)
+    {
+        Dito dito = threadLocalDito.get();
+        Obb obb = new Obb();
+        Attribute positions = createPositions(points);
+        dito.computeOBB(positions, options, obb);
+        return createResult(obb);
+    }
+
+    /**
+     * Compute the oriented bounding box for the points of the given source.
+     * 
+     * See {@link #compute(PointChunkSource, JDitoOptions)} for details.
+     * 
+     * @param source The {@link PointChunkSource}
+     * @return The oriented bounding box
+     */
+    public static OrientedBoundingBox compute(PointChunkSource source)
+    {
+        return compute(source, new JDitoOptions());
+    }
+
+    /**
+     * Compute the oriented bounding box for the points of the given source,
+     * using the given options.
+     * 
+     * This is intended for data sets that do not fit into memory. The
+     * result is the same as that of
+     * {@link #compute(ReadableDoubleArray, JDitoOptions)} for all points of
+     * all chunks. The computation makes several passes over the chunks, and
+     * only retains the current chunk and the next one, which is requested
+     * from the source in a background thread. When the prefilter is enabled
+     * (see {@link JDitoOptions#setPrefilterEnabled(boolean)}), then the
+     * points that remain after the prefilter are stored in memory, and all
+     * passes after the prefilter only process these points.
+     * 
+     * @param source The {@link PointChunkSource}
+     * @param options The {@link JDitoOptions}
+     * @return The oriented bounding box
+     */
+    public static OrientedBoundingBox compute(PointChunkSource source,
+        JDitoOptions options)
+    {
+        Dito dito = threadLocalDito.get();
+        Obb obb = new Obb();
+        try (ChunkedPositions positions = new ChunkedPositions(source))
+        {
+            dito.computeOBB(positions, options, obb);
+        }
+        return createResult(obb);
+    }
+
+    /**
+     * Compute the oriented bounding box for the given points.
+     * 
+     * See {@link #compute(LargeDoubleArray, JDitoOptions)} for details.
+     * 
+     * @param points The points
+     * @return The oriented bounding box
+     */
+    public static OrientedBoundingBox compute(LargeDoubleArray points)
+    {
+        return compute(points, new JDitoOptions());
+    }
+
+    /**
+     * Compute the oriented bounding box for the given points, using the
+     * given options.
+     * 
+     * Three consecutive elements of the given array are assumed to represent
+     * the x, y, and z-coordinates of a single point. The number of points
+     * may exceed the number of points that can be addressed with
+     * <code>int</code> indices in a {@link ReadableDoubleArray}. Such arrays
+     * can be created from a list of (memory-mapped) buffers with
+     * {@link DoubleArrays#fromBuffers(java.util.List)}. The result is the
+     * same as that of {@link #compute(ReadableDoubleArray, JDitoOptions)}
+     * for the same points.
+     * 
+     * @param points The points
+     * @param options The {@link JDitoOptions}
+     * @return The oriented bounding box
+     */
+    public static OrientedBoundingBox compute(LargeDoubleArray points,
+        JDitoOptions options)
+    {
+        Dito dito = threadLocalDito.get();
+        Obb obb = new Obb();
+        LargeArrayPositions positions = new LargeArrayPositions(points);
+        dito.computeOBB(positions, options, obb);
+        return createResult(obb);
+    }
+
+    /**
+     * Compute the oriented bounding box for the given points, with one axis
+     * being fixed to the given direction.
+     * 
+     * The third column of the half-axes of the resulting box will be
+     * parallel to the given direction, and only the rotation about this
+     * direction is searched. This can be used for computing "upright" boxes,
+     * for example, for buildings or trees, where the given direction is the
+     * world up-vector.
+     * 
+     * Three consecutive elements of the given array are assumed to represent
+     * the x, y, and z-coordinates of a single point.
+     * 
+     * @param points The points
+     * @param up The direction of the fixed axis, as a 3-element array. This
+     * does not have to be normalized.
+     * @return The oriented bounding box
+     * @throws IllegalArgumentException If the given direction has a length
+     * of zero
+     */
+    public static OrientedBoundingBox computeUpright(double points[],
+        double up[])
+    {
+        return computeUpright(DoubleArrays.fromArray(points), up);
+    }
+
+    /**
+     * Compute the oriented bounding box for the given points, with one axis
+     * being fixed to the given direction.
+     * 
+     * See {@link #computeUpright(double[], double[])} for details.
+     * 
+     * @param points The points
+     * @param up The direction of the fixed axis, as a 3-element array. This
+     * does not have to be normalized.
+     * @return The oriented bounding box
+     * @throws IllegalArgumentException If the given direction has a length
+     * of zero
+     */
+    public static OrientedBoundingBox computeUpright(ReadableDoubleArray points,
+        double up[])
+    {
+        WritableDoubleArray u = DoubleArrays.create(up.clone());
+        if (!(Vec.v3squaredLength(u) > 0.0))
+        {
+            throw new IllegalArgumentException(
+                "The up-vector must have a nonzero length");
+        }
+        Vec.v3normalize(u, u);
+        Dito dito = threadLocalDito.get();
+        Obb obb = new Obb();
+        Attribute positions = createPositions(points);
+        dito.computeUprightOBB(positions, u, obb);
+        return createResult(obb);
+    }
+
+    /**
+     * Compute the oriented bounding boxes for the given segments of the
+     * given points.
+     * 
+     * See {@link #computeSegments(ReadableDoubleArray, int[], int[],
+     * JDitoOptions, double[])} for details.
+     * 
+     * @param points The points
+     * @param offsets The offsets of the segments, in number of points
+     * @param counts The numbers of points in the segments
+     * @param result The array that will store the results
+     * @throws IllegalArgumentException If the arrays do not have matching
+     * lengths, or a segment is not contained in the points
+     */
+    public static void computeSegments(double points[], int offsets[],
+        int counts[], double result[])
+    {
+        computeSegments(DoubleArrays.fromArray(points), offsets, counts,
+            new JDitoOptions(), result);
+    }
+
+    /**
+     * Compute the oriented bounding boxes for the given segments of the
+     * given points.
+     * 
+     * Three consecutive elements of the given array are assumed to represent
+     * the x, y, and z-coordinates of a single point. The segment with index
+     * <code>s</code> consists of the <code>counts[s]</code> points that start
+     * at the point with index <code>offsets[s]</code>. Segments may overlap.
+     * 
+     * The result of segment <code>s</code> is written into the given result
+     * array, starting at index <code>s * 12</code>: The first 3 elements are
+     * the center, and the following 9 elements are the half-axes, as in the
+     * {@link OrientedBoundingBox}. For an empty segment, all 12 elements are
+     * set to zero.
+     * 
+     * The segments are processed sequentially in the calling thread, re-using
+     * the same internal state for all segments. The given options are applied
+     * to each segment.
+     * 
+     * @param points The points
+     * @param offsets The offsets of the segments, in number of points
+     * @param counts The numbers of points in the segments
+     * @param options The {@link JDitoOptions}
+     * @param result The array that will store the results
+     * @throws IllegalArgumentException If the arrays do not have matching
+     * lengths, or a segment is not contained in the points
+     */
+    public static void computeSegments(ReadableDoubleArray points,
+        int offsets[], int counts[], JDitoOptions options, double result[])
+    {
+        validateSegments(points, offsets, counts, result);
+        Dito dito = threadLocalDito.get();
+        Obb obb = new Obb();
+        for (int s = 0; s < offsets.length; s++)
+        {
+            ReadableDoubleArray segment =
+                DoubleArrays.slice(points, offsets[s] * 3, counts[s] * 3);
+            computeSegment(dito, segment, options, obb, result,
+                s * SEGMENT_RESULT_SIZE);
+        }
+    }
+
+    /**
+     * Compute the oriented bounding boxes for the given segments of the
+     * given points, in parallel.
+     * 
+     * See {@link #computeSegmentsParallel(ReadableDoubleArray, int[], int[],
+     * JDitoOptions, double[])} for details.
+     * 
+     * @param points The points
+     * @param offsets The offsets of the segments, in number of points
+     * @param counts The numbers of points in the segments
+     * @param result The array that will store the results
+     * @throws IllegalArgumentException If the arrays do not have matching
+     * lengths, or a segment is not contained in the points
+     */
+    public static void computeSegmentsParallel(double points[], int offsets[],
+        int counts[], double result[])
+    {
+        computeSegmentsParallel(DoubleArrays.fromArray(points), offsets, counts,
+            new JDitoOptions(), result);
+    }
+
+    /**
+     * Compute the oriented bounding boxes for the given segments of the
+     * given points, in parallel.
+     * 
+     * This is the same as {@link #computeSegments(ReadableDoubleArray, 
+     * int[], int[], JDitoOptions, double[])}, except for the segments being
+     * distributed over the threads of the common fork-join pool. Each thread
+     * re-uses its own internal state for all segments that it processes. The
+     * given points must not be modified during the computation.
+     * 
+     * @param points The points
+     * @param offsets The offsets of the segments, in number of points
+     * @param counts The numbers of points in the segments
+     * @param options The {@link JDitoOptions}
+     * @param result The array that will store the results
+     * @throws IllegalArgumentException If the arrays do not have matching
+     * lengths, or a segment is not contained in the points
+     */
+    public static void computeSegmentsParallel(ReadableDoubleArray points,
+        int offsets[], int counts[], JDitoOptions options, double result[])
+    {
+        validateSegments(points, offsets, counts, result);
+        IntStream.range(0, offsets.length).parallel().forEach(s ->
+        {
+            Dito dito = threadLocalDito.get();
+            Obb obb = threadLocalObb.get();
+            ReadableDoubleArray segment =
+                DoubleArrays.slice(points, offsets[s] * 3, counts[s] * 3);
+            computeSegment(dito, segment, options, obb, result,
+                s * SEGMENT_RESULT_SIZE);
+        });
+    }
+
+    /**
+     * Compute the oriented bounding boxes for the given segments of the
+     * given points.
+     * 
+     * This is the same as {@link #computeSegments(ReadableDoubleArray,
+     * int[], int[], JDitoOptions, double[])}, except for the points being
+     * given as a {@link LargeDoubleArray}, and the offsets of the segments
+     * being <code>long</code> values. The number of coordinates in each
+     * segment (that is, three times the number of points) must fit into an
+     * <code>int</code>.
+     * 
+     * @param points The points
+     * @param offsets The offsets of the segments, in number of points
+     * @param counts The numbers of points in the segments
+     * @param options The {@link JDitoOptions}
+     * @param result The array that will store the results
+     * @throws IllegalArgumentException If the arrays do not have matching
+     * lengths, or a segment is not contained in the points, or a segment
+     * is too large
+     */
+    public static void computeSegments(LargeDoubleArray points,
+        long offsets[], int counts[], JDitoOptions options, double result[])
+    {
+        validateSegments(points, offsets, counts, result);
         Dito dito = threadLocalDito.get();
         Obb obb = new Obb();
+        for (int s = 0; s < offsets.length; s++)
+        {
+            ReadableDoubleArray segment =
+                DoubleArrays.slice(points, offsets[s] * 3, counts[s] * 3);
+            computeSegment(dito, segment, options, obb, result,
+                s * SEGMENT_RESULT_SIZE);
+        }
+    }
+
+    /**
+     * Compute the oriented bounding boxes for the given segments of the
+     * given points, in parallel.
+     * 
+     * This is the same as {@link #computeSegments(LargeDoubleArray, long[],
+     * int[], JDitoOptions, double[])}, except for the segments being
+     * distributed over the threads of the common fork-join pool. The given
+     * points must not be modified during the computation.
+     * 
+     * @param points The points
+     * @param offsets The offsets of the segments, in number of points
+     * @param counts The numbers of points in the segments
+     * @param options The {@link JDitoOptions}
+     * @param result The array that will store the results
+     * @throws IllegalArgumentException If the arrays do not have matching
+     * lengths, or a segment is not contained in the points, or a segment
+     * is too large
+     */
+    public static void computeSegmentsParallel(LargeDoubleArray points,
+        long offsets[], int counts[], JDitoOptions options, double result[])
+    {
+        validateSegments(points, offsets, counts, result);
+        IntStream.range(0, offsets.length).parallel().forEach(s ->
+        {
+            Dito dito = threadLocalDito.get();
+            Obb obb = threadLocalObb.get();
+            ReadableDoubleArray segment =
+                DoubleArrays.slice(points, offsets[s] * 3, counts[s] * 3);
+            computeSegment(dito, segment, options, obb, result,
+                s * SEGMENT_RESULT_SIZE);
+        });
+    }
+
+    /**
+     * Compute one oriented bounding box for each occupied cell of the given
+     * {@link CellAssignment}.
+     * 
+     * See {@link #computeBinned(ReadableDoubleArray, CellAssignment, IntList)}
+     * for details.
+     * 
+     * @param points The points
+     * @param cells The {@link CellAssignment}
+     * @param cellIndices An optional list that will receive the cell index
+     * of each box
+     * @return The boxes
+     */
+    public static OrientedBoundingBoxStore computeBinned(double points[],
+        CellAssignment cells, IntList cellIndices)
+    {
+        return computeBinned(DoubleArrays.fromArray(points), cells,
+            cellIndices);
+    }
+
+    /**
+     * Compute one oriented bounding box for each occupied cell of the given
+     * {@link CellAssignment}.
+     * 
+     * Three consecutive elements of the given array are assumed to represent
+     * the x, y, and z-coordinates of a single point. Each point is assigned
+     * to a cell with the given {@link CellAssignment}, for example, one that
+     * was created with {@link CellAssignments#octree(double[], double[], int)}.
+     * 
+     * The points are not copied. Instead, two passes are made over all
+     * points: The first one collects the extremal points of each cell, and
+     * the axes of each box are computed from these extremal points, in
+     * parallel for all cells. The second pass computes the extents of each
+     * box, so that it encloses all points of its cell. Since the axes are
+     * not computed from all points of a cell, a box may be slightly larger
+     * than the one that would be computed for the points of the cell with
+     * {@link #compute(ReadableDoubleArray)}.
+     * 
+     * The boxes are returned in the order of their cell indices. When the
+     * given list is not <code>null</code>, then it will be cleared, and the
+     * cell index of each box will be added to it.
+     * 
+     * @param points The points
+     * @param cells The {@link CellAssignment}
+     * @param cellIndices An optional list that will receive the cell index
+     * of each box
+     * @return The boxes
+     */
+    public static OrientedBoundingBoxStore computeBinned(
+        ReadableDoubleArray points, CellAssignment cells, IntList cellIndices)
+    {
+        CellBinning binning = new CellBinning();
+        Attribute positions = createPositions(points);
+        binning.accumulate(positions, cells);
+        int slotCount = binning.getSlotCount();
+        JDitoOptions options = new JDitoOptions();
+        IntStream.range(0, slotCount).parallel().forEach(slot ->
+        {
+            Dito dito = threadLocalDito.get();
+            Obb obb = threadLocalObb.get();
+            dito.computeOBB(binning.getExtremalPoints(slot), options, obb);
+            binning.setAxes(slot, obb);
+        });
+        binning.computeExtents(positions, cells);
+
+        OrientedBoundingBoxStore result =
+            new OrientedBoundingBoxStore(slotCount);
+        if (cellIndices != null)
+        {
+            cellIndices.clear();
+        }
+        double center[] = new double[3];
+        double halfAxes[] = new double[9];
+        for (int slot : binning.getSortedSlots())
+        {
+            binning.getBox(slot, center, halfAxes);
+            result.add(center, halfAxes);
+            if (cellIndices != null)
+            {
+                cellIndices.add(binning.getCell(slot));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Make sure that the given segment description is valid
+     * 
+     * @param points The points
+     * @param offsets The offsets of the segments, in number of points
+     * @param counts The numbers of points in the segments
+     * @param result The array that will store the results
+     * @throws IllegalArgumentException If the arrays do not have matching
+     * lengths, or a segment is not contained in the points
+     */
+    private static void validateSegments(ReadableDoubleArray points,
+        int offsets[], int counts[], double result[])
+    {
+        validateSegmentCounts(offsets.length, counts.length, result);
+        long numPoints = points.length() / 3;
+        for (int s = 0; s < offsets.length; s++)
+        {
+            int offset = offsets[s];
+            int count = counts[s];
+            if (offset < 0 || count < 0 || (long) offset + count > numPoints)
+            {
+                throw new IllegalArgumentException("Segment " + s
+                    + " with offset " + offset + " and count " + count
+                    + " is not contained in the " + numPoints + " points");
+            }
+        }
+    }
+
+    /**
+     * Make sure that the given segment description is valid
+     * 
+     * @param points The points
+     * @param offsets The offsets of the segments, in number of points
+     * @param counts The numbers of points in the segments
+     * @param result The array that will store the results
+     * @throws IllegalArgumentException If the arrays do not have matching
+     * lengths, or a segment is not contained in the points, or a segment
+     * is too large
+     */
+    private static void validateSegments(LargeDoubleArray points,
+        long offsets[], int counts[], double result[])
+    {
+        validateSegmentCounts(offsets.length, counts.length, result);
+        long numPoints = points.length() / 3;
+        for (int s = 0; s < offsets.length; s++)
+        {
+            long offset = offsets[s];
+            int count = counts[s];
+            if (offset < 0 || count < 0 || offset > numPoints - count)
+            {
+                throw new IllegalArgumentException("Segment " + s
+                    + " with offset " + offset + " and count " + count
+                    + " is not contained in the " + numPoints + " points");
+            }
+            if (count > Integer.MAX_VALUE / 3)
+            {
+                throw new IllegalArgumentException("Segment " + s
+                    + " with count " + count + " is too large");
+            }
+        }
+    }
+
+    /**
+     * Make sure that the given numbers of offsets and counts match, and that
+     * the result array is large enough for the given number of segments
+     * 
+     * @param numOffsets The number of offsets
+     * @param numCounts The number of counts
+     * @param result The array that will store the results
+     * @throws IllegalArgumentException If the numbers do not match, or the
+     * result array is too small
+     */
+    private static void validateSegmentCounts(int numOffsets, int numCounts,
+        double result[])
+    {
+        if (numOffsets != numCounts)
+        {
+            throw new IllegalArgumentException("There are " + numOffsets
+                + " offsets, but " + numCounts + " counts");
+        }
+        long requiredLength = (long) numOffsets * SEGMENT_RESULT_SIZE;
+        if (result.length < requiredLength)
+        {
+            throw new IllegalArgumentException("The result must have a length "
+                + "of at least " + requiredLength + ", but only has a length "
+                + "of " + result.length);
+        }
+    }
+
+    /**
+     * Compute the oriented bounding box for the given segment, and write it
+     * into the given result array
+     * 
+     * @param dito The {@link Dito}
+     * @param segment The points of the segment
+     * @param options The {@link JDitoOptions}
+     * @param obb The {@link Obb} that will store the intermediate result
+     * @param result The result array
+     * @param resultOffset The offset in the result array
+     */
+    private static void computeSegment(Dito dito, ReadableDoubleArray segment,
+        JDitoOptions options, Obb obb, double result[], int resultOffset)
+    {
+        if (segment.length() == 0)
+        {
+            Arrays.fill(result, resultOffset,
+                resultOffset + SEGMENT_RESULT_SIZE, 0.0);
+            return;
+        }
+        Attribute positions = createPositions(segment);
+        dito.computeOBB(positions, options, obb);
+        result[resultOffset + 0] = obb.center.get(0);
+        result[resultOffset + 1] = obb.center.get(1);
+        result[resultOffset + 2] = obb.center.get(2);
+        VecEx.matrixFrom(obb.quaternion, obb.halfSize, result,
+            resultOffset + 3);
+    }
+
+    /**
+     * Create the {@link Attribute} for the given points
+     * 
+     * @param points The points
+     * @return The {@link Attribute}
+     */
+    private static Attribute createPositions(ReadableDoubleArray points)
+    {
         Attribute positions = new Attribute();
         positions.data = points;
         positions.size = 3;
         positions.offsetIdx = 0;
         positions.strideIdx = 3;
-        dito.computeOBB(positions, obb);
+        return positions;
+    }
 
+    /**
+     * Create the {@link OrientedBoundingBox} from the given {@link Obb}
+     * 
+     * @param obb The {@link Obb}
+     * @return The {@link OrientedBoundingBox}
+     */
+    private static OrientedBoundingBox createResult(Obb obb)
+    {
         double center[] = DoubleArrays.toArray(obb.center);
         double halfSize[] = DoubleArrays.toArray(obb.halfSize);
         double quaternion[] = DoubleArrays.toArray(obb.quaternion);
@@ -71,6 +672,7 @@ public class JDito
         OrientedBoundingBox result = new OrientedBoundingBox();
         result.center = center;
         result.halfAxes = VecEx.matrixFrom(quaternion, halfSize);
+        result.partial = obb.partial;
         return result;
     }
 
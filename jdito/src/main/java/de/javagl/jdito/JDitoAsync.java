@@ -0,0 +1,272 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * A class for computing oriented bounding boxes asynchronously.
+ * 
+ * The computations are performed on a given executor. The amount of
+ * pending work is bounded by the total number of points of all
+ * computations that have been submitted and not finished yet. When a new
+ * computation would exceed this bound, then the returned future is
+ * completed exceptionally with a <code>RejectedExecutionException</code>,
+ * so that the caller can apply backpressure, for example, by retrying
+ * later. A single computation is always accepted when no other computation
+ * is pending, even when it exceeds the bound.
+ * 
+ * Computations for inputs with at most the given inline threshold of points
+ * are performed directly in the calling thread, and do not count towards
+ * the bound. This avoids the latency of handing small inputs over to the
+ * executor, and ensures that small inputs are not rejected due to large
+ * inputs that are pending.
+ * 
+ * When a returned future is cancelled before the computation is finished,
+ * then the computation is stopped in the same way as when it is cancelled
+ * with {@link JDitoOptions#setCancellation(BooleanSupplier)}.
+ * 
+ * Instances of this class may be shared between threads.
+ */
+public class JDitoAsync
+{
+    /**
+     * The executor
+     */
+    private final Executor executor;
+
+    /**
+     * The maximum number of pending points
+     */
+    private final long maxPendingPoints;
+
+    /**
+     * The maximum number of points for which the computation is performed
+     * in the calling thread
+     */
+    private final long inlineThreshold;
+
+    /**
+     * The number of points of the computations that are pending
+     */
+    private final AtomicLong pendingPoints = new AtomicLong();
+
+    /**
+     * Creates a new instance.
+     * 
+     * @param executor The executor that performs the computations
+     * @param maxPendingPoints The maximum total number of points of all
+     * computations that are pending at the same time
+     * @param inlineThreshold The maximum number of points of inputs for which
+     * the computation is performed in the calling thread. A value of -1
+     * means that all computations are performed on the executor.
+     * @throws IllegalArgumentException If the maximum number of pending
+     * points is not positive, or the inline threshold is smaller than -1
+     */
+    public JDitoAsync(Executor executor, long maxPendingPoints,
+        long inlineThreshold)
+    {
+        if (maxPendingPoints <= 0)
+        {
+            throw new IllegalArgumentException(
+                "The maximum number of pending points must be positive, "
+                    + "but is " + maxPendingPoints);
+        }
+        if (inlineThreshold < -1)
+        {
+            throw new IllegalArgumentException(
+                "The inline threshold may not be smaller than -1, but is "
+                    + inlineThreshold);
+        }
+        this.executor = executor;
+        this.maxPendingPoints = maxPendingPoints;
+        this.inlineThreshold = inlineThreshold;
+    }
+
+    /**
+     * Returns the total number of points of the computations that are
+     * currently pending
+     * 
+     * @return The number of pending points
+     */
+    public long getPendingPoints()
+    {
+        return pendingPoints.get();
+    }
+
+    /**
+     * Compute the oriented bounding box for the given points asynchronously.
+     * 
+     * See {@link JDito#compute(double[], JDitoOptions)}. The given points
+     * must not be modified until the computation is finished.
+     * 
+     * @param points The points
+     * @param options The {@link JDitoOptions}
+     * @return The future that will be completed with the oriented bounding
+     * box
+     */
+    public CompletableFuture<OrientedBoundingBox> computeAsync(
+        double points[], JDitoOptions options)
+    {
+        return computeAsync(points.length / 3, options,
+            o -> JDito.compute(points, o));
+    }
+
+    /**
+     * Compute the oriented bounding box for the given points asynchronously.
+     * 
+     * See {@link JDito#compute(ReadableDoubleArray, JDitoOptions)}. The
+     * given points must not be modified until the computation is finished.
+     * 
+     * @param points The points
+     * @param options The {@link JDitoOptions}
+     * @return The future that will be completed with the oriented bounding
+     * box
+     */
+    public CompletableFuture<OrientedBoundingBox> computeAsync(
+        ReadableDoubleArray points, JDitoOptions options)
+    {
+        return computeAsync(points.length() / 3, options,
+            o -> JDito.compute(points, o));
+    }
+
+    /**
+     * Compute the oriented bounding box for the given points asynchronously.
+     * 
+     * See {@link JDito#compute(LargeDoubleArray, JDitoOptions)}. The given
+     * points must not be modified until the computation is finished.
+     * 
+     * @param points The points
+     * @param options The {@link JDitoOptions}
+     * @return The future that will be completed with the oriented bounding
+     * box
+     */
+    public CompletableFuture<OrientedBoundingBox> computeAsync(
+        LargeDoubleArray points, JDitoOptions options)
+    {
+        return computeAsync(points.length() / 3, options,
+            o -> JDito.compute(points, o));
+    }
+
+    /**
+     * Perform the given computation asynchronously
+     * 
+     * @param pointCount The number of points
+     * @param options The options
+     * @param computation The computation, which receives the options that
+     * should be used
+     * @return The future
+     */
+    private CompletableFuture<OrientedBoundingBox> computeAsync(
+        long pointCount, JDitoOptions options,
+        Function<JDitoOptions, OrientedBoundingBox> computation)
+    {
+        CompletableFuture<OrientedBoundingBox> future =
+            new CompletableFuture<OrientedBoundingBox>();
+        if (pointCount <= inlineThreshold)
+        {
+            complete(future, options, computation);
+            return future;
+        }
+
+        // Empty inputs are counted as one point, so that the number of
+        // pending computations is bounded as well
+        long weight = Math.max(1, pointCount);
+        if (!acquire(weight))
+        {
+            future.completeExceptionally(new RejectedExecutionException(
+                "Cannot compute the box for " + pointCount + " points, "
+                    + "because the computations for " + pendingPoints.get()
+                    + " points are pending, and the maximum is "
+                    + maxPendingPoints));
+            return future;
+        }
+
+        // The computation is stopped when the future is cancelled
+        JDitoOptions cancellableOptions = new JDitoOptions(options);
+        BooleanSupplier cancellation = options.getCancellation();
+        cancellableOptions.setCancellation(() -> future.isCancelled()
+            || (cancellation != null && cancellation.getAsBoolean()));
+        try
+        {
+            executor.execute(() ->
+            {
+                try
+                {
+                    if (!future.isCancelled())
+                    {
+                        complete(future, cancellableOptions, computation);
+                    }
+                }
+                finally
+                {
+                    pendingPoints.addAndGet(-weight);
+                }
+            });
+        }
+        catch (RejectedExecutionException e)
+        {
+            pendingPoints.addAndGet(-weight);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Try to add the given number of points to the pending points. This
+     * fails if the new number would exceed the maximum, unless there are
+     * no pending points.
+     * 
+     * @param weight The number of points
+     * @return Whether the points have been added
+     */
+    private boolean acquire(long weight)
+    {
+        while (true)
+        {
+            long current = pendingPoints.get();
+            if (current > 0 && current + weight > maxPendingPoints)
+            {
+                return false;
+            }
+            if (pendingPoints.compareAndSet(current, current + weight))
+            {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Perform the given computation, and complete the given future with its
+     * result or the exception that it caused
+     * 
+     * @param future The future
+     * @param options The options
+     * @param computation The computation
+     */
+    private static void complete(CompletableFuture<OrientedBoundingBox> future,
+        JDitoOptions options,
+        Function<JDitoOptions, OrientedBoundingBox> computation)
+    {
+        try
+        {
+            future.complete(computation.apply(options));
+        }
+        catch (RuntimeException | Error e)
+        {
+            future.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,350 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+import java.util.Random;
+
+/**
+ * A class that selects the strategy for the computation of an oriented
+ * bounding box based on the number of points.
+ * 
+ * The strategies are described in {@link Strategy}. All strategies compute
+ * the same box, because the points that they discard are inside of the
+ * convex hull of the input by more than the rounding errors of the
+ * computation, also for points that are far from the origin. They only
+ * differ in their performance, which depends on the number of points and on
+ * the machine. The strategy is selected by comparing the number of points to
+ * two thresholds. These thresholds can either be given explicitly, for
+ * reproducible results, or be determined with a short calibration at
+ * startup, with {@link #calibrate()}. The thresholds of a calibrated
+ * instance can be obtained with {@link #getPrefilterThreshold()} and
+ * {@link #getParallelThreshold()}, and be passed to the constructor in
+ * later runs.
+ * 
+ * Instances of this class are immutable and may be shared between threads.
+ */
+public class JDitoDispatcher
+{
+    /**
+     * The strategies for the computation
+     */
+    public enum Strategy
+    {
+        /**
+         * The computation is performed directly on the input points, in the
+         * calling thread, with the given options. This is the best strategy
+         * for small inputs.
+         */
+        SEQUENTIAL,
+
+        /**
+         * The computation is performed in the calling thread, with the hull
+         * prefilter (see {@link JDitoOptions#setPrefilterEnabled(boolean)})
+         * being enabled. This avoids most of the passes over the input
+         * points for medium-sized inputs.
+         */
+        PREFILTER,
+
+        /**
+         * The input points are divided into chunks that are reduced to the
+         * points that may be located on their convex hull, in parallel, on
+         * the threads of the common fork-join pool. The box is computed from
+         * the remaining points. This is the best strategy for large inputs.
+         */
+        PARALLEL
+    }
+
+    /**
+     * The number of points that are used for the calibration
+     */
+    private static final int[] CALIBRATION_SIZES =
+    { 1 << 10, 1 << 12, 1 << 14, 1 << 16, 1 << 18 };
+
+    /**
+     * The number of runs of each strategy for each size in the calibration,
+     * of which the fastest one is used
+     */
+    private static final int CALIBRATION_RUNS = 3;
+
+    /**
+     * The minimum number of points for the prefilter strategy
+     */
+    private final long prefilterThreshold;
+
+    /**
+     * The minimum number of points for the parallel strategy
+     */
+    private final long parallelThreshold;
+
+    /**
+     * Creates a new instance with the given thresholds.
+     * 
+     * The {@link Strategy#PARALLEL} strategy is used for inputs with at least
+     * <code>parallelThreshold</code> points. Otherwise, the
+     * {@link Strategy#PREFILTER} strategy is used for inputs with at least
+     * <code>prefilterThreshold</code> points. Otherwise, the
+     * {@link Strategy#SEQUENTIAL} strategy is used. A threshold of
+     * <code>Long.MAX_VALUE</code> disables the respective strategy.
+     * 
+     * @param prefilterThreshold The minimum number of points for the
+     * prefilter strategy
+     * @param parallelThreshold The minimum number of points for the
+     * parallel strategy
+     * @throws IllegalArgumentException If a threshold is negative
+     */
+    public JDitoDispatcher(long prefilterThreshold, long parallelThreshold)
+    {
+        if (prefilterThreshold < 0)
+        {
+            throw new IllegalArgumentException(
+                "The prefilter threshold may not be negative, but is "
+                    + prefilterThreshold);
+        }
+        if (parallelThreshold < 0)
+        {
+            throw new IllegalArgumentException(
+                "The parallel threshold may not be negative, but is "
+                    + parallelThreshold);
+        }
+        this.prefilterThreshold = prefilterThreshold;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Creates a new instance with thresholds that are determined by
+     * measuring the time of all strategies for different numbers of points.
+     * 
+     * This generates random points and computes their boxes with all
+     * strategies, for up to 262144 points. It takes about a second, and the
+     * result depends on the load of the machine. For each strategy, the
+     * threshold is the smallest number of points from which on the strategy
+     * was faster than the strategies for smaller inputs. A strategy that was
+     * never faster is disabled. This means that the parallel strategy may
+     * be disabled on machines with a single core, even though it might be
+     * faster for larger inputs.
+     * 
+     * @return The {@link JDitoDispatcher}
+     */
+    public static JDitoDispatcher calibrate()
+    {
+        int maxSize = CALIBRATION_SIZES[CALIBRATION_SIZES.length - 1];
+        double points[] = createCalibrationPoints(maxSize, new Random(0));
+        JDitoOptions options = new JDitoOptions();
+
+        // Let the JIT compile all strategies before measuring
+        ReadableDoubleArray warmUp = DoubleArrays.fromArray(points);
+        warmUp = DoubleArrays.slice(warmUp, 0, CALIBRATION_SIZES[2] * 3);
+        Strategy strategies[] = Strategy.values();
+        for (int r = 0; r < CALIBRATION_RUNS; r++)
+        {
+            for (Strategy strategy : strategies)
+            {
+                compute(strategy, warmUp, options);
+            }
+        }
+
+        long prefilterThreshold = Long.MAX_VALUE;
+        long parallelThreshold = Long.MAX_VALUE;
+        for (int size : CALIBRATION_SIZES)
+        {
+            ReadableDoubleArray input = DoubleArrays.fromArray(points);
+            input = DoubleArrays.slice(input, 0, size * 3);
+            long sequential = measure(Strategy.SEQUENTIAL, input, options);
+            long prefilter = measure(Strategy.PREFILTER, input, options);
+            long parallel = measure(Strategy.PARALLEL, input, options);
+            if (prefilter < sequential)
+            {
+                prefilterThreshold = Math.min(prefilterThreshold, size);
+            }
+            else
+            {
+                prefilterThreshold = Long.MAX_VALUE;
+            }
+            if (parallel < Math.min(sequential, prefilter))
+            {
+                parallelThreshold = Math.min(parallelThreshold, size);
+            }
+            else
+            {
+                parallelThreshold = Long.MAX_VALUE;
+            }
+        }
+        return new JDitoDispatcher(prefilterThreshold, parallelThreshold);
+    }
+
+    /**
+     * Returns the minimum number of points for which the
+     * {@link Strategy#PREFILTER} strategy is used
+     * 
+     * @return The threshold
+     */
+    public long getPrefilterThreshold()
+    {
+        return prefilterThreshold;
+    }
+
+    /**
+     * Returns the minimum number of points for which the
+     * {@link Strategy#PARALLEL} strategy is used
+     * 
+     * @return The threshold
+     */
+    public long getParallelThreshold()
+    {
+        return parallelThreshold;
+    }
+
+    /**
+     * Returns the strategy that is used for the given number of points
+     * 
+     * @param pointCount The number of points
+     * @return The {@link Strategy}
+     */
+    public Strategy selectStrategy(long pointCount)
+    {
+        if (pointCount >= parallelThreshold)
+        {
+            return Strategy.PARALLEL;
+        }
+        if (pointCount >= prefilterThreshold)
+        {
+            return Strategy.PREFILTER;
+        }
+        return Strategy.SEQUENTIAL;
+    }
+
+    /**
+     * Compute the oriented bounding box for the given points, with the
+     * strategy that is selected for the number of points.
+     * 
+     * See {@link #compute(ReadableDoubleArray, JDitoOptions)} for details.
+     * 
+     * @param points The points
+     * @param options The {@link JDitoOptions}
+     * @return The oriented bounding box
+     */
+    public OrientedBoundingBox compute(double points[], JDitoOptions options)
+    {
+        return compute(DoubleArrays.fromArray(points), options);
+    }
+
+    /**
+     * Compute the oriented bounding box for the given points, with the
+     * strategy that is selected for the number of points.
+     * 
+     * The result is the same as that of
+     * {@link JDito#compute(ReadableDoubleArray, JDitoOptions)}. When the
+     * {@link Strategy#PARALLEL} strategy is selected, then the timeout and
+     * cancellation of the given options only apply to the computation on
+     * the remaining points, and the {@link JDitoStatistics} that are passed
+     * to a listener refer to the remaining points.
+     * 
+     * @param points The points
+     * @param options The {@link JDitoOptions}
+     * @return The oriented bounding box
+     */
+    public OrientedBoundingBox compute(ReadableDoubleArray points,
+        JDitoOptions options)
+    {
+        Strategy strategy = selectStrategy(points.length() / 3);
+        return compute(strategy, points, options);
+    }
+
+    /**
+     * Compute the oriented bounding box for the given points, with the
+     * given strategy
+     * 
+     * @param strategy The {@link Strategy}
+     * @param points The points
+     * @param options The {@link JDitoOptions}
+     * @return The oriented bounding box
+     */
+    static OrientedBoundingBox compute(Strategy strategy,
+        ReadableDoubleArray points, JDitoOptions options)
+    {
+        if (strategy == Strategy.SEQUENTIAL || options.isPrefilterEnabled()
+            && strategy == Strategy.PREFILTER)
+        {
+            return JDito.compute(points, options);
+        }
+        JDitoOptions prefilterOptions = new JDitoOptions(options);
+        prefilterOptions.setPrefilterEnabled(true);
+        if (strategy == Strategy.PREFILTER)
+        {
+            return JDito.compute(points, prefilterOptions);
+        }
+
+        // When nothing could be discarded, or fewer than the 14 extremal
+        // points remain (for which the computation takes a different
+        // branch), then the box is computed from all points
+        double reduced[] = ParallelHullReduction.reduce(points);
+        if (reduced == null || reduced.length < 14 * 3)
+        {
+            return JDito.compute(points, prefilterOptions);
+        }
+        return JDito.compute(DoubleArrays.fromArray(reduced),
+            prefilterOptions);
+    }
+
+    /**
+     * Returns the shortest duration of computing the box for the given
+     * points with the given strategy, in nanoseconds
+     * 
+     * @param strategy The {@link Strategy}
+     * @param points The points
+     * @param options The {@link JDitoOptions}
+     * @return The duration
+     */
+    private static long measure(Strategy strategy, ReadableDoubleArray points,
+        JDitoOptions options)
+    {
+        long min = Long.MAX_VALUE;
+        for (int r = 0; r < CALIBRATION_RUNS; r++)
+        {
+            long before = System.nanoTime();
+            compute(strategy, points, options);
+            long after = System.nanoTime();
+            min = Math.min(min, after - before);
+        }
+        return min;
+    }
+
+    /**
+     * Creates the given number of random points for the calibration. These
+     * are points in a rotated box with different side lengths.
+     * 
+     * @param n The number of points
+     * @param random The random number generator
+     * @return The points
+     */
+    private static double[] createCalibrationPoints(int n, Random random)
+    {
+        double c = Math.cos(0.5);
+        double s = Math.sin(0.5);
+        double points[] = new double[n * 3];
+        for (int i = 0; i < n; i++)
+        {
+            double x = (random.nextDouble() - 0.5) * 4.0;
+            double y = (random.nextDouble() - 0.5) * 2.0;
+            double z = random.nextDouble() - 0.5;
+            points[i * 3 + 0] = c * x - s * y;
+            points[i * 3 + 1] = s * c * x + c * c * y - s * z;
+            points[i * 3 + 2] = s * s * x + s * c * y + c * z;
+        }
+        return points;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "JDitoDispatcher[prefilterThreshold=" + prefilterThreshold
+            + ",parallelThreshold=" + parallelThreshold + "]";
+    }
+}
@@ -0,0 +1,32 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+/**
+ * Interface for classes that want to be informed about the details of the
+ * computations of oriented bounding boxes.
+ * 
+ * A listener can be set with {@link JDitoOptions#setListener(JDitoListener)}.
+ * It is notified once for each computation that uses these options. When
+ * the same options are used for computations on multiple threads (for
+ * example, with
+ * {@link JDito#computeSegmentsParallel(ReadableDoubleArray, int[], int[],
+ * JDitoOptions, double[])}), then the listener may be called concurrently.
+ */
+public interface JDitoListener
+{
+    /**
+     * Will be called when a computation has finished, on the thread that
+     * performed the computation
+     * 
+     * @param statistics The {@link JDitoStatistics} of the computation
+     */
+    void computationFinished(JDitoStatistics statistics);
+}
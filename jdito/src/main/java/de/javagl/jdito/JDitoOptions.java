@@ -0,0 +1,370 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Options for the computation of oriented bounding boxes with
+ * {@link JDito#compute(ReadableDoubleArray, JDitoOptions)}.
+ * 
+ * A default-constructed instance describes the default behavior, which is
+ * the same as that of {@link JDito#compute(ReadableDoubleArray)}.
+ */
+public class JDitoOptions
+{
+    /**
+     * Whether the hull prefilter is enabled
+     */
+    private boolean prefilterEnabled;
+
+    /**
+     * The box that is used for the warm start
+     */
+    private OrientedBoundingBox warmStartBox;
+
+    /**
+     * The relative tolerance for accepting the warm start result
+     */
+    private double warmStartTolerance = 0.05;
+
+    /**
+     * The maximum number of iterations for the local refinement
+     */
+    private int refinementIterations;
+
+    /**
+     * The time limit for the local refinement, in nanoseconds
+     */
+    private long refinementTimeLimitNanos = Long.MAX_VALUE;
+
+    /**
+     * The timeout for the computation, in nanoseconds
+     */
+    private long timeoutNanos = Long.MAX_VALUE;
+
+    /**
+     * The supplier that indicates whether the computation was cancelled
+     */
+    private BooleanSupplier cancellation;
+
+    /**
+     * The listener that is informed about the details of the computation
+     */
+    private JDitoListener listener;
+
+    /**
+     * Creates a new instance with default options
+     */
+    public JDitoOptions()
+    {
+        // Default constructor
+    }
+
+    /**
+     * Creates a new instance with the same options as the given one
+     * 
+     * @param other The other options
+     */
+    public JDitoOptions(JDitoOptions other)
+    {
+        this.prefilterEnabled = other.prefilterEnabled;
+        this.warmStartBox = other.warmStartBox;
+        this.warmStartTolerance = other.warmStartTolerance;
+        this.refinementIterations = other.refinementIterations;
+        this.refinementTimeLimitNanos = other.refinementTimeLimitNanos;
+        this.timeoutNanos = other.timeoutNanos;
+        this.cancellation = other.cancellation;
+        this.listener = other.listener;
+    }
+
+    /**
+     * Returns whether the hull prefilter is enabled.
+     * 
+     * See {@link #setPrefilterEnabled(boolean)}.
+     * 
+     * @return Whether the prefilter is enabled
+     */
+    public boolean isPrefilterEnabled()
+    {
+        return prefilterEnabled;
+    }
+
+    /**
+     * Set whether the hull prefilter is enabled.
+     * 
+     * When the prefilter is enabled, then the input points will be reduced
+     * to a smaller subset before the axes of the bounding box are searched.
+     * This subset contains all points that may be located on the convex hull
+     * of the input, including the points that are inside of it only by the
+     * magnitude of rounding errors, so that the resulting box is the same as
+     * without the prefilter, regardless of the distance of the points to the
+     * origin. The prefilter requires two additional passes over the
+     * input, but all further passes will only process the reduced subset.
+     * This is beneficial for large inputs where most points are in the
+     * interior, for example, dense volumetric data.
+     * 
+     * @param prefilterEnabled Whether the prefilter is enabled
+     */
+    public void setPrefilterEnabled(boolean prefilterEnabled)
+    {
+        this.prefilterEnabled = prefilterEnabled;
+    }
+
+    /**
+     * Returns the box that is used for the warm start.
+     * 
+     * See {@link #setWarmStartBox(OrientedBoundingBox)}.
+     * 
+     * @return The warm start box, or <code>null</code>
+     */
+    public OrientedBoundingBox getWarmStartBox()
+    {
+        return warmStartBox;
+    }
+
+    /**
+     * Set the box that is used for the warm start.
+     * 
+     * This is intended for points that move or deform over time, where the
+     * optimal orientation of the box changes only slightly between frames.
+     * When the box from the previous frame is given here, then its
+     * orientation, and orientations that are slightly rotated relative to
+     * it, are evaluated in a single pass over the points. When the best of
+     * these orientations is not significantly worse than the previous box
+     * (see {@link #setWarmStartTolerance(double)}), then it is used
+     * directly. Otherwise, the full search is performed, with the best of
+     * these orientations as an additional candidate.
+     * 
+     * The quality of a box is measured by its surface area.
+     * 
+     * @param warmStartBox The warm start box, or <code>null</code> to always
+     * perform the full search
+     */
+    public void setWarmStartBox(OrientedBoundingBox warmStartBox)
+    {
+        this.warmStartBox = warmStartBox;
+    }
+
+    /**
+     * Returns the relative tolerance for accepting the warm start result.
+     * 
+     * See {@link #setWarmStartTolerance(double)}.
+     * 
+     * @return The tolerance
+     */
+    public double getWarmStartTolerance()
+    {
+        return warmStartTolerance;
+    }
+
+    /**
+     * Set the relative tolerance for accepting the warm start result.
+     * 
+     * The result of the warm start will be used when its surface area is
+     * at most <code>(1 + tolerance)</code> times the surface area of the
+     * warm start box. The default value is 0.05.
+     * 
+     * @param warmStartTolerance The tolerance
+     * @throws IllegalArgumentException If the tolerance is negative
+     */
+    public void setWarmStartTolerance(double warmStartTolerance)
+    {
+        if (!(warmStartTolerance >= 0.0))
+        {
+            throw new IllegalArgumentException(
+                "The tolerance must be nonnegative, but is "
+                + warmStartTolerance);
+        }
+        this.warmStartTolerance = warmStartTolerance;
+    }
+
+    /**
+     * Returns the maximum number of iterations for the local refinement.
+     * 
+     * See {@link #setRefinementIterations(int)}.
+     * 
+     * @return The number of iterations
+     */
+    public int getRefinementIterations()
+    {
+        return refinementIterations;
+    }
+
+    /**
+     * Set the maximum number of iterations for the local refinement.
+     * 
+     * When this is positive, then the orientation that was found by DiTO is
+     * refined with a local search over rotations: In each iteration, the
+     * box is rotated by a certain angle about each of its axes, in both
+     * directions. When none of these rotations yields a smaller surface
+     * area, then the angle is halved. The search stops after the given
+     * number of iterations, when the angle becomes negligible, or when the
+     * time limit (see {@link #setRefinementTimeLimit(long, TimeUnit)}) is
+     * reached.
+     * 
+     * The refinement operates on the points that may be located on the
+     * convex hull of the input (see {@link #setPrefilterEnabled(boolean)}),
+     * so that its cost depends on the shape of the input, and not on the
+     * number of points. This is intended for static data, where a tighter
+     * box is worth some additional computation time.
+     * 
+     * The default value is 0, meaning that no refinement is done.
+     * 
+     * @param refinementIterations The number of iterations
+     * @throws IllegalArgumentException If the number is negative
+     */
+    public void setRefinementIterations(int refinementIterations)
+    {
+        if (refinementIterations < 0)
+        {
+            throw new IllegalArgumentException(
+                "The number of iterations may not be negative, but is "
+                + refinementIterations);
+        }
+        this.refinementIterations = refinementIterations;
+    }
+
+    /**
+     * Returns the time limit for the local refinement, in nanoseconds.
+     * 
+     * See {@link #setRefinementTimeLimit(long, TimeUnit)}.
+     * 
+     * @return The time limit
+     */
+    public long getRefinementTimeLimitNanos()
+    {
+        return refinementTimeLimitNanos;
+    }
+
+    /**
+     * Set the time limit for the local refinement.
+     * 
+     * See {@link #setRefinementIterations(int)}. The time limit is only
+     * checked between two iterations. By default, there is no time limit.
+     * 
+     * @param timeLimit The time limit
+     * @param unit The unit of the time limit
+     * @throws IllegalArgumentException If the time limit is negative
+     */
+    public void setRefinementTimeLimit(long timeLimit, TimeUnit unit)
+    {
+        if (timeLimit < 0)
+        {
+            throw new IllegalArgumentException(
+                "The time limit may not be negative, but is " + timeLimit);
+        }
+        this.refinementTimeLimitNanos = unit.toNanos(timeLimit);
+    }
+
+    /**
+     * Returns the timeout for the computation, in nanoseconds.
+     * 
+     * See {@link #setTimeout(long, TimeUnit)}.
+     * 
+     * @return The timeout
+     */
+    public long getTimeoutNanos()
+    {
+        return timeoutNanos;
+    }
+
+    /**
+     * Set the timeout for the computation.
+     * 
+     * The time is checked between the passes over the points. When the
+     * timeout is reached, then the computation is stopped, and the best box
+     * that was found until then is returned. This box will always enclose
+     * all points, but may be larger than the box that would have been
+     * computed without a timeout. It will have the
+     * {@link OrientedBoundingBox#partial} flag set. The box can only be
+     * determined after the first pass over all points, so the computation
+     * may exceed the timeout by the duration of one pass.
+     * 
+     * By default, there is no timeout.
+     * 
+     * @param timeout The timeout
+     * @param unit The unit of the timeout
+     * @throws IllegalArgumentException If the timeout is negative
+     */
+    public void setTimeout(long timeout, TimeUnit unit)
+    {
+        if (timeout < 0)
+        {
+            throw new IllegalArgumentException(
+                "The timeout may not be negative, but is " + timeout);
+        }
+        this.timeoutNanos = unit.toNanos(timeout);
+    }
+
+    /**
+     * Returns the supplier that indicates whether the computation was
+     * cancelled.
+     * 
+     * See {@link #setCancellation(BooleanSupplier)}.
+     * 
+     * @return The supplier, or <code>null</code>
+     */
+    public BooleanSupplier getCancellation()
+    {
+        return cancellation;
+    }
+
+    /**
+     * Set the supplier that indicates whether the computation was
+     * cancelled.
+     * 
+     * The supplier is called between the passes over the points, and may be
+     * called from the thread that performs the computation. When it returns
+     * <code>true</code>, then the computation is stopped, in the same way as
+     * when the timeout is reached (see {@link #setTimeout(long, TimeUnit)}).
+     * 
+     * @param cancellation The supplier, or <code>null</code>
+     */
+    public void setCancellation(BooleanSupplier cancellation)
+    {
+        this.cancellation = cancellation;
+    }
+
+    /**
+     * Returns the listener that is informed about the details of the
+     * computation.
+     * 
+     * See {@link #setListener(JDitoListener)}.
+     * 
+     * @return The listener, or <code>null</code>
+     */
+    public JDitoListener getListener()
+    {
+        return listener;
+    }
+
+    /**
+     * Set the listener that is informed about the details of the
+     * computation.
+     * 
+     * When a listener is set, then it will receive {@link JDitoStatistics}
+     * for each computation that uses these options. This includes the number
+     * of points, the times of the different phases of the computation, the
+     * number of passes over the points, the branch that determined the
+     * result, and the quality of the result compared to the axis-aligned
+     * bounding box. Collecting this information causes a small overhead.
+     * When no listener is set, then no information is collected.
+     * 
+     * By default, there is no listener.
+     * 
+     * @param listener The listener, or <code>null</code>
+     */
+    public void setListener(JDitoListener listener)
+    {
+        this.listener = listener;
+    }
+}
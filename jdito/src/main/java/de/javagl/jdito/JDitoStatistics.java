@@ -0,0 +1,325 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+/**
+ * Statistics about a single computation of an oriented bounding box.
+ * 
+ * Instances of this class are passed to a {@link JDitoListener} that was
+ * set with {@link JDitoOptions#setListener(JDitoListener)}. They are only
+ * created when a listener is set, so that the computation does not have any
+ * overhead otherwise.
+ * 
+ * The quality values are half of the surface areas of the boxes. Smaller
+ * values are better.
+ */
+public class JDitoStatistics
+{
+    /**
+     * The branch of the computation that determined the resulting box
+     */
+    public enum Branch
+    {
+        /**
+         * The input did not contain any points
+         */
+        EMPTY,
+
+        /**
+         * The orientation from the warm start was accepted, and no further
+         * search was performed
+         */
+        WARM_START,
+
+        /**
+         * The points were too close to each other to construct a base
+         * triangle, and the axis-aligned bounding box was returned
+         */
+        DEGENERATE_POINT,
+
+        /**
+         * The points were (nearly) collinear, and a box that is aligned with
+         * the line through the points was returned
+         */
+        DEGENERATE_LINE,
+
+        /**
+         * The full search was performed, and the resulting oriented box was
+         * better than the axis-aligned bounding box
+         */
+        ORIENTED,
+
+        /**
+         * The full search was performed, but no orientation was better than
+         * the axis-aligned bounding box, which was returned
+         */
+        AXIS_ALIGNED,
+
+        /**
+         * The computation was stopped early, due to a timeout or a
+         * cancellation, and a partial result was returned
+         */
+        PARTIAL
+    }
+
+    /**
+     * The number of points
+     */
+    long pointCount;
+
+    /**
+     * The total time, in nanoseconds
+     */
+    long totalNanos;
+
+    /**
+     * The time for the scan for the extremal points, in nanoseconds
+     */
+    long extremalPointsNanos;
+
+    /**
+     * The time for the search of the axes, in nanoseconds
+     */
+    long axisSearchNanos;
+
+    /**
+     * The time for the final pass that computes the dimensions, in
+     * nanoseconds
+     */
+    long dimensionsNanos;
+
+    /**
+     * The number of passes over the input points
+     */
+    int passCount;
+
+    /**
+     * The number of candidate orientations
+     */
+    int candidateCount;
+
+    /**
+     * The number of candidate orientations that had to be evaluated with a
+     * pass over the points
+     */
+    int evaluatedCandidateCount;
+
+    /**
+     * The branch that was taken
+     */
+    Branch branch;
+
+    /**
+     * The quality of the axis-aligned bounding box
+     */
+    double aabbQuality = Double.NaN;
+
+    /**
+     * The quality of the resulting box
+     */
+    double quality = Double.NaN;
+
+    /**
+     * The time stamp of the start of the current phase
+     */
+    private long phaseStartNanos;
+
+    /**
+     * Creates a new instance
+     */
+    JDitoStatistics()
+    {
+        this.phaseStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Returns the time since the start of the current phase, in nanoseconds,
+     * and starts the next phase
+     * 
+     * @return The duration of the current phase
+     */
+    long endPhase()
+    {
+        long now = System.nanoTime();
+        long duration = now - phaseStartNanos;
+        phaseStartNanos = now;
+        return duration;
+    }
+
+    /**
+     * Returns the number of input points.
+     * 
+     * This is 0 when the orientation from the warm start was accepted,
+     * because the points are not counted in this case.
+     * 
+     * @return The number of points
+     */
+    public long getPointCount()
+    {
+        return pointCount;
+    }
+
+    /**
+     * Returns the total time of the computation, in nanoseconds
+     * 
+     * @return The time
+     */
+    public long getTotalNanos()
+    {
+        return totalNanos;
+    }
+
+    /**
+     * Returns the time of the scan for the extremal points along the
+     * predefined directions, in nanoseconds. This is the first pass over
+     * the points, which also determines the axis-aligned bounding box.
+     * When a warm start box was given, then this includes the evaluation
+     * of its orientation.
+     * 
+     * @return The time
+     */
+    public long getExtremalPointsNanos()
+    {
+        return extremalPointsNanos;
+    }
+
+    /**
+     * Returns the time of the search for the axes of the box, in
+     * nanoseconds. This includes the hull prefilter and the local
+     * refinement, if they are enabled.
+     * 
+     * @return The time
+     */
+    public long getAxisSearchNanos()
+    {
+        return axisSearchNanos;
+    }
+
+    /**
+     * Returns the time of the final pass that computes the dimensions of
+     * the box along the axes that have been found, in nanoseconds
+     * 
+     * @return The time
+     */
+    public long getDimensionsNanos()
+    {
+        return dimensionsNanos;
+    }
+
+    /**
+     * Returns the number of passes over the input points.
+     * 
+     * Passes that only process the points of the hull prefilter are not
+     * counted. Passes that are aborted early, because a candidate
+     * orientation could be discarded, are counted.
+     * 
+     * @return The number of passes
+     */
+    public int getPassCount()
+    {
+        return passCount;
+    }
+
+    /**
+     * Returns the number of candidate orientations that have been derived
+     * from the base triangle and the tetrahedra that are raised from it
+     * 
+     * @return The number of candidates
+     */
+    public int getCandidateCount()
+    {
+        return candidateCount;
+    }
+
+    /**
+     * Returns the number of candidate orientations that had to be evaluated
+     * with a pass over the points, because they could not be discarded based
+     * on their lower bounds
+     * 
+     * @return The number of evaluated candidates
+     */
+    public int getEvaluatedCandidateCount()
+    {
+        return evaluatedCandidateCount;
+    }
+
+    /**
+     * Returns the branch of the computation that determined the result
+     * 
+     * @return The {@link Branch}
+     */
+    public Branch getBranch()
+    {
+        return branch;
+    }
+
+    /**
+     * Returns the quality of the axis-aligned bounding box of the points.
+     * 
+     * This is <code>NaN</code> when the axis-aligned bounding box was not
+     * computed, because the input was empty, or the orientation from the
+     * warm start was accepted.
+     * 
+     * @return The quality
+     */
+    public double getAabbQuality()
+    {
+        return aabbQuality;
+    }
+
+    /**
+     * Returns the quality of the resulting box
+     * 
+     * @return The quality
+     */
+    public double getQuality()
+    {
+        return quality;
+    }
+
+    /**
+     * Returns the relative improvement of the quality of the resulting box
+     * over the axis-aligned bounding box.
+     * 
+     * This is <code>1 - quality / aabbQuality</code>, so it is 0 when the
+     * resulting box is not better than the axis-aligned bounding box, and
+     * 0.25 when its surface area is 25% smaller. It is <code>NaN</code> when
+     * the quality of the axis-aligned bounding box is not known, and 0 when
+     * it is 0.
+     * 
+     * @return The quality gain
+     */
+    public double getQualityGain()
+    {
+        if (aabbQuality == 0.0)
+        {
+            return 0.0;
+        }
+        return 1.0 - quality / aabbQuality;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "JDitoStatistics["
+            + "pointCount=" + pointCount
+            + ",branch=" + branch
+            + ",passCount=" + passCount
+            + ",candidateCount=" + candidateCount
+            + ",evaluatedCandidateCount=" + evaluatedCandidateCount
+            + ",totalNanos=" + totalNanos
+            + ",extremalPointsNanos=" + extremalPointsNanos
+            + ",axisSearchNanos=" + axisSearchNanos
+            + ",dimensionsNanos=" + dimensionsNanos
+            + ",aabbQuality=" + aabbQuality
+            + ",quality=" + quality
+            + ",qualityGain=" + getQualityGain() + "]";
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+/**
+ * Implementation of {@link PositionChunks} for the points of a
+ * {@link LargeDoubleArray}.
+ * 
+ * The array is divided into chunks of {@link #CHUNK_POINTS} points, so
+ * that each chunk can be accessed with <code>int</code> indices.
+ */
+class LargeArrayPositions implements PositionChunks
+{
+    /**
+     * The maximum number of points in one chunk
+     */
+    static final int CHUNK_POINTS = 1 << 20;
+
+    /**
+     * The points
+     */
+    private final LargeDoubleArray points;
+
+    /**
+     * The number of points
+     */
+    private final long pointCount;
+
+    /**
+     * The number of chunks
+     */
+    private final int chunkCount;
+
+    /**
+     * Creates a new instance
+     * 
+     * @param points The points
+     * @throws IllegalArgumentException If the number of points is so large
+     *         that the number of chunks does not fit into an
+     *         <code>int</code>
+     */
+    LargeArrayPositions(LargeDoubleArray points)
+    {
+        this.points = points;
+        this.pointCount = points.length() / 3;
+        long chunks = (pointCount + CHUNK_POINTS - 1) / CHUNK_POINTS;
+        if (chunks > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException(
+                "Too many points: " + pointCount);
+        }
+        this.chunkCount = (int) chunks;
+    }
+
+    @Override
+    public int getChunkCount()
+    {
+        return chunkCount;
+    }
+
+    @Override
+    public Attribute getChunk(int index)
+    {
+        long firstPoint = (long) index * CHUNK_POINTS;
+        int n = (int) Math.min(CHUNK_POINTS, pointCount - firstPoint);
+        Attribute chunk = new Attribute();
+        chunk.data = DoubleArrays.slice(points, firstPoint * 3, n * 3);
+        chunk.size = 3;
+        chunk.offsetIdx = 0;
+        chunk.strideIdx = 3;
+        return chunk;
+    }
+}
@@ -0,0 +1,33 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+/**
+ * An thin abstraction layer for a sequence of <code>double</code> values
+ * that may have more than <code>Integer.MAX_VALUE</code> elements
+ */
+public interface LargeDoubleArray
+{
+    /**
+     * Returns the value at the specified index
+     * 
+     * @param index The index
+     * @return The value
+     */
+    double get(long index);
+
+    /**
+     * Returns the length of this array
+     * 
+     * @return The length
+     */
+    long length();
+
+}
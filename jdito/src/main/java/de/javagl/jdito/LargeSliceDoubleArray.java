@@ -0,0 +1,59 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+/**
+ * Implementation of a {@link ReadableDoubleArray} that is a view on a slice
+ * of a {@link LargeDoubleArray}
+ */
+class LargeSliceDoubleArray implements ReadableDoubleArray
+{
+    /**
+     * The backing array
+     */
+    private final LargeDoubleArray data;
+
+    /**
+     * The offset into the array
+     */
+    private final long offset;
+
+    /**
+     * The length of this array
+     */
+    private final int length;
+
+    /**
+     * Creates a new instance that is a view on the specified slice of the
+     * given data
+     * 
+     * @param data The data
+     * @param offset The offset
+     * @param length The length
+     */
+    LargeSliceDoubleArray(LargeDoubleArray data, long offset, int length)
+    {
+        this.data = data;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public double get(int index)
+    {
+        return data.get(index + offset);
+    }
+
+    @Override
+    public int length()
+    {
+        return length;
+    }
+}
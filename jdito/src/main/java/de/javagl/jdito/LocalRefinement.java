@@ -0,0 +1,303 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+import java.util.Arrays;
+
+/**
+ * A class for refining an orientation with a local search over rotations.
+ * 
+ * Starting with a given orientation, each iteration evaluates the
+ * orientations that are obtained by rotating the current one by a certain
+ * angle in both directions about each of its axes. When one of them has a
+ * better quality, then it becomes the current orientation. Otherwise, the
+ * angle is halved. The search stops when the angle becomes negligible, or
+ * when the budget of iterations or time is exhausted.
+ * 
+ * The points should be a reduced set, for example, the points on the convex
+ * hull of the input, because each iteration processes all points several
+ * times. The points are copied into local arrays once.
+ * 
+ * Instances of this class may be re-used, and will retain their storage.
+ */
+class LocalRefinement
+{
+    /**
+     * The initial rotation angle, in radians
+     */
+    private static final double INITIAL_ANGLE = 0.1;
+
+    /**
+     * The rotation angle, in radians, below which the search stops
+     */
+    private static final double MIN_ANGLE = 1e-6;
+
+    /**
+     * The x-coordinates of the points
+     */
+    private double xs[] = new double[0];
+
+    /**
+     * The y-coordinates of the points
+     */
+    private double ys[] = new double[0];
+
+    /**
+     * The z-coordinates of the points
+     */
+    private double zs[] = new double[0];
+
+    /**
+     * The number of points
+     */
+    private int count;
+
+    /**
+     * The minimum and maximum projection on one direction
+     */
+    private final double range[] = new double[2];
+
+    /**
+     * The axes of the current orientation
+     */
+    private final double current[] = new double[9];
+
+    /**
+     * The axes of the orientation that is currently evaluated
+     */
+    private final double trial[] = new double[9];
+
+    /**
+     * The axes of the best orientation of the current iteration
+     */
+    private final double next[] = new double[9];
+
+    /**
+     * Refine the given orientation.
+     * 
+     * When an orientation with a better quality is found, then its axes,
+     * its quality, and its extents are written into the given orientation.
+     * The given positions must contain all points that may be extremal, so
+     * that these extents are the extents of the whole input.
+     * 
+     * @param positions The positions
+     * @param best The orientation
+     * @param maxIterations The maximum number of iterations
+     * @param timeLimitNanos The time limit, in nanoseconds
+     * @param deadline The deadline for the whole computation
+     */
+    void refine(PositionChunks positions, Orientation best, int maxIterations,
+        long timeLimitNanos, Deadline deadline)
+    {
+        long startNanos = System.nanoTime();
+        copyPoints(positions);
+        for (int k = 0; k < 3; k++)
+        {
+            current[0 + k] = best.b0.get(k);
+            current[3 + k] = best.b1.get(k);
+            current[6 + k] = best.b2.get(k);
+        }
+        double currentQuality = evaluate(current);
+        double angle = INITIAL_ANGLE;
+        int iterations = 0;
+        while (iterations < maxIterations && angle >= MIN_ANGLE
+            && System.nanoTime() - startNanos < timeLimitNanos
+            && !deadline.isExpired())
+        {
+            iterations++;
+            double nextQuality = currentQuality;
+            double c = Math.cos(angle);
+            double s = Math.sin(angle);
+            for (int axis = 0; axis < 3; axis++)
+            {
+                for (int sign = -1; sign <= 1; sign += 2)
+                {
+                    rotate(current, axis, c, sign * s, trial);
+                    double quality = evaluate(trial);
+                    if (quality < nextQuality)
+                    {
+                        nextQuality = quality;
+                        System.arraycopy(trial, 0, next, 0, 9);
+                    }
+                }
+            }
+            if (nextQuality < currentQuality)
+            {
+                currentQuality = nextQuality;
+                System.arraycopy(next, 0, current, 0, 9);
+                orthonormalize(current);
+            }
+            else
+            {
+                angle *= 0.5;
+            }
+        }
+        if (currentQuality < best.quality)
+        {
+            for (int k = 0; k < 3; k++)
+            {
+                best.b0.set(k, current[0 + k]);
+                best.b1.set(k, current[3 + k]);
+                best.b2.set(k, current[6 + k]);
+                computeRange(current[k * 3 + 0], current[k * 3 + 1],
+                    current[k * 3 + 2], range);
+                best.min.set(k, range[0]);
+                best.max.set(k, range[1]);
+            }
+            best.quality = currentQuality;
+            best.extentsKnown = true;
+        }
+    }
+
+    /**
+     * Copy the given positions into the local arrays
+     * 
+     * @param positions The positions
+     */
+    private void copyPoints(PositionChunks positions)
+    {
+        count = 0;
+        for (int c = 0; c < positions.getChunkCount(); c++)
+        {
+            Attribute chunk = positions.getChunk(c);
+            ReadableDoubleArray data = chunk.data;
+            int offsetIdx = chunk.offsetIdx;
+            int strideIdx = chunk.strideIdx;
+            int n = (data.length() - offsetIdx + strideIdx - 1) / strideIdx;
+            if (xs.length < count + n)
+            {
+                int capacity = Math.max(count + n, xs.length * 2);
+                xs = Arrays.copyOf(xs, capacity);
+                ys = Arrays.copyOf(ys, capacity);
+                zs = Arrays.copyOf(zs, capacity);
+            }
+            for (int i = offsetIdx; i < data.length(); i += strideIdx)
+            {
+                xs[count] = data.get(i);
+                ys[count] = data.get(i + 1);
+                zs[count] = data.get(i + 2);
+                count++;
+            }
+        }
+    }
+
+    /**
+     * Compute the quality of the given orientation, which is half of the
+     * surface area of the box with the given axes
+     * 
+     * @param axes The axes
+     * @return The quality
+     */
+    private double evaluate(double axes[])
+    {
+        double l0 = length(axes[0], axes[1], axes[2]);
+        double l1 = length(axes[3], axes[4], axes[5]);
+        double l2 = length(axes[6], axes[7], axes[8]);
+        return l0 * l1 + l0 * l2 + l1 * l2;
+    }
+
+    /**
+     * Compute the extent of the points along the given direction
+     * 
+     * @param dx The x-component of the direction
+     * @param dy The y-component of the direction
+     * @param dz The z-component of the direction
+     * @return The extent
+     */
+    private double length(double dx, double dy, double dz)
+    {
+        computeRange(dx, dy, dz, range);
+        return range[1] - range[0];
+    }
+
+    /**
+     * Compute the minimum and maximum projection of the points on the given
+     * direction
+     * 
+     * @param dx The x-component of the direction
+     * @param dy The y-component of the direction
+     * @param dz The z-component of the direction
+     * @param result The 2-element array that will store the result
+     */
+    private void computeRange(double dx, double dy, double dz,
+        double result[])
+    {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++)
+        {
+            double proj = xs[i] * dx + ys[i] * dy + zs[i] * dz;
+            min = Math.min(min, proj);
+            max = Math.max(max, proj);
+        }
+        result[0] = min;
+        result[1] = max;
+    }
+
+    /**
+     * Rotate the given axes about the specified one of these axes
+     * 
+     * @param axes The axes
+     * @param axis The index of the rotation axis
+     * @param c The cosine of the angle
+     * @param s The sine of the angle
+     * @param result The rotated axes
+     */
+    private static void rotate(double axes[], int axis, double c, double s,
+        double result[])
+    {
+        int a = ((axis + 1) % 3) * 3;
+        int b = ((axis + 2) % 3) * 3;
+        int r = axis * 3;
+        for (int k = 0; k < 3; k++)
+        {
+            result[r + k] = axes[r + k];
+            result[a + k] = axes[a + k] * c + axes[b + k] * s;
+            result[b + k] = axes[b + k] * c - axes[a + k] * s;
+        }
+    }
+
+    /**
+     * Orthonormalize the given axes, to avoid the accumulation of rounding
+     * errors
+     * 
+     * @param axes The axes
+     */
+    private static void orthonormalize(double axes[])
+    {
+        normalize(axes, 0);
+        double dot = axes[0] * axes[3] + axes[1] * axes[4] + axes[2] * axes[5];
+        axes[3] -= dot * axes[0];
+        axes[4] -= dot * axes[1];
+        axes[5] -= dot * axes[2];
+        normalize(axes, 3);
+        axes[6] = axes[1] * axes[5] - axes[2] * axes[4];
+        axes[7] = axes[2] * axes[3] - axes[0] * axes[5];
+        axes[8] = axes[0] * axes[4] - axes[1] * axes[3];
+    }
+
+    /**
+     * Normalize the specified 3D vector
+     * 
+     * @param a The array
+     * @param o The offset in the array
+     */
+    private static void normalize(double a[], int o)
+    {
+        double len = Math.sqrt(a[o] * a[o] + a[o + 1] * a[o + 1]
+            + a[o + 2] * a[o + 2]);
+        if (len > 0)
+        {
+            a[o + 0] /= len;
+            a[o + 1] /= len;
+            a[o + 2] /= len;
+        }
+    }
+}
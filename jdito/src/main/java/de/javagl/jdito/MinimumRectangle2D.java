@@ -0,0 +1,245 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+/**
+ * Methods for computing the minimum enclosing rectangle of a convex polygon,
+ * using rotating calipers.
+ */
+class MinimumRectangle2D
+{
+    /**
+     * Compute the enclosing rectangle of the given convex polygon that
+     * minimizes <code>w * h + c * (w + h)</code>, where <code>w</code> and
+     * <code>h</code> are the side lengths of the rectangle.
+     * 
+     * For <code>c = 0</code>, this is the minimum-area rectangle. For a box
+     * with a fixed height <code>c</code> above the polygon, this is the value
+     * that is used as the quality measure of DiTO (half of the surface area).
+     * Only rectangles that have one side collinear with one edge of the
+     * polygon are considered.
+     * 
+     * The polygon is given as interleaved (x,y) coordinates of its vertices,
+     * in counterclockwise order, without collinear vertices. The result will
+     * be written into the given 6-element array, as
+     * <code>(ux, uy, minU, maxU, minV, maxV)</code>, where
+     * <code>(ux, uy)</code> is the unit direction of the first side of the
+     * rectangle, <code>(-uy, ux)</code> is the direction of the second side,
+     * and the remaining elements are the minimum and maximum projections of
+     * the polygon on these directions.
+     * 
+     * @param hull The polygon
+     * @param n The number of vertices
+     * @param c The weight for the perimeter
+     * @param result The result
+     * @return The minimum value
+     */
+    static double compute(double hull[], int n, double c, double result[])
+    {
+        if (n <= 0)
+        {
+            return Double.NaN;
+        }
+        if (n <= 2)
+        {
+            double ux = 1.0;
+            double uy = 0.0;
+            if (n == 2)
+            {
+                double dx = hull[2] - hull[0];
+                double dy = hull[3] - hull[1];
+                double len = Math.sqrt(dx * dx + dy * dy);
+                if (len > 0)
+                {
+                    ux = dx / len;
+                    uy = dy / len;
+                }
+            }
+            double vx = -uy;
+            double vy = ux;
+            double minU = Double.POSITIVE_INFINITY;
+            double maxU = Double.NEGATIVE_INFINITY;
+            double minV = Double.POSITIVE_INFINITY;
+            double maxV = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < n; i++)
+            {
+                double pu = hull[i * 2] * ux + hull[i * 2 + 1] * uy;
+                double pv = hull[i * 2] * vx + hull[i * 2 + 1] * vy;
+                minU = Math.min(minU, pu);
+                maxU = Math.max(maxU, pu);
+                minV = Math.min(minV, pv);
+                maxV = Math.max(maxV, pv);
+            }
+            store(result, ux, uy, minU, maxU, minV, maxV);
+            return value(maxU - minU, maxV - minV, c);
+        }
+
+        double best = Double.POSITIVE_INFINITY;
+        int right = -1;
+        int top = -1;
+        int left = -1;
+        for (int i = 0; i < n; i++)
+        {
+            int j = (i + 1) % n;
+            double dx = hull[j * 2] - hull[i * 2];
+            double dy = hull[j * 2 + 1] - hull[i * 2 + 1];
+            double len = Math.sqrt(dx * dx + dy * dy);
+            if (len == 0)
+            {
+                continue;
+            }
+            double ux = dx / len;
+            double uy = dy / len;
+            double vx = -uy;
+            double vy = ux;
+
+            if (right == -1)
+            {
+                // Initialize the calipers for the first edge
+                right = argMax(hull, n, ux, uy);
+                top = argMax(hull, n, vx, vy);
+                left = argMax(hull, n, -ux, -uy);
+            }
+            else
+            {
+                // Rotate the calipers
+                right = advance(hull, n, right, ux, uy);
+                top = advance(hull, n, top, vx, vy);
+                left = advance(hull, n, left, -ux, -uy);
+            }
+
+            double minU = dot(hull, left, ux, uy);
+            double maxU = dot(hull, right, ux, uy);
+            double minV = dot(hull, i, vx, vy);
+            double maxV = dot(hull, top, vx, vy);
+            double value = value(maxU - minU, maxV - minV, c);
+            if (value < best)
+            {
+                best = value;
+                store(result, ux, uy, minU, maxU, minV, maxV);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the value that is minimized
+     * 
+     * @param w The width
+     * @param h The height
+     * @param c The weight for the perimeter
+     * @return The value
+     */
+    private static double value(double w, double h, double c)
+    {
+        return w * h + c * (w + h);
+    }
+
+    /**
+     * Advance the given caliper index as long as the projection of the next
+     * vertex on the given direction is not smaller than the current one.
+     * 
+     * @param hull The polygon
+     * @param n The number of vertices
+     * @param index The current index
+     * @param dx The x-component of the direction
+     * @param dy The y-component of the direction
+     * @return The new index
+     */
+    private static int advance(double hull[], int n, int index, double dx,
+        double dy)
+    {
+        int result = index;
+        double proj = dot(hull, result, dx, dy);
+        for (int steps = 0; steps < n; steps++)
+        {
+            int next = (result + 1) % n;
+            double nextProj = dot(hull, next, dx, dy);
+            if (nextProj < proj)
+            {
+                break;
+            }
+            result = next;
+            proj = nextProj;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the index of the vertex with the maximum projection on the
+     * given direction
+     * 
+     * @param hull The polygon
+     * @param n The number of vertices
+     * @param dx The x-component of the direction
+     * @param dy The y-component of the direction
+     * @return The index
+     */
+    private static int argMax(double hull[], int n, double dx, double dy)
+    {
+        int result = 0;
+        double max = dot(hull, 0, dx, dy);
+        for (int i = 1; i < n; i++)
+        {
+            double proj = dot(hull, i, dx, dy);
+            if (proj > max)
+            {
+                max = proj;
+                result = i;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the dot product of the specified vertex and the given direction
+     * 
+     * @param hull The polygon
+     * @param i The vertex index
+     * @param dx The x-component of the direction
+     * @param dy The y-component of the direction
+     * @return The dot product
+     */
+    private static double dot(double hull[], int i, double dx, double dy)
+    {
+        return hull[i * 2] * dx + hull[i * 2 + 1] * dy;
+    }
+
+    /**
+     * Store the given values in the given array
+     * 
+     * @param result The result array
+     * @param ux The x-component of the first direction
+     * @param uy The y-component of the first direction
+     * @param minU The minimum along the first direction
+     * @param maxU The maximum along the first direction
+     * @param minV The minimum along the second direction
+     * @param maxV The maximum along the second direction
+     */
+    private static void store(double result[], double ux, double uy,
+        double minU, double maxU, double minV, double maxV)
+    {
+        result[0] = ux;
+        result[1] = uy;
+        result[2] = minU;
+        result[3] = maxU;
+        result[4] = minV;
+        result[5] = maxV;
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private MinimumRectangle2D()
+    {
+        // Private constructor to prevent instantiation
+    }
+
+}
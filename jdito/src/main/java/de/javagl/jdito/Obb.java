@@ -29,4 +29,9 @@ class Obb
      * quaternion
      */
     final WritableDoubleArray quaternion = DoubleArrays.create(4);
+
+    /**
+     * Whether the computation of the OBB was stopped early
+     */
+    boolean partial;
 }
\ No newline at end of file
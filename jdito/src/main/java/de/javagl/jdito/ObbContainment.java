@@ -0,0 +1,319 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * A class for classifying points as being inside or outside of a set of
+ * {@link OrientedBoundingBox} instances.
+ * 
+ * The frame of each box is decomposed into unit axes, extents, and the
+ * projections of the center on the axes once, when the instance is created.
+ * A point is considered to be contained when it is inside of at least one of
+ * the boxes.
+ * 
+ * The points are given in the same form as for {@link JDito}: Three
+ * consecutive elements of the input array are the x, y, and z-coordinates of
+ * one point. The results are written into a bitset, where bit
+ * <code>i % 64</code> of element <code>i / 64</code> is set when point
+ * <code>i</code> is contained (see {@link ObbCulling#bitsetLength(int)}), or
+ * into an array of indices of the contained points.
+ */
+public class ObbContainment
+{
+    /**
+     * The number of points that are processed in one block. This is the
+     * number of bits in one element of the bitset.
+     */
+    private static final int BLOCK_SIZE = 64;
+
+    /**
+     * The number of elements that are stored for each box: The unit axes
+     * (9), the projections of the center on the axes (3), and the extents
+     * along the axes, including the tolerance (3).
+     */
+    private static final int STRIDE = 15;
+
+    /**
+     * The number of boxes
+     */
+    private final int count;
+
+    /**
+     * The per-box data, with {@link #STRIDE} elements for each box
+     */
+    private final double data[];
+
+    /**
+     * Creates a new instance for the given boxes
+     * 
+     * @param boxes The boxes
+     */
+    public ObbContainment(OrientedBoundingBox... boxes)
+    {
+        this(0.0, boxes);
+    }
+
+    /**
+     * Creates a new instance for the given boxes
+     * 
+     * @param boxes The boxes
+     */
+    public ObbContainment(List<? extends OrientedBoundingBox> boxes)
+    {
+        this(0.0, boxes.toArray(new OrientedBoundingBox[0]));
+    }
+
+    /**
+     * Creates a new instance for the given boxes.
+     * 
+     * The given tolerance is added to the extents of the boxes. This can be
+     * used to make sure that points that are exactly on the surface of a box
+     * are considered to be contained, regardless of rounding errors.
+     * 
+     * @param tolerance The tolerance
+     * @param boxes The boxes
+     * @throws IllegalArgumentException If the tolerance is negative
+     */
+    public ObbContainment(double tolerance, OrientedBoundingBox... boxes)
+    {
+        if (tolerance < 0)
+        {
+            throw new IllegalArgumentException(
+                "The tolerance may not be negative, but is " + tolerance);
+        }
+        this.count = boxes.length;
+        this.data = new double[count * STRIDE];
+        double axes[] = new double[9];
+        double extents[] = new double[3];
+        for (int b = 0; b < count; b++)
+        {
+            OrientedBoundingBox box = boxes[b];
+            VecEx.decomposeHalfAxes(box.halfAxes, 0, axes, extents);
+            int d = b * STRIDE;
+            System.arraycopy(axes, 0, data, d, 9);
+            for (int k = 0; k < 3; k++)
+            {
+                data[d + 9 + k] = box.center[0] * axes[k * 3 + 0]
+                    + box.center[1] * axes[k * 3 + 1]
+                    + box.center[2] * axes[k * 3 + 2];
+                data[d + 12 + k] = extents[k] + tolerance;
+            }
+        }
+    }
+
+    /**
+     * Classify the given points.
+     * 
+     * For each point <code>i</code>, the bit <code>i % 64</code> of element
+     * <code>i / 64</code> of the given bitset will be set if the point is
+     * contained in one of the boxes, and cleared otherwise.
+     * 
+     * @param points The points
+     * @param contained The bitset that will store the results
+     * @throws IllegalArgumentException If the bitset is too short
+     */
+    public void classify(double points[], long contained[])
+    {
+        classify(DoubleArrays.fromArray(points), contained);
+    }
+
+    /**
+     * Classify the given points.
+     * 
+     * For each point <code>i</code>, the bit <code>i % 64</code> of element
+     * <code>i / 64</code> of the given bitset will be set if the point is
+     * contained in one of the boxes, and cleared otherwise.
+     * 
+     * @param points The points
+     * @param contained The bitset that will store the results
+     * @throws IllegalArgumentException If the bitset is too short
+     */
+    public void classify(ReadableDoubleArray points, long contained[])
+    {
+        int n = points.length() / 3;
+        validate(contained, n);
+        int blocks = ObbCulling.bitsetLength(n);
+        for (int b = 0; b < blocks; b++)
+        {
+            contained[b] = classifyBlock(points, b * BLOCK_SIZE,
+                Math.min(n, (b + 1) * BLOCK_SIZE));
+        }
+    }
+
+    /**
+     * Classify the given points, in parallel.
+     * 
+     * This is the same as {@link #classify(double[], long[])}, but
+     * distributes the blocks of points over the threads of the common
+     * fork-join pool.
+     * 
+     * @param points The points
+     * @param contained The bitset that will store the results
+     * @throws IllegalArgumentException If the bitset is too short
+     */
+    public void classifyParallel(double points[], long contained[])
+    {
+        classifyParallel(DoubleArrays.fromArray(points), contained);
+    }
+
+    /**
+     * Classify the given points, in parallel.
+     * 
+     * This is the same as {@link #classify(ReadableDoubleArray, long[])}, but
+     * distributes the blocks of points over the threads of the common
+     * fork-join pool. The given array must be thread-safe for reading.
+     * 
+     * @param points The points
+     * @param contained The bitset that will store the results
+     * @throws IllegalArgumentException If the bitset is too short
+     */
+    public void classifyParallel(ReadableDoubleArray points, long contained[])
+    {
+        int n = points.length() / 3;
+        validate(contained, n);
+        int blocks = ObbCulling.bitsetLength(n);
+        IntStream.range(0, blocks).parallel().forEach(b ->
+        {
+            contained[b] = classifyBlock(points, b * BLOCK_SIZE,
+                Math.min(n, (b + 1) * BLOCK_SIZE));
+        });
+    }
+
+    /**
+     * Classify the given points.
+     * 
+     * The indices of the points that are contained in one of the boxes will
+     * be written into the given array, in ascending order, and the number of
+     * these points will be returned.
+     * 
+     * @param points The points
+     * @param containedIndices The array that will store the indices
+     * @return The number of contained points
+     * @throws IndexOutOfBoundsException If the array is too small to store
+     *         all indices
+     */
+    public int classify(double points[], int containedIndices[])
+    {
+        return classify(DoubleArrays.fromArray(points), containedIndices);
+    }
+
+    /**
+     * Classify the given points.
+     * 
+     * The indices of the points that are contained in one of the boxes will
+     * be written into the given array, in ascending order, and the number of
+     * these points will be returned.
+     * 
+     * @param points The points
+     * @param containedIndices The array that will store the indices
+     * @return The number of contained points
+     * @throws IndexOutOfBoundsException If the array is too small to store
+     *         all indices
+     */
+    public int classify(ReadableDoubleArray points, int containedIndices[])
+    {
+        int n = points.length() / 3;
+        int blocks = ObbCulling.bitsetLength(n);
+        int result = 0;
+        for (int b = 0; b < blocks; b++)
+        {
+            int start = b * BLOCK_SIZE;
+            long mask = classifyBlock(points, start,
+                Math.min(n, start + BLOCK_SIZE));
+            while (mask != 0)
+            {
+                containedIndices[result] =
+                    start + Long.numberOfTrailingZeros(mask);
+                result++;
+                mask &= mask - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Classify the specified range of points.
+     * 
+     * The range may contain at most {@link #BLOCK_SIZE} points. The result is
+     * a bit mask where bit <code>i - start</code> is set when point
+     * <code>i</code> is contained in one of the boxes.
+     * 
+     * @param points The points
+     * @param start The index of the first point, inclusive
+     * @param end The index of the last point, exclusive
+     * @return The bit mask
+     */
+    private long classifyBlock(ReadableDoubleArray points, int start, int end)
+    {
+        int n = end - start;
+        long all = n == BLOCK_SIZE ? -1L : (1L << n) - 1;
+        long mask = 0;
+        for (int b = 0; b < count; b++)
+        {
+            int d = b * STRIDE;
+            double ax = data[d + 0];
+            double ay = data[d + 1];
+            double az = data[d + 2];
+            double bx = data[d + 3];
+            double by = data[d + 4];
+            double bz = data[d + 5];
+            double cx = data[d + 6];
+            double cy = data[d + 7];
+            double cz = data[d + 8];
+            double oa = data[d + 9];
+            double ob = data[d + 10];
+            double oc = data[d + 11];
+            double ea = data[d + 12];
+            double eb = data[d + 13];
+            double ec = data[d + 14];
+
+            long inside = 0;
+            for (int i = start; i < end; i++)
+            {
+                int p = i * 3;
+                double x = points.get(p + 0);
+                double y = points.get(p + 1);
+                double z = points.get(p + 2);
+                double la = Math.abs(x * ax + y * ay + z * az - oa);
+                double lb = Math.abs(x * bx + y * by + z * bz - ob);
+                double lc = Math.abs(x * cx + y * cy + z * cz - oc);
+                long bit = (la <= ea && lb <= eb && lc <= ec) ? 1L : 0L;
+                inside |= bit << (i - start);
+            }
+            mask |= inside;
+            if (mask == all)
+            {
+                break;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Validate the given bitset
+     * 
+     * @param contained The bitset
+     * @param n The number of points
+     * @throws IllegalArgumentException If the bitset is too short
+     */
+    private static void validate(long contained[], int n)
+    {
+        int length = ObbCulling.bitsetLength(n);
+        if (contained.length < length)
+        {
+            throw new IllegalArgumentException("The bitset has a length of "
+                + contained.length + ", but must have a length of at least "
+                + length + " for " + n + " points");
+        }
+    }
+}
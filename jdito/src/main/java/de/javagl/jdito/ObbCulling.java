@@ -0,0 +1,331 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+import java.util.stream.IntStream;
+
+/**
+ * Methods for culling the boxes of an {@link OrientedBoundingBoxStore} against
+ * a set of planes, for example, the planes of a view frustum.
+ * 
+ * The planes are given as an array of <code>double</code> values, where four
+ * consecutive elements <code>(a, b, c, d)</code> describe one plane. A point
+ * <code>(x, y, z)</code> is considered to be inside of a plane when
+ * <code>a * x + b * y + c * z + d &gt;= 0</code>. The planes do not have to be
+ * normalized.
+ * 
+ * A box is considered to be visible when it is not completely outside of any
+ * of the planes. This is the usual conservative test: Boxes that are outside
+ * of the volume that is bounded by the planes, but intersect all planes, are
+ * reported as being visible.
+ * 
+ * The results are written into a bitset, where bit <code>i % 64</code> of
+ * element <code>i / 64</code> is set when box <code>i</code> is visible, or
+ * into an array of indices of the visible boxes. The methods do not allocate
+ * any memory.
+ */
+public class ObbCulling
+{
+    /**
+     * The number of boxes that are processed in one block. This is the number
+     * of bits in one element of the bitset.
+     */
+    private static final int BLOCK_SIZE = 64;
+
+    /**
+     * Returns the number of <code>long</code> elements that a bitset must
+     * have in order to store the results for the given number of boxes.
+     * 
+     * @param count The number of boxes
+     * @return The bitset length
+     */
+    public static int bitsetLength(int count)
+    {
+        return (count + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    }
+
+    /**
+     * Cull the boxes of the given store against the given planes.
+     * 
+     * For each box <code>i</code>, the bit <code>i % 64</code> of element
+     * <code>i / 64</code> of the given bitset will be set if the box is
+     * visible, and cleared otherwise.
+     * 
+     * @param boxes The boxes
+     * @param planes The planes
+     * @param visible The bitset that will store the results
+     * @throws IllegalArgumentException If the length of the planes array is
+     *         not divisible by 4, or the bitset is shorter than
+     *         {@link #bitsetLength(int)}
+     */
+    public static void cull(OrientedBoundingBoxStore boxes, double planes[],
+        long visible[])
+    {
+        int count = boxes.size();
+        validate(planes, visible, count);
+        int blocks = bitsetLength(count);
+        for (int b = 0; b < blocks; b++)
+        {
+            visible[b] = cullBlock(boxes, planes, b * BLOCK_SIZE,
+                Math.min(count, (b + 1) * BLOCK_SIZE));
+        }
+    }
+
+    /**
+     * Cull the boxes of the given store against the given planes, in parallel.
+     * 
+     * This is the same as {@link #cull(OrientedBoundingBoxStore, double[],
+     * long[])}, but distributes the blocks of boxes over the threads of the
+     * common fork-join pool. This is only beneficial for large numbers of
+     * boxes.
+     * 
+     * @param boxes The boxes
+     * @param planes The planes
+     * @param visible The bitset that will store the results
+     * @throws IllegalArgumentException If the length of the planes array is
+     *         not divisible by 4, or the bitset is shorter than
+     *         {@link #bitsetLength(int)}
+     */
+    public static void cullParallel(OrientedBoundingBoxStore boxes,
+        double planes[], long visible[])
+    {
+        int count = boxes.size();
+        validate(planes, visible, count);
+        int blocks = bitsetLength(count);
+        IntStream.range(0, blocks).parallel().forEach(b ->
+        {
+            visible[b] = cullBlock(boxes, planes, b * BLOCK_SIZE,
+                Math.min(count, (b + 1) * BLOCK_SIZE));
+        });
+    }
+
+    /**
+     * Cull the boxes of the given store against the given planes.
+     * 
+     * The indices of the visible boxes will be written into the given array,
+     * in ascending order, and the number of visible boxes will be returned.
+     * 
+     * @param boxes The boxes
+     * @param planes The planes
+     * @param visibleIndices The array that will store the indices of the
+     *        visible boxes
+     * @return The number of visible boxes
+     * @throws IllegalArgumentException If the length of the planes array is
+     *         not divisible by 4, or the given array is shorter than the
+     *         number of boxes
+     */
+    public static int cull(OrientedBoundingBoxStore boxes, double planes[],
+        int visibleIndices[])
+    {
+        int count = boxes.size();
+        validate(planes, null, count);
+        if (visibleIndices.length < count)
+        {
+            throw new IllegalArgumentException("The indices array has a length "
+                + "of " + visibleIndices.length + ", but must have a length of "
+                + "at least " + count);
+        }
+        int blocks = bitsetLength(count);
+        int n = 0;
+        for (int b = 0; b < blocks; b++)
+        {
+            int start = b * BLOCK_SIZE;
+            long mask = cullBlock(boxes, planes, start,
+                Math.min(count, start + BLOCK_SIZE));
+            n = appendIndices(mask, start, visibleIndices, n);
+        }
+        return n;
+    }
+
+    /**
+     * Write the indices of all bits that are set in the given bitset into the
+     * given array, in ascending order, and return the number of indices that
+     * have been written.
+     * 
+     * This can be used for converting the result of
+     * {@link #cullParallel(OrientedBoundingBoxStore, double[], long[])} into
+     * a list of indices.
+     * 
+     * @param bitset The bitset
+     * @param count The number of bits to consider
+     * @param indices The array that will store the indices
+     * @return The number of indices
+     * @throws IndexOutOfBoundsException If the array is too small to store
+     *         all indices
+     */
+    public static int toIndices(long bitset[], int count, int indices[])
+    {
+        int blocks = bitsetLength(count);
+        int n = 0;
+        for (int b = 0; b < blocks; b++)
+        {
+            long mask = bitset[b];
+            int remaining = count - b * BLOCK_SIZE;
+            if (remaining < BLOCK_SIZE)
+            {
+                mask &= (1L << remaining) - 1;
+            }
+            n = appendIndices(mask, b * BLOCK_SIZE, indices, n);
+        }
+        return n;
+    }
+
+    /**
+     * Extract the six planes of the view frustum from the given combined
+     * view-projection matrix.
+     * 
+     * The matrix is given as a 16-element array that represents a 4x4 matrix
+     * in column-major order. The resulting planes are written into the given
+     * 24-element array, in the order left, right, bottom, top, near, far. The
+     * near plane assumes a clip space depth range of [-w, w], as used by
+     * OpenGL.
+     * 
+     * @param viewProjection The view-projection matrix
+     * @param planes The array that will store the planes
+     */
+    public static void extractFrustumPlanes(double viewProjection[],
+        double planes[])
+    {
+        double m[] = viewProjection;
+        for (int i = 0; i < 3; i++)
+        {
+            for (int s = 0; s < 2; s++)
+            {
+                // Plane = row3 + row_i (s == 0) or row3 - row_i (s == 1)
+                double sign = s == 0 ? 1.0 : -1.0;
+                int p = (i * 2 + s) * 4;
+                planes[p + 0] = m[3] + sign * m[i];
+                planes[p + 1] = m[7] + sign * m[4 + i];
+                planes[p + 2] = m[11] + sign * m[8 + i];
+                planes[p + 3] = m[15] + sign * m[12 + i];
+            }
+        }
+    }
+
+    /**
+     * Cull the specified range of boxes against all planes.
+     * 
+     * The range may contain at most {@link #BLOCK_SIZE} boxes. The result is a
+     * bit mask where bit <code>i - start</code> is set when box
+     * <code>i</code> is visible.
+     * 
+     * @param boxes The boxes
+     * @param planes The planes
+     * @param start The start index, inclusive
+     * @param end The end index, exclusive
+     * @return The bit mask
+     */
+    private static long cullBlock(OrientedBoundingBoxStore boxes,
+        double planes[], int start, int end)
+    {
+        int n = end - start;
+        long mask = n == BLOCK_SIZE ? -1L : (1L << n) - 1;
+
+        double cx[] = boxes.cx;
+        double cy[] = boxes.cy;
+        double cz[] = boxes.cz;
+        double ux[] = boxes.ux;
+        double uy[] = boxes.uy;
+        double uz[] = boxes.uz;
+        double vx[] = boxes.vx;
+        double vy[] = boxes.vy;
+        double vz[] = boxes.vz;
+        double wx[] = boxes.wx;
+        double wy[] = boxes.wy;
+        double wz[] = boxes.wz;
+
+        for (int p = 0; p < planes.length; p += 4)
+        {
+            double a = planes[p + 0];
+            double b = planes[p + 1];
+            double c = planes[p + 2];
+            double d = planes[p + 3];
+
+            // The box is outside of the plane when the signed distance of
+            // its center is smaller than the negative projected radius
+            // (both scaled by the length of the plane normal)
+            long outside = 0;
+            for (int i = start; i < end; i++)
+            {
+                double s = a * cx[i] + b * cy[i] + c * cz[i] + d;
+                double r = Math.abs(a * ux[i] + b * uy[i] + c * uz[i])
+                    + Math.abs(a * vx[i] + b * vy[i] + c * vz[i])
+                    + Math.abs(a * wx[i] + b * wy[i] + c * wz[i]);
+                long bit = s + r < 0 ? 1L : 0L;
+                outside |= bit << (i - start);
+            }
+            mask &= ~outside;
+            if (mask == 0)
+            {
+                break;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Append the indices of the bits that are set in the given mask, offset
+     * by the given start index, to the given array.
+     * 
+     * @param mask The mask
+     * @param start The start index
+     * @param indices The indices
+     * @param n The number of indices that are already in the array
+     * @return The new number of indices in the array
+     */
+    private static int appendIndices(long mask, int start, int indices[],
+        int n)
+    {
+        long m = mask;
+        int result = n;
+        while (m != 0)
+        {
+            indices[result] = start + Long.numberOfTrailingZeros(m);
+            result++;
+            m &= m - 1;
+        }
+        return result;
+    }
+
+    /**
+     * Validate the given parameters
+     * 
+     * @param planes The planes
+     * @param visible The bitset. May be <code>null</code>
+     * @param count The number of boxes
+     * @throws IllegalArgumentException If the length of the planes array is
+     *         not divisible by 4, or the bitset is shorter than
+     *         {@link #bitsetLength(int)}
+     */
+    private static void validate(double planes[], long visible[], int count)
+    {
+        if (planes.length % 4 != 0)
+        {
+            throw new IllegalArgumentException("The planes array must have a "
+                + "length that is divisible by 4, but has a length of "
+                + planes.length);
+        }
+        if (visible != null && visible.length < bitsetLength(count))
+        {
+            throw new IllegalArgumentException("The bitset has a length of "
+                + visible.length + ", but must have a length of at least "
+                + bitsetLength(count) + " for " + count + " boxes");
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private ObbCulling()
+    {
+        // Private constructor to prevent instantiation
+    }
+
+}
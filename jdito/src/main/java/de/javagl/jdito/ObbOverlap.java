@@ -0,0 +1,515 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+/**
+ * A class for overlap queries between the boxes of an
+ * {@link OrientedBoundingBoxStore}.
+ * 
+ * An instance of this class caches the unit axes, extents and bounding
+ * sphere radius of each box. The pairwise overlap test is the separating axis
+ * test with 15 candidate axes, with an early-out on the first separating axis.
+ * The broad phase finds candidate pairs by sorting the projections of the
+ * boxes on one coordinate axis (sweep-and-prune), and reports the pairs whose
+ * axis-aligned bounds overlap.
+ * 
+ * The pairs are written into an {@link IntList}, where two consecutive
+ * elements <code>(i, j)</code> with <code>i &lt; j</code> are the indices of
+ * the boxes of one pair.
+ * 
+ * When the boxes in the store are modified, then {@link #update()} has to be
+ * called to update the cached data.
+ */
+public class ObbOverlap
+{
+    /**
+     * An epsilon that is added to the absolute values of the rotation matrix
+     * elements, to avoid arithmetic errors when two edges are (nearly)
+     * parallel and their cross product is (nearly) zero.
+     */
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * The number of cached elements for each box: Center (3), axes (9),
+     * extents (3), and bounding sphere radius (1)
+     */
+    private static final int STRIDE = 16;
+
+    /**
+     * The boxes
+     */
+    private final OrientedBoundingBoxStore boxes;
+
+    /**
+     * The number of boxes for which the data is cached
+     */
+    private int count;
+
+    /**
+     * The cached per-box data, with {@link #STRIDE} elements for each box
+     */
+    private double data[];
+
+    /**
+     * The minimum of the axis-aligned bounds of each box, with 3 elements per
+     * box
+     */
+    private double aabbMin[];
+
+    /**
+     * The maximum of the axis-aligned bounds of each box, with 3 elements per
+     * box
+     */
+    private double aabbMax[];
+
+    /**
+     * The sort keys for the sweep-and-prune
+     */
+    private double keys[];
+
+    /**
+     * The order of the boxes for the sweep-and-prune
+     */
+    private int order[];
+
+    /**
+     * Scratch arrays for the decomposition of the half-axes
+     */
+    private final double halfAxes[] = new double[9];
+    private final double axes[] = new double[9];
+    private final double extents[] = new double[3];
+
+    /**
+     * Creates a new instance for the given boxes
+     * 
+     * @param boxes The boxes
+     */
+    public ObbOverlap(OrientedBoundingBoxStore boxes)
+    {
+        this.boxes = boxes;
+        this.data = new double[0];
+        this.aabbMin = new double[0];
+        this.aabbMax = new double[0];
+        this.keys = new double[0];
+        this.order = new int[0];
+        update();
+    }
+
+    /**
+     * Update the cached data, after the boxes in the underlying store have
+     * been modified.
+     */
+    public void update()
+    {
+        count = boxes.size();
+        if (keys.length < count)
+        {
+            data = new double[count * STRIDE];
+            aabbMin = new double[count * 3];
+            aabbMax = new double[count * 3];
+            keys = new double[count];
+            order = new int[count];
+        }
+        for (int i = 0; i < count; i++)
+        {
+            halfAxes[0] = boxes.ux[i];
+            halfAxes[1] = boxes.uy[i];
+            halfAxes[2] = boxes.uz[i];
+            halfAxes[3] = boxes.vx[i];
+            halfAxes[4] = boxes.vy[i];
+            halfAxes[5] = boxes.vz[i];
+            halfAxes[6] = boxes.wx[i];
+            halfAxes[7] = boxes.wy[i];
+            halfAxes[8] = boxes.wz[i];
+            VecEx.decomposeHalfAxes(halfAxes, 0, axes, extents);
+
+            int d = i * STRIDE;
+            data[d + 0] = boxes.cx[i];
+            data[d + 1] = boxes.cy[i];
+            data[d + 2] = boxes.cz[i];
+            System.arraycopy(axes, 0, data, d + 3, 9);
+            data[d + 12] = extents[0];
+            data[d + 13] = extents[1];
+            data[d + 14] = extents[2];
+            data[d + 15] = Math.sqrt(extents[0] * extents[0]
+                + extents[1] * extents[1] + extents[2] * extents[2]);
+
+            for (int k = 0; k < 3; k++)
+            {
+                double r = Math.abs(halfAxes[k]) + Math.abs(halfAxes[3 + k])
+                    + Math.abs(halfAxes[6 + k]);
+                aabbMin[i * 3 + k] = data[d + k] - r;
+                aabbMax[i * 3 + k] = data[d + k] + r;
+            }
+        }
+    }
+
+    /**
+     * Returns whether the boxes with the given indices overlap.
+     * 
+     * Boxes that only touch are considered to overlap.
+     * 
+     * @param i The index of the first box
+     * @param j The index of the second box
+     * @return Whether the boxes overlap
+     * @throws IndexOutOfBoundsException If one of the indices is negative or
+     *         not smaller than the number of boxes
+     */
+    public boolean overlaps(int i, int j)
+    {
+        if (i < 0 || i >= count || j < 0 || j >= count)
+        {
+            throw new IndexOutOfBoundsException("Indices " + i + " and " + j
+                + " are not both in [0," + count + ")");
+        }
+        return overlaps(data, i * STRIDE, data, j * STRIDE);
+    }
+
+    /**
+     * Find the pairs of boxes whose axis-aligned bounds overlap, using a
+     * sweep-and-prune along the coordinate axis where the centers of the
+     * boxes have the largest variance.
+     * 
+     * The given list will be cleared, and the pairs will be added to it.
+     * 
+     * @param pairs The list that will store the pairs
+     */
+    public void findCandidatePairs(IntList pairs)
+    {
+        sweepAndPrune(pairs, false);
+    }
+
+    /**
+     * Find the pairs of boxes that overlap.
+     * 
+     * This performs the same broad phase as
+     * {@link #findCandidatePairs(IntList)}, and only reports the candidate
+     * pairs that pass the separating axis test.
+     * 
+     * The given list will be cleared, and the pairs will be added to it.
+     * 
+     * @param pairs The list that will store the pairs
+     */
+    public void findOverlappingPairs(IntList pairs)
+    {
+        sweepAndPrune(pairs, true);
+    }
+
+    /**
+     * Returns whether the given boxes overlap.
+     * 
+     * Boxes that only touch are considered to overlap. For testing many
+     * pairs of boxes, creating an {@link ObbOverlap} instance for an
+     * {@link OrientedBoundingBoxStore} is more efficient.
+     * 
+     * @param a The first box
+     * @param b The second box
+     * @return Whether the boxes overlap
+     */
+    public static boolean overlaps(OrientedBoundingBox a, OrientedBoundingBox b)
+    {
+        double da[] = new double[STRIDE];
+        double db[] = new double[STRIDE];
+        cache(a, da);
+        cache(b, db);
+        return overlaps(da, 0, db, 0);
+    }
+
+    /**
+     * Write the data for the given box into the given array, as described for
+     * {@link #STRIDE}
+     * 
+     * @param box The box
+     * @param d The array
+     */
+    private static void cache(OrientedBoundingBox box, double d[])
+    {
+        double axes[] = new double[9];
+        double extents[] = new double[3];
+        VecEx.decomposeHalfAxes(box.halfAxes, 0, axes, extents);
+        System.arraycopy(box.center, 0, d, 0, 3);
+        System.arraycopy(axes, 0, d, 3, 9);
+        System.arraycopy(extents, 0, d, 12, 3);
+        d[15] = Math.sqrt(extents[0] * extents[0] + extents[1] * extents[1]
+            + extents[2] * extents[2]);
+    }
+
+    /**
+     * Perform the sweep-and-prune, and add the pairs of boxes whose
+     * axis-aligned bounds overlap (and that pass the separating axis test, if
+     * requested) to the given list.
+     * 
+     * @param pairs The list that will store the pairs
+     * @param exact Whether the separating axis test should be performed
+     */
+    private void sweepAndPrune(IntList pairs, boolean exact)
+    {
+        pairs.clear();
+        if (count < 2)
+        {
+            return;
+        }
+        int axis = computeSweepAxis();
+        int otherAxis0 = (axis + 1) % 3;
+        int otherAxis1 = (axis + 2) % 3;
+        for (int i = 0; i < count; i++)
+        {
+            keys[i] = aabbMin[i * 3 + axis];
+            order[i] = i;
+        }
+        Sorting.sort(order, 0, count, keys);
+
+        for (int a = 0; a < count; a++)
+        {
+            int i = order[a];
+            double maxI = aabbMax[i * 3 + axis];
+            for (int b = a + 1; b < count; b++)
+            {
+                int j = order[b];
+                if (keys[j] > maxI)
+                {
+                    break;
+                }
+                int i0 = i * 3 + otherAxis0;
+                int i1 = i * 3 + otherAxis1;
+                int j0 = j * 3 + otherAxis0;
+                int j1 = j * 3 + otherAxis1;
+                if (aabbMin[j0] > aabbMax[i0] || aabbMax[j0] < aabbMin[i0]
+                    || aabbMin[j1] > aabbMax[i1] || aabbMax[j1] < aabbMin[i1])
+                {
+                    continue;
+                }
+                if (exact && !overlaps(data, i * STRIDE, data, j * STRIDE))
+                {
+                    continue;
+                }
+                pairs.add(Math.min(i, j));
+                pairs.add(Math.max(i, j));
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the coordinate axis along which the centers of
+     * the boxes have the largest variance
+     * 
+     * @return The axis index
+     */
+    private int computeSweepAxis()
+    {
+        double sum[] = new double[3];
+        double sumSquared[] = new double[3];
+        for (int i = 0; i < count; i++)
+        {
+            for (int k = 0; k < 3; k++)
+            {
+                double c = data[i * STRIDE + k];
+                sum[k] += c;
+                sumSquared[k] += c * c;
+            }
+        }
+        int axis = 0;
+        double maxVariance = Double.NEGATIVE_INFINITY;
+        for (int k = 0; k < 3; k++)
+        {
+            double variance = sumSquared[k] - sum[k] * sum[k] / count;
+            if (variance > maxVariance)
+            {
+                maxVariance = variance;
+                axis = k;
+            }
+        }
+        return axis;
+    }
+
+    /**
+     * Performs the separating axis test for the boxes whose data starts at
+     * the given offsets of the given arrays.
+     * 
+     * See "Real-Time Collision Detection" by Christer Ericson, section 4.4.1.
+     * 
+     * @param a The data of the first box
+     * @param ao The offset for the first box
+     * @param b The data of the second box
+     * @param bo The offset for the second box
+     * @return Whether the boxes overlap
+     */
+    private static boolean overlaps(double a[], int ao, double b[], int bo)
+    {
+        // Translation vector between the centers, in world coordinates
+        double tx = b[bo + 0] - a[ao + 0];
+        double ty = b[bo + 1] - a[ao + 1];
+        double tz = b[bo + 2] - a[ao + 2];
+
+        // Early-out when the bounding spheres do not overlap
+        double rs = a[ao + 15] + b[bo + 15];
+        if (tx * tx + ty * ty + tz * tz > rs * rs)
+        {
+            return false;
+        }
+
+        double ae0 = a[ao + 12];
+        double ae1 = a[ao + 13];
+        double ae2 = a[ao + 14];
+        double be0 = b[bo + 12];
+        double be1 = b[bo + 13];
+        double be2 = b[bo + 14];
+
+        // The rotation matrix expressing b in the coordinate frame of a,
+        // where r[i][j] = dot(aAxis[i], bAxis[j])
+        int a0 = ao + 3;
+        int a1 = ao + 6;
+        int a2 = ao + 9;
+        int b0 = bo + 3;
+        int b1 = bo + 6;
+        int b2 = bo + 9;
+        double r00 = dot(a, a0, b, b0);
+        double r01 = dot(a, a0, b, b1);
+        double r02 = dot(a, a0, b, b2);
+        double r10 = dot(a, a1, b, b0);
+        double r11 = dot(a, a1, b, b1);
+        double r12 = dot(a, a1, b, b2);
+        double r20 = dot(a, a2, b, b0);
+        double r21 = dot(a, a2, b, b1);
+        double r22 = dot(a, a2, b, b2);
+
+        // The translation vector in the coordinate frame of a
+        double t0 = tx * a[a0 + 0] + ty * a[a0 + 1] + tz * a[a0 + 2];
+        double t1 = tx * a[a1 + 0] + ty * a[a1 + 1] + tz * a[a1 + 2];
+        double t2 = tx * a[a2 + 0] + ty * a[a2 + 1] + tz * a[a2 + 2];
+
+        double ar00 = Math.abs(r00) + EPSILON;
+        double ar01 = Math.abs(r01) + EPSILON;
+        double ar02 = Math.abs(r02) + EPSILON;
+        double ar10 = Math.abs(r10) + EPSILON;
+        double ar11 = Math.abs(r11) + EPSILON;
+        double ar12 = Math.abs(r12) + EPSILON;
+        double ar20 = Math.abs(r20) + EPSILON;
+        double ar21 = Math.abs(r21) + EPSILON;
+        double ar22 = Math.abs(r22) + EPSILON;
+
+        double ra;
+        double rb;
+
+        // Axes of a
+        rb = be0 * ar00 + be1 * ar01 + be2 * ar02;
+        if (Math.abs(t0) > ae0 + rb)
+        {
+            return false;
+        }
+        rb = be0 * ar10 + be1 * ar11 + be2 * ar12;
+        if (Math.abs(t1) > ae1 + rb)
+        {
+            return false;
+        }
+        rb = be0 * ar20 + be1 * ar21 + be2 * ar22;
+        if (Math.abs(t2) > ae2 + rb)
+        {
+            return false;
+        }
+
+        // Axes of b
+        ra = ae0 * ar00 + ae1 * ar10 + ae2 * ar20;
+        if (Math.abs(t0 * r00 + t1 * r10 + t2 * r20) > ra + be0)
+        {
+            return false;
+        }
+        ra = ae0 * ar01 + ae1 * ar11 + ae2 * ar21;
+        if (Math.abs(t0 * r01 + t1 * r11 + t2 * r21) > ra + be1)
+        {
+            return false;
+        }
+        ra = ae0 * ar02 + ae1 * ar12 + ae2 * ar22;
+        if (Math.abs(t0 * r02 + t1 * r12 + t2 * r22) > ra + be2)
+        {
+            return false;
+        }
+
+        // a0 x b0
+        ra = ae1 * ar20 + ae2 * ar10;
+        rb = be1 * ar02 + be2 * ar01;
+        if (Math.abs(t2 * r10 - t1 * r20) > ra + rb)
+        {
+            return false;
+        }
+        // a0 x b1
+        ra = ae1 * ar21 + ae2 * ar11;
+        rb = be0 * ar02 + be2 * ar00;
+        if (Math.abs(t2 * r11 - t1 * r21) > ra + rb)
+        {
+            return false;
+        }
+        // a0 x b2
+        ra = ae1 * ar22 + ae2 * ar12;
+        rb = be0 * ar01 + be1 * ar00;
+        if (Math.abs(t2 * r12 - t1 * r22) > ra + rb)
+        {
+            return false;
+        }
+        // a1 x b0
+        ra = ae0 * ar20 + ae2 * ar00;
+        rb = be1 * ar12 + be2 * ar11;
+        if (Math.abs(t0 * r20 - t2 * r00) > ra + rb)
+        {
+            return false;
+        }
+        // a1 x b1
+        ra = ae0 * ar21 + ae2 * ar01;
+        rb = be0 * ar12 + be2 * ar10;
+        if (Math.abs(t0 * r21 - t2 * r01) > ra + rb)
+        {
+            return false;
+        }
+        // a1 x b2
+        ra = ae0 * ar22 + ae2 * ar02;
+        rb = be0 * ar11 + be1 * ar10;
+        if (Math.abs(t0 * r22 - t2 * r02) > ra + rb)
+        {
+            return false;
+        }
+        // a2 x b0
+        ra = ae0 * ar10 + ae1 * ar00;
+        rb = be1 * ar22 + be2 * ar21;
+        if (Math.abs(t1 * r00 - t0 * r10) > ra + rb)
+        {
+            return false;
+        }
+        // a2 x b1
+        ra = ae0 * ar11 + ae1 * ar01;
+        rb = be0 * ar22 + be2 * ar20;
+        if (Math.abs(t1 * r01 - t0 * r11) > ra + rb)
+        {
+            return false;
+        }
+        // a2 x b2
+        ra = ae0 * ar12 + ae1 * ar02;
+        rb = be0 * ar21 + be1 * ar20;
+        if (Math.abs(t1 * r02 - t0 * r12) > ra + rb)
+        {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Computes the dot product of the specified 3D vectors
+     * 
+     * @param a The first array
+     * @param ao The offset in the first array
+     * @param b The second array
+     * @param bo The offset in the second array
+     * @return The dot product
+     */
+    private static double dot(double a[], int ao, double b[], int bo)
+    {
+        return a[ao + 0] * b[bo + 0] + a[ao + 1] * b[bo + 1]
+            + a[ao + 2] * b[bo + 2];
+    }
+}
@@ -29,4 +29,10 @@ class Orientation
 
     // evaluation of OBB for orientation
     double quality = 0.0;
+
+    // The minimum and maximum projections of the points on the axes, if
+    // they are known
+    final WritableDoubleArray min = DoubleArrays.create(3);
+    final WritableDoubleArray max = DoubleArrays.create(3);
+    boolean extentsKnown;
 }
\ No newline at end of file
@@ -27,4 +27,13 @@ public class OrientedBoundingBox
      * order) that describes the orientation and half-size of the bounding box.
      */
     public double halfAxes[];
+
+    /**
+     * Whether this box is the result of a computation that was stopped
+     * early, due to a timeout or a cancellation.
+     * 
+     * A partial result still encloses all points, but may be larger than the
+     * box that would have been computed otherwise.
+     */
+    public boolean partial;
 }
\ No newline at end of file
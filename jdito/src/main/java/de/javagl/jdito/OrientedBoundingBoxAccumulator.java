@@ -0,0 +1,608 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+/**
+ * A class for computing an oriented bounding box for points that are
+ * given one after another, in a single pass.
+ * 
+ * This is intended for sources that can only be read once, for example,
+ * decompressing streams. The memory that is required by an instance does
+ * not depend on the number of points.
+ * 
+ * The first {@link #BUFFER_SIZE} points are stored, and the initial
+ * orientation of the box is computed from them with DiTO. For fewer points,
+ * the result is identical to that of
+ * {@link JDito#compute(ReadableDoubleArray)}.
+ * For all further points, the extents along the axes of the current
+ * orientation are tracked. Additionally, for each of 13 fixed directions,
+ * the points with the minimum and maximum projection on this direction are
+ * retained. The slabs between these projections form a 26-DOP that encloses
+ * all points. Each time that the number of points doubles, a new
+ * orientation is computed with DiTO from these extremal points. Its extents
+ * are bounded with the 26-DOP, and it replaces the current orientation when
+ * this gives a box with a smaller surface area. The extents of the
+ * previous points along the new axes are bounded with the intersection of
+ * the 26-DOP and the previous box.
+ * 
+ * The resulting box always encloses all points that have been added (up to
+ * rounding errors of the same magnitude as these of {@link JDito}). It may
+ * be larger than the box that {@link JDito#compute(ReadableDoubleArray)}
+ * computes for the same points, in particular when the points are ordered
+ * so that the first ones do not represent the shape of the whole set.
+ * 
+ * Instances of this class are not thread-safe.
+ */
+public class OrientedBoundingBoxAccumulator
+{
+    /**
+     * The number of directions
+     */
+    private static final int NUM_DIRECTIONS = 13;
+
+    /**
+     * The directions for which the extremal points are retained
+     */
+    private static final double DIRECTIONS[] =
+    {
+        1, 0, 0,
+        0, 1, 0,
+        0, 0, 1,
+        1, 1, 1,
+        1, 1, -1,
+        1, -1, 1,
+        1, -1, -1,
+        1, 1, 0,
+        1, -1, 0,
+        1, 0, 1,
+        1, 0, -1,
+        0, 1, 1,
+        0, 1, -1,
+    };
+
+    /**
+     * The number of extremal points
+     */
+    private static final int NUM_POINTS = NUM_DIRECTIONS * 2;
+
+    /**
+     * The number of points that are stored for computing the initial
+     * orientation
+     */
+    public static final int BUFFER_SIZE = 4096;
+
+    /**
+     * The number of planes: Two for each direction, and six for the
+     * current box
+     */
+    private static final int NUM_PLANES = NUM_POINTS + 6;
+
+    /**
+     * The minimum absolute determinant of the normals of three planes for
+     * computing a bound from them
+     */
+    private static final double DETERMINANT_EPSILON = 1e-12;
+
+    /**
+     * The relative error of the projection of a point on a direction
+     */
+    private static final double PROJECTION_EPSILON = 1e-14;
+
+    /**
+     * The buffer for the first points
+     */
+    private final double buffer[] = new double[BUFFER_SIZE * 3];
+
+    /**
+     * The minimum and maximum projections along the directions
+     */
+    private final double proj[] = new double[NUM_POINTS];
+
+    /**
+     * The extremal points along the directions, as (x,y,z) coordinates
+     */
+    private final double vertices[] = new double[NUM_POINTS * 3];
+
+    /**
+     * The planes that bound all points, as (nx, ny, nz, h) elements
+     */
+    private final double planes[] = new double[NUM_PLANES * 4];
+
+    /**
+     * The current unit axes, as a 3x3 matrix in column-major order
+     */
+    private final double axes[] = new double[9];
+
+    /**
+     * The minimum and maximum projections along the current axes
+     */
+    private final double ranges[] = new double[6];
+
+    /**
+     * The candidate unit axes
+     */
+    private final double candidateAxes[] = new double[9];
+
+    /**
+     * The bounds for the projections along the candidate axes
+     */
+    private final double candidateRanges[] = new double[6];
+
+    /**
+     * The maximum absolute coordinate of all points
+     */
+    private double maxAbs;
+
+    /**
+     * The number of points
+     */
+    private long count;
+
+    /**
+     * The number of points at which the next orientation is computed
+     */
+    private long nextCheckpoint;
+
+    /**
+     * The {@link Dito} instance for computing the orientations
+     */
+    private final Dito dito = new Dito();
+
+    /**
+     * The {@link Obb} for the results of the {@link Dito}
+     */
+    private final Obb obb = new Obb();
+
+    /**
+     * The attribute that provides the extremal points to the {@link Dito}
+     */
+    private final Attribute positions;
+
+    /**
+     * Creates a new, empty instance
+     */
+    public OrientedBoundingBoxAccumulator()
+    {
+        positions = new Attribute();
+        positions.data = DoubleArrays.create(vertices);
+        positions.size = 3;
+        positions.offsetIdx = 0;
+        positions.strideIdx = 3;
+        reset();
+    }
+
+    /**
+     * Remove all points from this instance
+     */
+    public void reset()
+    {
+        for (int d = 0; d < NUM_DIRECTIONS; d++)
+        {
+            proj[d * 2 + 0] = Double.POSITIVE_INFINITY;
+            proj[d * 2 + 1] = Double.NEGATIVE_INFINITY;
+        }
+        for (int k = 0; k < 9; k++)
+        {
+            axes[k] = k % 4 == 0 ? 1.0 : 0.0;
+        }
+        for (int k = 0; k < 3; k++)
+        {
+            ranges[k * 2 + 0] = Double.POSITIVE_INFINITY;
+            ranges[k * 2 + 1] = Double.NEGATIVE_INFINITY;
+        }
+        maxAbs = 0.0;
+        count = 0;
+        nextCheckpoint = BUFFER_SIZE * 2L;
+    }
+
+    /**
+     * Returns the number of points that have been added
+     * 
+     * @return The number of points
+     */
+    public long getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Add the given point
+     * 
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @param z The z-coordinate
+     */
+    public void add(double x, double y, double z)
+    {
+        for (int d = 0; d < NUM_DIRECTIONS; d++)
+        {
+            double p = x * DIRECTIONS[d * 3 + 0] + y * DIRECTIONS[d * 3 + 1]
+                + z * DIRECTIONS[d * 3 + 2];
+            if (p < proj[d * 2 + 0])
+            {
+                proj[d * 2 + 0] = p;
+                setVertex(d * 2 + 0, x, y, z);
+            }
+            if (p > proj[d * 2 + 1])
+            {
+                proj[d * 2 + 1] = p;
+                setVertex(d * 2 + 1, x, y, z);
+            }
+        }
+        if (count < BUFFER_SIZE)
+        {
+            int b = (int) count * 3;
+            buffer[b + 0] = x;
+            buffer[b + 1] = y;
+            buffer[b + 2] = z;
+            count++;
+            if (count == BUFFER_SIZE)
+            {
+                computeBufferOrientation(axes, ranges);
+            }
+            return;
+        }
+        for (int k = 0; k < 3; k++)
+        {
+            double p = x * axes[k * 3 + 0] + y * axes[k * 3 + 1]
+                + z * axes[k * 3 + 2];
+            ranges[k * 2 + 0] = Math.min(ranges[k * 2 + 0], p);
+            ranges[k * 2 + 1] = Math.max(ranges[k * 2 + 1], p);
+        }
+        count++;
+        if (count == nextCheckpoint)
+        {
+            updateOrientation();
+            nextCheckpoint *= 2;
+        }
+    }
+
+    /**
+     * Add the specified points.
+     * 
+     * Three consecutive elements of the given array are assumed to represent
+     * the x, y, and z-coordinates of a single point.
+     * 
+     * @param points The points
+     * @param offset The index of the first point
+     * @param numPoints The number of points
+     * @throws IndexOutOfBoundsException If the specified points are not
+     *         contained in the given array
+     */
+    public void add(double points[], int offset, int numPoints)
+    {
+        if (offset < 0 || numPoints < 0
+            || ((long) offset + numPoints) * 3 > points.length)
+        {
+            throw new IndexOutOfBoundsException("Points " + offset + " to "
+                + ((long) offset + numPoints) + " are not contained in "
+                + "an array of length " + points.length);
+        }
+        for (int i = offset; i < offset + numPoints; i++)
+        {
+            add(points[i * 3 + 0], points[i * 3 + 1], points[i * 3 + 2]);
+        }
+    }
+
+    /**
+     * Add all points of the given array.
+     * 
+     * Three consecutive elements of the given array are assumed to represent
+     * the x, y, and z-coordinates of a single point.
+     * 
+     * @param points The points
+     */
+    public void add(ReadableDoubleArray points)
+    {
+        for (int i = 0; i + 2 < points.length(); i += 3)
+        {
+            add(points.get(i), points.get(i + 1), points.get(i + 2));
+        }
+    }
+
+    /**
+     * Set the specified extremal point
+     * 
+     * @param index The index of the point
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @param z The z-coordinate
+     */
+    private void setVertex(int index, double x, double y, double z)
+    {
+        vertices[index * 3 + 0] = x;
+        vertices[index * 3 + 1] = y;
+        vertices[index * 3 + 2] = z;
+        double a = Math.max(Math.abs(x), Math.max(Math.abs(y), Math.abs(z)));
+        maxAbs = Math.max(maxAbs, a);
+    }
+
+    /**
+     * Compute the box for all points that have been added until now.
+     * 
+     * Points may still be added afterwards.
+     * 
+     * @return The box
+     * @throws IllegalStateException If no points have been added
+     */
+    public OrientedBoundingBox build()
+    {
+        if (count == 0)
+        {
+            throw new IllegalStateException("No points have been added");
+        }
+        if (count < BUFFER_SIZE)
+        {
+            // Compute the same result as JDito for the buffered points
+            return JDito.compute(DoubleArrays.create(buffer, 0,
+                (int) count * 3));
+        }
+        updateOrientation();
+        double a[] = axes;
+        double r[] = ranges;
+        OrientedBoundingBox result = new OrientedBoundingBox();
+        result.center = new double[3];
+        result.halfAxes = new double[9];
+        for (int k = 0; k < 3; k++)
+        {
+            double min = r[k * 2 + 0];
+            double max = r[k * 2 + 1];
+            double mid = (min + max) * 0.5;
+            double half = (max - min) * 0.5;
+            for (int j = 0; j < 3; j++)
+            {
+                result.center[j] += a[k * 3 + j] * mid;
+                result.halfAxes[k * 3 + j] = a[k * 3 + j] * half;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Compute the orientation for the points in the buffer with DiTO, and
+     * the extents of these points along its axes
+     * 
+     * @param a The array that will store the axes
+     * @param r The array that will store the ranges
+     */
+    private void computeBufferOrientation(double a[], double r[])
+    {
+        int n = (int) Math.min(count, BUFFER_SIZE);
+        Attribute bufferPositions = new Attribute();
+        bufferPositions.data = DoubleArrays.create(buffer, 0, n * 3);
+        bufferPositions.size = 3;
+        bufferPositions.offsetIdx = 0;
+        bufferPositions.strideIdx = 3;
+        dito.computeOBB(bufferPositions, obb);
+        VecEx.axesFrom(obb.quaternion, a, 0);
+        for (int k = 0; k < 3; k++)
+        {
+            double ax = a[k * 3 + 0];
+            double ay = a[k * 3 + 1];
+            double az = a[k * 3 + 2];
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < n; i++)
+            {
+                double p = buffer[i * 3 + 0] * ax + buffer[i * 3 + 1] * ay
+                    + buffer[i * 3 + 2] * az;
+                min = Math.min(min, p);
+                max = Math.max(max, p);
+            }
+            r[k * 2 + 0] = min;
+            r[k * 2 + 1] = max;
+        }
+    }
+
+    /**
+     * Compute a new orientation from the extremal points, and use it when
+     * its box is smaller than the box of the current orientation
+     */
+    private void updateOrientation()
+    {
+        // The extents along the current axes are also bounded by the
+        // 26-DOP, which may be tighter for the points that have been
+        // added before these axes were chosen
+        boundRanges(axes, ranges);
+
+        dito.computeOBB(positions, obb);
+        VecEx.axesFrom(obb.quaternion, candidateAxes, 0);
+        for (int k = 0; k < 3; k++)
+        {
+            candidateRanges[k * 2 + 0] = Double.NEGATIVE_INFINITY;
+            candidateRanges[k * 2 + 1] = Double.POSITIVE_INFINITY;
+        }
+        boundRanges(candidateAxes, candidateRanges);
+        if (quality(candidateRanges) < quality(ranges))
+        {
+            System.arraycopy(candidateAxes, 0, axes, 0, 9);
+            System.arraycopy(candidateRanges, 0, ranges, 0, 6);
+        }
+    }
+
+    /**
+     * Returns the quality of the box with the given ranges, which is half
+     * of its surface area
+     * 
+     * @param r The ranges
+     * @return The quality
+     */
+    private static double quality(double r[])
+    {
+        double l0 = r[1] - r[0];
+        double l1 = r[3] - r[2];
+        double l2 = r[5] - r[4];
+        return l0 * l1 + l0 * l2 + l1 * l2;
+    }
+
+    /**
+     * Restrict the given ranges along the given axes to the extents of the
+     * intersection of the 26-DOP and the current box
+     * 
+     * @param a The axes
+     * @param r The ranges
+     */
+    private void boundRanges(double a[], double r[])
+    {
+        computePlanes();
+        for (int k = 0; k < 3; k++)
+        {
+            double ux = a[k * 3 + 0];
+            double uy = a[k * 3 + 1];
+            double uz = a[k * 3 + 2];
+            r[k * 2 + 0] = Math.max(r[k * 2 + 0], -upperBound(-ux, -uy, -uz));
+            r[k * 2 + 1] = Math.min(r[k * 2 + 1], upperBound(ux, uy, uz));
+        }
+    }
+
+    /**
+     * Compute the planes of the 26-DOP and of the current box, as
+     * (nx, ny, nz, h) elements, where all points <code>x</code> fulfill
+     * <code>dot(n, x) &lt;= h</code>
+     */
+    private void computePlanes()
+    {
+        for (int d = 0; d < NUM_DIRECTIONS; d++)
+        {
+            setPlane(d * 2 + 0, -DIRECTIONS[d * 3 + 0], -DIRECTIONS[d * 3 + 1],
+                -DIRECTIONS[d * 3 + 2], -proj[d * 2 + 0]);
+            setPlane(d * 2 + 1, DIRECTIONS[d * 3 + 0], DIRECTIONS[d * 3 + 1],
+                DIRECTIONS[d * 3 + 2], proj[d * 2 + 1]);
+        }
+        for (int k = 0; k < 3; k++)
+        {
+            setPlane(NUM_POINTS + k * 2 + 0, -axes[k * 3 + 0],
+                -axes[k * 3 + 1], -axes[k * 3 + 2], -ranges[k * 2 + 0]);
+            setPlane(NUM_POINTS + k * 2 + 1, axes[k * 3 + 0], axes[k * 3 + 1],
+                axes[k * 3 + 2], ranges[k * 2 + 1]);
+        }
+    }
+
+    /**
+     * Set the specified plane
+     * 
+     * @param index The index of the plane
+     * @param nx The x-component of the normal
+     * @param ny The y-component of the normal
+     * @param nz The z-component of the normal
+     * @param h The offset
+     */
+    private void setPlane(int index, double nx, double ny, double nz,
+        double h)
+    {
+        planes[index * 4 + 0] = nx;
+        planes[index * 4 + 1] = ny;
+        planes[index * 4 + 2] = nz;
+        planes[index * 4 + 3] = h;
+    }
+
+    /**
+     * Compute an upper bound for the projection of all points on the given
+     * direction.
+     * 
+     * All points are in the set of points <code>x</code> with
+     * <code>dot(n_i, x) &lt;= h_i</code> for all planes <code>i</code>. When
+     * the direction is written as a combination <code>u = sum(l_i * n_i)
+     * </code> with nonnegative <code>l_i</code>, then
+     * <code>sum(l_i * h_i)</code> is an upper bound for <code>dot(u, x)</code>.
+     * The smallest such bound is found by examining the combinations of all
+     * triples of planes.
+     * 
+     * @param ux The x-component of the direction
+     * @param uy The y-component of the direction
+     * @param uz The z-component of the direction
+     * @return The upper bound
+     */
+    private double upperBound(double ux, double uy, double uz)
+    {
+        double best = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < NUM_PLANES; i++)
+        {
+            for (int j = i + 1; j < NUM_PLANES; j++)
+            {
+                for (int k = j + 1; k < NUM_PLANES; k++)
+                {
+                    double bound = combinationBound(i, j, k, ux, uy, uz);
+                    best = Math.min(best, bound);
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Compute the upper bound for the projection on the given direction
+     * that is implied by the specified planes.
+     * 
+     * @param i The index of the first plane
+     * @param j The index of the second plane
+     * @param k The index of the third plane
+     * @param ux The x-component of the direction
+     * @param uy The y-component of the direction
+     * @param uz The z-component of the direction
+     * @return The bound, or positive infinity if the direction is not a
+     *         nonnegative combination of the normals of the planes
+     */
+    private double combinationBound(int i, int j, int k, double ux,
+        double uy, double uz)
+    {
+        double ax = planes[i * 4 + 0];
+        double ay = planes[i * 4 + 1];
+        double az = planes[i * 4 + 2];
+        double bx = planes[j * 4 + 0];
+        double by = planes[j * 4 + 1];
+        double bz = planes[j * 4 + 2];
+        double cx = planes[k * 4 + 0];
+        double cy = planes[k * 4 + 1];
+        double cz = planes[k * 4 + 2];
+
+        // Solve [a b c] * l = u with Cramer's rule
+        double bcx = by * cz - bz * cy;
+        double bcy = bz * cx - bx * cz;
+        double bcz = bx * cy - by * cx;
+        double det = ax * bcx + ay * bcy + az * bcz;
+        if (!(Math.abs(det) > DETERMINANT_EPSILON))
+        {
+            return Double.POSITIVE_INFINITY;
+        }
+        double invDet = 1.0 / det;
+        double li = (ux * bcx + uy * bcy + uz * bcz) * invDet;
+        if (li < 0.0)
+        {
+            return Double.POSITIVE_INFINITY;
+        }
+        double lj = (ax * (uy * cz - uz * cy) + ay * (uz * cx - ux * cz)
+            + az * (ux * cy - uy * cx)) * invDet;
+        if (lj < 0.0)
+        {
+            return Double.POSITIVE_INFINITY;
+        }
+        double lk = (ax * (by * uz - bz * uy) + ay * (bz * ux - bx * uz)
+            + az * (bx * uy - by * ux)) * invDet;
+        if (lk < 0.0)
+        {
+            return Double.POSITIVE_INFINITY;
+        }
+        double hi = planes[i * 4 + 3];
+        double hj = planes[j * 4 + 3];
+        double hk = planes[k * 4 + 3];
+
+        // The residual of the solution and the rounding errors of the
+        // offsets are accounted for with the maximum point distance
+        double rx = ux - li * ax - lj * bx - lk * cx;
+        double ry = uy - li * ay - lj * by - lk * cy;
+        double rz = uz - li * az - lj * bz - lk * cz;
+        double residual = Math.sqrt(rx * rx + ry * ry + rz * rz);
+        double radius = maxAbs * Math.sqrt(3.0);
+        double slack = (residual + PROJECTION_EPSILON * 3 * (li + lj + lk))
+            * radius;
+        return li * hi + lj * hj + lk * hk + slack;
+    }
+}
@@ -0,0 +1,243 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+import java.util.Arrays;
+
+/**
+ * A struct-of-arrays storage for many {@link OrientedBoundingBox} instances.
+ * 
+ * Each box is stored with its center and the three columns of its half-axes
+ * matrix, where each component is stored in its own array. This layout allows
+ * batch operations (like the ones in {@link ObbCulling}) to process the boxes
+ * in tight loops over primitive arrays.
+ */
+public class OrientedBoundingBoxStore
+{
+    /**
+     * The default initial capacity
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // The components of the centers
+    double cx[];
+    double cy[];
+    double cz[];
+
+    // The components of the first half-axis (column 0 of the matrix)
+    double ux[];
+    double uy[];
+    double uz[];
+
+    // The components of the second half-axis (column 1 of the matrix)
+    double vx[];
+    double vy[];
+    double vz[];
+
+    // The components of the third half-axis (column 2 of the matrix)
+    double wx[];
+    double wy[];
+    double wz[];
+
+    /**
+     * The number of boxes in this store
+     */
+    private int size;
+
+    /**
+     * Creates a new, empty instance
+     */
+    public OrientedBoundingBoxStore()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new, empty instance with the given initial capacity
+     * 
+     * @param capacity The initial capacity
+     * @throws IllegalArgumentException If the capacity is negative
+     */
+    public OrientedBoundingBoxStore(int capacity)
+    {
+        if (capacity < 0)
+        {
+            throw new IllegalArgumentException(
+                "The capacity may not be negative, but is " + capacity);
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * Returns the number of boxes in this store
+     * 
+     * @return The number of boxes
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Remove all boxes from this store. The capacity remains unaffected.
+     */
+    public void clear()
+    {
+        size = 0;
+    }
+
+    /**
+     * Add the given box to this store, and return the index that it received
+     * 
+     * @param box The box
+     * @return The index of the box
+     */
+    public int add(OrientedBoundingBox box)
+    {
+        return add(box.center, box.halfAxes);
+    }
+
+    /**
+     * Add a box with the given center and half-axes to this store, and return
+     * the index that it received.
+     * 
+     * @param center The center, as a 3-element array
+     * @param halfAxes The half-axes, as a 9-element array that represents a
+     *        3x3 matrix in column-major order
+     * @return The index of the box
+     */
+    public int add(double center[], double halfAxes[])
+    {
+        if (size == cx.length)
+        {
+            allocate(Math.max(DEFAULT_CAPACITY, size * 2));
+        }
+        int index = size;
+        size++;
+        set(index, center, halfAxes);
+        return index;
+    }
+
+    /**
+     * Set the box at the given index
+     * 
+     * @param index The index
+     * @param box The box
+     * @throws IndexOutOfBoundsException If the index is negative or not
+     *         smaller than the {@link #size()}
+     */
+    public void set(int index, OrientedBoundingBox box)
+    {
+        set(index, box.center, box.halfAxes);
+    }
+
+    /**
+     * Set the box at the given index
+     * 
+     * @param index The index
+     * @param center The center, as a 3-element array
+     * @param halfAxes The half-axes, as a 9-element array that represents a
+     *        3x3 matrix in column-major order
+     * @throws IndexOutOfBoundsException If the index is negative or not
+     *         smaller than the {@link #size()}
+     */
+    public void set(int index, double center[], double halfAxes[])
+    {
+        checkIndex(index);
+        cx[index] = center[0];
+        cy[index] = center[1];
+        cz[index] = center[2];
+        ux[index] = halfAxes[0];
+        uy[index] = halfAxes[1];
+        uz[index] = halfAxes[2];
+        vx[index] = halfAxes[3];
+        vy[index] = halfAxes[4];
+        vz[index] = halfAxes[5];
+        wx[index] = halfAxes[6];
+        wy[index] = halfAxes[7];
+        wz[index] = halfAxes[8];
+    }
+
+    /**
+     * Returns a new {@link OrientedBoundingBox} for the box at the given index
+     * 
+     * @param index The index
+     * @return The box
+     * @throws IndexOutOfBoundsException If the index is negative or not
+     *         smaller than the {@link #size()}
+     */
+    public OrientedBoundingBox get(int index)
+    {
+        checkIndex(index);
+        OrientedBoundingBox result = new OrientedBoundingBox();
+        result.center = new double[]
+        { cx[index], cy[index], cz[index] };
+        result.halfAxes = new double[]
+        { ux[index], uy[index], uz[index],
+          vx[index], vy[index], vz[index],
+          wx[index], wy[index], wz[index] };
+        return result;
+    }
+
+    /**
+     * Make sure that the given index is valid
+     * 
+     * @param index The index
+     * @throws IndexOutOfBoundsException If the index is negative or not
+     *         smaller than the {@link #size()}
+     */
+    private void checkIndex(int index)
+    {
+        if (index < 0 || index >= size)
+        {
+            throw new IndexOutOfBoundsException(
+                "Index " + index + " is not in [0," + size + ")");
+        }
+    }
+
+    /**
+     * Allocate the arrays for the given capacity, retaining the current
+     * contents
+     * 
+     * @param capacity The capacity
+     */
+    private void allocate(int capacity)
+    {
+        cx = resize(cx, capacity);
+        cy = resize(cy, capacity);
+        cz = resize(cz, capacity);
+        ux = resize(ux, capacity);
+        uy = resize(uy, capacity);
+        uz = resize(uz, capacity);
+        vx = resize(vx, capacity);
+        vy = resize(vy, capacity);
+        vz = resize(vz, capacity);
+        wx = resize(wx, capacity);
+        wy = resize(wy, capacity);
+        wz = resize(wz, capacity);
+    }
+
+    /**
+     * Returns an array with the given length, containing the contents of the
+     * given array
+     * 
+     * @param array The array. May be <code>null</code>
+     * @param length The length
+     * @return The resulting array
+     */
+    private static double[] resize(double array[], int length)
+    {
+        if (array == null)
+        {
+            return new double[length];
+        }
+        return Arrays.copyOf(array, length);
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+import java.util.stream.IntStream;
+
+/**
+ * Methods for reducing a set of points to a subset that has the same convex
+ * hull, in parallel.
+ * 
+ * The points are divided into chunks, and each chunk is reduced with a
+ * {@link HullPrefilter}. A point that is inside of the convex hull of the
+ * points of its chunk is also inside of the convex hull of all points, so
+ * the union of the reduced chunks has the same convex hull as the input.
+ * Like the {@link HullPrefilter} itself, this keeps the points that are
+ * inside of the hull only by the magnitude of rounding errors. The
+ * remaining points are kept in their original order.
+ */
+class ParallelHullReduction
+{
+    /**
+     * The number of points in one chunk
+     */
+    static final int CHUNK_POINTS = 1 << 16;
+
+    /**
+     * A thread-local {@link HullPrefilter}
+     */
+    private static final ThreadLocal<HullPrefilter> threadLocalPrefilter =
+        ThreadLocal.withInitial(() -> new HullPrefilter());
+
+    /**
+     * Reduce the given points to a subset that has the same convex hull.
+     * 
+     * The first point is always contained in the result. When no points
+     * can be discarded, then <code>null</code> is returned.
+     * 
+     * @param points The points
+     * @return The remaining points, or <code>null</code>
+     */
+    static double[] reduce(ReadableDoubleArray points)
+    {
+        int pointCount = points.length() / 3;
+        int chunkCount = (pointCount + CHUNK_POINTS - 1) / CHUNK_POINTS;
+        double reduced[][] = new double[chunkCount][];
+        IntStream.range(0, chunkCount).parallel().forEach(c ->
+        {
+            reduced[c] = reduceChunk(points, c, pointCount);
+        });
+
+        // A null element means that no points of the chunk were discarded
+        long total = 0;
+        for (int c = 0; c < chunkCount; c++)
+        {
+            if (reduced[c] == null)
+            {
+                total += chunkPointCount(c, pointCount) * 3;
+            }
+            else
+            {
+                total += reduced[c].length;
+            }
+        }
+        if (total == pointCount * 3L)
+        {
+            return null;
+        }
+        double result[] = new double[(int) total];
+        int n = 0;
+        for (int c = 0; c < chunkCount; c++)
+        {
+            if (reduced[c] == null)
+            {
+                int start = c * CHUNK_POINTS * 3;
+                int end = start + chunkPointCount(c, pointCount) * 3;
+                for (int i = start; i < end; i++)
+                {
+                    result[n] = points.get(i);
+                    n++;
+                }
+            }
+            else
+            {
+                System.arraycopy(reduced[c], 0, result, n, reduced[c].length);
+                n += reduced[c].length;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reduce the points of the specified chunk
+     * 
+     * @param points The points
+     * @param c The chunk index
+     * @param pointCount The total number of points
+     * @return The remaining points, or <code>null</code> if no points could
+     * be discarded
+     */
+    private static double[] reduceChunk(ReadableDoubleArray points, int c,
+        int pointCount)
+    {
+        Attribute chunk = new Attribute();
+        chunk.data = DoubleArrays.slice(points, c * CHUNK_POINTS * 3,
+            chunkPointCount(c, pointCount) * 3);
+        chunk.size = 3;
+        chunk.offsetIdx = 0;
+        chunk.strideIdx = 3;
+        PositionChunks result = threadLocalPrefilter.get().apply(chunk);
+        if (result == chunk)
+        {
+            return null;
+        }
+        return DoubleArrays.toArray(result.getChunk(0).data);
+    }
+
+    /**
+     * Returns the number of points in the specified chunk
+     * 
+     * @param c The chunk index
+     * @param pointCount The total number of points
+     * @return The number of points
+     */
+    private static int chunkPointCount(int c, int pointCount)
+    {
+        return Math.min(CHUNK_POINTS, pointCount - c * CHUNK_POINTS);
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private ParallelHullReduction()
+    {
+        // Private constructor to prevent instantiation
+    }
+
+}
@@ -0,0 +1,66 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+/**
+ * Implementation of {@link PositionChunks} that counts the passes over
+ * another {@link PositionChunks} instance, for the {@link JDitoStatistics}.
+ * 
+ * All passes process the chunks in ascending order, so each request for
+ * the first chunk is counted as the start of a pass.
+ */
+class PassCountingPositions implements PositionChunks
+{
+    /**
+     * The delegate
+     */
+    private final PositionChunks delegate;
+
+    /**
+     * The number of passes
+     */
+    private int passCount;
+
+    /**
+     * Creates a new instance
+     * 
+     * @param delegate The delegate
+     */
+    PassCountingPositions(PositionChunks delegate)
+    {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Returns the number of passes that have been started
+     * 
+     * @return The number of passes
+     */
+    int getPassCount()
+    {
+        return passCount;
+    }
+
+    @Override
+    public int getChunkCount()
+    {
+        return delegate.getChunkCount();
+    }
+
+    @Override
+    public Attribute getChunk(int index)
+    {
+        if (index == 0)
+        {
+            passCount++;
+        }
+        return delegate.getChunk(index);
+    }
+}
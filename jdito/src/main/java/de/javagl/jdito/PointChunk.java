@@ -0,0 +1,103 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+/**
+ * A chunk of points that is provided by a {@link PointChunkSource}.
+ * 
+ * The coordinates of the points are stored in a {@link ReadableDoubleArray}.
+ * The x, y, and z-coordinates of the first point are stored at the given
+ * offset, and the following points are stored at multiples of the given
+ * stride after this offset, up to the length of the array.
+ */
+public final class PointChunk
+{
+    /**
+     * The data
+     */
+    private final ReadableDoubleArray data;
+
+    /**
+     * The offset
+     */
+    private final int offset;
+
+    /**
+     * The stride
+     */
+    private final int stride;
+
+    /**
+     * Creates a new instance for the given points, where three consecutive
+     * elements of the given array are the coordinates of one point
+     * 
+     * @param data The data
+     */
+    public PointChunk(double data[])
+    {
+        this(DoubleArrays.fromArray(data), 0, 3);
+    }
+
+    /**
+     * Creates a new instance
+     * 
+     * @param data The data
+     * @param offset The offset of the first point, in number of elements
+     * @param stride The stride between two points, in number of elements
+     * @throws IllegalArgumentException If the offset is negative, or the
+     *         stride is smaller than 3
+     */
+    public PointChunk(ReadableDoubleArray data, int offset, int stride)
+    {
+        if (offset < 0)
+        {
+            throw new IllegalArgumentException(
+                "The offset may not be negative, but is " + offset);
+        }
+        if (stride < 3)
+        {
+            throw new IllegalArgumentException(
+                "The stride must be at least 3, but is " + stride);
+        }
+        this.data = data;
+        this.offset = offset;
+        this.stride = stride;
+    }
+
+    /**
+     * Returns the data
+     * 
+     * @return The data
+     */
+    public ReadableDoubleArray getData()
+    {
+        return data;
+    }
+
+    /**
+     * Returns the offset of the first point, in number of elements
+     * 
+     * @return The offset
+     */
+    public int getOffset()
+    {
+        return offset;
+    }
+
+    /**
+     * Returns the stride between two points, in number of elements
+     * 
+     * @return The stride
+     */
+    public int getStride()
+    {
+        return stride;
+    }
+}
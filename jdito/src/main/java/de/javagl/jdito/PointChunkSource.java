@@ -0,0 +1,45 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+/**
+ * Interface for a source of points that are provided in chunks, for
+ * example, points that are stored in multiple files.
+ * 
+ * The oriented bounding box computation makes several passes over the
+ * points. In each pass, the chunks are requested in ascending order, and
+ * only the current chunk and the next one are retained. The source must
+ * therefore be replayable: Each call with the same index must return the
+ * same points.
+ * 
+ * The next chunk is requested from a background thread while the current
+ * chunk is processed. Implementations must allow calls from a thread other
+ * than the one that started the computation, but these calls will never
+ * happen concurrently. Exceptions (for example, an
+ * <code>UncheckedIOException</code>) are passed on to the caller of the
+ * computation.
+ */
+public interface PointChunkSource
+{
+    /**
+     * Returns the number of chunks
+     * 
+     * @return The number of chunks
+     */
+    int getChunkCount();
+
+    /**
+     * Returns the chunk with the given index
+     * 
+     * @param index The index, between 0 and {@link #getChunkCount()}
+     * @return The chunk
+     */
+    PointChunk getChunk(int index);
+}
@@ -0,0 +1,35 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+/**
+ * Interface for positions that are provided as a sequence of chunks.
+ * 
+ * All passes over the positions process the chunks in ascending order.
+ * A single {@link Attribute} is a sequence that consists of only this
+ * attribute.
+ */
+interface PositionChunks
+{
+    /**
+     * Returns the number of chunks
+     * 
+     * @return The number of chunks
+     */
+    int getChunkCount();
+
+    /**
+     * Returns the chunk with the given index
+     * 
+     * @param index The index
+     * @return The chunk
+     */
+    Attribute getChunk(int index);
+}
@@ -0,0 +1,265 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+/**
+ * Methods for sorting arrays of indices with a primitive comparator, without
+ * boxing the indices into <code>Integer</code> objects.
+ */
+class Sorting
+{
+    /**
+     * A comparator for <code>int</code> values
+     */
+    interface IntComparator
+    {
+        /**
+         * Compare the given values, as described in
+         * {@link java.util.Comparator#compare(Object, Object)}
+         * 
+         * @param a The first value
+         * @param b The second value
+         * @return The comparison result
+         */
+        int compare(int a, int b);
+    }
+
+    /**
+     * The size below which insertion sort is used
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * Sort the specified range of the given array, using the given comparator.
+     * 
+     * This is an introsort: A quicksort that falls back to a heapsort when the
+     * recursion becomes too deep. It is not stable.
+     * 
+     * @param a The array
+     * @param from The start index, inclusive
+     * @param to The end index, exclusive
+     * @param c The comparator
+     */
+    static void sort(int a[], int from, int to, IntComparator c)
+    {
+        int n = to - from;
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(n));
+        introSort(a, from, to - 1, depthLimit, c);
+    }
+
+    /**
+     * Sort the specified range of the given array so that the values in the
+     * given keys array that are referred to by the indices are ascending.
+     * 
+     * @param indices The indices
+     * @param from The start index, inclusive
+     * @param to The end index, exclusive
+     * @param keys The keys
+     */
+    static void sort(int indices[], int from, int to, double keys[])
+    {
+        sort(indices, from, to, (a, b) -> Double.compare(keys[a], keys[b]));
+    }
+
+    /**
+     * Sort the specified range of the given array
+     * 
+     * @param a The array
+     * @param lo The low index, inclusive
+     * @param hi The high index, inclusive
+     * @param depthLimit The remaining recursion depth
+     * @param c The comparator
+     */
+    private static void introSort(int a[], int lo, int hi, int depthLimit,
+        IntComparator c)
+    {
+        int l = lo;
+        int h = hi;
+        int d = depthLimit;
+        while (h - l + 1 > INSERTION_SORT_THRESHOLD)
+        {
+            if (d == 0)
+            {
+                heapSort(a, l, h, c);
+                return;
+            }
+            d--;
+            int p = partition(a, l, h, c);
+            // Recurse into the smaller part, iterate over the larger one
+            if (p - l < h - p)
+            {
+                introSort(a, l, p - 1, d, c);
+                l = p + 1;
+            }
+            else
+            {
+                introSort(a, p + 1, h, d, c);
+                h = p - 1;
+            }
+        }
+        insertionSort(a, l, h, c);
+    }
+
+    /**
+     * Partition the specified range of the given array around a
+     * median-of-three pivot, and return the final index of the pivot
+     * 
+     * @param a The array
+     * @param lo The low index, inclusive
+     * @param hi The high index, inclusive
+     * @param c The comparator
+     * @return The index of the pivot
+     */
+    private static int partition(int a[], int lo, int hi, IntComparator c)
+    {
+        int mid = (lo + hi) >>> 1;
+        if (c.compare(a[mid], a[lo]) < 0)
+        {
+            swap(a, mid, lo);
+        }
+        if (c.compare(a[hi], a[lo]) < 0)
+        {
+            swap(a, hi, lo);
+        }
+        if (c.compare(a[hi], a[mid]) < 0)
+        {
+            swap(a, hi, mid);
+        }
+        // Now a[lo] <= a[mid] <= a[hi]. Move the pivot to hi - 1
+        swap(a, mid, hi - 1);
+        int pivot = a[hi - 1];
+        int i = lo;
+        int j = hi - 1;
+        while (true)
+        {
+            do
+            {
+                i++;
+            }
+            while (c.compare(a[i], pivot) < 0);
+            do
+            {
+                j--;
+            }
+            while (c.compare(pivot, a[j]) < 0);
+            if (i >= j)
+            {
+                break;
+            }
+            swap(a, i, j);
+        }
+        swap(a, i, hi - 1);
+        return i;
+    }
+
+    /**
+     * Sort the specified range of the given array with an insertion sort
+     * 
+     * @param a The array
+     * @param lo The low index, inclusive
+     * @param hi The high index, inclusive
+     * @param c The comparator
+     */
+    private static void insertionSort(int a[], int lo, int hi,
+        IntComparator c)
+    {
+        for (int i = lo + 1; i <= hi; i++)
+        {
+            int v = a[i];
+            int j = i - 1;
+            while (j >= lo && c.compare(v, a[j]) < 0)
+            {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = v;
+        }
+    }
+
+    /**
+     * Sort the specified range of the given array with a heap sort
+     * 
+     * @param a The array
+     * @param lo The low index, inclusive
+     * @param hi The high index, inclusive
+     * @param c The comparator
+     */
+    private static void heapSort(int a[], int lo, int hi, IntComparator c)
+    {
+        int n = hi - lo + 1;
+        for (int i = n / 2 - 1; i >= 0; i--)
+        {
+            siftDown(a, lo, i, n, c);
+        }
+        for (int i = n - 1; i > 0; i--)
+        {
+            swap(a, lo, lo + i);
+            siftDown(a, lo, 0, i, c);
+        }
+    }
+
+    /**
+     * Sift the given element down in the heap that is stored in the given
+     * array, starting at the given offset
+     * 
+     * @param a The array
+     * @param offset The offset of the heap
+     * @param i The index of the element, relative to the offset
+     * @param n The size of the heap
+     * @param c The comparator
+     */
+    private static void siftDown(int a[], int offset, int i, int n,
+        IntComparator c)
+    {
+        int current = i;
+        while (true)
+        {
+            int child = 2 * current + 1;
+            if (child >= n)
+            {
+                return;
+            }
+            if (child + 1 < n && c.compare(a[offset + child],
+                a[offset + child + 1]) < 0)
+            {
+                child++;
+            }
+            if (c.compare(a[offset + current], a[offset + child]) >= 0)
+            {
+                return;
+            }
+            swap(a, offset + current, offset + child);
+            current = child;
+        }
+    }
+
+    /**
+     * Swap the specified elements of the given array
+     * 
+     * @param a The array
+     * @param i The first index
+     * @param j The second index
+     */
+    private static void swap(int a[], int i, int j)
+    {
+        int t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private Sorting()
+    {
+        // Private constructor to prevent instantiation
+    }
+
+}
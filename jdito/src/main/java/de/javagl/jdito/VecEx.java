@@ -14,6 +14,12 @@ package de.javagl.jdito;
  */
 class VecEx
 {
+    /**
+     * The length of a half-axis, relative to the longest half-axis, below
+     * which it is considered to be degenerate
+     */
+    static final double DEGENERATE_AXIS_EPSILON = 1e-12;
+
     /**
      * Create a 3x3 matrix describing the half-axis representation that is
      * equivalent to the given quaternion and half-size
@@ -26,70 +32,259 @@ class VecEx
      */
     static double[] matrixFrom(double[] quaternion, double[] halfSize)
     {
-        double m[] = quaternionToMatrix(quaternion);
-        scale(m, halfSize);
+        double m[] = new double[9];
+        quaternionToMatrix(quaternion[0], quaternion[1], quaternion[2],
+            quaternion[3], m, 0);
+        scale(m, 0, halfSize[0], halfSize[1], halfSize[2]);
         return m;
     }
 
+    /**
+     * Write the 3x3 matrix describing the half-axis representation that is
+     * equivalent to the given quaternion and half-size into the given array,
+     * starting at the given offset.
+     * 
+     * @param quaternion A 4-element array for the quaternion, in scalar-last
+     *        representation
+     * @param halfSize The half-size, as a 3-element array
+     * @param m The array that will store the 3x3 matrix in column major
+     *        order
+     * @param offset The offset in the array
+     */
+    static void matrixFrom(ReadableDoubleArray quaternion,
+        ReadableDoubleArray halfSize, double m[], int offset)
+    {
+        quaternionToMatrix(quaternion.get(0), quaternion.get(1),
+            quaternion.get(2), quaternion.get(3), m, offset);
+        scale(m, offset, halfSize.get(0), halfSize.get(1), halfSize.get(2));
+    }
+
+    /**
+     * Write the 3x3 rotation matrix that is described by the given
+     * quaternion into the given array, starting at the given offset. The
+     * columns of this matrix are the unit axes of the rotated frame.
+     * 
+     * @param quaternion A 4-element array for the quaternion, in scalar-last
+     *        representation
+     * @param m The array that will store the 3x3 matrix in column major
+     *        order
+     * @param offset The offset in the array
+     */
+    static void axesFrom(ReadableDoubleArray quaternion, double m[],
+        int offset)
+    {
+        quaternionToMatrix(quaternion.get(0), quaternion.get(1),
+            quaternion.get(2), quaternion.get(3), m, offset);
+    }
+
     /**
      * Compute a 3x3 rotation matrix from the given quaternion.
      * 
-     * The quaternion (in scalar-last representation) is given as a 4-element
-     * array. The result is a 9-element array describing the rotation matrix in
-     * column-major order.
+     * The quaternion is given in scalar-last representation. The result is
+     * written into the given array, starting at the given offset, as a 3x3
+     * matrix in column-major order.
      * 
-     * @param quaternion The quaternion
-     * @return The matrix
+     * @param Qx The x-component of the quaternion
+     * @param Qy The y-component of the quaternion
+     * @param Qz The z-component of the quaternion
+     * @param Qw The w-component of the quaternion
+     * @param m The array that will store the matrix
+     * @param o The offset in the array
      */
-    private static double[] quaternionToMatrix(double quaternion[])
+    private static void quaternionToMatrix(double Qx, double Qy, double Qz,
+        double Qw, double m[], int o)
     {
-        double Qx = quaternion[0];
-        double Qy = quaternion[1];
-        double Qz = quaternion[2];
-        double Qw = quaternion[3];
         double lenSquared = Qx * Qx + Qy * Qy + Qz * Qz + Qw * Qw;
         double invLength = 1.0 / Math.sqrt(lenSquared);
 
-        double qx = quaternion[0] * invLength;
-        double qy = quaternion[1] * invLength;
-        double qz = quaternion[2] * invLength;
-        double qw = quaternion[3] * invLength;
+        double qx = Qx * invLength;
+        double qy = Qy * invLength;
+        double qz = Qz * invLength;
+        double qw = Qw * invLength;
 
-        double m[] = new double[9];
-        m[0] = 1.0 - (qy * qy + qz * qz) * 2.0;
-        m[3] = 2.0 * (qx * qy - qw * qz);
-        m[6] = 2.0 * (qx * qz + qw * qy);
+        m[o + 0] = 1.0 - (qy * qy + qz * qz) * 2.0;
+        m[o + 3] = 2.0 * (qx * qy - qw * qz);
+        m[o + 6] = 2.0 * (qx * qz + qw * qy);
         
-        m[1] = 2.0 * (qx * qy + qw * qz);
-        m[4] = 1.0 - (qx * qx + qz * qz) * 2.0;
-        m[7] = 2.0 * (qy * qz - qw * qx);
+        m[o + 1] = 2.0 * (qx * qy + qw * qz);
+        m[o + 4] = 1.0 - (qx * qx + qz * qz) * 2.0;
+        m[o + 7] = 2.0 * (qy * qz - qw * qx);
         
-        m[2] = 2.0 * (qx * qz - qw * qy);
-        m[5] = 2.0 * (qy * qz + qw * qx);
-        m[8] = 1.0 - (qx * qx + qy * qy) * 2.0;
-        return m;
+        m[o + 2] = 2.0 * (qx * qz - qw * qy);
+        m[o + 5] = 2.0 * (qy * qz + qw * qx);
+        m[o + 8] = 1.0 - (qx * qx + qy * qy) * 2.0;
     }
 
     /**
      * Apply the given scale factor to the given matrix.
      * 
-     * The scale factor is a 3-element array. The matrix is a 9-element array
-     * representing the matrix in column-major order.
+     * The matrix is given as 9 elements of the given array, starting at the
+     * given offset, representing the matrix in column-major order.
      * 
      * @param m The matrix
-     * @param s The scale factor
+     * @param o The offset in the array
+     * @param s0 The scale factor for the first column
+     * @param s1 The scale factor for the second column
+     * @param s2 The scale factor for the third column
+     */
+    private static void scale(double m[], int o, double s0, double s1,
+        double s2)
+    {
+        m[o + 0] *= s0;
+        m[o + 1] *= s0;
+        m[o + 2] *= s0;
+        m[o + 3] *= s1;
+        m[o + 4] *= s1;
+        m[o + 5] *= s1;
+        m[o + 6] *= s2;
+        m[o + 7] *= s2;
+        m[o + 8] *= s2;
+    }
+
+    /**
+     * Decompose the given half-axes matrix into unit axes and extents.
+     * 
+     * The half-axes are given as a 9-element array that represents a 3x3
+     * matrix in column-major order, starting at the given offset. The unit
+     * vectors of the columns will be written into the given 9-element array,
+     * and the lengths of the columns will be written into the given 3-element
+     * array.
+     * 
+     * When a column is (nearly) zero, meaning that the box is flat along this
+     * axis, then the respective axis will be computed from the other axes, so
+     * that the resulting axes always form an orthonormal basis.
+     * 
+     * @param halfAxes The half-axes
+     * @param offset The offset into the half-axes array
+     * @param axes The array that will store the axes
+     * @param extents The array that will store the extents
+     */
+    static void decomposeHalfAxes(double halfAxes[], int offset,
+        double axes[], double extents[])
+    {
+        double maxLength = 0.0;
+        for (int c = 0; c < 3; c++)
+        {
+            int i = offset + c * 3;
+            double x = halfAxes[i + 0];
+            double y = halfAxes[i + 1];
+            double z = halfAxes[i + 2];
+            extents[c] = Math.sqrt(x * x + y * y + z * z);
+            maxLength = Math.max(maxLength, extents[c]);
+        }
+        double threshold = maxLength * DEGENERATE_AXIS_EPSILON;
+        int validCount = 0;
+        int validIndex = -1;
+        int invalidIndex = -1;
+        for (int c = 0; c < 3; c++)
+        {
+            int i = offset + c * 3;
+            if (extents[c] > threshold && extents[c] > 0.0)
+            {
+                double invLength = 1.0 / extents[c];
+                axes[c * 3 + 0] = halfAxes[i + 0] * invLength;
+                axes[c * 3 + 1] = halfAxes[i + 1] * invLength;
+                axes[c * 3 + 2] = halfAxes[i + 2] * invLength;
+                validCount++;
+                validIndex = c;
+            }
+            else
+            {
+                invalidIndex = c;
+            }
+        }
+        if (validCount == 3)
+        {
+            return;
+        }
+        if (validCount == 2)
+        {
+            // The missing axis is the cross product of the other two,
+            // in cyclic order
+            int a = (invalidIndex + 1) % 3;
+            int b = (invalidIndex + 2) % 3;
+            cross(axes, invalidIndex * 3, axes, a * 3, axes, b * 3);
+            normalize(axes, invalidIndex * 3);
+            return;
+        }
+        if (validCount == 1)
+        {
+            // Build any orthonormal basis containing the valid axis
+            int a = (validIndex + 1) % 3;
+            int b = (validIndex + 2) % 3;
+            int v = validIndex * 3;
+            double x = Math.abs(axes[v + 0]);
+            double y = Math.abs(axes[v + 1]);
+            double z = Math.abs(axes[v + 2]);
+            axes[a * 3 + 0] = 0.0;
+            axes[a * 3 + 1] = 0.0;
+            axes[a * 3 + 2] = 0.0;
+            if (x <= y && x <= z)
+            {
+                axes[a * 3 + 0] = 1.0;
+            }
+            else if (y <= z)
+            {
+                axes[a * 3 + 1] = 1.0;
+            }
+            else
+            {
+                axes[a * 3 + 2] = 1.0;
+            }
+            cross(axes, b * 3, axes, v, axes, a * 3);
+            normalize(axes, b * 3);
+            cross(axes, a * 3, axes, b * 3, axes, v);
+            normalize(axes, a * 3);
+            return;
+        }
+        for (int i = 0; i < 9; i++)
+        {
+            axes[i] = (i % 4 == 0) ? 1.0 : 0.0;
+        }
+    }
+
+    /**
+     * Compute the cross product of the specified 3D vectors
+     * 
+     * @param out The output array
+     * @param o The offset in the output array
+     * @param a The first array
+     * @param ao The offset in the first array
+     * @param b The second array
+     * @param bo The offset in the second array
+     */
+    private static void cross(double out[], int o, double a[], int ao,
+        double b[], int bo)
+    {
+        double ax = a[ao + 0];
+        double ay = a[ao + 1];
+        double az = a[ao + 2];
+        double bx = b[bo + 0];
+        double by = b[bo + 1];
+        double bz = b[bo + 2];
+        out[o + 0] = ay * bz - az * by;
+        out[o + 1] = az * bx - ax * bz;
+        out[o + 2] = ax * by - ay * bx;
+    }
+
+    /**
+     * Normalize the specified 3D vector
+     * 
+     * @param a The array
+     * @param o The offset in the array
      */
-    private static void scale(double m[], double s[])
+    private static void normalize(double a[], int o)
     {
-        m[0] *= s[0];
-        m[1] *= s[0];
-        m[2] *= s[0];
-        m[3] *= s[1];
-        m[4] *= s[1];
-        m[5] *= s[1];
-        m[6] *= s[2];
-        m[7] *= s[2];
-        m[8] *= s[2];
+        double x = a[o + 0];
+        double y = a[o + 1];
+        double z = a[o + 2];
+        double len = Math.sqrt(x * x + y * y + z * z);
+        if (len > 0)
+        {
+            a[o + 0] = x / len;
+            a[o + 1] = y / len;
+            a[o + 2] = z / len;
+        }
     }
 
     /**
@@ -0,0 +1,318 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+/**
+ * A class for evaluating the orientation of a previous bounding box, as a
+ * seed for the computation of a new one.
+ * 
+ * The seed orientation, the orientations that are obtained by rotating the
+ * seed by a small angle in both directions about each of its axes, and the
+ * axis-aligned orientation are evaluated in a single pass over the points.
+ * The best of these orientations, together with its extents, can then be
+ * used directly, or as an additional candidate for the full search.
+ * 
+ * Instances of this class may be re-used, and will retain their storage.
+ */
+class WarmStart
+{
+    /**
+     * The angle, in radians, by which the seed is rotated
+     */
+    private static final double ANGLE = 0.02;
+
+    /**
+     * The number of orientations: The seed, six rotations, and the
+     * axis-aligned orientation
+     */
+    private static final int NUM_FRAMES = 8;
+
+    /**
+     * The number of points that are copied into the local block arrays
+     */
+    private static final int BLOCK_SIZE = 256;
+
+    /**
+     * The axes of the orientations, as 9 elements for the three axes
+     */
+    private final double frames[] = new double[NUM_FRAMES * 9];
+
+    /**
+     * The minimum and maximum projections of the points on all axes
+     */
+    private final double ranges[] = new double[NUM_FRAMES * 6];
+
+    /**
+     * The x-coordinates of the points of the current block
+     */
+    private final double blockX[] = new double[BLOCK_SIZE];
+
+    /**
+     * The y-coordinates of the points of the current block
+     */
+    private final double blockY[] = new double[BLOCK_SIZE];
+
+    /**
+     * The z-coordinates of the points of the current block
+     */
+    private final double blockZ[] = new double[BLOCK_SIZE];
+
+    /**
+     * The unit axes of the seed
+     */
+    private final double seedAxes[] = new double[9];
+
+    /**
+     * The extents of the seed
+     */
+    private final double seedExtents[] = new double[3];
+
+    /**
+     * The quality of the seed box
+     */
+    private double seedQuality;
+
+    /**
+     * The index of the best orientation
+     */
+    private int bestIndex;
+
+    /**
+     * The quality of the best orientation
+     */
+    private double bestQuality;
+
+    /**
+     * Set the seed from the given half-axes matrix.
+     * 
+     * The half-axes are given as a 9-element array that represents a 3x3
+     * matrix in column-major order. The axes are orthonormalized, so that
+     * they form a right-handed frame.
+     * 
+     * @param halfAxes The half-axes
+     */
+    void setSeed(double halfAxes[])
+    {
+        double axes[] = seedAxes;
+        double extents[] = seedExtents;
+        VecEx.decomposeHalfAxes(halfAxes, 0, axes, extents);
+        double l0 = extents[0] * 2.0;
+        double l1 = extents[1] * 2.0;
+        double l2 = extents[2] * 2.0;
+        seedQuality = l0 * l1 + l0 * l2 + l1 * l2;
+
+        // Gram-Schmidt orthonormalization, with the third axis being the
+        // cross product of the first two
+        double ax = axes[0];
+        double ay = axes[1];
+        double az = axes[2];
+        double dot = axes[3] * ax + axes[4] * ay + axes[5] * az;
+        double bx = axes[3] - dot * ax;
+        double by = axes[4] - dot * ay;
+        double bz = axes[5] - dot * az;
+        double lengthSquared = bx * bx + by * by + bz * bz;
+        if (!(lengthSquared > VecEx.DEGENERATE_AXIS_EPSILON))
+        {
+            // The first two axes are parallel. Use any axis that is
+            // orthogonal to the first one.
+            bx = Math.abs(ax) < 0.5 ? 0.0 : -ay;
+            by = Math.abs(ax) < 0.5 ? -az : ax;
+            bz = Math.abs(ax) < 0.5 ? ay : 0.0;
+            lengthSquared = bx * bx + by * by + bz * bz;
+        }
+        double invLength = 1.0 / Math.sqrt(lengthSquared);
+        bx *= invLength;
+        by *= invLength;
+        bz *= invLength;
+        double cx = ay * bz - az * by;
+        double cy = az * bx - ax * bz;
+        double cz = ax * by - ay * bx;
+        setFrame(0, ax, ay, az, bx, by, bz, cx, cy, cz);
+
+        // Rotations about each axis, in both directions
+        double c = Math.cos(ANGLE);
+        double s = Math.sin(ANGLE);
+        for (int k = 0; k < 2; k++)
+        {
+            double t = k == 0 ? s : -s;
+            setFrame(1 + k, ax, ay, az,
+                bx * c + cx * t, by * c + cy * t, bz * c + cz * t,
+                cx * c - bx * t, cy * c - by * t, cz * c - bz * t);
+            setFrame(3 + k, ax * c - cx * t, ay * c - cy * t, az * c - cz * t,
+                bx, by, bz,
+                cx * c + ax * t, cy * c + ay * t, cz * c + az * t);
+            setFrame(5 + k, ax * c + bx * t, ay * c + by * t, az * c + bz * t,
+                bx * c - ax * t, by * c - ay * t, bz * c - az * t,
+                cx, cy, cz);
+        }
+        setFrame(7, 1, 0, 0, 0, 1, 0, 0, 0, 1);
+    }
+
+    /**
+     * Set the specified frame
+     * 
+     * @param f The frame index
+     * @param ax The x-component of the first axis
+     * @param ay The y-component of the first axis
+     * @param az The z-component of the first axis
+     * @param bx The x-component of the second axis
+     * @param by The y-component of the second axis
+     * @param bz The z-component of the second axis
+     * @param cx The x-component of the third axis
+     * @param cy The y-component of the third axis
+     * @param cz The z-component of the third axis
+     */
+    private void setFrame(int f, double ax, double ay, double az, double bx,
+        double by, double bz, double cx, double cy, double cz)
+    {
+        int o = f * 9;
+        frames[o + 0] = ax;
+        frames[o + 1] = ay;
+        frames[o + 2] = az;
+        frames[o + 3] = bx;
+        frames[o + 4] = by;
+        frames[o + 5] = bz;
+        frames[o + 6] = cx;
+        frames[o + 7] = cy;
+        frames[o + 8] = cz;
+    }
+
+    /**
+     * Compute the extents of the given positions for all orientations, in a
+     * single pass, and determine the best orientation.
+     * 
+     * The points are copied block-wise into local arrays, so that the
+     * projections on each axis can be computed in a tight loop.
+     * 
+     * @param positions The positions
+     * @return The number of points
+     */
+    long evaluate(PositionChunks positions)
+    {
+        for (int a = 0; a < NUM_FRAMES * 3; a++)
+        {
+            ranges[a * 2 + 0] = Double.POSITIVE_INFINITY;
+            ranges[a * 2 + 1] = Double.NEGATIVE_INFINITY;
+        }
+        long count = 0;
+        for (int c = 0; c < positions.getChunkCount(); c++)
+        {
+            count += evaluate(positions.getChunk(c));
+        }
+        bestIndex = 0;
+        bestQuality = Double.POSITIVE_INFINITY;
+        for (int f = 0; f < NUM_FRAMES; f++)
+        {
+            int o = f * 6;
+            double l0 = ranges[o + 1] - ranges[o + 0];
+            double l1 = ranges[o + 3] - ranges[o + 2];
+            double l2 = ranges[o + 5] - ranges[o + 4];
+            double quality = l0 * l1 + l0 * l2 + l1 * l2;
+            if (quality < bestQuality)
+            {
+                bestQuality = quality;
+                bestIndex = f;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Update the extents for all orientations with the given chunk
+     * 
+     * @param chunk The chunk
+     * @return The number of points in the chunk
+     */
+    private long evaluate(Attribute chunk)
+    {
+        ReadableDoubleArray data = chunk.data;
+        int strideIdx = chunk.strideIdx;
+        double xs[] = blockX;
+        double ys[] = blockY;
+        double zs[] = blockZ;
+        long count = 0;
+        int i = chunk.offsetIdx;
+        while (i < data.length())
+        {
+            int n = 0;
+            while (n < BLOCK_SIZE && i < data.length())
+            {
+                xs[n] = data.get(i);
+                ys[n] = data.get(i + 1);
+                zs[n] = data.get(i + 2);
+                n++;
+                i += strideIdx;
+            }
+            count += n;
+            for (int a = 0; a < NUM_FRAMES * 3; a++)
+            {
+                double ax = frames[a * 3 + 0];
+                double ay = frames[a * 3 + 1];
+                double az = frames[a * 3 + 2];
+                double min = ranges[a * 2 + 0];
+                double max = ranges[a * 2 + 1];
+                for (int k = 0; k < n; k++)
+                {
+                    double proj = xs[k] * ax + ys[k] * ay + zs[k] * az;
+                    min = Math.min(min, proj);
+                    max = Math.max(max, proj);
+                }
+                ranges[a * 2 + 0] = min;
+                ranges[a * 2 + 1] = max;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the quality of the seed box, as given by its half-axes
+     * 
+     * @return The seed quality
+     */
+    double getSeedQuality()
+    {
+        return seedQuality;
+    }
+
+    /**
+     * Returns the quality of the best orientation that was found in the last
+     * call to {@link #evaluate(PositionChunks)}
+     * 
+     * @return The best quality
+     */
+    double getBestQuality()
+    {
+        return bestQuality;
+    }
+
+    /**
+     * Write the axes of the best orientation into the given orientation, and
+     * the minimum and maximum projections on these axes into the given
+     * arrays
+     * 
+     * @param best The orientation
+     * @param min The minimum projections
+     * @param max The maximum projections
+     */
+    void getBest(Orientation best, WritableDoubleArray min,
+        WritableDoubleArray max)
+    {
+        int o = bestIndex * 9;
+        for (int k = 0; k < 3; k++)
+        {
+            best.b0.set(k, frames[o + 0 + k]);
+            best.b1.set(k, frames[o + 3 + k]);
+            best.b2.set(k, frames[o + 6 + k]);
+            min.set(k, ranges[bestIndex * 6 + k * 2 + 0]);
+            max.set(k, ranges[bestIndex * 6 + k * 2 + 1]);
+        }
+        best.quality = bestQuality;
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+/**
+ * Utility methods for checking oriented bounding boxes in tests
+ */
+class Boxes
+{
+    /**
+     * Returns whether the given box encloses all given points, up to a
+     * tolerance that accounts for the rounding errors of the coordinates
+     * 
+     * @param box The box
+     * @param points The points
+     * @return Whether the box encloses the points
+     */
+    static boolean encloses(OrientedBoundingBox box, double points[])
+    {
+        double maxAbs = 0.0;
+        for (double p : points)
+        {
+            maxAbs = Math.max(maxAbs, Math.abs(p));
+        }
+        double tolerance = 1e-9 + 1e-14 * maxAbs;
+        double h[] = box.halfAxes;
+        for (int i = 0; i < points.length; i += 3)
+        {
+            double dx = points[i + 0] - box.center[0];
+            double dy = points[i + 1] - box.center[1];
+            double dz = points[i + 2] - box.center[2];
+            for (int k = 0; k < 3; k++)
+            {
+                double ax = h[k * 3 + 0];
+                double ay = h[k * 3 + 1];
+                double az = h[k * 3 + 2];
+                double length = Math.sqrt(ax * ax + ay * ay + az * az);
+                double projection = dx * ax + dy * ay + dz * az;
+                if (Math.abs(projection) > length * (length + tolerance))
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private Boxes()
+    {
+        // Private constructor to prevent instantiation
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests that the boxes that are computed with the hull prefilter are the
+ * same as the boxes that are computed without it, and enclose all points,
+ * for random, planar, and offset inputs
+ */
+@SuppressWarnings("javadoc")
+public class HullPrefilterTest
+{
+    @Test
+    public void testRandomInputsAreIdentical()
+    {
+        Random random = new Random(0);
+        for (int t = 0; t < 200; t++)
+        {
+            double points[] = createGaussianPoints(random,
+                1 + random.nextInt(2000), 0.0);
+            assertSameBox(points);
+        }
+    }
+
+    @Test
+    public void testPlanarInputsAreIdentical()
+    {
+        double offsets[] = { 0.0, 1e3, 1e6, 1e9 };
+        double scales[] = { 1e-3, 1.0, 1e4 };
+        Random random = new Random(0);
+        for (double offset : offsets)
+        {
+            for (double scale : scales)
+            {
+                for (int t = 0; t < 40; t++)
+                {
+                    double points[] = createPlanarPoints(random,
+                        3 + random.nextInt(3000), offset, scale);
+                    assertSameBox(points);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testOffsetInputsAreEnclosedAndIdentical()
+    {
+        double offsets[] = { 1e5, 1e6, 1e7, -3e8 };
+        Random random = new Random(0);
+        for (double offset : offsets)
+        {
+            for (int t = 0; t < 100; t++)
+            {
+                double points[] = createGaussianPoints(random,
+                    100 + random.nextInt(2000), offset);
+                assertSameBox(points);
+            }
+        }
+    }
+
+    /**
+     * Create points with unit-scale Gaussian coordinates around the given
+     * offset
+     * 
+     * @param random The random number generator
+     * @param n The number of points
+     * @param offset The offset
+     * @return The points
+     */
+    private static double[] createGaussianPoints(Random random, int n,
+        double offset)
+    {
+        double points[] = new double[n * 3];
+        for (int i = 0; i < points.length; i++)
+        {
+            points[i] = offset + random.nextGaussian();
+        }
+        return points;
+    }
+
+    /**
+     * Create points with Gaussian coordinates in a plane that is not
+     * aligned with the coordinate axes, scaled with the given scale, around
+     * the given offset
+     * 
+     * @param random The random number generator
+     * @param n The number of points
+     * @param offset The offset
+     * @param scale The scale
+     * @return The points
+     */
+    private static double[] createPlanarPoints(Random random, int n,
+        double offset, double scale)
+    {
+        double points[] = new double[n * 3];
+        for (int i = 0; i < n; i++)
+        {
+            double u = random.nextGaussian();
+            double v = random.nextGaussian();
+            points[i * 3 + 0] = offset + scale * u;
+            points[i * 3 + 1] = offset * 0.7 + scale * v;
+            points[i * 3 + 2] = offset * -0.3 + scale * (0.3 * u - 0.2 * v);
+        }
+        return points;
+    }
+
+    /**
+     * Assert that the box that is computed for the given points with the
+     * prefilter is the same as the one that is computed without it, and
+     * that it encloses all points
+     * 
+     * @param points The points
+     */
+    private static void assertSameBox(double points[])
+    {
+        JDitoOptions options = new JDitoOptions();
+        options.setPrefilterEnabled(true);
+        OrientedBoundingBox actual = JDito.compute(points, options);
+        OrientedBoundingBox expected = JDito.compute(points);
+        assertArrayEquals(expected.center, actual.center, 0.0);
+        assertArrayEquals(expected.halfAxes, actual.halfAxes, 0.0);
+        assertTrue("Box does not enclose all points",
+            Boxes.encloses(actual, points));
+    }
+}
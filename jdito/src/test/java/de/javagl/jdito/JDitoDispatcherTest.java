@@ -0,0 +1,62 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import de.javagl.jdito.JDitoDispatcher.Strategy;
+
+/**
+ * Tests that all strategies of the {@link JDitoDispatcher} compute the same
+ * boxes as {@link JDito#compute(ReadableDoubleArray)}, for inputs that are
+ * far from the origin
+ */
+@SuppressWarnings("javadoc")
+public class JDitoDispatcherTest
+{
+    @Test
+    public void testAllStrategiesAreIdenticalForOffsetInputs()
+    {
+        double offsets[] = { 0.0, 1e5, 1e6, 1e7 };
+        Random random = new Random(0);
+        for (double offset : offsets)
+        {
+            for (int t = 0; t < 4; t++)
+            {
+                // Use more than one chunk of the parallel reduction
+                int n = ParallelHullReduction.CHUNK_POINTS
+                    + random.nextInt(2 * ParallelHullReduction.CHUNK_POINTS);
+                double points[] = new double[n * 3];
+                for (int i = 0; i < points.length; i++)
+                {
+                    points[i] = offset * (1 + i % 3) + random.nextGaussian();
+                }
+                ReadableDoubleArray array = DoubleArrays.fromArray(points);
+                OrientedBoundingBox expected = JDito.compute(array);
+                for (Strategy strategy : Strategy.values())
+                {
+                    OrientedBoundingBox actual = JDitoDispatcher.compute(
+                        strategy, array, new JDitoOptions());
+                    String message = strategy + " at offset " + offset;
+                    assertArrayEquals(message,
+                        expected.center, actual.center, 0.0);
+                    assertArrayEquals(message,
+                        expected.halfAxes, actual.halfAxes, 0.0);
+                    assertTrue(message, Boxes.encloses(actual, points));
+                }
+            }
+        }
+    }
+}
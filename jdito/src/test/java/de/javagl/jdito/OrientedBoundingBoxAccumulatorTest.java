@@ -0,0 +1,49 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests that the {@link OrientedBoundingBoxAccumulator} computes the same
+ * boxes as {@link JDito}, for fewer than
+ * {@link OrientedBoundingBoxAccumulator#BUFFER_SIZE} points
+ */
+@SuppressWarnings("javadoc")
+public class OrientedBoundingBoxAccumulatorTest
+{
+    @Test
+    public void testSmallInputsAreIdentical()
+    {
+        Random random = new Random(0);
+        OrientedBoundingBoxAccumulator accumulator =
+            new OrientedBoundingBoxAccumulator();
+        for (int t = 0; t < 200; t++)
+        {
+            int n = 1 + random.nextInt(
+                OrientedBoundingBoxAccumulator.BUFFER_SIZE - 1);
+            double points[] = new double[n * 3];
+            for (int i = 0; i < points.length; i++)
+            {
+                points[i] = random.nextGaussian() * (1 + i % 3);
+            }
+            accumulator.reset();
+            accumulator.add(points, 0, n);
+            OrientedBoundingBox actual = accumulator.build();
+            OrientedBoundingBox expected = JDito.compute(points);
+            assertArrayEquals(expected.center, actual.center, 0.0);
+            assertArrayEquals(expected.halfAxes, actual.halfAxes, 0.0);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * JDito - DiTO oriented bounding box computation
+ * 
+ * Distributed under the 2-clause BSD license. See LICENSE for details.
+ * 
+ * Copyright 2025 Marco Hutter (Java port)
+ * Copyright 2018 Stefan Eilemann (TypeScript port)
+ * Copyright 2011 Thomas Larsson and Linus Kallberg (C++ implementation).
+ */
+package de.javagl.jdito;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests that the boxes that are computed with the local refinement enclose
+ * all points, for inputs with fewer than 14 points
+ */
+@SuppressWarnings("javadoc")
+public class RefinementEnclosureTest
+{
+    @Test
+    public void testSmallInputsAreEnclosed()
+    {
+        Random random = new Random(0);
+        for (int t = 0; t < 2000; t++)
+        {
+            int n = 1 + t % 13;
+            double points[] = new double[n * 3];
+            for (int i = 0; i < points.length; i++)
+            {
+                points[i] = random.nextGaussian() * (1 + i % 3);
+            }
+            JDitoOptions options = new JDitoOptions();
+            options.setRefinementIterations(1 + t % 16);
+            options.setPrefilterEnabled(t % 2 == 0);
+            OrientedBoundingBox box = JDito.compute(points, options);
+            assertTrue("Box does not enclose all " + n + " points",
+                encloses(box, points));
+        }
+    }
+
+    /**
+     * Returns whether the given box encloses all given points, up to a
+     * small tolerance
+     * 
+     * @param box The box
+     * @param points The points
+     * @return Whether the box encloses the points
+     */
+    private static boolean encloses(OrientedBoundingBox box, double points[])
+    {
+        double h[] = box.halfAxes;
+        for (int i = 0; i < points.length; i += 3)
+        {
+            double dx = points[i + 0] - box.center[0];
+            double dy = points[i + 1] - box.center[1];
+            double dz = points[i + 2] - box.center[2];
+            for (int k = 0; k < 3; k++)
+            {
+                double ax = h[k * 3 + 0];
+                double ay = h[k * 3 + 1];
+                double az = h[k * 3 + 2];
+                double length2 = ax * ax + ay * ay + az * az;
+                double projection = dx * ax + dy * ay + dz * az;
+                if (Math.abs(projection) > length2 * (1 + 1e-9) + 1e-9)
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}